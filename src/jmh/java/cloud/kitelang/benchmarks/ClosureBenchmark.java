@@ -0,0 +1,69 @@
+package cloud.kitelang.benchmarks;
+
+import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.semantics.scope.ScopeResolver;
+import cloud.kitelang.syntax.ast.KiteCompiler;
+import cloud.kitelang.syntax.ast.Program;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares evaluating operators through the visitor with the pre-linked executors of closure mode
+ * ({@link Interpreter#setClosureCompiled(boolean)}) on an operator heavy program: arithmetic, comparisons and
+ * logical operators over function parameters inside a loop. Functions are never compiled to bytecode, so both modes
+ * interpret the same tree. Each run links its executors on the first evaluation of an operator and reuses them for
+ * the rest of the loop.
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=Closure -PjmhParams="iterations=1000,10000"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClosureBenchmark {
+    @Param({"10000"})
+    private int iterations;
+
+    private Program program;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        program = new KiteCompiler().parse("""
+                fun score(number a, number b, number c) {
+                    (a * b + c) %% 7 - (a - b) * 2 + c / 4
+                }
+                fun inRange(number a, number low, number high) {
+                    a >= low && a < high || !(a != low)
+                }
+                var total = 0
+                var hits = 0
+                for i in 0..%d {
+                    total = total + score(i, i + 1, i * 3)
+                    if (inRange(i %% 100, 10, 90)) {
+                        hits = hits + 1
+                    }
+                }
+                total + hits
+                """.formatted(iterations));
+        new ScopeResolver().resolve(program);
+    }
+
+    @Benchmark
+    public Object visitor() {
+        return run(false);
+    }
+
+    @Benchmark
+    public Object closures() {
+        return run(true);
+    }
+
+    private Object run(boolean closureCompiled) {
+        var interpreter = new Interpreter(new Environment<>("global"));
+        interpreter.setCompileThreshold(0);
+        interpreter.setClosureCompiled(closureCompiled);
+        return interpreter.visit(program);
+    }
+}
@@ -0,0 +1,94 @@
+package cloud.kitelang.benchmarks;
+
+import cloud.kitelang.execution.inputs.InputParser;
+import cloud.kitelang.execution.json.JsonReader;
+import cloud.kitelang.execution.json.JsonWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Decodes and encodes an IAM-policy-like document of {@code megabytes} size.
+ * <p>
+ * {@code strict} and {@code streamed} parse plain JSON from a string and from a reader, {@code tolerant} is the
+ * {@link InputParser} path for relaxed inputs. {@code regexNormalize} runs the three whole-document
+ * {@code replaceAll} passes the input parser used to make before every parse, so {@code regexNormalize + strict}
+ * approximates the cost of the previous input parser. {@code write} encodes the decoded document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JsonBenchmark {
+    private static final Pattern BARE_KEY = Pattern.compile("(?<=\\{|,)\\s*([A-Za-z_][A-Za-z0-9_\\-.]*)\\s*:");
+    private static final Pattern SINGLE_QUOTED = Pattern.compile("'((?:\\\\'|[^'])*?)'");
+    private static final Pattern TRAILING_COMMA = Pattern.compile(",\\s*(?=[}\\]])");
+
+    @Param({"1", "8"})
+    private int megabytes;
+
+    private String document;
+    private Object decoded;
+
+    @Setup
+    public void setup() throws IOException {
+        var statements = new ArrayList<Object>();
+        var json = new StringWriter();
+        for (int i = 0; json.getBuffer().length() < megabytes * 1024 * 1024; i++) {
+            var statement = new LinkedHashMap<String, Object>();
+            statement.put("Sid", "Statement" + i);
+            statement.put("Effect", i % 3 == 0 ? "Deny" : "Allow");
+            statement.put("Action", List.of("s3:GetObject", "s3:PutObject", "s3:ListBucket"));
+            statement.put("Resource", List.of("arn:aws:s3:::bucket-" + i, "arn:aws:s3:::bucket-" + i + "/*"));
+            statement.put("Condition", Map.of("NumericLessThan", Map.of("s3:max-keys", i)));
+            statements.add(statement);
+            if (i % 1000 == 0) {
+                json.getBuffer().setLength(0);
+                new JsonWriter(json).value(statements);
+            }
+        }
+        var policy = new LinkedHashMap<String, Object>();
+        policy.put("Version", "2012-10-17");
+        policy.put("Statement", statements);
+        json.getBuffer().setLength(0);
+        new JsonWriter(json).value(policy);
+        document = json.toString();
+        decoded = policy;
+    }
+
+    @Benchmark
+    public Object strict() {
+        return JsonReader.parse(document);
+    }
+
+    @Benchmark
+    public Object streamed() {
+        return JsonReader.read(new StringReader(document));
+    }
+
+    @Benchmark
+    public Object tolerant() {
+        return InputParser.parse(document);
+    }
+
+    @Benchmark
+    public String regexNormalize() {
+        var out = document.trim();
+        out = BARE_KEY.matcher(out).replaceAll("\"$1\":");
+        out = SINGLE_QUOTED.matcher(out).replaceAll("\"$1\"");
+        return TRAILING_COMMA.matcher(out).replaceAll("");
+    }
+
+    @Benchmark
+    public JsonWriter write() throws IOException {
+        return new JsonWriter(Writer.nullWriter()).value(decoded);
+    }
+}
@@ -0,0 +1,88 @@
+package cloud.kitelang.benchmarks;
+
+import cloud.kitelang.analysis.ImportResolver;
+import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.semantics.TypeChecker;
+import cloud.kitelang.semantics.scope.ScopeResolver;
+import cloud.kitelang.syntax.ast.KiteCompiler;
+import cloud.kitelang.syntax.ast.Program;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each phase of running a stack on a generated program (see {@link StackGenerator}):
+ * parsing, scope resolution, type checking and interpretation.
+ * <p>
+ * Every invocation uses a fresh resolver, checker or interpreter; imported files come from the parse cache after
+ * the first invocation, like repeated runs in one JVM. Results are written as JSON to
+ * {@code build/results/jmh/results.json}.
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=Pipeline -PjmhParams="resources=100,1000;count=1,10"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PipelineBenchmark {
+    @Param({"100", "1000"})
+    private int resources;
+    @Param({"1"})
+    private int count;
+    @Param({"0"})
+    private int importDepth;
+    @Param({"2"})
+    private int interpolations;
+    @Param({"4"})
+    private int callDepth;
+
+    private Path dir;
+    private String source;
+    private KiteCompiler compiler;
+    private Program program;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ImportResolver.clearCache();
+        dir = Files.createTempDirectory("kite-bench");
+        source = StackGenerator.generate(dir, resources, count, importDepth, interpolations, callDepth);
+        compiler = new KiteCompiler();
+        program = compiler.parse(source);
+        new ScopeResolver().resolve(program);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.walk(dir)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Program parse() {
+        return compiler.parse(source);
+    }
+
+    @Benchmark
+    public Program resolve() {
+        new ScopeResolver().resolve(program);
+        return program;
+    }
+
+    @Benchmark
+    public Object typeCheck() {
+        return new TypeChecker().visit(program);
+    }
+
+    @Benchmark
+    public Object interpret() {
+        return new Interpreter(new Environment<>("global")).visit(program);
+    }
+}
@@ -0,0 +1,88 @@
+package cloud.kitelang.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates a synthetic stack for the pipeline benchmarks.
+ * <p>
+ * The generated main file declares one schema and {@code resources} resources, each with {@code @count(count)}.
+ * Every resource name has {@code interpolations} interpolated segments and its size is computed through a chain of
+ * {@code callDepth} function calls. With {@code importDepth > 0} the main file imports {@code lib_0.kite}, which
+ * imports {@code lib_1.kite} and so on; imports use absolute paths so they do not depend on the thread-local base path.
+ */
+final class StackGenerator {
+    private StackGenerator() {
+    }
+
+    /**
+     * Writes the imported libraries to {@code dir} and returns the source of the main file.
+     */
+    static String generate(Path dir, int resources, int count, int importDepth, int interpolations, int callDepth) throws IOException {
+        for (int depth = 0; depth < importDepth; depth++) {
+            var lib = new StringBuilder();
+            if (depth + 1 < importDepth) {
+                lib.append("import * from \"").append(path(dir, depth + 1)).append("\"\n");
+            }
+            lib.append("var lib").append(depth).append("Prefix = \"lib").append(depth).append("\"\n");
+            lib.append("fun lib").append(depth).append("Size(number x) number {\n")
+                    .append("    return x + ").append(depth).append('\n')
+                    .append("}\n");
+            Files.writeString(Path.of(path(dir, depth)), lib);
+        }
+
+        var main = new StringBuilder();
+        if (importDepth > 0) {
+            main.append("import * from \"").append(path(dir, 0)).append("\"\n");
+        }
+        main.append("""
+                var config = { prefix: "kite", env: "prod" }
+                var region = "eu-west-1"
+
+                schema vm {
+                    string name
+                    number size = 1
+                    string region = "eu"
+                    boolean monitored = false
+                }
+
+                """);
+        for (int depth = 0; depth < callDepth; depth++) {
+            main.append("fun call").append(depth).append("(number x) number {\n");
+            if (depth + 1 < callDepth) {
+                main.append("    return call").append(depth + 1).append("(x + 1)\n");
+            } else {
+                main.append("    return x\n");
+            }
+            main.append("}\n");
+        }
+        main.append('\n');
+
+        for (int i = 0; i < resources; i++) {
+            main.append("@count(").append(count).append(")\n")
+                    .append("resource vm server").append(i).append(" {\n")
+                    .append("    name = \"").append(name(i, interpolations)).append("\"\n");
+            if (callDepth > 0) {
+                main.append("    size = call0(").append(i).append(")\n");
+            }
+            main.append("}\n");
+        }
+        return main.toString();
+    }
+
+    /**
+     * The interpolated name of resource {@code resource}, as written in the generated source
+     */
+    static String name(int resource, int interpolations) {
+        var name = new StringBuilder("server").append(resource);
+        for (int i = 0; i < interpolations; i++) {
+            name.append(i % 2 == 0 ? "-${config.prefix}" : "-$region");
+        }
+        return name.append("-$count").toString();
+    }
+
+    private static String path(Path dir, int depth) {
+        return dir.resolve("lib_" + depth + ".kite").toAbsolutePath().toString().replace('\\', '/');
+    }
+}
@@ -0,0 +1,111 @@
+package cloud.kitelang.benchmarks;
+
+import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.semantics.scope.ScopeResolver;
+import cloud.kitelang.syntax.ast.KiteCompiler;
+import cloud.kitelang.syntax.ast.Program;
+import cloud.kitelang.syntax.ast.expressions.AssignmentExpression;
+import cloud.kitelang.syntax.ast.expressions.Expression;
+import cloud.kitelang.syntax.ast.expressions.ResourceStatement;
+import cloud.kitelang.syntax.ast.statements.ExpressionStatement;
+import cloud.kitelang.syntax.literals.StringLiteral;
+import cloud.kitelang.syntax.literals.SymbolIdentifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interprets a generated stack of 1,000 resources (see {@link StackGenerator}) whose names are runtime
+ * {@link StringLiteral}s with {@code $var} interpolations, the form of literals built outside the parser such as
+ * input values. Every resource has {@code @count(count)}, so each literal is evaluated once per instance.
+ * <p>
+ * {@code compiled} runs the literals as they are, their interpolation vars are compiled once per literal.
+ * {@code reparsed} runs literals that compile their vars on every evaluation, which costs one ANTLR parse per
+ * complex var and matches the cost of evaluating a literal before compiled interpolations were cached.
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=StringInterpolation -PjmhParams="count=1,10"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StringInterpolationBenchmark {
+    @Param({"1000"})
+    private int resources;
+    @Param({"1", "10"})
+    private int count;
+    @Param({"2"})
+    private int interpolations;
+
+    private Path dir;
+    private Program compiled;
+    private Program reparsed;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("kite-bench");
+        var source = StackGenerator.generate(dir, resources, count, 0, interpolations, 0);
+        compiled = program(source, false);
+        reparsed = program(source, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public Object compiled() {
+        return new Interpreter(new Environment<>("global")).visit(compiled);
+    }
+
+    @Benchmark
+    public Object reparsed() {
+        return new Interpreter(new Environment<>("global")).visit(reparsed);
+    }
+
+    /**
+     * Parses the stack and replaces the parsed name of every resource with an equivalent runtime literal
+     */
+    private Program program(String source, boolean reparse) {
+        var program = new KiteCompiler().parse(source);
+        int index = 0;
+        for (var statement : program.getBody()) {
+            if (!(statement instanceof ResourceStatement resource)) {
+                continue;
+            }
+            var name = StackGenerator.name(index++, interpolations);
+            for (var property : resource.getBlock().getExpression()) {
+                if (property instanceof ExpressionStatement expression
+                    && expression.getStatement() instanceof AssignmentExpression assignment
+                    && assignment.getLeft() instanceof SymbolIdentifier id && id.string().equals("name")) {
+                    assignment.setRight(reparse ? new ReparsedLiteral(name) : StringLiteral.string(name));
+                }
+            }
+        }
+        new ScopeResolver().resolve(program);
+        return program;
+    }
+
+    /**
+     * Compiles its interpolation vars on every evaluation instead of once
+     */
+    private static final class ReparsedLiteral extends StringLiteral {
+        private final String template;
+
+        private ReparsedLiteral(String template) {
+            super(template);
+            this.template = template;
+        }
+
+        @Override
+        public List<Expression> getInterpolationExpressions() {
+            return StringLiteral.string(template).getInterpolationExpressions();
+        }
+    }
+}
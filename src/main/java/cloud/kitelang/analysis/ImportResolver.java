@@ -2,9 +2,12 @@ package cloud.kitelang.analysis;
 
 import cloud.kitelang.api.ProviderSchemaLookup;
 import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.metrics.Metrics;
+import cloud.kitelang.metrics.Phase;
 import cloud.kitelang.syntax.ast.KiteCompiler;
 import cloud.kitelang.syntax.ast.Program;
 import cloud.kitelang.syntax.ast.statements.ImportStatement;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -14,7 +17,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -29,14 +35,36 @@ import java.util.stream.Stream;
  *   <li>Directory imports: {@code import * from "path/to/dir"}</li>
  *   <li>Provider imports: {@code import Vpc from "aws/networking"}</li>
  * </ul>
+ *
+ * <p>Thread safety: the parse cache and the parse pool are shared by all threads. A resolver instance, its import
+ * chain and the visitor factory are confined to the importing thread. The base path and schema lookup are
+ * thread-local and only read on the importing thread, so the parse pool never depends on them.
  */
 public class ImportResolver {
     /**
      * Static cache for parsed programs. Shared across all ImportResolver instances
      * so that TypeChecker and Interpreter can reuse parsed ASTs.
-     * Key: normalized absolute file path, Value: parsed Program AST
+     * Keyed by content hash, optionally persisted to disk so warm CLI runs skip parsing.
+     */
+    private static final ParseCache PARSE_CACHE = ParseCache.fromSystemProperties();
+
+    /**
+     * Prefix of the module key of a provider schema, followed by the type name.
+     */
+    private static final String PROVIDER_PREFIX = "provider:";
+
+    /**
+     * Number of files of a directory import parsed concurrently. Defaults to the available processors;
+     * set {@code kite.import.parallelism} to 1 to parse sequentially.
+     */
+    private static final int PARSE_PARALLELISM = Integer.getInteger(
+            "kite.import.parallelism", Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Bounded pool for parsing directory imports. Parsing is CPU bound, so a fork-join pool sized by
+     * {@link #PARSE_PARALLELISM} is used rather than virtual threads. Its workers are daemon threads.
      */
-    private static final Map<String, Program> PARSE_CACHE = new ConcurrentHashMap<>();
+    private static final ForkJoinPool PARSE_POOL = new ForkJoinPool(Math.max(1, PARSE_PARALLELISM));
 
     /**
      * Thread-local base path for resolving relative import paths.
@@ -52,10 +80,24 @@ public class ImportResolver {
 
     private final KiteCompiler parser;
     private final Set<String> importChain;
+    /**
+     * Base path of this resolver, the thread's {@link #setBasePath(Path)} when null
+     */
+    @Nullable
+    private final Path basePath;
 
     public ImportResolver(KiteCompiler parser, Set<String> importChain) {
+        this(parser, importChain, null);
+    }
+
+    /**
+     * @param basePath base path for relative import paths, overrides the thread's {@link #setBasePath(Path)} so
+     *                 resolvers of different programs on the same thread don't share it
+     */
+    public ImportResolver(KiteCompiler parser, Set<String> importChain, @Nullable Path basePath) {
         this.parser = parser;
         this.importChain = importChain;
+        this.basePath = basePath;
     }
 
     /**
@@ -82,6 +124,14 @@ public class ImportResolver {
         return BASE_PATH.get();
     }
 
+    /**
+     * @return the base path relative imports of this resolver are resolved against, null for the working directory
+     */
+    @Nullable
+    public Path basePath() {
+        return basePath != null ? basePath : BASE_PATH.get();
+    }
+
     /**
      * Sets the provider schema lookup for resolving provider imports.
      * When set, imports like "aws/networking" are resolved against provider schemas.
@@ -119,6 +169,27 @@ public class ImportResolver {
         return PARSE_CACHE.size();
     }
 
+    /**
+     * Returns the content key of the program last parsed for a module, so results derived from the program can be
+     * cached by content.
+     *
+     * @param module normalized file path or provider schema key, as passed to {@link ModuleVisitor#visit}
+     * @return the key, or null if the module is not cached
+     */
+    @Nullable
+    public static String contentKey(String module) {
+        return PARSE_CACHE.contentKey(module);
+    }
+
+    /**
+     * Sets the directory where parsed programs are persisted across runs.
+     *
+     * @param directory The cache directory, or null to keep parsed programs in memory only
+     */
+    public static void setCacheDirectory(Path directory) {
+        PARSE_CACHE.setDirectory(directory);
+    }
+
     /**
      * Resolves an import statement by parsing the file(s) and delegating to the visitor.
      * Supports file imports, directory imports, and provider imports.
@@ -134,10 +205,51 @@ public class ImportResolver {
             Environment<T> currentEnv,
             Function<Program, Environment<T>> visitorFactory
     ) {
+        resolve(statement, currentEnv, (module, program) -> visitorFactory.apply(program));
+    }
+
+    /**
+     * Resolves an import statement like {@link #resolve(ImportStatement, Environment, Function)}, also passing the
+     * module each program was loaded from to the visitor.
+     *
+     * @throws ImportException if the import fails (file not found, circular import, IO error)
+     */
+    public <T> void resolve(ImportStatement statement, Environment<T> currentEnv, ModuleVisitor<T> visitor) {
+        Metrics.time(Phase.IMPORT, () -> resolveImport(statement, currentEnv, visitor));
+    }
+
+    /**
+     * Checks that modules loaded earlier still have the given content and are not part of the current import chain.
+     * Files are checked against the parse cache, which only reads them again when they were touched.
+     *
+     * @param contentKeys content key per module, see {@link #contentKey(String)}
+     * @return false if any module changed, disappeared or would now be imported circularly
+     */
+    public boolean isCurrent(Map<String, String> contentKeys) {
+        for (var module : contentKeys.entrySet()) {
+            var name = module.getKey();
+            if (importChain.contains(name)) {
+                return false;
+            }
+            if (!isProviderKey(name)) {
+                try {
+                    readAndParse(name);
+                } catch (ImportException e) {
+                    return false;
+                }
+            }
+            if (!module.getValue().equals(PARSE_CACHE.contentKey(name))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private <T> void resolveImport(ImportStatement statement, Environment<T> currentEnv, ModuleVisitor<T> visitor) {
         var importPath = statement.getFilePath();
 
         if (isProviderImport(importPath)) {
-            resolveProviderImport(statement, currentEnv, visitorFactory);
+            resolveProviderImport(statement, currentEnv, visitor);
         } else if (looksLikeProviderImport(importPath)) {
             // Path looks like a provider import but provider is not loaded
             String providerName = importPath.contains("/") ? importPath.substring(0, importPath.indexOf('/')) : importPath;
@@ -145,9 +257,9 @@ public class ImportResolver {
                     "Provider '" + providerName + "' is not installed or failed to load. " +
                     "Add it to your kitefile.yml dependencies and ensure it installs successfully.");
         } else if (isDirectoryImport(importPath)) {
-            resolveDirectoryImport(statement, currentEnv, visitorFactory);
+            resolveDirectoryImport(statement, currentEnv, visitor);
         } else {
-            resolveFileImport(statement, currentEnv, visitorFactory);
+            resolveFileImport(statement, currentEnv, visitor);
         }
     }
 
@@ -201,11 +313,7 @@ public class ImportResolver {
      * Handles both "provider/domain" format (e.g., "aws/networking") and
      * "provider" format (e.g., "aws" - imports from all domains).
      */
-    private <T> void resolveProviderImport(
-            ImportStatement statement,
-            Environment<T> currentEnv,
-            Function<Program, Environment<T>> visitorFactory
-    ) {
+    private <T> void resolveProviderImport(ImportStatement statement, Environment<T> currentEnv, ModuleVisitor<T> visitor) {
         var schemaLookup = SCHEMA_LOOKUP.get();
         if (schemaLookup == null) {
             throw new ImportException("Provider schema lookup not configured for import: " + statement.getFilePath());
@@ -244,7 +352,7 @@ public class ImportResolver {
                 var program = parseSchemaString(schema.schemaString(), schema.typeName());
 
                 // Create environment from the parsed schema
-                var schemaEnv = visitorFactory.apply(program);
+                var schemaEnv = visitor.visit(providerKey(schema.typeName()), program);
 
                 // Collect all symbols from this schema
                 combinedEnv.putAll(schemaEnv.getVariables());
@@ -283,25 +391,27 @@ public class ImportResolver {
      * Uses caching to avoid re-parsing the same schema multiple times.
      */
     private Program parseSchemaString(String schemaString, String typeName) {
-        var cacheKey = "provider:" + typeName;
+        var cacheKey = providerKey(typeName);
 
-        return PARSE_CACHE.computeIfAbsent(cacheKey, _ -> {
-            try {
-                return parser.parse(schemaString);
-            } catch (Exception e) {
-                throw new ImportException("Failed to parse schema for " + typeName + ": " + e.getMessage(), e);
-            }
-        });
+        try {
+            return PARSE_CACHE.parseSource(cacheKey, schemaString, parser);
+        } catch (Exception e) {
+            throw new ImportException("Failed to parse schema for " + typeName + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String providerKey(String typeName) {
+        return PROVIDER_PREFIX + typeName;
+    }
+
+    private static boolean isProviderKey(String module) {
+        return module.startsWith(PROVIDER_PREFIX);
     }
 
     /**
      * Resolves a single file import.
      */
-    private <T> void resolveFileImport(
-            ImportStatement statement,
-            Environment<T> currentEnv,
-            Function<Program, Environment<T>> visitorFactory
-    ) {
+    private <T> void resolveFileImport(ImportStatement statement, Environment<T> currentEnv, ModuleVisitor<T> visitor) {
         var resolvedPath = resolvePath(statement.getFilePath());
         var normalizedPath = normalizeFilePath(resolvedPath.toString());
 
@@ -311,7 +421,7 @@ public class ImportResolver {
         importChain.add(normalizedPath);
         try {
             var program = readAndParse(resolvedPath.toString());
-            var importedEnv = visitorFactory.apply(program);
+            var importedEnv = visitor.visit(normalizedPath, program);
 
             mergeEnvironment(statement, importedEnv, currentEnv);
         } finally {
@@ -324,27 +434,24 @@ public class ImportResolver {
      * For named imports (import X, Y from "dir"), loads all files and imports only symbols X, Y.
      * For wildcard imports (import * from "dir"), imports all symbols from all .kite files in the directory.
      */
-    private <T> void resolveDirectoryImport(
-            ImportStatement statement,
-            Environment<T> currentEnv,
-            Function<Program, Environment<T>> visitorFactory
-    ) {
+    private <T> void resolveDirectoryImport(ImportStatement statement, Environment<T> currentEnv, ModuleVisitor<T> visitor) {
         var dirPath = resolvePath(statement.getFilePath());
         validateDirectoryExists(dirPath);
 
         // Get all .kite files in the directory
         var allFiles = getAllKiteFilesInDirectory(dirPath);
 
-        // Build combined environment from all files
+        // Parse all files up front, then build the combined environment in file order
+        var programs = parseAll(allFiles);
         var combinedEnv = new java.util.HashMap<String, T>();
-        for (var filePath : allFiles) {
-            var normalizedPath = normalizeFilePath(filePath.toString());
+        for (int i = 0; i < allFiles.size(); i++) {
+            var normalizedPath = normalizeFilePath(allFiles.get(i).toString());
             checkCircularImport(normalizedPath);
 
             importChain.add(normalizedPath);
             try {
-                var program = readAndParse(filePath.toString());
-                var importedEnv = visitorFactory.apply(program);
+                var program = join(programs.get(i));
+                var importedEnv = visitor.visit(normalizedPath, program);
 
                 // Collect all symbols from this file
                 combinedEnv.putAll(importedEnv.getVariables());
@@ -372,6 +479,34 @@ public class ImportResolver {
         }
     }
 
+    /**
+     * Starts parsing every file on the parse pool. Only parsing runs on the pool: the visitor factory
+     * (type checking or evaluation) is not thread-safe and stays on the importing thread.
+     * Paths are already resolved, so workers never read the thread-local base path or schema lookup.
+     */
+    private List<CompletableFuture<Program>> parseAll(List<Path> files) {
+        Executor executor = files.size() < 2 || PARSE_PARALLELISM < 2 ? Runnable::run : PARSE_POOL;
+        var programs = new ArrayList<CompletableFuture<Program>>(files.size());
+        for (var file : files) {
+            programs.add(CompletableFuture.supplyAsync(() -> readAndParse(file.toString()), executor));
+        }
+        return programs;
+    }
+
+    /**
+     * Waits for a parsed program and rethrows parse and read failures unwrapped.
+     */
+    private static Program join(CompletableFuture<Program> program) {
+        try {
+            return program.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     /**
      * Gets all .kite files in a directory (non-recursive, sorted).
      */
@@ -401,7 +536,7 @@ public class ImportResolver {
      */
     private Path resolvePath(String importPath) {
         var path = Path.of(importPath);
-        var basePath = BASE_PATH.get();
+        var basePath = basePath();
 
         if (basePath != null && !path.isAbsolute()) {
             return basePath.resolve(path);
@@ -439,19 +574,14 @@ public class ImportResolver {
 
     /**
      * Reads and parses a file into a Program AST.
-     * Uses caching to avoid re-parsing the same file multiple times.
+     * Uses caching to avoid re-parsing the same file multiple times; an edited file is parsed again.
      */
     public Program readAndParse(String filePath) {
-        var normalizedPath = normalizeFilePath(filePath);
-
-        return PARSE_CACHE.computeIfAbsent(normalizedPath, _ -> {
-            try {
-                var content = Files.readString(Path.of(filePath));
-                return parser.parse(content);
-            } catch (IOException e) {
-                throw new ImportException("Failed to read import: " + e.getMessage(), e);
-            }
-        });
+        try {
+            return PARSE_CACHE.parseFile(Path.of(normalizeFilePath(filePath)), parser);
+        } catch (IOException e) {
+            throw new ImportException("Failed to read import: " + e.getMessage(), e);
+        }
     }
 
     /**
@@ -484,6 +614,20 @@ public class ImportResolver {
         }
     }
 
+    /**
+     * Visits a program loaded by an import and returns the environment its symbols are imported from.
+     *
+     * @param <T> The type of values in the environment
+     */
+    @FunctionalInterface
+    public interface ModuleVisitor<T> {
+        /**
+         * @param module  normalized file path, or {@code provider:<type>} for a provider schema
+         * @param program the parsed module, shared through the parse cache and therefore read-only
+         */
+        Environment<T> visit(String module, Program program);
+    }
+
     /**
      * Exception thrown when import resolution fails.
      */
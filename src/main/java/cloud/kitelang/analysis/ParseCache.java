@@ -0,0 +1,309 @@
+package cloud.kitelang.analysis;
+
+import cloud.kitelang.metrics.KiteMetrics.CacheResult;
+import cloud.kitelang.metrics.Metrics;
+import cloud.kitelang.syntax.ast.KiteCompiler;
+import cloud.kitelang.syntax.ast.Program;
+import cloud.kitelang.syntax.ast.generated.KiteParser;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-addressed cache of parsed programs for imported .kite files and provider schemas.
+ *
+ * <p>Programs are keyed by a SHA-256 of the source plus the grammar version, so an edited file is never
+ * served from a stale entry and a grammar change invalidates everything. Lookups go through three levels:
+ * <ol>
+ *   <li>Memory: bounded LRU keyed by the normalized path (or {@code provider:<type>} for schemas).
+ *       A file entry is reused as long as its modification time and size are unchanged.</li>
+ *   <li>Disk (optional): a stamp per path records the last seen modification time, size and content key,
+ *       so a warm CLI run loads the serialized {@link Program} without reading or hashing the source.</li>
+ *   <li>Parse: the source is parsed with ANTLR and written back to both levels.</li>
+ * </ol>
+ *
+ * <p>The disk level is enabled by {@link #setDirectory(Path)} or the {@code kite.parse.cache.dir} system property.
+ * Like make, the modification time + size check trusts the file system clock: an edit that keeps the size and
+ * lands in the same millisecond is only picked up after the next touch.
+ */
+@Slf4j
+public class ParseCache {
+    static final String DIRECTORY_PROPERTY = "kite.parse.cache.dir";
+    static final String MAX_ENTRIES_PROPERTY = "kite.parse.cache.maxEntries";
+    static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    /**
+     * Changes whenever the grammar changes. Changes to the AST classes are detected by Java serialization itself.
+     */
+    static final String GRAMMAR_VERSION = sha256(KiteParser._serializedATN).substring(0, 16);
+
+    private static final String PROGRAM_SUFFIX = ".ast";
+    private static final String STAMPS = "stamps";
+    /**
+     * Only AST classes and the JDK/commons types they hold may be read back from disk.
+     */
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            "cloud.kitelang.**;java.lang.*;java.util.*;java.time.*;org.apache.commons.lang3.*;!*"
+    );
+
+    private final Map<String, Entry> entries;
+    @Nullable
+    private volatile Path directory;
+
+    public ParseCache(int maxEntries, @Nullable Path directory) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a cache configured by the {@code kite.parse.cache.dir} and {@code kite.parse.cache.maxEntries} system properties.
+     */
+    public static ParseCache fromSystemProperties() {
+        var maxEntries = Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES);
+        var directory = System.getProperty(DIRECTORY_PROPERTY);
+        return new ParseCache(maxEntries, directory == null || directory.isBlank() ? null : Path.of(directory));
+    }
+
+    /**
+     * Sets the directory for the persistent level, or null to keep the cache in memory only.
+     */
+    public void setDirectory(@Nullable Path directory) {
+        this.directory = directory;
+    }
+
+    @Nullable
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Clears the memory level. Persisted programs are kept because they are addressed by content.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Number of programs held in memory.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Content key of the program last returned for a normalized path or provider schema name.
+     *
+     * @return the key, or null if the name is not held in memory
+     */
+    @Nullable
+    public String contentKey(String name) {
+        var entry = entries.get(name);
+        return entry == null ? null : entry.key();
+    }
+
+    /**
+     * Returns the parsed program of a .kite file, parsing it only when its content is not cached.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public Program parseFile(Path file, KiteCompiler parser) throws IOException {
+        var path = file.toAbsolutePath().normalize().toString();
+        var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        var modified = attributes.lastModifiedTime().toMillis();
+        var size = attributes.size();
+
+        var cached = entries.get(path);
+        if (cached != null && cached.modified() == modified && cached.size() == size) {
+            Metrics.listener().parseCache(CacheResult.MEMORY_HIT);
+            return cached.program();
+        }
+
+        var stampedKey = readStamp(path, modified, size);
+        if (stampedKey != null) {
+            var program = readProgram(stampedKey);
+            if (program != null) {
+                Metrics.listener().parseCache(CacheResult.DISK_HIT);
+                entries.put(path, new Entry(stampedKey, modified, size, program));
+                return program;
+            }
+        }
+
+        var source = Files.readString(file);
+        var key = key(source);
+        Program program;
+        if (cached != null && cached.key().equals(key)) {
+            Metrics.listener().parseCache(CacheResult.MEMORY_HIT);
+            program = cached.program(); // touched but not edited
+        } else {
+            program = load(path, key, source, parser);
+        }
+        entries.put(path, new Entry(key, modified, size, program));
+        writeStamp(path, modified, size, key);
+        return program;
+    }
+
+    /**
+     * Returns the parsed program of an in-memory source such as a provider schema.
+     *
+     * @param name stable name of the source, used as the memory key
+     */
+    public Program parseSource(String name, String source, KiteCompiler parser) {
+        var key = key(source);
+        var cached = entries.get(name);
+        if (cached != null && cached.key().equals(key)) {
+            Metrics.listener().parseCache(CacheResult.MEMORY_HIT);
+            return cached.program();
+        }
+        var program = load(name, key, source, parser);
+        entries.put(name, new Entry(key, -1, source.length(), program));
+        return program;
+    }
+
+    private Program load(String name, String key, String source, KiteCompiler parser) {
+        var program = readProgram(key);
+        if (program != null) {
+            Metrics.listener().parseCache(CacheResult.DISK_HIT);
+            return program;
+        }
+        Metrics.listener().parseCache(CacheResult.MISS);
+        long start = System.nanoTime();
+        program = parser.parse(source);
+        Metrics.listener().importParsed(name, System.nanoTime() - start);
+        writeProgram(key, program);
+        return program;
+    }
+
+    static String key(String source) {
+        return sha256(GRAMMAR_VERSION + '\0' + source);
+    }
+
+    private static String sha256(String value) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Nullable
+    private String readStamp(String path, long modified, long size) {
+        var directory = this.directory;
+        if (directory == null) {
+            return null;
+        }
+        var stamp = directory.resolve(STAMPS).resolve(sha256(path));
+        try {
+            if (!Files.exists(stamp)) {
+                return null;
+            }
+            var parts = Files.readString(stamp).trim().split(" ");
+            if (parts.length == 3 && Long.parseLong(parts[0]) == modified && Long.parseLong(parts[1]) == size) {
+                return parts[2];
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.debug("Ignoring unreadable parse cache stamp {}", stamp, e);
+        }
+        return null;
+    }
+
+    private void writeStamp(String path, long modified, long size, String key) {
+        var directory = this.directory;
+        if (directory == null) {
+            return;
+        }
+        var stamp = directory.resolve(STAMPS).resolve(sha256(path));
+        try {
+            var content = (modified + " " + size + " " + key).getBytes(StandardCharsets.UTF_8);
+            writeAtomically(stamp, out -> out.write(content));
+        } catch (IOException e) {
+            log.debug("Could not write parse cache stamp {}", stamp, e);
+        }
+    }
+
+    @Nullable
+    private Program readProgram(String key) {
+        var directory = this.directory;
+        if (directory == null) {
+            return null;
+        }
+        var file = directory.resolve(key + PROGRAM_SUFFIX);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (var in = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))))) {
+            in.setObjectInputFilter(FILTER);
+            return (Program) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // written by an incompatible build or corrupted: drop it and parse again
+            log.debug("Discarding parse cache entry {}", file, e);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+            }
+            return null;
+        }
+    }
+
+    private void writeProgram(String key, Program program) {
+        var directory = this.directory;
+        if (directory == null) {
+            return;
+        }
+        var file = directory.resolve(key + PROGRAM_SUFFIX);
+        try {
+            writeAtomically(file, out -> {
+                try (var objects = new ObjectOutputStream(new GZIPOutputStream(out))) {
+                    objects.writeObject(program);
+                }
+            });
+        } catch (IOException e) {
+            log.debug("Could not write parse cache entry {}", file, e);
+        }
+    }
+
+    /**
+     * Writes to a temporary file first so concurrent readers never see a partial entry.
+     */
+    private static void writeAtomically(Path target, Writer writer) throws IOException {
+        Files.createDirectories(target.getParent());
+        var temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (var out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writer.write(out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private record Entry(String key, long modified, long size, Program program) {
+    }
+}
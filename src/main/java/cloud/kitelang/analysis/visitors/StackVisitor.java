@@ -13,6 +13,12 @@ public abstract non-sealed class StackVisitor<R> implements Visitor<R> {
      * Used to track where are we in the execution of the program. Are we in an for statement? or in a Schema declaration? in a resource declaration?
      */
     private final Deque<ContextStack> contextStacks;
+    /**
+     * How many times each context is on {@link #contextStacks}, and a bit for every context that is on it at all, so
+     * membership checks don't scan the stack
+     */
+    private final int[] contextDepths = new int[ContextStack.values().length];
+    private long contexts;
 
     public StackVisitor() {
         this.callstack = new ArrayDeque<>();
@@ -46,12 +52,17 @@ public abstract non-sealed class StackVisitor<R> implements Visitor<R> {
     protected void push(ContextStack expression) {
         if (expression != null) {
             contextStacks.push(expression);
+            contextDepths[expression.ordinal()]++;
+            contexts |= 1L << expression.ordinal();
         }
     }
 
     protected void pop(ContextStack expression) {
         if (expression != null) {
-            contextStacks.pop();
+            var top = contextStacks.pop();
+            if (--contextDepths[top.ordinal()] == 0) {
+                contexts &= ~(1L << top.ordinal());
+            }
         }
     }
     protected void pop(@Nullable Callstack expression) {
@@ -65,6 +76,6 @@ public abstract non-sealed class StackVisitor<R> implements Visitor<R> {
     }
 
     protected boolean contextStackContains(ContextStack contextStack) {
-        return contextStacks.contains(contextStack);
+        return (contexts & 1L << contextStack.ordinal()) != 0;
     }
 }
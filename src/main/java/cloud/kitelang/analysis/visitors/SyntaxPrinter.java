@@ -9,6 +9,7 @@ import cloud.kitelang.syntax.ast.statements.*;
 import cloud.kitelang.syntax.literals.*;
 import cloud.kitelang.tool.theme.JansiTheme;
 import cloud.kitelang.tool.theme.Theme;
+import lombok.Getter;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
@@ -18,8 +19,12 @@ import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
 
-
+/**
+ * Prints AST nodes back as source. Printing keeps no state besides the {@link Theme}, so one printer can be shared by
+ * threads evaluating concurrently (see {@code ResourceScheduler}) as long as the theme is not changed meanwhile.
+ */
 public non-sealed class SyntaxPrinter implements Visitor<String> {
+    @Getter
     @Setter
     private Theme theme;
 
@@ -182,6 +182,13 @@ public sealed interface Visitor<R>
     R visit(ResourceStatement expression);
 
     default ResourcePath resourceName(ResourceStatement resource) {
+        return resourceName(resource, null);
+    }
+
+    /**
+     * @param index index of the instance when the resource is created in a loop or by {@code @count}
+     */
+    default ResourcePath resourceName(ResourceStatement resource, @Nullable Object index) {
         var resourceName = switch (resource.getName()) {
             case SymbolIdentifier identifier -> identifier.string();
             case StringLiteral literal -> literal.getValue();
@@ -198,13 +205,13 @@ public sealed interface Visitor<R>
              * */
             return path;
         }
-        return switch (resource.getIndex()) {
+        return switch (index) {
             case SymbolIdentifier id -> path.appendKey(id.string());
             case StringLiteral literal -> path.appendKey(literal.getValue());
             case Identifier id -> path.appendKey(id.string());
             case Map<?, ?> map -> path.appendKey(map.toString());
             case null -> path;
-            default -> path.appendIndex(resource.getIndex());
+            default -> path.appendIndex(index);
         };
     }
 }
@@ -1,20 +1,46 @@
 package cloud.kitelang.execution;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Anything a {@link cloud.kitelang.syntax.ast.expressions.CallExpression} can call.
+ * <p>
+ * The interpreter calls {@link #call0} to {@link #call3} for call sites with up to three arguments so the arguments
+ * don't have to be collected into a list first; by default they wrap the arguments and delegate to
+ * {@link #call(Interpreter, List)}. Builtins override them to skip the list altogether, see
+ * {@link cloud.kitelang.stdlib.functions.BuiltinFunction}.
+ */
 public interface Callable {
     Object call(Interpreter interpreter, List<Object> args);
 
+    default Object call0(Interpreter interpreter) {
+        return call(interpreter, Collections.emptyList());
+    }
+
+    default Object call1(Interpreter interpreter, Object arg) {
+        return call(interpreter, Collections.singletonList(arg));
+    }
+
+    default Object call2(Interpreter interpreter, Object first, Object second) {
+        return call(interpreter, Arrays.asList(first, second));
+    }
+
+    default Object call3(Interpreter interpreter, Object first, Object second, Object third) {
+        return call(interpreter, Arrays.asList(first, second, third));
+    }
+
     default Object call(List<Object> args) {
         return call(null, args);
     }
 
     default Object call(Interpreter interpreter, Object... args) {
-        return call(interpreter, List.of(args));
+        return call(interpreter, Arrays.asList(args));
     }
 
     default Object call(Object... args) {
-        return call(null, List.of(args));
+        return call(null, Arrays.asList(args));
     }
 
     default int arity() {
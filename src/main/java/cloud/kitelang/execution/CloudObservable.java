@@ -2,6 +2,8 @@ package cloud.kitelang.execution;
 
 import cloud.kitelang.execution.values.CloudPropertyObserver;
 import cloud.kitelang.execution.values.ResourceValue;
+import cloud.kitelang.metrics.KiteMetrics;
+import cloud.kitelang.metrics.Metrics;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
@@ -69,6 +71,7 @@ public class CloudObservable {
         }
 
         log.info("Notifying {} observer(s) waiting on '{}'", waiting.size(), resourceName);
+        Metrics.listener().observersNotified(KiteMetrics.Observer.CLOUD, resourceName, waiting.size());
 
         // Inject cloud values into environment so expressions resolve
         injectCloudValues(interpreter, resourceName, cloudValues);
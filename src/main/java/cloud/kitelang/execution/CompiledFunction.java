@@ -0,0 +1,17 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.execution.environment.Environment;
+
+import java.util.List;
+
+/**
+ * Entry point of a function or lambda body compiled by the {@link FunctionCompiler}.
+ */
+@FunctionalInterface
+public interface CompiledFunction {
+    /**
+     * @param closure environment the function was declared in
+     * @param args    one argument per parameter
+     */
+    Object invoke(Interpreter interpreter, Environment<Object> closure, List<Object> args);
+}
@@ -2,14 +2,10 @@ package cloud.kitelang.execution;
 
 import cloud.kitelang.execution.exceptions.NotFoundException;
 import cloud.kitelang.execution.values.ResourceValue;
-import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 
-@Slf4j
 public class CycleDetection {
     /**
      * given 2 resources:
@@ -25,66 +21,35 @@ public class CycleDetection {
      * 1. direct cycles: a -> b and b -> a
      * 2. indirect cycles: a->b->c->a
      */
-    public static void detect(ResourceValue resource, Interpreter interpreter) {
-        Set<String> visited = new HashSet<>();
-        Set<String> activePath = new HashSet<>();
-
-        detectCycles(resource, visited, activePath, interpreter);
-    }
-
-    private static void detectCycles(ResourceValue resource, Set<String> visited, Set<String> activePath, Interpreter interpreter) {
-        // If the resource is already in the active path, a cycle exists
-        if (activePath.contains(resource.name())) {
-            String message = "Cycle detected at resource: " + resource.name();
-            log.error(message);
-            throw new CycleException(message);
-        }
-
-        // If the resource is already visited, skip it
-        if (visited.contains(resource.name())) {
-            return;
-        }
-
-        // Mark resource as visited and add it to the active path
-        visited.add(resource.name());
-        activePath.add(resource.name());
-
-        // Recurse into all dependencies
-        for (String dependencyName : resource.getDependencies()) {
-            var dependency = interpreter.getInstance(dependencyName); // Implement this lookup
-            if (dependency != null) {
-                detectCycles(dependency, visited, activePath, interpreter);
-            }
-        }
-
-        // Remove the resource from the active path after processing
-        activePath.remove(resource.name());
+    public static void detect(ResourceValue resource, DependencyGraph graph) {
+        // each dependency is checked incrementally against the maintained topological order
+        graph.addDependencies(resource);
     }
 
-
     /**
      * Sorts the resources topologically by their dependencies.
+     * Reuses the order maintained by the dependency graph instead of running another DFS.
      */
-    static <R extends ResourceValue> LinkedHashMap<String, R> topologySort(Map<String, R> resources) {
-        var out = new LinkedHashMap<String, R>(resources.size());
-        Set<String> seen = new HashSet<>();
+    static <R extends ResourceValue> LinkedHashMap<String, R> topologySort(Map<String, R> resources, DependencyGraph graph) {
         for (var entry : resources.entrySet()) {
-            dfs(entry.getKey(), resources, seen, out);
+            var resource = entry.getValue();
+            for (String dependency : resource.getDependencies()) {
+                if (!resources.containsKey(dependency)) {
+                    throw new NotFoundException("resource not defined: " + dependency);
+                }
+            }
+            // no-op for resources already registered through detect()
+            graph.addDependencies(entry.getKey(), resource);
         }
-        return out;
-    }
 
-    private static <R extends ResourceValue> void dfs(String name, Map<String, R> resources,
-                                                      Set<String> seen, Map<String, R> out) {
-        if (!seen.add(name)) return;
-        R res = resources.get(name);
-        if (res == null) {
-            throw new NotFoundException("resource not defined: " + name);
-        }
-        for (String dep : res.getDependencies()) {
-            dfs(dep, resources, seen, out);
+        var out = new LinkedHashMap<String, R>(resources.size());
+        for (String name : graph.order()) {
+            R resource = resources.get(name);
+            if (resource != null) {
+                out.put(name, resource); // insertion order reflects dependency order
+            }
         }
-        out.put(name, res); // insertion order now reflects dependency order
+        return out;
     }
 
 }
@@ -3,11 +3,11 @@ package cloud.kitelang.execution;
 import cloud.kitelang.execution.values.DeferredObserverValue;
 import cloud.kitelang.execution.values.ResourceRef;
 import cloud.kitelang.execution.values.ResourceValue;
+import cloud.kitelang.metrics.KiteMetrics;
+import cloud.kitelang.metrics.Metrics;
+import lombok.Getter;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Observer registry for managing resource dependency notifications.
@@ -28,53 +28,122 @@ import java.util.Set;
  * // a is re-evaluated with b.name now available
  * </pre>
  *
+ * <p>Scheduling follows Kahn's algorithm: every observer has an in-degree, the number of distinct resources it is still
+ * waiting for. Resolving a resource removes its edges and decrements the in-degree of its observers. An observer whose
+ * in-degree drops to zero is appended to a FIFO ready queue and re-evaluated exactly once. Resources completed by those
+ * re-evaluations only append to the queue, so long forward-reference chains are evaluated in a loop instead of
+ * recursively and in registration order.
+ *
  * <p>See docs/DEPENDENCY_RESOLUTION.md for complete architecture documentation.
  *
  * @see DeferredObserverValue
  * @see cloud.kitelang.execution.Interpreter#resolveDependencies
  */
 public class DeferredObservable {
+    /**
+     * Edges: resource name to the observers waiting for it, in registration order
+     */
     private final Map<String, Set<DeferredObserverValue>> deferredResources = new HashMap<>();
+    /**
+     * Number of distinct resources each observer is still waiting for
+     */
+    private final Map<DeferredObserverValue, Integer> inDegree = new HashMap<>();
+    private final Deque<DeferredObserverValue> ready = new ArrayDeque<>();
+    private boolean draining;
+    /**
+     * Number of times a resource had to wait for a resource that was not evaluated yet
+     */
+    @Getter
+    private long deferrals;
+    /**
+     * Number of times a waiting resource was evaluated again after its last dependency resolved
+     */
+    @Getter
+    private long reevaluations;
 
     /**
      * Function called each time a resource is fully evaluated in order to notify anyone interested in this event.
+     * Observers left without unresolved dependencies are re-evaluated before this method returns, unless it is called
+     * by one of those re-evaluations: the outermost call drains the ready queue.
      */
     public void notifyObservers(Interpreter interpreter, String resourceName) {
-        // if there are observers waiting to be notified
-        // the map is checked each time a resource is evaluated
-        var observers = deferredResources.get(resourceName);
+        var observers = deferredResources.remove(resourceName);
         if (observers == null) {
             // reached when a resource gets fully evaluated and doesn't have any observers waiting to be evaluated
             return;
         }
+        Metrics.listener().observersNotified(KiteMetrics.Observer.DEFERRED, resourceName, observers.size());
 
         for (DeferredObserverValue it : observers) {
-            it.setEvaluating(true);
-            it.notifyDependencyResolved(interpreter, resourceName);
+            resolved(it);
         }
+        drain(interpreter);
+    }
 
-        observers.removeIf(DeferredObserverValue::isEvaluated);
-        if (observers.isEmpty()) {
-            // clean up the key as well when there are no longer resources interested in being notified by this resource
-            deferredResources.remove(resourceName);
+    private void resolved(DeferredObserverValue observer) {
+        var remaining = inDegree.merge(observer, -1, Integer::sum);
+        if (remaining <= 0) {
+            inDegree.remove(observer);
+            ready.addLast(observer);
         }
     }
 
+    private void drain(Interpreter interpreter) {
+        if (draining) {
+            return;
+        }
+        draining = true;
+        try {
+            while (!ready.isEmpty()) {
+                var observer = ready.removeFirst();
+                observer.setEvaluating(true);
+                reevaluations++;
+                observer.notify(interpreter);
+            }
+        } finally {
+            draining = false;
+        }
+    }
+
+    /**
+     * Stops an observer from waiting for the dependencies of a resource.
+     */
     public void removeObserver(DeferredObserverValue it, ResourceValue resourceValue) {
         for (String dependency : resourceValue.getDependencies()) {
-            var dependencies = deferredResources.get(dependency);
-            dependencies.remove(it);
+            var observers = deferredResources.get(dependency);
+            if (observers == null || !observers.remove(it)) {
+                continue;
+            }
+            if (observers.isEmpty()) {
+                deferredResources.remove(dependency);
+            }
+            if (inDegree.merge(it, -1, Integer::sum) <= 0) {
+                inDegree.remove(it);
+            }
         }
     }
 
+    /**
+     * Get all resource names that observers are still waiting for.
+     *
+     * @return set of resource names
+     */
+    public Set<String> getPendingResources() {
+        return new HashSet<>(deferredResources.keySet());
+    }
+
     /**
      * Registers a resource as an observer waiting for a pending dependency to be resolved.
+     * Waiting for the same resource twice (e.g. {@code b.name} and {@code b.size}) adds a single edge.
      *
      * @param resource the observer (resource with unresolved dependency)
      * @param pending  the pending reference being waited on
      */
     public void addObserver(DeferredObserverValue resource, ResourceRef.Pending pending) {
-        var observers = deferredResources.computeIfAbsent(pending.resourceName(), k -> new HashSet<>());
-        observers.add(resource);
+        var observers = deferredResources.computeIfAbsent(pending.resourceName(), k -> new LinkedHashSet<>());
+        if (observers.add(resource)) {
+            inDegree.merge(resource, 1, Integer::sum);
+            deferrals++;
+        }
     }
 }
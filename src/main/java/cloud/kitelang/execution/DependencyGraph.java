@@ -0,0 +1,226 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.execution.values.ResourceValue;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * Resource dependency graph that keeps a topological order while dependencies are added.
+ *
+ * <p>Implements the Pearce–Kelly dynamic topological sort: every node has a position ({@code ord}) in the order,
+ * and a dependency always comes before its dependents. Adding an edge that already respects the order is O(1).
+ * Otherwise only the nodes whose position lies between the two endpoints are searched and shuffled, which
+ * keeps the amortised cost per edge close to constant instead of re-running a DFS over the whole graph.
+ *
+ * <p>Nodes are keyed by the resource segment name (the key used by {@link Interpreter#getInstances()}).
+ * Dependencies on resources that were not evaluated yet create placeholder nodes. A placeholder has no
+ * dependencies of its own, so like the previous DFS-based detection, only evaluated resources can form a cycle.
+ *
+ * <h2>Example:</h2>
+ * <pre>
+ * resource vm a { name = b.name }  // a -> b: b is moved before a
+ * resource vm b { name = a.name }  // b -> a: a already depends on b -> CycleException
+ * </pre>
+ *
+ * @see CycleDetection
+ */
+@Slf4j
+public class DependencyGraph {
+    private final Map<String, Node> nodes = new HashMap<>();
+    /**
+     * Current topological order, invariant: {@code order.get(i).ord == i}
+     */
+    private final List<Node> order = new ArrayList<>();
+
+    /**
+     * The key under which the interpreter registers the resource.
+     */
+    static String key(ResourceValue resource) {
+        return resource.getPath() != null ? resource.getPath().toSegmentName() : resource.getName();
+    }
+
+    /**
+     * Registers a resource without dependencies. Appends it to the end of the order if it is new.
+     */
+    public void addResource(String name) {
+        node(name);
+    }
+
+    /**
+     * Adds every dependency of the resource to the graph. Dependencies already known are skipped in O(1).
+     *
+     * @throws CycleException when a dependency closes a cycle. The message names the resource being added.
+     */
+    public void addDependencies(ResourceValue resource) {
+        addDependencies(key(resource), resource);
+    }
+
+    /**
+     * Same as {@link #addDependencies(ResourceValue)} for a resource registered under {@code name}.
+     */
+    public void addDependencies(String name, ResourceValue resource) {
+        var node = node(name);
+        for (String dependency : resource.getDependencies()) {
+            addDependency(node, node(dependency), resource.name());
+        }
+    }
+
+    /**
+     * Adds the edge {@code resource -> dependency}.
+     *
+     * @throws CycleException when the dependency (transitively) depends on the resource
+     */
+    public void addDependency(String resource, String dependency) {
+        addDependency(node(resource), node(dependency), resource);
+    }
+
+    /**
+     * @return resource names ordered so that every dependency comes before its dependents
+     */
+    public List<String> order() {
+        var names = new ArrayList<String>(order.size());
+        for (Node node : order) {
+            names.add(node.name);
+        }
+        return names;
+    }
+
+    public boolean contains(String name) {
+        return nodes.containsKey(name);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    private Node node(String name) {
+        var node = nodes.get(name);
+        if (node == null) {
+            node = new Node(name, order.size());
+            nodes.put(name, node);
+            order.add(node);
+        }
+        return node;
+    }
+
+    private void addDependency(Node resource, Node dependency, String cycleName) {
+        if (resource == dependency) {
+            throw cycle(cycleName);
+        }
+        if (!resource.dependencies.add(dependency)) {
+            return; // edge already known
+        }
+        dependency.dependents.add(resource);
+
+        if (dependency.ord < resource.ord) {
+            return; // order already satisfied
+        }
+        try {
+            reorder(resource, dependency, cycleName);
+        } catch (CycleException e) {
+            // keep the graph acyclic so it stays usable after the error
+            resource.dependencies.remove(dependency);
+            dependency.dependents.remove(resource);
+            throw e;
+        }
+    }
+
+    /**
+     * The dependency sits after the resource. Collect the dependents of the resource positioned up to the
+     * dependency (forward set) and the dependencies of the dependency positioned after the resource
+     * (backward set), then give the backward set the lowest of their combined positions.
+     */
+    private void reorder(Node resource, Node dependency, String cycleName) {
+        int lowerBound = resource.ord;
+        int upperBound = dependency.ord;
+
+        var forward = new ArrayList<Node>();
+        var backward = new ArrayList<Node>();
+        try {
+            if (search(resource, true, upperBound, dependency, forward)) {
+                throw cycle(cycleName);
+            }
+            search(dependency, false, lowerBound, null, backward);
+        } finally {
+            forward.forEach(it -> it.visited = false);
+            backward.forEach(it -> it.visited = false);
+        }
+
+        Comparator<Node> byOrd = Comparator.comparingInt(it -> it.ord);
+        forward.sort(byOrd);
+        backward.sort(byOrd);
+
+        var positions = new int[forward.size() + backward.size()];
+        int i = 0;
+        for (Node node : backward) {
+            positions[i++] = node.ord;
+        }
+        for (Node node : forward) {
+            positions[i++] = node.ord;
+        }
+        Arrays.sort(positions);
+
+        i = 0;
+        for (Node node : backward) {
+            assign(node, positions[i++]);
+        }
+        for (Node node : forward) {
+            assign(node, positions[i++]);
+        }
+    }
+
+    /**
+     * Iterative DFS bounded by the affected region.
+     *
+     * @param towardsDependents true to walk dependents with {@code ord <= bound}, false to walk dependencies with {@code ord > bound}
+     * @param target            node that closes a cycle when reached, or null
+     * @return true if the target was reached
+     */
+    private static boolean search(Node start, boolean towardsDependents, int bound, Node target, List<Node> visited) {
+        var stack = new ArrayDeque<Node>();
+        start.visited = true;
+        visited.add(start);
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            var current = stack.pop();
+            var next = towardsDependents ? current.dependents : current.dependencies;
+            for (Node it : next) {
+                if (it == target) {
+                    return true;
+                }
+                boolean inRegion = towardsDependents ? it.ord <= bound : it.ord > bound;
+                if (!it.visited && inRegion) {
+                    it.visited = true;
+                    visited.add(it);
+                    stack.push(it);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void assign(Node node, int ord) {
+        node.ord = ord;
+        order.set(ord, node);
+    }
+
+    private static CycleException cycle(String name) {
+        String message = "Cycle detected at resource: " + name;
+        log.error(message);
+        return new CycleException(message);
+    }
+
+    private static final class Node {
+        private final String name;
+        private final Set<Node> dependencies = new LinkedHashSet<>();
+        private final Set<Node> dependents = new LinkedHashSet<>();
+        private int ord;
+        private boolean visited;
+
+        private Node(String name, int ord) {
+            this.name = name;
+            this.ord = ord;
+        }
+    }
+}
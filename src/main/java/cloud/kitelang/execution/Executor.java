@@ -0,0 +1,169 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.execution.environment.ActivationEnvironment;
+import cloud.kitelang.execution.interpreter.OperatorComparator;
+import cloud.kitelang.syntax.ast.expressions.*;
+import cloud.kitelang.syntax.literals.*;
+
+/**
+ * Pre-linked executor for an expression tree. Literals, variables and operators are linked once into nodes that
+ * know their operator, slot and children, so evaluating them needs no visitor dispatch, no {@code instanceof} switch
+ * on the AST and no push on the call stack. Every other expression is evaluated by the {@link Interpreter}, which
+ * stays the reference implementation, and so are statements, calls, member access and blocks. An interpreter links
+ * the executor of an operator on its first evaluation and keeps it ({@link Interpreter#executor(Expression)}), not the
+ * tree: parsed programs are shared by runs and forks, and the state of a {@link Binary} node belongs to one
+ * interpreter. Expressions the {@link FoldedConstants} hold a value for are linked as constants.
+ *
+ * <p>Binary nodes specialise themselves: once both operands were integers, the node computes on ints directly and
+ * falls back to {@link Interpreter#binary} for good as soon as it sees anything else.
+ *
+ * <p>Enabled by {@link Interpreter#setClosureCompiled(boolean)}, defaults to the {@code kite.interpret.closures}
+ * system property.
+ */
+abstract sealed class Executor {
+    static final boolean ENABLED = Boolean.getBoolean("kite.interpret.closures");
+
+    abstract Object execute(Interpreter interpreter);
+
+    static Executor of(Expression expression, FoldedConstants constants) {
+        var folded = expression == null ? null : constants.value(expression);
+        if (folded != null) {
+            return new Constant(folded);
+        }
+        return switch (expression) {
+            case NumberLiteral it -> new Constant(it.getValue());
+            case BooleanLiteral it -> new Constant(it.isValue());
+            case NullLiteral it -> new Constant(null);
+            case StringLiteral it when !it.isInterpolated() -> new Constant(it.getValue());
+            case SymbolIdentifier it when it.getSlot() != null && it.getHops() != null -> new Slot(it);
+            case BinaryExpression it -> new Binary(it, of(it.getLeft(), constants), of(it.getRight(), constants));
+            case LogicalExpression it -> new Logical(it, of(it.getLeft(), constants), of(it.getRight(), constants));
+            case UnaryExpression it when it.getOperator() != null -> new Unary(it, of(it.getValue(), constants));
+            case null, default -> new Generic(expression);
+        };
+    }
+
+    private static final class Constant extends Executor {
+        private final Object value;
+
+        private Constant(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        Object execute(Interpreter interpreter) {
+            return value;
+        }
+    }
+
+    /**
+     * Function parameter, read from its activation frame when the scope resolver's slot is still valid
+     */
+    private static final class Slot extends Executor {
+        private final Identifier identifier;
+        private final String name;
+        private final int hops;
+        private final int slot;
+
+        private Slot(Identifier identifier) {
+            this.identifier = identifier;
+            this.name = identifier.string();
+            this.hops = identifier.getHops();
+            this.slot = identifier.getSlot();
+        }
+
+        @Override
+        Object execute(Interpreter interpreter) {
+            if (interpreter.getEnv().ancestor(hops) instanceof ActivationEnvironment frame && frame.hasSlot(slot, name)) {
+                return frame.getSlot(slot);
+            }
+            return interpreter.visit(identifier);
+        }
+    }
+
+    private static final class Binary extends Executor {
+        private static final int UNINITIALIZED = 0;
+        private static final int INT = 1;
+        private static final int GENERIC = 2;
+
+        private final BinaryExpression expression;
+        private final BinaryOperator operator;
+        private final Executor left;
+        private final Executor right;
+        // only changed by the interpreter that linked the node
+        private int state = UNINITIALIZED;
+
+        private Binary(BinaryExpression expression, Executor left, Executor right) {
+            this.expression = expression;
+            this.operator = expression.getBinaryOperator();
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object execute(Interpreter interpreter) {
+            var leftValue = left.execute(interpreter);
+            var rightValue = right.execute(interpreter);
+            if (state == INT) {
+                if (leftValue instanceof Integer a && rightValue instanceof Integer b) {
+                    return OperatorComparator.compare(operator, a.intValue(), b.intValue());
+                }
+                state = GENERIC;
+            } else if (state == UNINITIALIZED) {
+                // the first evaluation goes through the interpreter, which validates the operand types
+                var result = interpreter.binary(expression, leftValue, rightValue);
+                state = leftValue instanceof Integer && rightValue instanceof Integer ? INT : GENERIC;
+                return result;
+            }
+            return interpreter.binary(expression, leftValue, rightValue);
+        }
+    }
+
+    private static final class Logical extends Executor {
+        private final LogicalExpression expression;
+        private final Executor left;
+        private final Executor right;
+
+        private Logical(LogicalExpression expression, Executor left, Executor right) {
+            this.expression = expression;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object execute(Interpreter interpreter) {
+            return interpreter.logical(expression, left.execute(interpreter), right.execute(interpreter));
+        }
+    }
+
+    private static final class Unary extends Executor {
+        private final UnaryExpression expression;
+        private final Executor value;
+
+        private Unary(UnaryExpression expression, Executor value) {
+            this.expression = expression;
+            this.value = value;
+        }
+
+        @Override
+        Object execute(Interpreter interpreter) {
+            return interpreter.unary(expression, value.execute(interpreter));
+        }
+    }
+
+    /**
+     * Anything else is evaluated by the visitor in the interpreter's current environment
+     */
+    private static final class Generic extends Executor {
+        private final Expression expression;
+
+        private Generic(Expression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        Object execute(Interpreter interpreter) {
+            return interpreter.visit(expression);
+        }
+    }
+}
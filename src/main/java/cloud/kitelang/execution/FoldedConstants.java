@@ -0,0 +1,72 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.execution.values.FunValue;
+import cloud.kitelang.semantics.ConstantFolder;
+import cloud.kitelang.stdlib.StdlibRegistry;
+import cloud.kitelang.syntax.ast.Program;
+import cloud.kitelang.syntax.ast.expressions.Expression;
+import cloud.kitelang.syntax.ast.statements.FunctionDeclaration;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Values the {@link ConstantFolder} computed for the programs of one run and the functions it found pure. Shared by
+ * the interpreters of the run's imports and forks, since a function body runs in the interpreter that calls it.
+ * <p>
+ * Every program is folded once, when an interpreter starts it. Parsed programs are cached and shared between runs, so
+ * the tree is never rewritten: the interpreter looks folded expressions up by identity instead. Tables are replaced
+ * rather than modified, so lookups don't lock.
+ */
+final class FoldedConstants {
+    private final Set<Program> programs = Collections.newSetFromMap(new IdentityHashMap<>());
+    private volatile Map<Expression, Object> values = new IdentityHashMap<>();
+    private volatile Set<FunctionDeclaration> pure = Set.of();
+
+    synchronized void fold(Program program, Environment<Object> env) {
+        if (!programs.add(program)) {
+            return;
+        }
+        var folder = new ConstantFolder(shadowed(env));
+        var folded = folder.fold(program);
+        if (!folded.isEmpty()) {
+            var values = new IdentityHashMap<>(this.values);
+            values.putAll(folded);
+            this.values = values;
+        }
+        if (!folder.getPure().isEmpty()) {
+            var pure = Collections.<FunctionDeclaration>newSetFromMap(new IdentityHashMap<>());
+            pure.addAll(this.pure);
+            pure.addAll(folder.getPure());
+            this.pure = pure;
+        }
+    }
+
+    /**
+     * @return the folded value of the expression, null if it wasn't folded
+     */
+    @Nullable
+    Object value(Expression expression) {
+        return values.get(expression);
+    }
+
+    boolean isPure(FunctionDeclaration declaration) {
+        return pure.contains(declaration);
+    }
+
+    /**
+     * Stdlib names the environment binds to something else than the stdlib function, a user function or a variable
+     * declared before the program runs
+     */
+    private static Set<String> shadowed(Environment<Object> env) {
+        var shadowed = new HashSet<String>();
+        for (var name : StdlibRegistry.STDLIB_FUNCTION_NAMES) {
+            var scope = env.scopeOf(name);
+            if (scope != null && (!(scope.get(name) instanceof Callable) || scope.get(name) instanceof FunValue)) {
+                shadowed.add(name);
+            }
+        }
+        return shadowed;
+    }
+}
@@ -0,0 +1,414 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.execution.exceptions.NotFoundException;
+import cloud.kitelang.execution.values.FunValue;
+import cloud.kitelang.execution.values.NullValue;
+import cloud.kitelang.syntax.ast.expressions.*;
+import cloud.kitelang.syntax.ast.statements.*;
+import cloud.kitelang.syntax.literals.*;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.CodeBuilder;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.invoke.MethodHandles;
+import java.util.*;
+
+import static java.lang.constant.ConstantDescs.*;
+
+/**
+ * Second execution tier for functions and lambdas. Once a {@link FunValue} was called
+ * {@link Interpreter#getCompileThreshold()} times, its body is compiled to a hidden class and later calls run the
+ * bytecode instead of walking the AST in a new {@link cloud.kitelang.execution.environment.ActivationEnvironment}.
+ *
+ * <p>Parameters live in JVM locals. Operators, calls and variables of the enclosing scopes go through the same
+ * {@link Interpreter} methods the visitor uses, so a compiled body gives the same values and the same errors. Only
+ * bodies made of the constructs below are compiled:
+ * <ul>
+ *   <li>{@code return}, {@code if}/{@code else}, blocks and expression statements</li>
+ *   <li>literals, string interpolation, unary, binary and logical expressions</li>
+ *   <li>parameters, variables of enclosing scopes and calls</li>
+ * </ul>
+ * Anything else (declarations, assignments, loops, member access, nested lambdas...) keeps the function in the
+ * interpreter for good.
+ */
+@Slf4j
+final class FunctionCompiler {
+    /**
+     * Default of {@link Interpreter#setCompileThreshold(int)}, 0 disables compilation.
+     */
+    static final int THRESHOLD = Integer.getInteger("kite.interpret.compileThreshold", 0);
+
+    /**
+     * Marks functions whose body can not be compiled
+     */
+    static final CompiledFunction UNSUPPORTED = (interpreter, closure, args) -> {
+        throw new IllegalStateException("Function is not compiled");
+    };
+
+    private static final ClassDesc CD_COMPILED = ClassDesc.of("cloud.kitelang.execution.CompiledKiteFunction");
+    private static final ClassDesc CD_COMPILED_FUNCTION = ClassDesc.of(CompiledFunction.class.getName());
+    private static final ClassDesc CD_COMPILER = ClassDesc.of(FunctionCompiler.class.getName());
+    private static final ClassDesc CD_INTERPRETER = ClassDesc.of(Interpreter.class.getName());
+    private static final ClassDesc CD_ENVIRONMENT = ClassDesc.of(Environment.class.getName());
+    private static final ClassDesc CD_CALLABLE = ClassDesc.of(Callable.class.getName());
+    private static final ClassDesc CD_NULL_VALUE = ClassDesc.of(NullValue.class.getName());
+    private static final ClassDesc CD_OBJECT_ARRAY = CD_Object.arrayType();
+    private static final MethodTypeDesc MTD_INVOKE = MethodTypeDesc.of(CD_Object, CD_INTERPRETER, CD_ENVIRONMENT, CD_List);
+    private static final int INTERPRETER = 1;
+    private static final int CLOSURE = 2;
+    private static final int ARGS = 3;
+    private static final int FIRST_PARAM = 4;
+
+    private FunctionCompiler() {
+    }
+
+    /**
+     * Counts a call of the function and compiles it once it reached the threshold.
+     *
+     * @return the compiled body, or null while the function is interpreted
+     */
+    @Nullable
+    static CompiledFunction tierUp(FunValue function, int threshold) {
+        var compiled = function.getCompiled();
+        if (compiled == null) {
+            if (function.countCall() < threshold) {
+                return null;
+            }
+            synchronized (function) {
+                compiled = function.getCompiled();
+                if (compiled == null) {
+                    compiled = compile(function);
+                    function.setCompiled(compiled);
+                }
+            }
+        }
+        return compiled == UNSUPPORTED ? null : compiled;
+    }
+
+    static CompiledFunction compile(FunValue function) {
+        try {
+            var emitter = new Emitter(function.paramsAsString());
+            var bytes = ClassFile.of().build(CD_COMPILED, clb -> clb
+                    .withFlags(ClassFile.ACC_FINAL | ClassFile.ACC_SYNTHETIC)
+                    .withSuperclass(CD_Object)
+                    .withInterfaceSymbols(CD_COMPILED_FUNCTION)
+                    .withField("constants", CD_OBJECT_ARRAY, ClassFile.ACC_PRIVATE | ClassFile.ACC_FINAL)
+                    .withMethodBody(INIT_NAME, MethodTypeDesc.of(CD_void, CD_OBJECT_ARRAY), ClassFile.ACC_PUBLIC, cob -> cob
+                            .aload(0)
+                            .invokespecial(CD_Object, INIT_NAME, MTD_void)
+                            .aload(0)
+                            .aload(1)
+                            .putfield(CD_COMPILED, "constants", CD_OBJECT_ARRAY)
+                            .return_())
+                    .withMethodBody("invoke", MTD_INVOKE, ClassFile.ACC_PUBLIC, cob -> emitter.body(cob, function.getBody())));
+            var hidden = MethodHandles.lookup().defineHiddenClass(bytes, true).lookupClass();
+            return (CompiledFunction) hidden.getConstructor(Object[].class).newInstance((Object) emitter.constants.toArray());
+        } catch (Unsupported e) {
+            log.debug("Function {} stays interpreted: {}", function.name(), e.getMessage());
+            return UNSUPPORTED;
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            log.debug("Function {} stays interpreted, compilation failed", function.name(), e);
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * Variable of an enclosing scope. The body declares no variables, so everything between the identifier and the
+     * closure is empty and looking up from the closure gives what {@link Interpreter#visit(Identifier)} finds.
+     *
+     * @param depth number of blocks between the identifier and the function's activation
+     */
+    static Object lookup(Environment<Object> closure, SymbolIdentifier identifier, int depth) {
+        var name = identifier.string();
+        var hops = identifier.getHops();
+        try {
+            if (hops == null) {
+                return closure.lookup(name, (Integer) null);
+            }
+            return hops <= depth ? closure.lookup(name) : closure.lookup(name, hops - depth - 1);
+        } catch (NotFoundException e) {
+            return closure.lookup(name);
+        }
+    }
+
+    /**
+     * Variable of a string interpolation, looked up one scope up while a resource is evaluated like
+     * {@link Interpreter#visit(StringLiteral)} does.
+     */
+    static Object interpolationVariable(Interpreter interpreter, Environment<Object> closure, String name, int depth,
+                                        boolean parameter, Object value) {
+        if (parameter && (depth > 0 || !interpreter.isResourceContext())) {
+            return value;
+        }
+        return closure.lookup(name);
+    }
+
+    static String interpolate(StringLiteral literal, Object[] values) {
+        var strings = new ArrayList<String>(values.length);
+        for (Object value : values) {
+            strings.add(Interpreter.stringifyForInterpolation(value));
+        }
+        return literal.getInterpolatedString(strings);
+    }
+
+    static String interpolate(StringInterpolation interpolation, Object[] values) {
+        var result = new StringBuilder();
+        int i = 0;
+        for (var part : interpolation.getParts()) {
+            switch (part) {
+                case StringInterpolation.Text text -> result.append(text.value());
+                case StringInterpolation.Expr expr -> result.append(Interpreter.stringifyForInterpolation(values[i++]));
+            }
+        }
+        return result.toString();
+    }
+
+    static Object call(Interpreter interpreter, Callable function, Object[] args) {
+        return interpreter.call(function, args);
+    }
+
+    static boolean test(Object value) {
+        return (Boolean) value;
+    }
+
+    /**
+     * Thrown while emitting a construct the compiler does not support
+     */
+    private static final class Unsupported extends RuntimeException {
+        private Unsupported(String construct) {
+            super(construct, null, false, false);
+        }
+    }
+
+    /**
+     * Emits the {@code invoke} method. Every statement and expression leaves exactly one value on the stack, code
+     * after a {@code return} is unreachable and replaced by the class file writer.
+     */
+    private static final class Emitter {
+        private final List<String> params;
+        private final List<Object> constants = new ArrayList<>();
+        private CodeBuilder cob;
+
+        private Emitter(List<String> params) {
+            if (new HashSet<>(params).size() != params.size()) {
+                throw new Unsupported("duplicate parameter");
+            }
+            this.params = params;
+        }
+
+        void body(CodeBuilder cob, Statement body) {
+            this.cob = cob;
+            constants.clear();
+            for (int i = 0; i < params.size(); i++) {
+                cob.aload(ARGS)
+                        .loadConstant(i)
+                        .invokeinterface(CD_List, "get", MethodTypeDesc.of(CD_Object, CD_int))
+                        .astore(FIRST_PARAM + i);
+            }
+            // same shape as Interpreter#executeDiscardBlock
+            if (!(body instanceof ExpressionStatement statement)) {
+                throw new Unsupported("function body " + body);
+            }
+            if (statement.getStatement() instanceof BlockExpression block) {
+                statements(block.getExpression(), 0, false);
+            } else {
+                expression(statement.getStatement(), 0);
+            }
+            cob.areturn();
+        }
+
+        /**
+         * @param block true for a block expression, which evaluates to {@link NullValue} when empty
+         */
+        private void statements(List<Statement> statements, int depth, boolean block) {
+            if (statements.isEmpty()) {
+                if (block) {
+                    cob.invokestatic(CD_NULL_VALUE, "of", MethodTypeDesc.of(CD_NULL_VALUE));
+                } else {
+                    cob.aconst_null();
+                }
+                return;
+            }
+            for (int i = 0; i < statements.size(); i++) {
+                if (i > 0) {
+                    cob.pop();
+                }
+                statement(statements.get(i), depth);
+            }
+        }
+
+        private void statement(@Nullable Statement statement, int depth) {
+            switch (statement) {
+                case ExpressionStatement it -> expression(it.getStatement(), depth);
+                case ReturnStatement it -> {
+                    if (it.getArgument() == null) {
+                        cob.aconst_null();
+                    } else {
+                        statement(it.getArgument(), depth);
+                    }
+                    cob.areturn();
+                    cob.aconst_null();
+                }
+                case IfStatement it -> {
+                    if (it.getConsequent() == null) {
+                        throw new Unsupported("if without body");
+                    }
+                    var otherwise = cob.newLabel();
+                    var end = cob.newLabel();
+                    expression(it.getTest(), depth);
+                    cob.invokestatic(CD_COMPILER, "test", MethodTypeDesc.of(CD_boolean, CD_Object))
+                            .ifeq(otherwise);
+                    statement(it.getConsequent(), depth);
+                    cob.goto_(end)
+                            .labelBinding(otherwise);
+                    if (it.getAlternate() == null) {
+                        cob.aconst_null();
+                    } else {
+                        statement(it.getAlternate(), depth);
+                    }
+                    cob.labelBinding(end);
+                }
+                case null, default -> throw new Unsupported(String.valueOf(statement));
+            }
+        }
+
+        private void expression(@Nullable Expression expression, int depth) {
+            switch (expression) {
+                case NumberLiteral it -> constant(it.getValue());
+                case BooleanLiteral it -> constant(it.isValue());
+                case NullLiteral it -> cob.aconst_null();
+                case StringLiteral it when !it.isInterpolated() -> constant(it.getValue());
+                case StringLiteral it -> interpolation(it, depth);
+                case StringInterpolation it -> {
+                    var parts = new ArrayList<Expression>();
+                    for (var part : it.getParts()) {
+                        if (part instanceof StringInterpolation.Expr expr) {
+                            parts.add(expr.expression());
+                        }
+                    }
+                    constant(it, StringInterpolation.class);
+                    array(parts, depth);
+                    cob.invokestatic(CD_COMPILER, "interpolate",
+                            MethodTypeDesc.of(CD_String, desc(StringInterpolation.class), CD_OBJECT_ARRAY));
+                }
+                case SymbolIdentifier it -> identifier(it, depth);
+                case BlockExpression it -> statements(it.getExpression(), depth + 1, true);
+                case BinaryExpression it -> {
+                    cob.aload(INTERPRETER);
+                    constant(it, BinaryExpression.class);
+                    expression(it.getLeft(), depth);
+                    expression(it.getRight(), depth);
+                    cob.invokevirtual(CD_INTERPRETER, "binary",
+                            MethodTypeDesc.of(CD_Object, desc(BinaryExpression.class), CD_Object, CD_Object));
+                }
+                case LogicalExpression it -> {
+                    cob.aload(INTERPRETER);
+                    constant(it, LogicalExpression.class);
+                    expression(it.getLeft(), depth);
+                    expression(it.getRight(), depth);
+                    cob.invokevirtual(CD_INTERPRETER, "logical",
+                            MethodTypeDesc.of(CD_Object, desc(LogicalExpression.class), CD_Object, CD_Object));
+                }
+                case UnaryExpression it when it.getOperator() != null -> {
+                    cob.aload(INTERPRETER);
+                    constant(it, UnaryExpression.class);
+                    expression(it.getValue(), depth);
+                    cob.invokevirtual(CD_INTERPRETER, "unary",
+                            MethodTypeDesc.of(CD_Object, desc(UnaryExpression.class), CD_Object));
+                }
+                case CallExpression<?> it -> {
+                    cob.aload(INTERPRETER)
+                            .aload(INTERPRETER);
+                    constant(it, CallExpression.class);
+                    expression(it.getCallee(), depth);
+                    cob.invokevirtual(CD_INTERPRETER, "callee",
+                            MethodTypeDesc.of(CD_CALLABLE, desc(CallExpression.class), CD_Object));
+                    array(it.getArguments(), depth);
+                    cob.invokestatic(CD_COMPILER, "call",
+                            MethodTypeDesc.of(CD_Object, CD_INTERPRETER, CD_CALLABLE, CD_OBJECT_ARRAY));
+                }
+                case null, default -> throw new Unsupported(String.valueOf(expression));
+            }
+        }
+
+        private void identifier(SymbolIdentifier identifier, int depth) {
+            int param = params.indexOf(identifier.string());
+            if (param >= 0) {
+                // a parameter read through its slot, see Interpreter#visit(Identifier)
+                if (!Objects.equals(identifier.getHops(), depth) || !Objects.equals(identifier.getSlot(), param)) {
+                    throw new Unsupported("parameter " + identifier.string() + " without slot");
+                }
+                cob.aload(FIRST_PARAM + param);
+                return;
+            }
+            cob.aload(CLOSURE);
+            constant(identifier, SymbolIdentifier.class);
+            cob.loadConstant(depth)
+                    .invokestatic(CD_COMPILER, "lookup",
+                            MethodTypeDesc.of(CD_Object, CD_ENVIRONMENT, desc(SymbolIdentifier.class), CD_int));
+        }
+
+        private void interpolation(StringLiteral literal, int depth) {
+            var expressions = literal.getInterpolationExpressions();
+            constant(literal, StringLiteral.class);
+            cob.loadConstant(expressions.size())
+                    .anewarray(CD_Object);
+            for (int i = 0; i < expressions.size(); i++) {
+                cob.dup()
+                        .loadConstant(i);
+                if (expressions.get(i) instanceof SymbolIdentifier identifier) {
+                    int param = params.indexOf(identifier.string());
+                    cob.aload(INTERPRETER)
+                            .aload(CLOSURE)
+                            .loadConstant(identifier.string())
+                            .loadConstant(depth)
+                            .loadConstant(param >= 0 ? 1 : 0);
+                    if (param >= 0) {
+                        cob.aload(FIRST_PARAM + param);
+                    } else {
+                        cob.aconst_null();
+                    }
+                    cob.invokestatic(CD_COMPILER, "interpolationVariable", MethodTypeDesc.of(
+                            CD_Object, CD_INTERPRETER, CD_ENVIRONMENT, CD_String, CD_int, CD_boolean, CD_Object));
+                } else {
+                    expression(expressions.get(i), depth);
+                }
+                cob.aastore();
+            }
+            cob.invokestatic(CD_COMPILER, "interpolate",
+                    MethodTypeDesc.of(CD_String, desc(StringLiteral.class), CD_OBJECT_ARRAY));
+        }
+
+        private void array(List<? extends Expression> expressions, int depth) {
+            cob.loadConstant(expressions.size())
+                    .anewarray(CD_Object);
+            for (int i = 0; i < expressions.size(); i++) {
+                cob.dup()
+                        .loadConstant(i);
+                expression(expressions.get(i), depth);
+                cob.aastore();
+            }
+        }
+
+        private void constant(Object value) {
+            constants.add(value);
+            cob.aload(0)
+                    .getfield(CD_COMPILED, "constants", CD_OBJECT_ARRAY)
+                    .loadConstant(constants.size() - 1)
+                    .aaload();
+        }
+
+        private void constant(Object value, Class<?> type) {
+            constant(value);
+            cob.checkcast(desc(type));
+        }
+
+        private static ClassDesc desc(Class<?> type) {
+            return ClassDesc.of(type.getName());
+        }
+    }
+}
@@ -9,11 +9,16 @@ import cloud.kitelang.execution.environment.ActivationEnvironment;
 import cloud.kitelang.execution.environment.Environment;
 import cloud.kitelang.execution.exceptions.*;
 import cloud.kitelang.execution.interpreter.OperatorComparator;
+import cloud.kitelang.execution.output.HumanOutputSink;
+import cloud.kitelang.execution.output.OutputSink;
 import cloud.kitelang.execution.values.*;
+import cloud.kitelang.metrics.Metrics;
+import cloud.kitelang.metrics.Phase;
 import cloud.kitelang.semantics.TypeError;
 import cloud.kitelang.semantics.scope.ScopeResolver;
 import cloud.kitelang.semantics.types.Type;
 import cloud.kitelang.stdlib.StdlibRegistry;
+import cloud.kitelang.syntax.annotations.Annotatable;
 import cloud.kitelang.syntax.ast.KiteCompiler;
 import cloud.kitelang.syntax.ast.Program;
 import cloud.kitelang.syntax.ast.expressions.*;
@@ -23,13 +28,16 @@ import cloud.kitelang.syntax.literals.ObjectLiteral.ObjectLiteralPair;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.fusesource.jansi.Ansi;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static cloud.kitelang.execution.CycleDetection.topologySort;
@@ -41,6 +49,7 @@ import static java.text.MessageFormat.format;
 
 @Slf4j
 public final class Interpreter extends StackVisitor<Object> {
+    @Getter
     private final DeferredObservable deferredObservable;
     @Getter
     private final List<OutputDeclaration> outputs;
@@ -51,6 +60,19 @@ public final class Interpreter extends StackVisitor<Object> {
     private final KiteCompiler parser = new KiteCompiler();
     // Track currently importing files to detect circular imports
     private final Set<String> importChain;
+    // Resource dependency graph with an incrementally maintained topological order, shared across nested imports
+    private final DependencyGraph dependencyGraph;
+    // Per-run state of resource and component statements, kept off the AST so cached programs stay read-only.
+    // Keyed by identity and shared across nested imports
+    private final Map<Annotatable, StatementState> statementStates;
+    /**
+     * Folded expressions and pure functions of the programs this run evaluates, shared with imports and forks
+     */
+    private final FoldedConstants constants;
+    /**
+     * Executors linked by this interpreter in closure mode. Forks, imports and other runs of the program link their own
+     */
+    private final Map<Expression, Executor> executors = new IdentityHashMap<>();
     // Track component declarations for later instantiation (similar to TypeChecker's ComponentRegistry)
     private final Map<String, ComponentStatement> componentDeclarations;
     // Track deferred resource templates for apply-time creation (when @count depends on @cloud properties)
@@ -59,9 +81,33 @@ public final class Interpreter extends StackVisitor<Object> {
     // Track cloud property observers for reactive re-evaluation after apply
     @Getter
     private final CloudObservable cloudObservable;
+    // Resources created by a fork, registered by the ResourceScheduler once the fork succeeded. Null outside forks
+    @Nullable
+    private final List<ResourceValue> forkedInstances;
     // Resolved component inputs from InputChainResolver (qualified name -> Expression)
     @Setter
     private Map<String, Expression> resolvedComponentInputs = new HashMap<>();
+    /**
+     * Evaluate consecutive top-level resources on the {@link ResourceScheduler} pool instead of one by one.
+     * Defaults to the {@code kite.interpret.parallel} system property.
+     */
+    @Getter
+    @Setter
+    private boolean parallel = ResourceScheduler.ENABLED;
+    /**
+     * Calls after which a function or lambda is compiled to bytecode by the {@link FunctionCompiler}, 0 to always
+     * interpret. Defaults to the {@code kite.interpret.compileThreshold} system property.
+     */
+    @Getter
+    @Setter
+    private int compileThreshold = FunctionCompiler.THRESHOLD;
+    /**
+     * Evaluate operators through pre-linked {@link Executor} trees instead of visiting every operand. Defaults to the
+     * {@code kite.interpret.closures} system property.
+     */
+    @Getter
+    @Setter
+    private boolean closureCompiled = Executor.ENABLED;
     @Getter
     @Setter
     private SyntaxPrinter printer;
@@ -74,6 +120,13 @@ public final class Interpreter extends StackVisitor<Object> {
     @Getter
     @Setter
     private String sourceFilePath;
+    /**
+     * Directory relative imports are resolved against, the thread's {@link ImportResolver#setBasePath(Path)} when null
+     */
+    @Getter
+    @Setter
+    @Nullable
+    private Path basePath;
 
     public Interpreter() {
         this(new Environment<>());
@@ -88,19 +141,26 @@ public final class Interpreter extends StackVisitor<Object> {
     }
 
     public Interpreter(Environment<Object> environment, SyntaxPrinter printer) {
-        this(environment, printer, new LinkedHashSet<>());
+        this(environment, printer, new LinkedHashSet<>(), new DependencyGraph(),
+                Collections.synchronizedMap(new IdentityHashMap<>()), new FoldedConstants());
     }
 
-    // Constructor with importChain for sharing across nested imports
-    private Interpreter(Environment<Object> environment, SyntaxPrinter printer, Set<String> importChain) {
+    // Constructor with importChain, dependency graph, statement states and folded constants for sharing across nested imports
+    private Interpreter(Environment<Object> environment, SyntaxPrinter printer, Set<String> importChain,
+                        DependencyGraph dependencyGraph, Map<Annotatable, StatementState> statementStates,
+                        FoldedConstants constants) {
         this.env = environment;
         this.outputs = new ArrayList<>();
         this.printer = printer;
         this.deferredObservable = new DeferredObservable();
         this.cloudObservable = new CloudObservable();
         this.importChain = importChain; // Share the import chain
+        this.dependencyGraph = dependencyGraph;
+        this.statementStates = statementStates;
+        this.constants = constants;
         this.componentDeclarations = new HashMap<>();
         this.deferredTemplates = new ArrayList<>();
+        this.forkedInstances = null;
 
         this.errors = new ArrayList<>();
         this.decorators = new HashMap<>();
@@ -113,6 +173,36 @@ public final class Interpreter extends StackVisitor<Object> {
         // Register all stdlib builtin functions from the central registry
         StdlibRegistry.registerRuntime(this.env);
 
+        registerDecorators();
+    }
+
+    // Constructor for forks: evaluates in a child of the parent's environment and shares its statement states.
+    // Everything a fork creates stays local until the ResourceScheduler registers it
+    private Interpreter(Interpreter parent) {
+        this.env = new Environment<>("fork", parent.env);
+        this.outputs = new ArrayList<>();
+        this.printer = parent.printer;
+        this.deferredObservable = new DeferredObservable();
+        this.cloudObservable = new CloudObservable();
+        this.importChain = new LinkedHashSet<>(parent.importChain);
+        this.dependencyGraph = parent.dependencyGraph; // only updated by the parent when the fork is replayed
+        this.statementStates = parent.statementStates;
+        this.constants = parent.constants;
+        this.componentDeclarations = new HashMap<>();
+        this.deferredTemplates = new ArrayList<>();
+        this.forkedInstances = new ArrayList<>();
+        this.resolvedComponentInputs = parent.resolvedComponentInputs;
+        this.sourceFilePath = parent.sourceFilePath;
+        this.basePath = parent.basePath;
+        this.compileThreshold = parent.compileThreshold;
+        this.closureCompiled = parent.closureCompiled;
+
+        this.errors = new ArrayList<>();
+        this.decorators = new HashMap<>();
+        registerDecorators();
+    }
+
+    private void registerDecorators() {
         this.decorators.put("minValue", new MinValueDecorator(this));
         this.decorators.put("maxValue", new MaxValueDecorator(this));
         this.decorators.put("maxLength", new MaxLengthDecorator(this));
@@ -127,7 +217,7 @@ public final class Interpreter extends StackVisitor<Object> {
         this.decorators.put("validate", new ValidateDecorator(this));
         this.decorators.put("provider", new ProviderDecorator(this));
         this.decorators.put("tags", new TagsDecorator(this));
-        this.decorators.put("existing", new ExistingDecorator(printer));
+        this.decorators.put("existing", new ExistingDecorator(this));
     }
 
     private static void forInit(Environment<Object> forEnv, Identifier index, Object i) {
@@ -152,8 +242,14 @@ public final class Interpreter extends StackVisitor<Object> {
      */
     public ResourceValue initInstance(ResourceValue instance) {
         var segmentName = instance.getPath().toSegmentName();
-        // Register at root level for global uniqueness
-        env.initResource(segmentName, instance);
+        if (forkedInstances != null) {
+            // registered by the ResourceScheduler, which also checks uniqueness
+            forkedInstances.add(instance);
+        } else {
+            // Register at root level for global uniqueness
+            env.initResource(segmentName, instance);
+            dependencyGraph.addResource(segmentName);
+        }
         if (ExecutionContextIn(ForStatement.class)) {
             // make resource name {..} accessible through .name instead of .name[count]
             // This is a convenience alias in the current scope, not a separate resource
@@ -167,6 +263,13 @@ public final class Interpreter extends StackVisitor<Object> {
         return env.getResource(name);
     }
 
+    /**
+     * State this run keeps for a resource or component statement, created on first use.
+     */
+    public StatementState stateOf(Annotatable statement) {
+        return statementStates.computeIfAbsent(statement, StatementState::new);
+    }
+
     /**
      * Add a deferred resource template for apply-time creation.
      * Called when @count depends on a @cloud property.
@@ -241,6 +344,11 @@ public final class Interpreter extends StackVisitor<Object> {
         if (expression instanceof ArrayTypeIdentifier arrayTypeIdentifier) {
             return env.lookup(arrayTypeIdentifier.getType().getValue(), expression.getHops());
         }
+        var slot = expression.getSlot();
+        if (slot != null && env.ancestor(expression.getHops()) instanceof ActivationEnvironment frame
+            && frame.hasSlot(slot, expression.string())) {
+            return frame.getSlot(slot);
+        }
         try {
             return env.lookup(expression.string(), expression.getHops());
         } catch (NotFoundException e) {
@@ -273,20 +381,19 @@ public final class Interpreter extends StackVisitor<Object> {
     public Object visit(StringLiteral expression) {
         if (expression.isInterpolated()) {
             // when doing string interpolation on a property assignment we should look in the parent environment
-            // for the interpolated string not in the "properties/environment of the resource"
+            // for the interpolated string not in the "properties/environment of the resource".
+            // $vars are compiled after scope resolution and carry no hops of their own, so this fixed rule decides:
+            // inside a resource `label = "$name"` reads the enclosing `name` even when the resource assigns `name`
             var hops = peek(ContextStack.Resource) ? 1 : 0;
-            var values = new ArrayList<String>(expression.getInterpolationVars().size());
-            for (String interpolationVar : expression.getInterpolationVars()) {
-                if (StringUtils.containsAny(".", "[")) { // complex interpolation ${vm.resourceName.property}
-                    var list = parser.parse(interpolationVar).getBody();
-                    for (Statement statement : list) {
-                        values.add(stringifyForInterpolation(visit(statement)));
-                    }
-                } else { // normal variables ${variable}
-                    var value = env.lookup(interpolationVar, hops);
+            var compiled = expression.getInterpolationExpressions();
+            var values = new ArrayList<String>(compiled.size());
+            for (Expression interpolation : compiled) {
+                if (interpolation instanceof SymbolIdentifier identifier) { // normal variables ${variable}
+                    var value = env.lookup(identifier.string(), hops);
                     values.add(stringifyForInterpolation(value));
+                } else { // complex interpolation ${vm.resourceName.property}, compiled once per literal
+                    values.add(stringifyForInterpolation(executeBlock(interpolation, env)));
                 }
-
             }
             return expression.getInterpolatedString(values);
         }
@@ -313,7 +420,7 @@ public final class Interpreter extends StackVisitor<Object> {
      * Unwraps ResourceRef.Resolved to extract the actual value instead of using
      * the record's default toString().
      */
-    private String stringifyForInterpolation(Object value) {
+    static String stringifyForInterpolation(Object value) {
         return switch (value) {
             case null -> "null";
             case ResourceRef.Resolved resolved -> {
@@ -366,23 +473,42 @@ public final class Interpreter extends StackVisitor<Object> {
 
     @Override
     public Object visit(BinaryExpression expression) {
+        var folded = constants.value(expression);
+        if (folded != null) {
+            return folded;
+        }
+        if (closureCompiled) {
+            return executor(expression).execute(this);
+        }
         Object leftBlock = executeBlock(expression.getLeft(), env);
         Object rightBlock = executeBlock(expression.getRight(), env);
+        return binary(expression, leftBlock, rightBlock);
+    }
 
-        var allowedTypes = OperatorComparator.allowTypes(expression.getOperator());
-        expectOperatorType(expression.getLeft(), allowedTypes, expression);
-        expectOperatorType(expression.getRight(), allowedTypes, expression);
+    /**
+     * Applies the operator of a binary expression to its evaluated operands.
+     */
+    Object binary(BinaryExpression expression, Object leftBlock, Object rightBlock) {
+        var op = expression.getBinaryOperator();
+        if (!expression.isOperandsValidated()) {
+            var allowedTypes = OperatorComparator.allowTypes(op);
+            expectOperatorType(expression.getLeft(), allowedTypes, expression);
+            expectOperatorType(expression.getRight(), allowedTypes, expression);
+            expression.markOperandsValidated();
+        }
 
-        var op = expression.getOperator();
         return switch (leftBlock) {
+            // fast paths: unbox once and compute on primitives
+            case Integer left when rightBlock instanceof Integer right -> compare(op, left.intValue(), right.intValue());
+            case Double left when rightBlock instanceof Double right -> compare(op, left.doubleValue(), right.doubleValue());
             case Number left when rightBlock instanceof Number right -> compare(op, left, right);
             case Number left when rightBlock instanceof String right -> compare(op, left, right);
             case String left when rightBlock instanceof String right -> compare(op, left, right);
             case String left when rightBlock instanceof Number right -> compare(op, left, right);
             case Boolean left when rightBlock instanceof Boolean right -> compare(op, left, right);
             case Map<?, ?> left when rightBlock instanceof Map<?, ?> right -> switch (op) {
-                case "==" -> Objects.equals(left, right);
-                case "!=" -> !Objects.equals(left, right);
+                case EQUAL -> Objects.equals(left, right);
+                case NOT_EQUAL -> !Objects.equals(left, right);
                 default -> throw new IllegalArgumentException("Operator could not be evaluated: " + op);
             };
             case null, default ->
@@ -404,7 +530,7 @@ public final class Interpreter extends StackVisitor<Object> {
         return getEnv().init(expression.getName(), values);
     }
 
-    private void expectOperatorType(Object type, List<Class> allowedTypes, BinaryExpression expression) {
+    private void expectOperatorType(Object type, Set<Class<?>> allowedTypes, BinaryExpression expression) {
         if (!allowedTypes.contains(type.getClass())) {
             throw new TypeError("Unexpected type `" + type.getClass() + "` in expression: " + printer.visit(expression) + ". Allowed types: " + allowedTypes);
         }
@@ -412,24 +538,97 @@ public final class Interpreter extends StackVisitor<Object> {
 
     @Override
     public Object visit(CallExpression<Expression> expression) {
-        var callee = executeBlock(expression.getCallee(), env);
-        if (callee instanceof Callable function) {
+        var folded = constants.value(expression);
+        if (folded != null) {
+            return folded;
+        }
+        var function = callee(expression, executeBlock(expression.getCallee(), env));
+        var arguments = expression.getArguments();
 
-            // evaluate arguments
-            var args = new ArrayList<>(expression.getArguments().size());
-            for (Expression it : expression.getArguments()) {
-                args.add(executeBlock(it, env));
+        // up to three arguments are passed as they are, without collecting them into a list
+        switch (arguments.size()) {
+            case 0 -> {
+                return call0(function);
             }
-
-            try {
-                return function.call(this, args);
-            } catch (Return aReturn) {
-                return aReturn.getValue();
+            case 1 -> {
+                return call1(function, executeBlock(arguments.get(0), env));
+            }
+            case 2 -> {
+                var first = executeBlock(arguments.get(0), env);
+                return call2(function, first, executeBlock(arguments.get(1), env));
+            }
+            case 3 -> {
+                var first = executeBlock(arguments.get(0), env);
+                var second = executeBlock(arguments.get(1), env);
+                return call3(function, first, second, executeBlock(arguments.get(2), env));
+            }
+            default -> {
+                var args = new ArrayList<>(arguments.size());
+                for (Expression it : arguments) {
+                    args.add(executeBlock(it, env));
+                }
+                return call(function, args);
             }
         }
+    }
+
+    Callable callee(CallExpression<Expression> expression, Object callee) {
+        if (callee instanceof Callable function) {
+            return function;
+        }
         throw new RuntimeError("Can only call functions and classes: " + printer.visit(expression.getCallee()));
     }
 
+    Object call(Callable function, List<Object> args) {
+        try {
+            return function.call(this, args);
+        } catch (Return aReturn) {
+            return aReturn.getValue();
+        }
+    }
+
+    Object call(Callable function, Object[] args) {
+        return switch (args.length) {
+            case 0 -> call0(function);
+            case 1 -> call1(function, args[0]);
+            case 2 -> call2(function, args[0], args[1]);
+            case 3 -> call3(function, args[0], args[1], args[2]);
+            default -> call(function, new ArrayList<>(Arrays.asList(args)));
+        };
+    }
+
+    private Object call0(Callable function) {
+        try {
+            return function.call0(this);
+        } catch (Return aReturn) {
+            return aReturn.getValue();
+        }
+    }
+
+    private Object call1(Callable function, Object arg) {
+        try {
+            return function.call1(this, arg);
+        } catch (Return aReturn) {
+            return aReturn.getValue();
+        }
+    }
+
+    private Object call2(Callable function, Object first, Object second) {
+        try {
+            return function.call2(this, first, second);
+        } catch (Return aReturn) {
+            return aReturn.getValue();
+        }
+    }
+
+    private Object call3(Callable function, Object first, Object second, Object third) {
+        try {
+            return function.call3(this, first, second, third);
+        } catch (Return aReturn) {
+            return aReturn.getValue();
+        }
+    }
+
     public Object Call(FunValue function, List<Object> args) {
         if (function.name() == null) { // execute lambda
             return lambdaCall(function, args);
@@ -446,15 +645,60 @@ public final class Interpreter extends StackVisitor<Object> {
             throw new RuntimeException("Expected %s arguments but got %d: %s".formatted(function.getParams().size(), args.size(), function.getName()));
         }
 
-        var environment = new ActivationEnvironment(declared.getClojure(), declared.getParams(), args);
-        return executeDiscardBlock(declared, environment);
+        if (declared != null && declared.getMemo() != null) {
+            return declared.getMemo().computeIfAbsent(args, () -> invoke(declared, args));
+        }
+        return invoke(declared, args);
+    }
+
+    private Object invoke(FunValue declared, List<Object> args) {
+        try {
+            var compiled = compiled(declared);
+            if (compiled != null) {
+                return compiled.invoke(this, declared.getClojure(), args);
+            }
+            var environment = new ActivationEnvironment(declared.getClojure(), declared.getParams(), args);
+            return executeDiscardBlock(declared, environment);
+        } catch (Return aReturn) {
+            // caught here and not only by the caller, so the memo stores the returned value
+            return aReturn.getValue();
+        }
     }
 
     private Object lambdaCall(FunValue function, List<Object> args) {
+        var compiled = compiled(function);
+        if (compiled != null) {
+            return compiled.invoke(this, function.getClojure(), args);
+        }
         var environment = new ActivationEnvironment(function.getClojure(), function.getParams(), args);
         return executeDiscardBlock(function, environment);
     }
 
+    /**
+     * @return the executor this interpreter linked for the expression, linking it on first use
+     */
+    Executor executor(Expression expression) {
+        var executor = executors.get(expression);
+        if (executor == null) {
+            executor = Executor.of(expression, constants);
+            executors.put(expression, executor);
+        }
+        return executor;
+    }
+
+    @Nullable
+    private CompiledFunction compiled(FunValue function) {
+        return compileThreshold > 0 ? FunctionCompiler.tierUp(function, compileThreshold) : null;
+    }
+
+    /**
+     * Interpolation looks variables up from the resource's parent environment while a resource is evaluated,
+     * see {@link #visit(StringLiteral)}.
+     */
+    boolean isResourceContext() {
+        return peek(ContextStack.Resource);
+    }
+
     private Object executeDiscardBlock(FunValue declared, ActivationEnvironment environment) {
         if (!(declared.getBody() instanceof ExpressionStatement expressionStatement)) {
             throw new RuntimeException("Invalid function body");
@@ -478,7 +722,7 @@ public final class Interpreter extends StackVisitor<Object> {
 
     @Override
     public Object visit(ImportStatement statement) {
-        var resolver = new ImportResolver(parser, importChain);
+        var resolver = new ImportResolver(parser, importChain, basePath);
 
         resolver.resolve(statement, env, program -> {
             // Resolve scopes in the imported program
@@ -486,9 +730,10 @@ public final class Interpreter extends StackVisitor<Object> {
             scopeResolver.resolve(program);
 
             // Create a new interpreter with shared import chain
-            var importInterpreter = new Interpreter(new Environment<>("import", env), printer, importChain);
+            var importInterpreter = new Interpreter(new Environment<>("import", env), printer, importChain, dependencyGraph, statementStates, constants);
             // Track the source file path for resources created in the imported file
             importInterpreter.setSourceFilePath(statement.getFilePath());
+            importInterpreter.setBasePath(basePath);
             importInterpreter.visit(program);
             return importInterpreter.getEnv();
         });
@@ -761,9 +1006,19 @@ public final class Interpreter extends StackVisitor<Object> {
 
     @Override
     public Object visit(LogicalExpression expression) {
+        var folded = constants.value(expression);
+        if (folded != null) {
+            return folded;
+        }
+        if (closureCompiled) {
+            return executor(expression).execute(this);
+        }
         var left = visit(expression.getLeft());
         var right = visit(expression.getRight());
+        return logical(expression, left, right);
+    }
 
+    Object logical(LogicalExpression expression, Object left, Object right) {
         validateLogicalOperands(expression, left, right);
 
         return switch (expression.getOperator()) {
@@ -828,6 +1083,7 @@ public final class Interpreter extends StackVisitor<Object> {
             case Float left when right instanceof Float aFloat -> env.assign(identifier.string(), left + aFloat);
             case Double left when right instanceof Double aDouble -> env.assign(identifier.string(), left + aDouble);
             case String str when right instanceof Number number -> env.assign(identifier.string(), str + number);
+            case PersistentVector vector -> env.assign(identifier.string(), vector.append(right));
             case List list -> {
                 list.add(right);
                 yield list;
@@ -936,7 +1192,7 @@ public final class Interpreter extends StackVisitor<Object> {
         // In a loop (or @count) we try to access an equivalent resource without using the index
         // If nothing is found we might access the resource that is not an array
         // See: CountTests#countResourceDependencyIndex()
-        var indexedProperty = "%s[%s]".formatted(propertyName, resourceStatement.getIndex());
+        var indexedProperty = "%s[%s]".formatted(propertyName, stateOf(resourceStatement).getIndex());
         var indexedResource = propertyOrDeferred(resources, indexedProperty);
 
         if (indexedResource == null) {
@@ -1056,7 +1312,8 @@ public final class Interpreter extends StackVisitor<Object> {
             // needs to be above isCounted because @count marks the resourceStatement as counted
             visitAnnotations(statement.getAnnotations());
         }
-        if (statement.isCounted()) {
+        var state = stateOf(statement);
+        if (state.isCounted()) {
             return statement;
         }
 
@@ -1067,16 +1324,16 @@ public final class Interpreter extends StackVisitor<Object> {
             // SchemaValue already installed globally when evaluating a SchemaDeclaration
             // This means the schema must be declared before the resource
             var installedSchema = (SchemaValue) executeBlock(statement.getType(), env);
-            setResourceName(statement);
+            setResourceName(state);
 
-            var value = statement.isEvaluating()
-                    ? statement.getValue() // Notifying existing resource that its dependencies were satisfied
-                    : initResource(statement, installedSchema, installedSchema.getEnvironment());
+            var value = state.isEvaluating()
+                    ? state.getValue() // Notifying existing resource that its dependencies were satisfied
+                    : initResource(statement, state, installedSchema);
 
-            value.setProviders(statement.getProviders());
-            value.setTags(statement.getTags());
+            value.setProviders(state.getProviders());
+            value.setTags(state.getTags());
 
-            return resolveDependencies(statement, value);
+            return resolveDependencies(statement, state, value);
         } finally {
             pop(ContextStack.Resource);
         }
@@ -1091,7 +1348,7 @@ public final class Interpreter extends StackVisitor<Object> {
         }
     }
 
-    private void setResourceName(ResourceStatement resource) {
+    private void setResourceName(StatementState resource) {
         if (ExecutionContext(ForStatement.class) instanceof ForStatement forStatement) {
             Object visit = visit(forStatement.getItem());
             switch (visit) {
@@ -1115,26 +1372,26 @@ public final class Interpreter extends StackVisitor<Object> {
         }
     }
 
-    private ResourceValue initResource(ResourceStatement statement, SchemaValue installedSchema, Environment<Object> typeEnvironment) {
-        // clone all properties from schema properties to the new resource
-        var path = resourceName(statement); // install indexed resource name in environment ex: resName["prod"] or resName[0]
+    private ResourceValue initResource(ResourceStatement statement, StatementState state, SchemaValue installedSchema) {
+        var path = resourceName(statement, state.getIndex()); // install indexed resource name in environment ex: resName["prod"] or resName[0]
         // Set source file path if available
         if (sourceFilePath != null) {
-            path.setFilePath(sourceFilePath);
+            path = path.withFilePath(sourceFilePath);
         }
         if (ExecutionContext(ComponentStatement.class) instanceof ComponentStatement componentStatement) {
-            path.setParentPath(ResourcePath.builder()
+            path = path.withParentPath(ResourcePath.builder()
                     .name(componentStatement.name())
-                    .segments(new ArrayList<>())
                     .build());
         }
-        var resourceEnv = new Environment<>(path.getName(), env, typeEnvironment.getVariables());
-        var instance = ResourceValue.resourceValue(path.getName(), resourceEnv, installedSchema, statement.getExisting());
+        // instances share the schema defaults and only store the properties they assign
+        var resourceEnv = Environment.overlay(path.getName(), env, installedSchema.shape());
+        var existing = state.getExisting() != null ? state.getExisting() : statement.getExisting();
+        var instance = ResourceValue.resourceValue(path.getName(), resourceEnv, installedSchema, existing);
         instance.setPath(path);
         try {
             // init any kind of new resource
             initInstance(instance);
-            statement.setValue(instance);
+            state.setValue(instance);
         } catch (DeclarationExistsException e) {
             throw new DeclarationExistsException("Resource already exists: \n%s".formatted(printer.visit(statement)));
         }
@@ -1152,19 +1409,24 @@ public final class Interpreter extends StackVisitor<Object> {
      * See docs/DEPENDENCY_RESOLUTION.md for detailed architecture and sequence diagrams.
      *
      * @param resource The resource statement being evaluated
+     * @param state    The state of the statement in this run
      * @param instance The resource value instance
      * @return The resource instance with dependencies resolved
      * @see DeferredObservable
-     * @see ResourceStatement#notifyDependencyResolved
      */
-    private ResourceValue resolveDependencies(ResourceStatement resource, ResourceValue instance) {
-        resource.setEvaluated(true);
-        resource.setEvaluating(false);
+    private ResourceValue resolveDependencies(ResourceStatement resource, StatementState state, ResourceValue instance) {
+        state.setEvaluated(true);
+        state.setEvaluating(false);
 
-        var deferredDependencies = collectResourceDependencies(resource, instance);
+        var deferredDependencies = collectResourceDependencies(resource, state, instance);
+        if (forkedInstances != null) {
+            // the graph and the observers of the parent are updated when the fork is replayed
+            registerDeferredObservers(state, deferredDependencies);
+            return instance;
+        }
         validateNoCycles(instance);
-        registerDeferredObservers(resource, deferredDependencies);
-        notifyDependentResources(resource);
+        registerDeferredObservers(state, deferredDependencies);
+        notifyDependentResources(state);
 
         return instance;
     }
@@ -1173,7 +1435,7 @@ public final class Interpreter extends StackVisitor<Object> {
      * Collects all dependencies from resource properties and @dependsOn decorators.
      * Returns a list of pending (unresolved) dependencies.
      */
-    private List<ResourceRef.Pending> collectResourceDependencies(ResourceStatement resource, ResourceValue instance) {
+    private List<ResourceRef.Pending> collectResourceDependencies(ResourceStatement resource, StatementState state, ResourceValue instance) {
         var deferredList = new ArrayList<ResourceRef.Pending>();
 
         // Collect dependencies from property evaluations
@@ -1184,11 +1446,11 @@ public final class Interpreter extends StackVisitor<Object> {
             // Track deferred cloud property references for resolution during apply
             trackDeferredCloudProperty(it, instance, result);
 
-            addDependency(resource, instance, result, deferredList);
+            addDependency(state, instance, result, deferredList);
         }
 
         // Collect dependencies from @dependsOn decorators
-        for (Expression it : resource.getDependencies()) {
+        for (Expression it : state.getDependencies()) {
             Object result;
             if (it instanceof Identifier identifier) {
                 result = env.containsKey(identifier.string())
@@ -1197,7 +1459,7 @@ public final class Interpreter extends StackVisitor<Object> {
             } else {
                 result = executeBlock(it, env);
             }
-            addDependency(resource, instance, result, deferredList);
+            addDependency(state, instance, result, deferredList);
         }
 
         return deferredList;
@@ -1225,29 +1487,29 @@ public final class Interpreter extends StackVisitor<Object> {
 
     /**
      * Validates that no cyclic dependencies exist in the dependency graph.
+     * Each new dependency edge is checked incrementally against the maintained topological order.
      * Throws CycleException if a cycle is detected.
      */
     private void validateNoCycles(ResourceValue instance) {
         if (instance.hasDependencies()) {
-            CycleDetection.detect(instance, this);
+            CycleDetection.detect(instance, dependencyGraph);
         }
     }
 
     /**
      * Registers this resource as an observer for all pending dependencies.
-     * Increments the unresolved dependency counter for each pending dependency.
+     * The observable counts the distinct resources it waits for and re-evaluates it once the last one resolves.
      */
-    private void registerDeferredObservers(ResourceStatement resource, List<ResourceRef.Pending> pendingDependencies) {
+    private void registerDeferredObservers(StatementState resource, List<ResourceRef.Pending> pendingDependencies) {
         for (ResourceRef.Pending pending : pendingDependencies) {
             deferredObservable.addObserver(resource, pending);
-            resource.incrementUnresolvedDependencyCount();
         }
     }
 
     /**
      * Notifies resources that depend on this one if this resource is fully evaluated.
      */
-    private void notifyDependentResources(ResourceStatement resource) {
+    private void notifyDependentResources(StatementState resource) {
         if (resource.isEvaluated()) {
             deferredObservable.notifyObservers(this, resource.getValue().getPath().toSegmentName());
         }
@@ -1289,7 +1551,7 @@ public final class Interpreter extends StackVisitor<Object> {
      * Handles four types: Pending (unresolved), Resolved (resolved), ResourceValue (from @dependsOn),
      * and DeferredValue (cloud property reference).
      */
-    private void addDependency(ResourceStatement resource, ResourceValue instance, Object result, List<ResourceRef.Pending> deferredList) {
+    private void addDependency(StatementState resource, ResourceValue instance, Object result, List<ResourceRef.Pending> deferredList) {
         switch (result) {
             case ResourceRef.Pending pending -> {
                 instance.addDependency(pending.resourceName());
@@ -1517,21 +1779,30 @@ public final class Interpreter extends StackVisitor<Object> {
 
     @Override
     public Object visit(UnaryExpression expression) {
-        if (!(expression.getOperator() instanceof String op)) {
+        if (!(expression.getOperator() instanceof String)) {
             throw new RuntimeException("Operator could not be evaluated");
         }
+        var folded = constants.value(expression);
+        if (folded != null) {
+            return folded;
+        }
+        if (closureCompiled) {
+            return executor(expression).execute(this);
+        }
+        return unary(expression, executeBlock(expression.getValue(), env));
+    }
 
-        return switch (op) {
-            case "++" -> incrementValue(expression);
-            case "--" -> decrementValue(expression);
-            case "-" -> negateValue(expression);
-            case "!" -> notValue(expression);
-            default -> throw new RuntimeException("Operator could not be evaluated: " + op);
+    Object unary(UnaryExpression expression, Object value) {
+        return switch (expression.getOperator()) {
+            case "++" -> incrementValue(value);
+            case "--" -> decrementValue(value);
+            case "-" -> negateValue(value);
+            case "!" -> notValue(value);
+            default -> throw new RuntimeException("Operator could not be evaluated: " + expression.getOperator());
         };
     }
 
-    private Object incrementValue(UnaryExpression expression) {
-        Object value = executeBlock(expression.getValue(), env);
+    private Object incrementValue(Object value) {
         return switch (value) {
             case Integer i -> i + 1;
             case Double d -> d + 1;
@@ -1539,8 +1810,7 @@ public final class Interpreter extends StackVisitor<Object> {
         };
     }
 
-    private Object decrementValue(UnaryExpression expression) {
-        Object value = executeBlock(expression.getValue(), env);
+    private Object decrementValue(Object value) {
         return switch (value) {
             case Integer i -> i - 1;
             case Double d -> BigDecimal.valueOf(d).subtract(BigDecimal.ONE).doubleValue();
@@ -1548,8 +1818,7 @@ public final class Interpreter extends StackVisitor<Object> {
         };
     }
 
-    private Object negateValue(UnaryExpression expression) {
-        Object value = executeBlock(expression.getValue(), env);
+    private Object negateValue(Object value) {
         return switch (value) {
             case Integer i -> -i;
             case Double d -> BigDecimal.valueOf(d).negate().doubleValue();
@@ -1557,8 +1826,7 @@ public final class Interpreter extends StackVisitor<Object> {
         };
     }
 
-    private Object notValue(UnaryExpression expression) {
-        Object value = executeBlock(expression.getValue(), env);
+    private Object notValue(Object value) {
         if (value instanceof Boolean b) {
             return !b;
         }
@@ -1696,19 +1964,51 @@ public final class Interpreter extends StackVisitor<Object> {
         }
     }
 
+    /**
+     * Prints the outputs to standard out and returns the last one as printed.
+     * The last output is rendered from the value already resolved for the sink, its init is not evaluated again.
+     */
     public String printOutputs(Map<String, Map<String, Object>> resources) {
-        String value = null;
-        System.out.println(Ansi.ansi().a(Ansi.Attribute.INTENSITY_BOLD).a("Final Outputs:").toString());
-        for (OutputDeclaration output : outputs) {
-            var object = resolveResource(resources, output);
-            output.setResolvedValue(object);
-            value = printer.visit(output);
-            System.out.println(value);
+        var sink = new HumanOutputSink(printer, OutputSink.writer(System.out));
+        var value = writeOutputs(resources::get, sink);
+        if (outputs.isEmpty()) {
+            return null;
         }
-        return value;
+        return printer.visit(resolvedCopy(outputs.getLast(), value));
     }
 
-    private Object resolveResource(Map<String, Map<String, Object>> resources, OutputDeclaration output) {
+    /**
+     * Resolves the outputs one by one and hands each to the sink as soon as it is resolved. The sink is flushed but not
+     * closed.
+     *
+     * @param resources the cloud properties of a resource by name, only asked for resources the outputs reference
+     * @return the resolved value of the last output, null if there are no outputs
+     */
+    @Nullable
+    public Object writeOutputs(Function<String, Map<String, Object>> resources, OutputSink sink) {
+        try {
+            sink.begin();
+            Object value = null;
+            for (OutputDeclaration output : outputs) {
+                value = resolveResource(resources, output);
+                sink.write(output, value);
+            }
+            sink.flush();
+            return value;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // a copy so the declaration, which may come from a cached program, is not modified
+    private static OutputDeclaration resolvedCopy(OutputDeclaration output, Object value) {
+        var resolved = new OutputDeclaration(output.getId(), output.getType(), output.getInit(), output.getAnnotations());
+        resolved.setSensitive(output.isSensitive());
+        resolved.setResolvedValue(value);
+        return resolved;
+    }
+
+    private Object resolveResource(Function<String, Map<String, Object>> resources, OutputDeclaration output) {
         // Push output to callstack so ExecutionContextIn(OutputDeclaration.class) returns true
         // This prevents @cloud properties from being returned as DeferredValue
         push(output);
@@ -1717,7 +2017,7 @@ public final class Interpreter extends StackVisitor<Object> {
                 if (visit(output.getInit()) instanceof ResourceRef.Resolved resolved) {
                     var resource = resolved.resource();
                     var propertyName = getPropertyName(memberExpression.getProperty());
-                    return resources.get(resource.getName()).get(propertyName);
+                    return resources.apply(resource.getName()).get(propertyName);
                 }
             }
             return visit(output.getInit());
@@ -1770,7 +2070,7 @@ public final class Interpreter extends StackVisitor<Object> {
         push(ContextStack.Decorator);
         var decorator = decorators.get(expression.name());
         if (decorator != null) {
-            decorator.execute(expression);
+            Metrics.time(Phase.DECORATORS, () -> decorator.execute(expression));
         } else {
             log.warn("Unknown decorator: {}", expression.name());
         }
@@ -1790,23 +2090,34 @@ public final class Interpreter extends StackVisitor<Object> {
 
     @Override
     public Object visit(Program program) {
-        try {
-            Object lastEval = new NullValue();
+        return Metrics.time(Phase.INTERPRET, () -> {
+            try {
+                constants.fold(program, env);
+                Object lastEval = new NullValue();
+
+                var body = program.getBody();
+                for (int i = 0; i < body.size(); ) {
+                    var end = parallel ? ResourceScheduler.segmentEnd(body, i) : i;
+                    if (end - i > 1) {
+                        lastEval = new ResourceScheduler(this).evaluate(body.subList(i, end));
+                        i = end;
+                    } else {
+                        lastEval = executeBlock(body.get(i), env);
+                        i++;
+                    }
+                }
+                topologySortResources();
 
-            for (Statement i : program.getBody()) {
-                lastEval = executeBlock(i, env);
+                return lastEval;
+            } catch (RuntimeException e) {
+                errors.add(e);
+                throw e;
             }
-            topologySortResources();
-
-            return lastEval;
-        } catch (RuntimeException e) {
-            errors.add(e);
-            throw e;
-        }
+        });
     }
 
     private void topologySortResources() {
-        var sorted = topologySort(getInstances());
+        var sorted = topologySort(getInstances(), dependencyGraph);
         env.getRoot().reorderResources(sorted);
     }
 
@@ -1826,7 +2137,11 @@ public final class Interpreter extends StackVisitor<Object> {
         var name = declaration.getName();
         var params = declaration.getParams();
         var body = declaration.getBody();
-        Object init = env.init(name.string(), FunValue.of(name, params, body, env));
+        var function = (FunValue) FunValue.of(name, params, body, env);
+        if (CallMemo.SIZE > 0 && constants.isPure(declaration)) {
+            function.setMemo(new CallMemo(name.string()));
+        }
+        Object init = env.init(name.string(), function);
         pop(ContextStack.FUNCTION);
         return init;
     }
@@ -1912,4 +2227,55 @@ public final class Interpreter extends StackVisitor<Object> {
     public Map<String, ResourceValue> getInstances() {
         return env.getRoot().getResources();
     }
+
+    // ---- ResourceScheduler support ----
+
+    /**
+     * Creates a worker that evaluates statements against this interpreter's resources without registering anything.
+     */
+    Interpreter fork() {
+        return new Interpreter(this);
+    }
+
+    /**
+     * @return resources created by this fork, in creation order
+     */
+    List<ResourceValue> getForkedInstances() {
+        return forkedInstances == null ? List.of() : forkedInstances;
+    }
+
+    /**
+     * @return names of the resources this interpreter's statements are still waiting for
+     */
+    Set<String> getPendingDependencies() {
+        return deferredObservable.getPendingResources();
+    }
+
+    /**
+     * True if evaluation registered work for apply time, which only the main interpreter keeps track of.
+     */
+    boolean hasApplyTimeWork() {
+        return cloudObservable.hasObservers() || !deferredTemplates.isEmpty();
+    }
+
+    /**
+     * Forgets the state of a statement so it can be evaluated again from scratch.
+     */
+    void discardState(Annotatable statement) {
+        statementStates.remove(statement);
+    }
+
+    /**
+     * Performs the bookkeeping {@link #initInstance} and {@link #resolveDependencies} skip in a fork, in the order
+     * evaluating the statement here would have: register the resource, check its dependencies for cycles and notify
+     * the resources waiting for it.
+     */
+    void replay(List<ResourceValue> instances) {
+        for (ResourceValue instance : instances) {
+            var segmentName = instance.getPath().toSegmentName();
+            dependencyGraph.addResource(segmentName);
+            validateNoCycles(instance);
+            deferredObservable.notifyObservers(this, segmentName);
+        }
+    }
 }
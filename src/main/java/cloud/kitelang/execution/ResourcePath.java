@@ -1,13 +1,12 @@
 package cloud.kitelang.execution;
 
 import lombok.Builder;
-import lombok.Data;
-import lombok.extern.slf4j.Slf4j;
+import lombok.Getter;
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.lang.ref.WeakReference;
+import java.util.*;
 
 /**
  * Represents a fully qualified entity path for resources or components.
@@ -33,18 +32,70 @@ import java.util.regex.Pattern;
  * - webapp.servers[0]
  * - webapp.environments["prod"]
  * - parent.main.child.instance  (nested component)
+ * <p>
+ * Paths are immutable and interned: {@link #parse(String)}, the builder and the {@code append*}/{@code with*} methods
+ * return the canonical instance for a path, so two equal paths are usually the same object and {@link #equals(Object)}
+ * returns on the identity check. The string forms and the hash are computed once per canonical instance. Interned
+ * paths are only weakly reachable from the table, so it does not keep paths of finished runs alive.
  */
-@Data
-@Builder
-@Slf4j
-public class ResourcePath {
-    private String filePath;        // e.g., "modules/network.kite"
-    private ResourcePath parentPath;   // e.g., ResourcePath(type=webapp, name=myapp)
-    private String type;    // e.g., "vm"
-    private String name;    // e.g., "servers"
-
-    @Builder.Default
-    private List<PathSegment> segments = new ArrayList<>();
+@Getter
+public final class ResourcePath {
+    /**
+     * Canonical instances, the value references its own key
+     */
+    private static final Map<ResourcePath, WeakReference<ResourcePath>> INTERNED =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Nullable
+    private final String filePath;        // e.g., "modules/network.kite"
+    @Nullable
+    private final ResourcePath parentPath;   // e.g., ResourcePath(type=webapp, name=myapp)
+    @Nullable
+    private final String type;    // e.g., "vm"
+    private final String name;    // e.g., "servers"
+    private final List<PathSegment> segments;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private int hash;
+    @Getter(lombok.AccessLevel.NONE)
+    private String displayName;
+    @Getter(lombok.AccessLevel.NONE)
+    private String databaseKey;
+    @Getter(lombok.AccessLevel.NONE)
+    private String segmentName;
+    @Getter(lombok.AccessLevel.NONE)
+    private String basePath;
+
+    private ResourcePath(@Nullable String filePath, @Nullable ResourcePath parentPath, @Nullable String type,
+                         String name, List<PathSegment> segments) {
+        this.filePath = filePath;
+        this.parentPath = parentPath;
+        this.type = type;
+        this.name = name;
+        this.segments = segments;
+    }
+
+    /**
+     * Builder entry point, {@code build()} returns the canonical instance.
+     */
+    @Builder
+    private static ResourcePath create(@Nullable String filePath, @Nullable ResourcePath parentPath,
+                                       @Nullable String type, String name, @Nullable List<PathSegment> segments) {
+        return intern(new ResourcePath(filePath, parentPath == null ? null : intern(parentPath), type, name,
+                segments == null || segments.isEmpty() ? List.of() : List.copyOf(segments)));
+    }
+
+    private static ResourcePath intern(ResourcePath path) {
+        synchronized (INTERNED) {
+            var existing = INTERNED.get(path);
+            var canonical = existing == null ? null : existing.get();
+            if (canonical != null) {
+                return canonical;
+            }
+            INTERNED.put(path, new WeakReference<>(path));
+            return path;
+        }
+    }
 
     /**
      * Parse an entity path string into a ResourcePath object.
@@ -61,107 +112,101 @@ public class ResourcePath {
      * - "webapp.main" -> ResourcePath(type=webapp, name=main)
      * - "webapp.servers[0]" -> ResourcePath(type=webapp, name=servers, segments=[ArrayIndex(0)])
      * - "parent.main.child.instance" -> ResourcePath(parentPath=parent.main, type=child, name=instance)
+     * <p>
+     * The string is read once from left to right: dots separate the parts of the base path and every bracket holds an
+     * array index or a quoted map key. Brackets holding anything else are dropped.
      */
     public static ResourcePath parse(String path) {
         if (path == null || path.isEmpty()) {
             throw new IllegalArgumentException("Path cannot be null or empty");
         }
 
-        ResourcePathBuilder builder = ResourcePath.builder();
-        builder.segments(new ArrayList<>());
-
-        String remaining = path;
-
-        // Extract file path if present (before ':')
-        if (remaining.contains(":")) {
-            int colonIndex = remaining.indexOf(":");
-            builder.filePath(remaining.substring(0, colonIndex));
-            remaining = remaining.substring(colonIndex + 1);
+        // Extract file path if present (before ':' and outside brackets)
+        String filePath = null;
+        int start = 0;
+        int colon = path.indexOf(':');
+        int bracket = path.indexOf('[');
+        if (colon >= 0 && (bracket < 0 || colon < bracket)) {
+            filePath = path.substring(0, colon);
+            start = colon + 1;
         }
 
-        // Extract segments (everything in brackets)
-        List<PathSegment> segments = extractSegments(remaining);
-
-        // Remove segments from the string to get the base path
-        String basePath = remaining.replaceAll("\\[.*?\\]", "");
-
-        // Split base path by dots
-        String[] parts = basePath.split("\\.");
-
-        if (parts.length < 2) {
-            throw new IllegalArgumentException("Invalid path format. Expected at least 'type.name': " + path);
+        var parts = new ArrayList<String>(4);
+        var segments = new ArrayList<PathSegment>(1);
+        var part = new StringBuilder();
+        int i = start;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                parts.add(part.toString());
+                part.setLength(0);
+                i++;
+            } else if (c == '[') {
+                i = readSegment(path, i, segments);
+            } else {
+                part.append(c);
+                i++;
+            }
         }
-
-        // Determine if we have a parent path
-        if (parts.length == 2) {
-            // Simple: type.name
-            builder.type(parts[0]);
-            builder.name(parts[1]);
-        } else if (parts.length == 3) {
-            // With parent: parent.type.name (e.g., "myapp.vm.servers")
-            // The parent is a single component instance name - create ResourcePath with just name
-            builder.parentPath(ResourcePath.builder()
-                    .name(parts[0])
-                    .segments(new ArrayList<>())
-                    .build());
-            builder.type(parts[1]);
-            builder.name(parts[2]);
-        } else if (parts.length > 3) {
-            // Nested: parent.path.goes.here.type.name (e.g., "parent.main.child.instance.vm.server")
-            // Recursively parse the parent parts
-            String[] parentParts = new String[parts.length - 2];
-            System.arraycopy(parts, 0, parentParts, 0, parts.length - 2);
-            builder.parentPath(parse(String.join(".", parentParts)));
-            builder.type(parts[parts.length - 2]);
-            builder.name(parts[parts.length - 1]);
+        parts.add(part.toString());
+        // like String.split, trailing empty parts are dropped
+        while (!parts.isEmpty() && parts.get(parts.size() - 1).isEmpty()) {
+            parts.remove(parts.size() - 1);
         }
 
-        builder.segments(segments);
+        if (parts.size() < 2) {
+            throw new IllegalArgumentException("Invalid path format. Expected at least 'type.name': " + path);
+        }
 
-        return builder.build();
+        int end = parts.size();
+        return create(filePath, end > 2 ? fromParts(parts, end - 2) : null, parts.get(end - 2), parts.get(end - 1), segments);
     }
 
     /**
-     * Extract all path segments (array indices and map keys) from a path string
+     * Parent of a parsed path: a single part is a component instance name, longer ones end with type.name
      */
-    private static List<PathSegment> extractSegments(String path) {
-        List<PathSegment> segments = new ArrayList<>();
-
-        // Pattern to match [0], ["key"], or ['key']
-        Pattern pattern = Pattern.compile("\\[(\\d+|\"[^\"]*\"|'[^']*')\\]");
-        Matcher matcher = pattern.matcher(path);
-
-        while (matcher.find()) {
-            String match = matcher.group(1);
-
-            if (match.matches("\\d+")) {
-                // Array index
-                segments.add(PathSegment.builder()
-                        .type(PathSegment.SegmentType.ARRAY_INDEX)
-                        .value(match)
-                        .build());
-            } else {
-                // Map key (remove quotes)
-                String key = match.substring(1, match.length() - 1);
-                segments.add(PathSegment.builder()
-                        .type(PathSegment.SegmentType.MAP_KEY)
-                        .value(key)
-                        .build());
-            }
+    private static ResourcePath fromParts(List<String> parts, int end) {
+        if (end == 1) {
+            return create(null, null, null, parts.get(0), null);
         }
-
-        return segments;
+        return create(null, end > 2 ? fromParts(parts, end - 2) : null, parts.get(end - 2), parts.get(end - 1), null);
     }
 
     /**
-     * Get the parent path as a string for building full paths.
-     * Recursively traverses the parent hierarchy.
+     * Reads the bracket starting at {@code open} and adds it to the segments if it holds [0], ["key"] or ['key'].
+     *
+     * @return index after the closing bracket
      */
-    private String getParentPathString() {
-        if (parentPath == null) {
-            return null;
+    private static int readSegment(String path, int open, List<PathSegment> segments) {
+        int contentStart = open + 1;
+        if (contentStart < path.length()) {
+            char first = path.charAt(contentStart);
+            if (first == '"' || first == '\'') {
+                int closingQuote = path.indexOf(first, contentStart + 1);
+                if (closingQuote > 0 && closingQuote + 1 < path.length() && path.charAt(closingQuote + 1) == ']') {
+                    segments.add(new PathSegment(PathSegment.SegmentType.MAP_KEY, path.substring(contentStart + 1, closingQuote)));
+                    return closingQuote + 2;
+                }
+            }
+        }
+        int close = path.indexOf(']', contentStart);
+        if (close < 0) {
+            return path.length();
+        }
+        if (close > contentStart && isDigits(path, contentStart, close)) {
+            segments.add(new PathSegment(PathSegment.SegmentType.ARRAY_INDEX, path.substring(contentStart, close)));
+        }
+        return close + 1;
+    }
+
+    private static boolean isDigits(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
         }
-        return parentPath.toDisplayName();
+        return true;
     }
 
     /**
@@ -169,71 +214,78 @@ public class ResourcePath {
      * Format: [filePath:]parentPath.type.name[segments...]
      */
     public String toDatabaseKey() {
-        StringBuilder sb = new StringBuilder();
-
-        if (filePath != null && !filePath.isEmpty()) {
-            sb.append(filePath).append(":");
-        }
-
-        String parentStr = getParentPathString();
-        if (parentStr != null && !parentStr.isEmpty()) {
-            sb.append(parentStr).append(".");
-        }
-
-        // Handle the case where this ResourcePath only has a name (e.g., component instance)
-        if (type != null) {
-            sb.append(type).append(".");
+        var key = databaseKey;
+        if (key == null) {
+            key = filePath != null && !filePath.isEmpty() ? filePath + ":" + toDisplayName() : toDisplayName();
+            databaseKey = key;
         }
-        sb.append(name);
-
-        for (PathSegment segment : segments) {
-            sb.append(segment.toString());
-        }
-
-        return sb.toString();
+        return key;
     }
 
     /**
      * Build a display-friendly name (without file path)
      */
     public String toDisplayName() {
-        StringBuilder sb = new StringBuilder();
-
-        String parentStr = getParentPathString();
-        if (parentStr != null && !parentStr.isEmpty()) {
-            sb.append(parentStr).append(".");
-        }
-
-        // Handle the case where this ResourcePath only has a name (e.g., component instance)
-        if (type != null) {
-            sb.append(type).append(".");
-        }
-        sb.append(name);
-
-        for (PathSegment segment : segments) {
-            sb.append(segment.toString());
+        var display = displayName;
+        if (display == null) {
+            display = segments.isEmpty() ? getBasePath() : getBasePath() + segmentsString();
+            displayName = display;
         }
-
-        return sb.toString();
+        return display;
     }
 
     /**
-     * Build a display-friendly name (without file path)
+     * Build a display-friendly name (without file path and type)
      */
     public String toSegmentName() {
-        StringBuilder sb = new StringBuilder();
+        var segment = segmentName;
+        if (segment == null) {
+            var sb = new StringBuilder();
+            appendParent(sb);
+            sb.append(name).append(segmentsString());
+            segment = sb.toString();
+            segmentName = segment;
+        }
+        return segment;
+    }
 
-        String parentStr = getParentPathString();
-        if (parentStr != null && !parentStr.isEmpty()) {
-            sb.append(parentStr).append(".");
+    /**
+     * Get the base path without segments (for grouping entities)
+     * Useful for finding all items in a collection
+     */
+    public String getBasePath() {
+        var base = basePath;
+        if (base == null) {
+            var sb = new StringBuilder();
+            appendParent(sb);
+            // Handle the case where this ResourcePath only has a name (e.g., component instance)
+            if (type != null) {
+                sb.append(type).append(".");
+            }
+            sb.append(name);
+            base = sb.toString();
+            basePath = base;
         }
+        return base;
+    }
 
-        sb.append(name);
+    private void appendParent(StringBuilder sb) {
+        if (parentPath != null) {
+            var parent = parentPath.toDisplayName();
+            if (!parent.isEmpty()) {
+                sb.append(parent).append(".");
+            }
+        }
+    }
 
+    private String segmentsString() {
+        if (segments.isEmpty()) {
+            return "";
+        }
+        var sb = new StringBuilder();
         for (PathSegment segment : segments) {
             sb.append(segment.toString());
         }
-
         return sb.toString();
     }
 
@@ -241,67 +293,51 @@ public class ResourcePath {
      * Create a child path by appending a segment
      */
     public ResourcePath append(PathSegment segment) {
-        List<PathSegment> newSegments = new ArrayList<>(this.segments);
+        var newSegments = new ArrayList<PathSegment>(segments.size() + 1);
+        newSegments.addAll(segments);
         newSegments.add(segment);
-
-        return ResourcePath.builder()
-                .filePath(this.filePath)
-                .parentPath(this.parentPath)
-                .type(this.type)
-                .name(this.name)
-                .segments(newSegments)
-                .build();
+        return create(filePath, parentPath, type, name, newSegments);
     }
 
     /**
      * Create a child path by appending an array index
      */
     public ResourcePath appendIndex(int index) {
-        return append(PathSegment.builder()
-                .type(PathSegment.SegmentType.ARRAY_INDEX)
-                .value(String.valueOf(index))
-                .build());
+        return append(new PathSegment(PathSegment.SegmentType.ARRAY_INDEX, String.valueOf(index)));
     }
 
     /**
      * Create a child path by appending an array index
      */
     public ResourcePath appendIndex(Object index) {
-        return append(PathSegment.builder()
-                .type(PathSegment.SegmentType.ARRAY_INDEX)
-                .value(String.valueOf(index))
-                .build());
+        return append(new PathSegment(PathSegment.SegmentType.ARRAY_INDEX, String.valueOf(index)));
     }
 
     /**
      * Create a child path by appending a map key
      */
     public ResourcePath appendKey(String key) {
-        return append(PathSegment.builder()
-                .type(PathSegment.SegmentType.MAP_KEY)
-                .value(key)
-                .build());
+        return append(new PathSegment(PathSegment.SegmentType.MAP_KEY, key));
     }
 
     /**
-     * Get the base path without segments (for grouping entities)
-     * Useful for finding all items in a collection
+     * @return this path defined in another file
      */
-    public String getBasePath() {
-        StringBuilder sb = new StringBuilder();
-
-        String parentStr = getParentPathString();
-        if (parentStr != null && !parentStr.isEmpty()) {
-            sb.append(parentStr).append(".");
+    public ResourcePath withFilePath(@Nullable String filePath) {
+        if (Objects.equals(this.filePath, filePath)) {
+            return this;
         }
+        return create(filePath, parentPath, type, name, segments);
+    }
 
-        // Handle the case where this ResourcePath only has a name (e.g., component instance)
-        if (type != null) {
-            sb.append(type).append(".");
+    /**
+     * @return this path nested in another parent (component instance)
+     */
+    public ResourcePath withParentPath(@Nullable ResourcePath parentPath) {
+        if (Objects.equals(this.parentPath, parentPath)) {
+            return this;
         }
-        sb.append(name);
-
-        return sb.toString();
+        return create(filePath, parentPath, type, name, segments);
     }
 
     /**
@@ -318,14 +354,48 @@ public class ResourcePath {
         return !segments.isEmpty();
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ResourcePath other) || hashCode() != other.hashCode()) {
+            return false;
+        }
+        // parents are canonical, compare them by identity
+        return parentPath == other.parentPath
+               && name.equals(other.name)
+               && Objects.equals(type, other.type)
+               && Objects.equals(filePath, other.filePath)
+               && segments.equals(other.segments);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Objects.hash(filePath, parentPath, type, name, segments);
+            if (h == 0) {
+                h = 1;
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourcePath(" + toDatabaseKey() + ")";
+    }
+
     /**
      * Represents a single path segment (array index or map key)
      */
-    @Data
+    @Value
     @Builder
     public static class PathSegment {
-        private SegmentType type;
-        private String value;
+        SegmentType type;
+        String value;
 
         @Override
         public String toString() {
@@ -342,4 +412,4 @@ public class ResourcePath {
             PROPERTY        // .hostname, .port
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,200 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.execution.values.ResourceValue;
+import cloud.kitelang.syntax.ast.expressions.ResourceStatement;
+import cloud.kitelang.syntax.ast.statements.Statement;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Evaluates a run of consecutive top-level resource statements concurrently, in dependency order.
+ *
+ * <p>Dependencies are discovered the same way the interpreter discovers them one statement at a time: every statement
+ * is evaluated by a {@link Interpreter#fork() fork}, and the resources it is still waiting for (references from its
+ * properties and {@code @dependsOn}) are its incoming edges. Evaluation proceeds in waves:
+ * <ol>
+ *   <li>Every statement whose dependencies are registered is evaluated on the pool, each by its own fork.</li>
+ *   <li>In source order, a fork without pending dependencies has its resources registered so the next wave can read
+ *       them. A fork still waiting is discarded and the statement is scheduled again once all the resources it waits
+ *       for are registered.</li>
+ * </ol>
+ * A fork reads the resources registered by earlier waves but never writes to the interpreter, and registering waits
+ * until every fork of the wave has finished, so the workers do not need locks and the result of every wave only
+ * depends on the program. The other state workers share is read-only or guarded: the schemas' property
+ * {@link cloud.kitelang.execution.values.SchemaValue#shape() shape} is published through a volatile field and the
+ * {@link cloud.kitelang.analysis.visitors.SyntaxPrinter} keeps no state while printing.
+ *
+ * <p>Statements that can not finish this way run on the interpreter itself: those waiting for a resource declared after
+ * the run, part of a cycle, failing with an error or registering apply-time work ({@code @cloud} values). Once no
+ * statement is ready, all statements are replayed in source order: forked resources get the bookkeeping the
+ * interpreter skipped (dependency graph, cycle detection, notifying deferred resources) and the remaining statements are
+ * evaluated. Both happen in the order sequential evaluation would have used, so the dependency graph, and with it the
+ * topologically sorted {@link Interpreter#getInstances()}, the errors and the outputs are the same as without the
+ * scheduler.
+ */
+@Slf4j
+final class ResourceScheduler {
+    /**
+     * Default of {@link Interpreter#setParallel(boolean)}, set {@code kite.interpret.parallel} to true to enable it.
+     */
+    static final boolean ENABLED = Boolean.getBoolean("kite.interpret.parallel");
+
+    /**
+     * Number of resource statements evaluated concurrently. Defaults to the available processors.
+     */
+    private static final int PARALLELISM = Integer.getInteger(
+            "kite.interpret.parallelism", Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Work-stealing pool shared by all interpreters. Its workers are daemon threads.
+     */
+    private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, PARALLELISM));
+
+    private final Interpreter interpreter;
+
+    ResourceScheduler(Interpreter interpreter) {
+        this.interpreter = interpreter;
+    }
+
+    /**
+     * @return the end (exclusive) of the run of resource statements starting at {@code start}, or {@code start} if the
+     * statement there is not a resource
+     */
+    static int segmentEnd(List<Statement> body, int start) {
+        int end = start;
+        while (end < body.size() && body.get(end) instanceof ResourceStatement) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Evaluates the statements and registers their resources in the interpreter.
+     *
+     * @return the value of the last statement, as evaluating them one by one would
+     */
+    Object evaluate(List<Statement> statements) {
+        var nodes = new ArrayList<Node>(statements.size());
+        for (Statement statement : statements) {
+            nodes.add(new Node((ResourceStatement) statement));
+        }
+
+        var registered = new HashSet<String>();
+        var waiting = new ArrayList<>(nodes);
+        while (true) {
+            var ready = waiting.stream()
+                    .filter(node -> registered.containsAll(node.waitingFor))
+                    .toList();
+            if (ready.isEmpty()) {
+                break;
+            }
+            var attempts = ready.stream()
+                    .map(node -> CompletableFuture.supplyAsync(() -> attempt(node.statement), POOL))
+                    .toList();
+            // the whole wave finishes before anything is registered, so no fork sees a resource of its own wave
+            attempts.forEach(CompletableFuture::join);
+            // in source order, so the same statements are registered no matter which worker finished first
+            for (int i = 0; i < ready.size(); i++) {
+                var node = ready.get(i);
+                var attempt = attempts.get(i).join();
+                if (attempt.failed()) {
+                    giveUp(node, waiting);
+                } else if (!attempt.pending().isEmpty()) {
+                    interpreter.discardState(node.statement);
+                    if (registered.containsAll(attempt.pending())) {
+                        giveUp(node, waiting); // waits for something else than a resource of this run
+                    } else {
+                        node.waitingFor = attempt.pending();
+                    }
+                } else if (register(attempt.fork().getForkedInstances(), registered)) {
+                    node.fork = attempt.fork();
+                    node.value = attempt.value();
+                    waiting.remove(node);
+                } else {
+                    giveUp(node, waiting);
+                }
+            }
+        }
+        for (Node node : waiting) {
+            interpreter.discardState(node.statement);
+        }
+
+        Object value = null;
+        for (Node node : nodes) {
+            if (node.fork != null) {
+                interpreter.replay(node.fork.getForkedInstances());
+                value = node.value;
+            } else {
+                value = interpreter.executeBlock(node.statement, interpreter.getEnv());
+            }
+        }
+        return value;
+    }
+
+    private Attempt attempt(ResourceStatement statement) {
+        var fork = interpreter.fork();
+        try {
+            var value = fork.executeBlock(statement, fork.getEnv());
+            if (fork.hasApplyTimeWork()) {
+                return Attempt.FAILED;
+            }
+            return new Attempt(fork, value, fork.getPendingDependencies(), false);
+        } catch (RuntimeException | StackOverflowError e) {
+            // evaluated again by the interpreter, which reports the error in source order
+            log.debug("Resource evaluated sequentially after failing in parallel: {}", e.getMessage());
+            return Attempt.FAILED;
+        }
+    }
+
+    private void giveUp(Node node, List<Node> waiting) {
+        interpreter.discardState(node.statement);
+        waiting.remove(node);
+    }
+
+    /**
+     * Registers the resources of a fork at the root environment so the next wave can read them.
+     * Nothing is registered if any of the names is already taken, the interpreter then reports the duplicate.
+     */
+    private boolean register(List<ResourceValue> instances, Set<String> registered) {
+        var env = interpreter.getEnv();
+        var names = new LinkedHashSet<String>();
+        for (ResourceValue instance : instances) {
+            var name = instance.getPath().toSegmentName();
+            if (!names.add(name) || env.hasResourceGlobally(name)) {
+                return false;
+            }
+        }
+        var iterator = names.iterator();
+        for (ResourceValue instance : instances) {
+            env.initResource(iterator.next(), instance);
+        }
+        registered.addAll(names);
+        return true;
+    }
+
+    private static final class Node {
+        private final ResourceStatement statement;
+        private Set<String> waitingFor = Set.of();
+        @Nullable
+        private Interpreter fork;
+        @Nullable
+        private Object value;
+
+        private Node(ResourceStatement statement) {
+            this.statement = statement;
+        }
+    }
+
+    /**
+     * Outcome of evaluating a statement in a fork.
+     *
+     * @param pending resources the statement is still waiting for
+     */
+    private record Attempt(@Nullable Interpreter fork, @Nullable Object value, Set<String> pending, boolean failed) {
+        static final Attempt FAILED = new Attempt(null, null, Set.of(), true);
+    }
+}
@@ -0,0 +1,97 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.execution.decorators.ProviderSupport;
+import cloud.kitelang.execution.decorators.Tags;
+import cloud.kitelang.execution.decorators.TagsSupport;
+import cloud.kitelang.execution.values.DeferredObserverValue;
+import cloud.kitelang.execution.values.ResourceValue;
+import cloud.kitelang.syntax.annotations.Annotatable;
+import cloud.kitelang.syntax.ast.expressions.Expression;
+import cloud.kitelang.syntax.ast.expressions.ResourceStatement;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * State produced while interpreting one resource or component statement.
+ * <p>
+ * The interpreter keeps one instance per statement in a side table instead of writing onto the AST, so a
+ * {@link cloud.kitelang.syntax.ast.Program} shared through the parse cache stays read-only and can be evaluated by
+ * several interpreters at once. Decorators write here as well: {@code @count}, {@code @dependsOn},
+ * {@code @provider}, {@code @tags} and {@code @existing}.
+ *
+ * @see Interpreter#stateOf(Annotatable)
+ */
+@Getter
+@Setter
+public final class StatementState implements DeferredObserverValue, ProviderSupport, TagsSupport {
+    private final Annotatable statement;
+    private boolean evaluated;
+    private boolean evaluating;
+    private ResourceValue value;
+    /**
+     * Index of the instance being created by a for loop or {@code @count}, null outside of loops
+     */
+    @Nullable
+    private Object index;
+    /**
+     * True once {@code @count} created the instances, so the statement itself is skipped afterwards
+     */
+    private boolean counted;
+    /**
+     * True if this resource depends on cloud properties that will be resolved during apply.
+     * The resource will be created via CloudObservable after dependencies are applied.
+     */
+    private boolean cloudPending;
+    /**
+     * Set by {@code @existing}, overrides the statement's own value
+     */
+    @Nullable
+    private String existing;
+    private Set<Expression> dependencies;
+    private Set<String> providers;
+    private Tags tags;
+
+    StatementState(Annotatable statement) {
+        this.statement = statement;
+    }
+
+    @Override
+    public Object notify(Interpreter interpreter) {
+        if (!(statement instanceof ResourceStatement resource)) {
+            throw new IllegalStateException("Only resources can wait for dependencies: " + statement);
+        }
+        return interpreter.visit(resource);
+    }
+
+    public boolean hasIndex() {
+        return index != null;
+    }
+
+    public boolean hasDependencies() {
+        return dependencies != null && !dependencies.isEmpty();
+    }
+
+    public Set<Expression> getDependencies() {
+        if (dependencies == null) {
+            this.dependencies = new HashSet<>();
+        }
+        return dependencies;
+    }
+
+    @Override
+    public Set<String> getProviders() {
+        if (providers == null) {
+            this.providers = new HashSet<>();
+        }
+        return providers;
+    }
+
+    @Override
+    public void addProvider(String provider) {
+        getProviders().add(provider);
+    }
+}
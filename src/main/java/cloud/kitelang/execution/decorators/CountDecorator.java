@@ -2,7 +2,6 @@ package cloud.kitelang.execution.decorators;
 
 import cloud.kitelang.execution.Interpreter;
 import cloud.kitelang.execution.exceptions.RuntimeError;
-import cloud.kitelang.syntax.annotations.CountAnnotatable;
 import cloud.kitelang.syntax.ast.expressions.AnnotationDeclaration;
 import cloud.kitelang.syntax.ast.expressions.ComponentStatement;
 import cloud.kitelang.syntax.ast.expressions.ResourceStatement;
@@ -75,11 +74,9 @@ public class CountDecorator extends NumberDecorator {
 
         var res = interpreter.visit(forStatement);
 
-        if (declaration.getTarget() instanceof CountAnnotatable countAnnotatable) {
-            // Mark the resource as counted so during the next iteration while traversing the AST
-            // we know that this resource was counted and we can skip it
-            countAnnotatable.setCounted(true);
-        }
+        // Mark the statement as counted so during the next iteration while traversing the AST
+        // we know that this resource was counted and we can skip it
+        interpreter.stateOf(declaration.getTarget()).setCounted(true);
 
         return res;
     }
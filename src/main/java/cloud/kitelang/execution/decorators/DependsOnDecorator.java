@@ -40,8 +40,8 @@ public class DependsOnDecorator extends DecoratorInterpreter {
 
     private void registerDependency(AnnotationDeclaration declaration, Set<Expression> dependencies) {
         switch (declaration.getTarget()) {
-            case ResourceStatement resource -> resource.setDependencies(dependencies);
-            case ComponentStatement component -> component.setDependencies(dependencies);
+            case ResourceStatement resource -> interpreter.stateOf(resource).setDependencies(dependencies);
+            case ComponentStatement component -> interpreter.stateOf(component).setDependencies(dependencies);
             default ->
                     throw new IllegalStateException("Hou cannot set dependencies on: " + declaration.getTarget().targetType().getKind().toString().toLowerCase());
         }
@@ -1,16 +1,19 @@
 package cloud.kitelang.execution.decorators;
 
 import cloud.kitelang.analysis.visitors.SyntaxPrinter;
+import cloud.kitelang.execution.Interpreter;
 import cloud.kitelang.syntax.ast.expressions.AnnotationDeclaration;
 import cloud.kitelang.syntax.ast.expressions.ResourceStatement;
 import cloud.kitelang.syntax.literals.StringLiteral;
 
 public class ExistingDecorator extends DecoratorInterpreter {
+    private final Interpreter interpreter;
     private final SyntaxPrinter printer;
 
-    public ExistingDecorator(SyntaxPrinter printer) {
+    public ExistingDecorator(Interpreter interpreter) {
         super("existing");
-        this.printer = printer;
+        this.interpreter = interpreter;
+        this.printer = interpreter.getPrinter();
     }
 
     @Override
@@ -21,8 +24,9 @@ public class ExistingDecorator extends DecoratorInterpreter {
                 throw new IllegalStateException("%s Value cannot be null".formatted(printer.visit(declaration)));
             }
             if (value instanceof StringLiteral string) {
-                resource.setExisting(string.getValue());
-                return resource.getExisting();
+                var state = interpreter.stateOf(resource);
+                state.setExisting(string.getValue());
+                return state.getExisting();
             }
             throw new IllegalStateException("%s Value must be a string literal".formatted(printer.visit(declaration)));
         } else {
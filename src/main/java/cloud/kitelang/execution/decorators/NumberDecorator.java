@@ -75,8 +75,9 @@ public abstract class NumberDecorator extends DecoratorInterpreter {
 
         // Mark target resource as cloud-pending
         if (declaration.getTarget() instanceof ResourceStatement rs) {
-            rs.setCloudPending(true);
-            rs.setCounted(true); // Prevent normal evaluation
+            var state = interpreter.stateOf(rs);
+            state.setCloudPending(true);
+            state.setCounted(true); // Prevent normal evaluation
         }
 
         log.info("Deferred @{} for '{}' - depends on {}.{}",
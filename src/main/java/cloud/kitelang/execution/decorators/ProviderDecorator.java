@@ -2,6 +2,8 @@ package cloud.kitelang.execution.decorators;
 
 import cloud.kitelang.execution.Interpreter;
 import cloud.kitelang.syntax.ast.expressions.AnnotationDeclaration;
+import cloud.kitelang.syntax.ast.expressions.ComponentStatement;
+import cloud.kitelang.syntax.ast.expressions.ResourceStatement;
 import cloud.kitelang.syntax.literals.StringLiteral;
 
 import java.util.List;
@@ -18,7 +20,9 @@ public class ProviderDecorator extends DecoratorInterpreter {
 
     @Override
     public Object execute(AnnotationDeclaration declaration) {
-        if (declaration.getTarget() instanceof ProviderSupport providerSupport) {
+        var target = declaration.getTarget();
+        if (target instanceof ResourceStatement || target instanceof ComponentStatement) {
+            ProviderSupport providerSupport = interpreter.stateOf(target);
             if (declaration.getArgs() != null && !declaration.getArgs().getItems().isEmpty()) {
                 var providers = (List<String>) interpreter.visit(declaration.getArgs());
                 providerSupport.setProviders(Set.copyOf(providers));
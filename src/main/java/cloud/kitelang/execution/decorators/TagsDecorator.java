@@ -2,6 +2,7 @@ package cloud.kitelang.execution.decorators;
 
 import cloud.kitelang.execution.Interpreter;
 import cloud.kitelang.syntax.ast.expressions.AnnotationDeclaration;
+import cloud.kitelang.syntax.ast.expressions.ResourceStatement;
 import cloud.kitelang.syntax.literals.StringLiteral;
 
 import java.util.List;
@@ -19,7 +20,8 @@ public class TagsDecorator extends DecoratorInterpreter {
 
     @Override
     public Object execute(AnnotationDeclaration declaration) {
-        if (declaration.getTarget() instanceof TagsSupport tagsSupport) {
+        if (declaration.getTarget() instanceof ResourceStatement resource) {
+            TagsSupport tagsSupport = interpreter.stateOf(resource);
             if (declaration.getArgs() != null && !declaration.getArgs().getItems().isEmpty()) {
                 var tags = (List<String>) interpreter.visit(declaration.getArgs());
                 tagsSupport.setTags(new Tags(Set.copyOf(tags)));
@@ -9,7 +9,7 @@ import cloud.kitelang.syntax.ast.expressions.ArrayExpression;
 import cloud.kitelang.syntax.ast.expressions.InputDeclaration;
 import cloud.kitelang.syntax.ast.expressions.OutputDeclaration;
 import cloud.kitelang.syntax.literals.StringLiteral;
-import lombok.Getter;
+import cloud.kitelang.utils.RegexCache;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
@@ -76,8 +76,10 @@ public class ValidateDecorator extends DecoratorInterpreter {
             Map.entry("docker_image", "^[a-z0-9]+(?:[._-][a-z0-9]+)*(?:/[a-z0-9]+(?:[._-][a-z0-9]+)*)*$"),
             Map.entry("semver", "^v?(0|[1-9]\\d*)\\.(0|[1-9]\\d*)\\.(0|[1-9]\\d*)(?:-[0-9A-Za-z-]+(?:\\.[0-9A-Za-z-]+)*)?(?:\\+[0-9A-Za-z-]+(?:\\.[0-9A-Za-z-]+)*)?$")
     );
-    @Getter
-    private final Map<String, Pattern> CACHE = new HashMap<>();
+    /**
+     * Presets compiled once per process for the common case of no flags
+     */
+    private static final Map<String, Pattern> PRESET_PATTERNS = compilePresets();
     private final Interpreter interpreter;
 
     public ValidateDecorator(Interpreter interpreter) {
@@ -85,6 +87,12 @@ public class ValidateDecorator extends DecoratorInterpreter {
         this.interpreter = interpreter;
     }
 
+    private static Map<String, Pattern> compilePresets() {
+        var patterns = new HashMap<String, Pattern>();
+        PRESETS.forEach((name, rx) -> patterns.put(name, compileStrict(rx, 0)));
+        return Map.copyOf(patterns);
+    }
+
     private static boolean isStringOrStringArray(Type t) {
         return t.getKind() == SystemType.STRING || t.getKind() == SystemType.ARRAY;
     }
@@ -149,7 +157,7 @@ public class ValidateDecorator extends DecoratorInterpreter {
         if (!anchoredStart) rx = "^" + rx;
         if (!anchoredEnd) rx = rx + "$";
         try {
-            return Pattern.compile(rx, flags);
+            return RegexCache.compile(rx, flags);
         } catch (PatternSyntaxException e) {
             throw new IllegalArgumentException("Invalid @validate regex: " + e.getDescription(), e);
         }
@@ -223,13 +231,13 @@ public class ValidateDecorator extends DecoratorInterpreter {
         int flagBits = parseFlags(getFlagsArg(declaration)); // "i", "im", or ["i","m"]
         String message = declaration.getStringArg("message");
 
-        // Compile or fetch cached (key = regex+'\u0000'+flagBits)
+        // Compiled once per process, see RegexCache
         Pattern pattern;
         if (preset != null) {
             pattern = presetPattern(preset, flagBits);
         } else {
             // User regex: enforce full match by anchoring if needed.
-            pattern = CACHE.computeIfAbsent(regex + '\u0000' + flagBits, k -> compileStrict(regex, flagBits));
+            pattern = compileStrict(regex, flagBits);
         }
         // 3) Type compatibility (string or string[])
         var declaredType = declaration.getTarget().targetType(); // your way of getting the type
@@ -251,13 +259,13 @@ public class ValidateDecorator extends DecoratorInterpreter {
     }
 
     private @NotNull Pattern presetPattern(String preset, int flagBits) {
-        Pattern pattern;
         String rx = PRESETS.get(preset);
         if (rx == null) throw new IllegalArgumentException("Unknown @validate preset: " + preset);
+        if (flagBits == 0) {
+            return PRESET_PATTERNS.get(preset);
+        }
         // Presets are complete; compile as-is with flags.
-        pattern = CACHE.computeIfAbsent("preset\0" + preset + "\0" + flagBits,
-                k -> compileStrict(rx, flagBits));
-        return pattern;
+        return compileStrict(rx, flagBits);
     }
 
 }
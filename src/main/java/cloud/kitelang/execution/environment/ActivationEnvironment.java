@@ -1,15 +1,23 @@
 package cloud.kitelang.execution.environment;
 
+import cloud.kitelang.execution.exceptions.DeclarationExistsException;
 import cloud.kitelang.syntax.literals.ParameterIdentifier;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Storage for local variables and parameters during a function call
  * It iterates over the dependencies of parameters and assign an argument value on each iteration
+ * <p>
+ * Parameters live in an array frame indexed by the slot the ScopeResolver assigned to them, so reading a parameter
+ * does not hash its name. Locals declared in the function body are kept in the variables map.
  */
 public class ActivationEnvironment extends Environment {
+    private final String[] names;
+    private final Object[] slots;
 
     /**
      * @param parent Set to the environment from where we're being called to obtain dynamic scope.
@@ -19,10 +27,77 @@ public class ActivationEnvironment extends Environment {
      */
     public ActivationEnvironment(@Nullable Environment parent, List<ParameterIdentifier> params, List<Object> args) {
         super(parent);
+        this.names = new String[params.size()];
+        this.slots = new Object[params.size()];
         for (var i = 0; i < params.size(); i++) {
             // for each named parameter, we save the argument into the activation record(env that the function uses to execute)
             var paramName = params.get(i).getName().string();
-            init(paramName, args.get(i));
+            if (indexOf(paramName) >= 0) {
+                throw new DeclarationExistsException(paramName);
+            }
+            names[i] = paramName;
+            slots[i] = args.get(i);
         }
     }
+
+    /**
+     * @return true if the slot holds the parameter with the given name. Guards against identifiers whose
+     * hops point to a different environment than the one they were resolved against.
+     */
+    public boolean hasSlot(int slot, String name) {
+        return slot < names.length && names[slot].equals(name);
+    }
+
+    public Object getSlot(int slot) {
+        return slots[slot];
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (name.equals(names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return indexOf(key) >= 0 || super.containsKey(key);
+    }
+
+    @Override
+    @Nullable
+    public Object get(String key) {
+        var slot = indexOf(key);
+        return slot >= 0 ? slots[slot] : super.get(key);
+    }
+
+    @Override
+    protected void put(String key, Object value) {
+        var slot = indexOf(key);
+        if (slot >= 0) {
+            slots[slot] = value;
+        } else {
+            super.put(key, value);
+        }
+    }
+
+    /**
+     * @return a snapshot of the parameters followed by the locals
+     */
+    @Override
+    public Map getVariables() {
+        var variables = new LinkedHashMap<String, Object>(names.length + super.size());
+        for (int i = 0; i < names.length; i++) {
+            variables.put(names[i], slots[i]);
+        }
+        variables.putAll(super.getVariables());
+        return variables;
+    }
+
+    @Override
+    public int size() {
+        return names.length + super.size();
+    }
 }
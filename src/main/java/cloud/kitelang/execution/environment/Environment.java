@@ -87,6 +87,23 @@ public class Environment<T> implements IEnvironment<T> {
         this.name = name;
     }
 
+    private Environment(String name, @Nullable Environment<T> parent, PropertyOverlay<T> variables) {
+        this.parent = parent;
+        this.variables = variables;
+        this.name = name;
+    }
+
+    /**
+     * Creates an environment whose variables start as the given shape without copying it.
+     * Assignments are stored per environment; the shape is shared and never modified.
+     *
+     * @param shape read-only defaults shared with other environments, e.g. the properties of a schema
+     * @see PropertyOverlay
+     */
+    public static <T> Environment<T> overlay(String name, @Nullable Environment<T> parent, Map<String, T> shape) {
+        return new Environment<>(name, parent, new PropertyOverlay<>(shape));
+    }
+
     public static <T> Environment<T> copyOfVariables(Environment<T> environment) {
         return new Environment<>(environment, environment.variables);
     }
@@ -134,7 +151,7 @@ public class Environment<T> implements IEnvironment<T> {
      */
     @Override
     public T init(String name, Object value) {
-        if (variables.containsKey(name)) {
+        if (containsKey(name)) {
             throw new DeclarationExistsException(name);
         }
         this.put(name, (T) value);
@@ -164,7 +181,7 @@ public class Environment<T> implements IEnvironment<T> {
      */
     @SuppressWarnings("unchecked")
     public T initShadowingBuiltin(String name, Object value) {
-        var existing = variables.get(name);
+        var existing = get(name);
         if (existing != null && isStdlibBuiltin(existing)) {
             this.put(name, (T) value);
             return (T) value;
@@ -212,20 +229,45 @@ public class Environment<T> implements IEnvironment<T> {
      * @return
      */
     private Environment<T> resolve(String symbol, String error) {
-        if (variables.containsKey(symbol)) {
+        if (containsKey(symbol)) {
             return this;
         }
         if (parent == null) {
+            var outside = resolveOutside(symbol);
+            if (outside != null) {
+                return outside;
+            }
             throw new NotFoundException(error, symbol);
         }
         return this.parent.resolve(symbol, error);
     }
 
+    /**
+     * Called by a root environment for a name neither it nor its children declare.
+     *
+     * @return the environment outside this hierarchy declaring {@code symbol}, null (the default) if there is none
+     */
+    @Nullable
+    protected Environment<T> resolveOutside(String symbol) {
+        return null;
+    }
+
+    /**
+     * @return the environment declaring {@code symbol}, searching the parents like a lookup, null if none does
+     */
+    @Nullable
+    public Environment<T> scopeOf(String symbol) {
+        if (containsKey(symbol)) {
+            return this;
+        }
+        return parent == null ? resolveOutside(symbol) : parent.scopeOf(symbol);
+    }
+
     private Environment<T> resolve(String symbol) {
         return resolve(symbol, "Variable not found: ");
     }
 
-    private void put(String key, T value) {
+    protected void put(String key, T value) {
         this.variables.put(key, value);
     }
 
@@ -244,7 +286,7 @@ public class Environment<T> implements IEnvironment<T> {
             return true;
         }
         if (parent == null) {
-            return false;
+            return resolveOutside(key) != null;
         }
         return parent.lookupKey(key);
     }
@@ -256,7 +298,7 @@ public class Environment<T> implements IEnvironment<T> {
     }
 
     public boolean hasVar(String symbol) {
-        return getVariables().containsKey(symbol);
+        return containsKey(symbol);
     }
 
     public void remove(String key) {
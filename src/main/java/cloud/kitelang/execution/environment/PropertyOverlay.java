@@ -0,0 +1,198 @@
+package cloud.kitelang.execution.environment;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Copy-on-write view of a resource's properties over the defaults of its schema.
+ * <p>
+ * Every instance of a schema shares the same read-only default map (the shape). Only values assigned by the
+ * instance are stored in its own map, so creating an instance no longer copies every schema default.
+ * Reads, iteration and {@link #size()} see the merged view: schema properties keep their declaration order
+ * and properties that are not part of the schema follow in insertion order.
+ *
+ * <pre>
+ * schema vm { string name; number size = 1; string region = "eu" }   // shape: name, size, region
+ * resource vm a { name = "a" }                                       // own: name
+ * </pre>
+ *
+ * @param <V> value type
+ */
+public final class PropertyOverlay<V> extends AbstractMap<String, V> {
+    private final Map<String, V> shape;
+    @Nullable
+    private Map<String, V> own;
+    /**
+     * Schema properties removed from this instance
+     */
+    @Nullable
+    private Set<String> removed;
+    /**
+     * Number of own keys that are not part of the shape
+     */
+    private int added;
+
+    /**
+     * @param shape read-only defaults shared by every instance; must not change while instances exist
+     */
+    public PropertyOverlay(Map<String, V> shape) {
+        this.shape = shape;
+    }
+
+    private boolean inShape(Object key) {
+        return shape.containsKey(key) && (removed == null || !removed.contains(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return (own != null && own.containsKey(key)) || inShape(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        if (own != null) {
+            var value = own.get(key);
+            if (value != null || own.containsKey(key)) {
+                return value;
+            }
+        }
+        return inShape(key) ? shape.get(key) : null;
+    }
+
+    @Override
+    public V put(String key, V value) {
+        if (own == null) {
+            own = new LinkedHashMap<>();
+        }
+        var previous = get(key);
+        var inShape = shape.containsKey(key);
+        if (!own.containsKey(key) && (!inShape || (removed != null && removed.contains(key)))) {
+            if (inShape) {
+                removed.remove(key);
+            } else {
+                added++;
+            }
+        }
+        own.put(key, value);
+        return previous;
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        var previous = get(key);
+        if (own != null && own.containsKey(key)) {
+            own.remove(key);
+            if (!shape.containsKey(key)) {
+                added--;
+            }
+        }
+        if (shape.containsKey(key)) {
+            if (removed == null) {
+                removed = new HashSet<>();
+            }
+            removed.add((String) key);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        own = null;
+        added = 0;
+        removed = new HashSet<>(shape.keySet());
+    }
+
+    @Override
+    public int size() {
+        return shape.size() - (removed == null ? 0 : removed.size()) + added;
+    }
+
+    @Override
+    public @NotNull Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Entry<String, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return PropertyOverlay.this.size();
+            }
+        };
+    }
+
+    /**
+     * Walks the shape first, then the own keys that are not part of it.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, V>> {
+        private final Iterator<String> shapeKeys = shape.keySet().iterator();
+        @Nullable
+        private Iterator<String> ownKeys;
+        @Nullable
+        private String next;
+        @Nullable
+        private String current;
+
+        private EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (shapeKeys.hasNext()) {
+                var key = shapeKeys.next();
+                if (removed == null || !removed.contains(key)) {
+                    next = key;
+                    return;
+                }
+            }
+            if (ownKeys == null) {
+                ownKeys = own == null ? Collections.emptyIterator() : new ArrayList<>(own.keySet()).iterator();
+            }
+            while (ownKeys.hasNext()) {
+                var key = ownKeys.next();
+                if (!shape.containsKey(key)) {
+                    next = key;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<String, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            advance();
+            var key = current;
+            return new SimpleEntry<>(key, get(key)) {
+                @Override
+                public V setValue(V value) {
+                    super.setValue(value);
+                    return put(key, value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            PropertyOverlay.this.remove(current);
+            current = null;
+        }
+    }
+}
@@ -32,6 +32,8 @@ public non-sealed class InputChainResolver extends InputResolver implements Visi
     // Store resolved component inputs by qualified name (e.g., "api.hostname" -> resolved Expression)
     @Getter
     private final Map<String, Expression> resolvedComponentInputs = new HashMap<>();
+    // Parsed input values by source, so component instances resolving the same value share one expression
+    private final Map<String, Expression> parsedInputs = new HashMap<>();
 
     public InputChainResolver() {
         this.resolvers = List.of(
@@ -131,23 +133,39 @@ public non-sealed class InputChainResolver extends InputResolver implements Visi
 
             var srcCode = normalizeStringInputs(input, inputDeclaration, qualifiedName);
 
-            var ast = parser.parse(srcCode);
-            var statement = (ExpressionStatement) ast.getBody().get(0);
+            var expression = parsedInputs.get(srcCode);
+            if (expression == null) {
+                expression = parseExpression(srcCode);
+                parsedInputs.put(srcCode, expression);
+            }
 
             if (componentName != null) {
                 // Store resolved value for component inputs - don't modify the shared declaration
-                resolvedComponentInputs.put(qualifiedName, statement.getStatement());
+                resolvedComponentInputs.put(qualifiedName, expression);
             } else {
                 // For top-level inputs, set the init directly on the InputDeclaration
-                inputDeclaration.setInit(statement.getStatement());
+                inputDeclaration.setInit(expression);
             }
 
-            return visit(statement.getStatement());
+            return visit(expression);
         } catch (NoSuchElementException exception) {
             throw new MissingInputException("Missing `%s`".formatted(printer.visit(inputDeclaration)));
         }
     }
 
+    /**
+     * Plain literals are built by {@link LiteralInputParser}; only real expressions go through the grammar.
+     */
+    private Expression parseExpression(String srcCode) {
+        var literal = LiteralInputParser.parse(srcCode);
+        if (literal != null) {
+            return literal;
+        }
+        var ast = parser.parse(srcCode);
+        var statement = (ExpressionStatement) ast.getBody().get(0);
+        return statement.getStatement();
+    }
+
     private @Nullable String normalizeStringInputs(String input, InputDeclaration inputDeclaration, String displayName) {
         if (!(input instanceof String string) || StringUtils.isBlank(string.trim())) {
             throw new MissingInputException("Missing input `%s`".formatted(displayName));
@@ -14,12 +14,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class InputsFilesResolver extends InputResolver {
     static final String INPUTS_DEFAULTS_KITE = "inputs.default.kite";
     static final String INPUTS_ENV_DEFAULTS_KITE = "inputs.%s.default.kite";
+    private static final Pattern SURROUNDING_QUOTES = Pattern.compile("^['\"]|['\"]$");
     private final Map<String, String> inputs;
     private boolean wasRead = false;
 
@@ -244,7 +246,7 @@ public class InputsFilesResolver extends InputResolver {
             stream.forEach(line -> {
                 var input = line.split("=");
                 if (input.length == 2) {
-                    inputs.put(StringUtils.trim(input[0]), StringUtils.trim(input[1]).replaceAll("^['\"]|['\"]$", ""));
+                    inputs.put(StringUtils.trim(input[0]), SURROUNDING_QUOTES.matcher(StringUtils.trim(input[1])).replaceAll(""));
                 }
             });
         } catch (IOException e) {
@@ -0,0 +1,228 @@
+package cloud.kitelang.execution.inputs;
+
+import cloud.kitelang.syntax.ast.expressions.ArrayExpression;
+import cloud.kitelang.syntax.ast.expressions.Expression;
+import cloud.kitelang.syntax.ast.expressions.ObjectExpression;
+import cloud.kitelang.syntax.literals.BooleanLiteral;
+import cloud.kitelang.syntax.literals.NullLiteral;
+import cloud.kitelang.syntax.literals.NumberLiteral;
+import cloud.kitelang.syntax.literals.ObjectLiteral;
+import cloud.kitelang.syntax.literals.StringLiteral;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written parser for input values that are plain literals: strings, numbers, booleans, null and arrays or
+ * objects of those. It builds the same nodes the {@link cloud.kitelang.syntax.ast.KiteASTBuilder} would, without
+ * creating a lexer, parser and tree per input.
+ * <p>
+ * Anything it is not sure about (interpolation, escapes, negative numbers, identifiers, calls, comments, trailing
+ * commas) makes {@link #parse(String)} return null so the caller can fall back to the full grammar.
+ */
+final class LiteralInputParser {
+    private final String s;
+    private int i = 0;
+
+    private LiteralInputParser(String s) {
+        this.s = s;
+    }
+
+    /**
+     * @return the literal expression, or null if the source is not a plain literal
+     */
+    static @Nullable Expression parse(String source) {
+        var parser = new LiteralInputParser(source);
+        var value = parser.parseValue();
+        if (value == null || value instanceof ObjectExpression object && object.isEmpty()) {
+            // a bare {} statement could just as well be an empty block
+            return null;
+        }
+        parser.skipWs();
+        return parser.eof() ? value : null;
+    }
+
+    private @Nullable Expression parseValue() {
+        skipWs();
+        if (eof()) {
+            return null;
+        }
+        char c = s.charAt(i);
+        return switch (c) {
+            case '[' -> parseArray();
+            case '{' -> parseObject();
+            case '"', '\'' -> parseString();
+            default -> {
+                if (isDigit(c)) {
+                    yield parseNumber();
+                }
+                var word = parseWord();
+                if (word == null) {
+                    yield null;
+                }
+                yield switch (word) {
+                    case "true" -> BooleanLiteral.bool(true);
+                    case "false" -> BooleanLiteral.bool(false);
+                    case "null" -> NullLiteral.nullLiteral();
+                    default -> null; // identifiers, calls and keywords need the grammar
+                };
+            }
+        };
+    }
+
+    private @Nullable Expression parseArray() {
+        i++; // [
+        var array = new ArrayExpression();
+        skipWs();
+        if (peek(']')) {
+            i++;
+            return array;
+        }
+        while (true) {
+            var item = parseValue();
+            if (item == null) {
+                return null;
+            }
+            array.add(item);
+            skipWs();
+            if (peek(',')) {
+                i++;
+                continue;
+            }
+            if (peek(']')) {
+                i++;
+                return array;
+            }
+            return null;
+        }
+    }
+
+    private @Nullable Expression parseObject() {
+        i++; // {
+        skipWs();
+        if (peek('}')) {
+            i++;
+            return ObjectExpression.object(List.of());
+        }
+        var properties = new ArrayList<ObjectLiteral>();
+        while (true) {
+            skipWs();
+            Expression key;
+            if (peek('"') || peek('\'')) {
+                key = parseString();
+            } else {
+                var word = parseWord();
+                key = word == null || isLiteralWord(word) ? null : new StringLiteral(word);
+            }
+            if (key == null) {
+                return null;
+            }
+            skipWs();
+            if (!peek(':')) {
+                return null;
+            }
+            i++;
+            var value = parseValue();
+            if (value == null) {
+                return null;
+            }
+            properties.add(ObjectLiteral.object(key, value));
+            skipWs();
+            if (peek(',')) {
+                i++;
+                continue;
+            }
+            if (peek('}')) {
+                i++;
+                return ObjectExpression.object(properties);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Double quoted strings with {@code $} or escapes are left to the grammar, which knows how to split them into
+     * interpolation parts. Single quoted strings are never interpolated.
+     */
+    private @Nullable Expression parseString() {
+        char quote = s.charAt(i++);
+        int start = i;
+        while (!eof()) {
+            char c = s.charAt(i);
+            if (c == quote) {
+                var value = s.substring(start, i++);
+                return quote == '\'' ? StringLiteral.literal(value) : StringLiteral.string(value);
+            }
+            if (c == '\\' || c == '\n' || c == '\r' || (c == '$' && quote == '"')) {
+                return null;
+            }
+            i++;
+        }
+        return null;
+    }
+
+    /**
+     * Only plain integers that fit in an int and decimals are handled, the same shapes
+     * {@link NumberLiteral#number(Object)} accepts from the grammar's NUMBER token.
+     */
+    private @Nullable Expression parseNumber() {
+        int start = i;
+        while (!eof() && isDigit(s.charAt(i))) i++;
+        boolean decimal = false;
+        if (peek('.')) {
+            decimal = true;
+            i++;
+            if (eof() || !isDigit(s.charAt(i))) {
+                return null;
+            }
+            while (!eof() && isDigit(s.charAt(i))) i++;
+        }
+        if (!eof() && (Character.isLetter(s.charAt(i)) || s.charAt(i) == '_' || s.charAt(i) == '.')) {
+            return null; // exponents, suffixes and ranges
+        }
+        var text = s.substring(start, i);
+        if (!decimal && text.length() > 9) {
+            return null; // may not fit in an int
+        }
+        return NumberLiteral.number(text);
+    }
+
+    private @Nullable String parseWord() {
+        if (eof() || !isWordStart(s.charAt(i))) {
+            return null;
+        }
+        int start = i;
+        while (!eof() && isWordPart(s.charAt(i))) i++;
+        return s.substring(start, i);
+    }
+
+    // ---- helpers ----
+    private void skipWs() {
+        while (!eof() && " \t\r\n".indexOf(s.charAt(i)) >= 0) i++;
+    }
+
+    private boolean eof() {
+        return i >= s.length();
+    }
+
+    private boolean peek(char c) {
+        return !eof() && s.charAt(i) == c;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLiteralWord(String word) {
+        return word.equals("true") || word.equals("false") || word.equals("null");
+    }
+
+    private static boolean isWordStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static boolean isWordPart(char c) {
+        return isWordStart(c) || isDigit(c);
+    }
+}
@@ -1,130 +1,139 @@
 package cloud.kitelang.execution.interpreter;
 
 import cloud.kitelang.syntax.ast.expressions.BinaryExpression;
+import cloud.kitelang.syntax.ast.expressions.BinaryOperator;
 import cloud.kitelang.syntax.ast.expressions.CallExpression;
 import cloud.kitelang.syntax.ast.expressions.MemberExpression;
 import cloud.kitelang.syntax.literals.*;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
+import java.util.Set;
 
 public class OperatorComparator {
+    private static final Set<Class<?>> ADDITION_OPERANDS = Set.of(
+            NumberLiteral.class,
+            StringLiteral.class,
+            SymbolIdentifier.class,
+            CallExpression.class,
+            BinaryExpression.class,
+            MemberExpression.class
+    );
+    private static final Set<Class<?>> ARITHMETIC_OPERANDS = Set.of(
+            NumberLiteral.class,
+            CallExpression.class,
+            SymbolIdentifier.class,
+            BinaryExpression.class);
+    private static final Set<Class<?>> EQUALITY_OPERANDS = Set.of(
+            StringLiteral.class,
+            CallExpression.class,
+            SymbolIdentifier.class,
+            NumberLiteral.class,
+            BinaryExpression.class,
+            BooleanLiteral.class,
+            ObjectLiteral.class);
+    private static final Set<Class<?>> RELATIONAL_OPERANDS = Set.of(BinaryExpression.class,
+            NumberLiteral.class,
+            CallExpression.class,
+            BooleanLiteral.class,
+            StringLiteral.class,
+            SymbolIdentifier.class);
 
-    public static @NotNull Object compare(String op, Number ln, Number rn) {
+    public static @NotNull Object compare(BinaryOperator op, Number ln, Number rn) {
         // if both were ints, do int math → preserve integer result
         if (ln instanceof Integer a && rn instanceof Integer b) {
-            return compare(op, a, b);
+            return compare(op, a.intValue(), b.intValue());
         }
         // otherwise treat both as doubles
         double a = ln.doubleValue(), b = rn.doubleValue();
         return compare(op, a, b);
     }
 
-    public static @NotNull Object compare(String op, Integer a, Integer b) {
+    public static @NotNull Object compare(BinaryOperator op, int a, int b) {
         return switch (op) {
-            case "+" -> a + b;
-            case "-" -> a - b;
-            case "*" -> a * b;
-            case "/" -> a / b;
-            case "%" -> a % b;
-            case "==" -> a.equals(b);
-            case "!=" -> !a.equals(b);
-            case "<" -> a < b;
-            case "<=" -> a <= b;
-            case ">" -> a > b;
-            case ">=" -> a >= b;
-            default -> throw new IllegalArgumentException("Operator could not be evaluated: " + op);
+            case PLUS -> a + b;
+            case MINUS -> a - b;
+            case MULTIPLY -> a * b;
+            case DIVIDE -> a / b;
+            case MODULO -> a % b;
+            case EQUAL -> a == b;
+            case NOT_EQUAL -> a != b;
+            case LESS -> a < b;
+            case LESS_EQUAL -> a <= b;
+            case GREATER -> a > b;
+            case GREATER_EQUAL -> a >= b;
         };
     }
 
-    public static @NotNull Object compare(String op, Boolean l, Boolean r) {
+    public static @NotNull Object compare(BinaryOperator op, Boolean l, Boolean r) {
         return switch (op) {
-            case "==" -> l.equals(r);
-            case "!=" -> !l.equals(r);
-            case "<" -> l.compareTo(r) < 0;
-            case "<=" -> l.compareTo(r) <= 0;
-            case ">" -> l.compareTo(r) > 0;
-            case ">=" -> l.compareTo(r) >= 0;
+            case EQUAL -> l.equals(r);
+            case NOT_EQUAL -> !l.equals(r);
+            case LESS -> l.compareTo(r) < 0;
+            case LESS_EQUAL -> l.compareTo(r) <= 0;
+            case GREATER -> l.compareTo(r) > 0;
+            case GREATER_EQUAL -> l.compareTo(r) >= 0;
             default -> throw new IllegalArgumentException("Operator could not be evaluated: " + op);
         };
     }
 
-    public static @NotNull Object compare(String op, double a, double b) {
+    public static @NotNull Object compare(BinaryOperator op, double a, double b) {
         return switch (op) {
-            case "+" -> a + b;
-            case "-" -> a - b;
-            case "*" -> a * b;
-            case "/" -> a / b;
-            case "%" -> a % b;
-            case "==" -> a == b;
-            case "!=" -> a != b;
-            case "<" -> a < b;
-            case "<=" -> a <= b;
-            case ">" -> a > b;
-            case ">=" -> a >= b;
-            default -> throw new IllegalArgumentException("Operator could not be evaluated: " + op);
+            case PLUS -> a + b;
+            case MINUS -> a - b;
+            case MULTIPLY -> a * b;
+            case DIVIDE -> a / b;
+            case MODULO -> a % b;
+            case EQUAL -> a == b;
+            case NOT_EQUAL -> a != b;
+            case LESS -> a < b;
+            case LESS_EQUAL -> a <= b;
+            case GREATER -> a > b;
+            case GREATER_EQUAL -> a >= b;
         };
     }
 
-    public static @NotNull Object compare(String op, String l, String r) {
+    public static @NotNull Object compare(BinaryOperator op, String l, String r) {
         return switch (op) {
-            case "+" -> l + r;
-            case "==" -> StringUtils.equals(l, r);
-            case "!=" -> !StringUtils.equals(l, r);
-            case "<" -> StringUtils.compare(l, r) < 0;
-            case "<=" -> StringUtils.compare(l, r) <= 0;
-            case ">" -> StringUtils.compare(l, r) > 0;
-            case ">=" -> StringUtils.compare(l, r) >= 0;
+            case PLUS -> l + r;
+            case EQUAL -> StringUtils.equals(l, r);
+            case NOT_EQUAL -> !StringUtils.equals(l, r);
+            case LESS -> StringUtils.compare(l, r) < 0;
+            case LESS_EQUAL -> StringUtils.compare(l, r) <= 0;
+            case GREATER -> StringUtils.compare(l, r) > 0;
+            case GREATER_EQUAL -> StringUtils.compare(l, r) >= 0;
             default -> throw new IllegalArgumentException("Operator could not be evaluated: " + op);
         };
     }
 
-    public static @NotNull Object compare(String op, String l, Number r) {
+    public static @NotNull Object compare(BinaryOperator op, String l, Number r) {
         return switch (op) {
-            case "+" -> l + r;
+            case PLUS -> l + r;
             default -> throw new IllegalArgumentException("Operator could not be evaluated: " + op);
         };
     }
 
-    public static @NotNull Object compare(String op, Number l, String r) {
+    public static @NotNull Object compare(BinaryOperator op, Number l, String r) {
         return switch (op) {
-            case "+" -> l + r;
+            case PLUS -> l + r;
             default -> throw new IllegalArgumentException("Operator could not be evaluated: " + op);
         };
     }
 
-    public static List<Class> allowTypes(String op) {
+    /**
+     * @return the AST node types allowed as operands. The sets are shared and immutable.
+     */
+    public static Set<Class<?>> allowTypes(BinaryOperator op) {
         return switch (op) {
-            case "+" -> List.of(
-                    NumberLiteral.class,
-                    StringLiteral.class,
-                    SymbolIdentifier.class,
-                    CallExpression.class,
-                    BinaryExpression.class,
-                    MemberExpression.class
-            );
+            case PLUS -> ADDITION_OPERANDS;
             // allow addition for numbers and string
-            case "-", "/", "*", "%" -> List.of(
-                    NumberLiteral.class,
-                    CallExpression.class,
-                    SymbolIdentifier.class,
-                    BinaryExpression.class);
-            case "==", "!=" -> List.of(
-                    StringLiteral.class,
-                    CallExpression.class,
-                    SymbolIdentifier.class,
-                    NumberLiteral.class,
-                    BinaryExpression.class,
-                    BooleanLiteral.class,
-                    ObjectLiteral.class);
-            case "<=", "<", ">", ">=" -> List.of(BinaryExpression.class,
-                    NumberLiteral.class,
-                    CallExpression.class,
-                    BooleanLiteral.class,
-                    StringLiteral.class,
-                    SymbolIdentifier.class);
-            default -> throw new IllegalArgumentException("Operator could not be evaluated: " + op);
+            case MINUS, DIVIDE, MULTIPLY, MODULO -> ARITHMETIC_OPERANDS;
+            case EQUAL, NOT_EQUAL -> EQUALITY_OPERANDS;
+            case LESS_EQUAL, LESS, GREATER, GREATER_EQUAL -> RELATIONAL_OPERANDS;
         };
     }
+
+    public static Set<Class<?>> allowTypes(String op) {
+        return allowTypes(BinaryOperator.of(op));
+    }
 }
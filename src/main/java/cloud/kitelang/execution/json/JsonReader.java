@@ -0,0 +1,421 @@
+package cloud.kitelang.execution.json;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single pass JSON decoder producing Kite runtime values: objects become {@link LinkedHashMap}s, arrays
+ * {@link ArrayList}s, integers {@link Integer} (or {@link Long}/{@link BigInteger} when they don't fit), other
+ * numbers {@link Double}.
+ * <pre>{@code
+ * var policy = JsonReader.read(Files.newBufferedReader(path));
+ * var input = JsonReader.tolerant("{ name: 'web', ports: [80, 443,], }");
+ * }</pre>
+ * Input is consumed from a {@link Reader} through a fixed buffer, so multi-megabyte documents are never held as a
+ * string. Strings without escapes are created straight from the buffer and numbers are accumulated from the digits.
+ *
+ * <p>The tolerant mode additionally accepts what people write by hand in Kite inputs: bare keys
+ * ({@code [A-Za-z_][A-Za-z0-9_\-.]*}), single-quoted strings and trailing commas. Malformed input throws an
+ * {@link IllegalArgumentException} with the offset of the offending character.
+ */
+public final class JsonReader {
+    private static final int BUFFER_SIZE = 8192;
+
+    @Nullable
+    private final Reader in;
+    private final boolean tolerant;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    // characters consumed before the buffer, for error positions
+    private long offset;
+    @Nullable
+    private StringBuilder scratch;
+
+    private JsonReader(Reader in, boolean tolerant) {
+        this.in = in;
+        this.tolerant = tolerant;
+        this.buffer = new char[BUFFER_SIZE];
+    }
+
+    private JsonReader(String json, boolean tolerant) {
+        this.in = null;
+        this.tolerant = tolerant;
+        this.buffer = json.toCharArray();
+        this.limit = buffer.length;
+    }
+
+    /**
+     * Parses a strict JSON document.
+     */
+    public static @Nullable Object parse(String json) {
+        return new JsonReader(json, false).document();
+    }
+
+    /**
+     * Parses a strict JSON document from the reader. The reader is not closed.
+     */
+    public static @Nullable Object read(Reader in) {
+        return new JsonReader(in, false).document();
+    }
+
+    /**
+     * Parses a JSON document that may use bare keys, single quotes and trailing commas.
+     */
+    public static @Nullable Object tolerant(String json) {
+        return new JsonReader(json, true).document();
+    }
+
+    /**
+     * Parses a JSON document that may use bare keys, single quotes and trailing commas from the reader.
+     */
+    public static @Nullable Object tolerant(Reader in) {
+        return new JsonReader(in, true).document();
+    }
+
+    private @Nullable Object document() {
+        var value = value();
+        skipWhitespace();
+        if (fill()) {
+            error("Unexpected char: " + buffer[position]);
+        }
+        return value;
+    }
+
+    private @Nullable Object value() {
+        skipWhitespace();
+        if (!fill()) {
+            error("EOF");
+        }
+        char c = buffer[position];
+        return switch (c) {
+            case '{' -> object();
+            case '[' -> array();
+            case '"' -> string('"');
+            case '\'' -> {
+                if (!tolerant) {
+                    error("Unexpected char: " + c);
+                }
+                yield string('\'');
+            }
+            case 't' -> literal("true", Boolean.TRUE);
+            case 'f' -> literal("false", Boolean.FALSE);
+            case 'n' -> literal("null", null);
+            default -> {
+                if (c == '-' || isDigit(c)) {
+                    yield number();
+                }
+                error("Unexpected char: " + c);
+                yield null;
+            }
+        };
+    }
+
+    private Map<String, Object> object() {
+        position++; // {
+        var result = new LinkedHashMap<String, Object>();
+        skipWhitespace();
+        if (consume('}')) {
+            return result;
+        }
+        while (true) {
+            skipWhitespace();
+            if (tolerant && peek('}')) { // trailing comma
+                position++;
+                return result;
+            }
+            var key = key();
+            skipWhitespace();
+            expect(':');
+            result.put(key, value());
+            skipWhitespace();
+            if (consume(',')) {
+                continue;
+            }
+            if (consume('}')) {
+                return result;
+            }
+            error("Expected ',' or '}'");
+        }
+    }
+
+    private List<Object> array() {
+        position++; // [
+        var result = new ArrayList<>();
+        skipWhitespace();
+        if (consume(']')) {
+            return result;
+        }
+        while (true) {
+            result.add(value());
+            skipWhitespace();
+            if (consume(',')) {
+                skipWhitespace();
+                if (tolerant && consume(']')) { // trailing comma
+                    return result;
+                }
+                continue;
+            }
+            if (consume(']')) {
+                return result;
+            }
+            error("Expected ',' or ']'");
+        }
+    }
+
+    private String key() {
+        if (!fill()) {
+            error("Expected string key");
+        }
+        char c = buffer[position];
+        if (c == '"') {
+            return string('"');
+        }
+        if (tolerant && c == '\'') {
+            return string('\'');
+        }
+        if (tolerant && (isLetter(c) || c == '_')) {
+            return bareKey();
+        }
+        error("Expected string key");
+        return null;
+    }
+
+    private String bareKey() {
+        var builder = scratch();
+        do {
+            builder.append(buffer[position++]);
+        } while (fill() && isKeyPart(buffer[position]));
+        return builder.toString();
+    }
+
+    private String string(char quote) {
+        position++; // opening quote
+        // fast path, no escapes before the closing quote within the buffer
+        for (int i = position; i < limit; i++) {
+            char c = buffer[i];
+            if (c == quote) {
+                var result = new String(buffer, position, i - position);
+                position = i + 1;
+                return result;
+            }
+            if (c == '\\') {
+                break;
+            }
+        }
+        var builder = scratch();
+        while (fill()) {
+            char c = buffer[position++];
+            if (c == quote) {
+                return builder.toString();
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            if (!fill()) {
+                break;
+            }
+            char escaped = buffer[position++];
+            switch (escaped) {
+                case '"', '\\', '/' -> builder.append(escaped);
+                case '\'' -> {
+                    if (!tolerant) {
+                        error("Bad escape: \\" + escaped);
+                    }
+                    builder.append(escaped);
+                }
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> builder.append(unicode());
+                default -> error("Bad escape: \\" + escaped);
+            }
+        }
+        error("Unterminated string");
+        return null;
+    }
+
+    private char unicode() {
+        int code = 0;
+        for (int i = 0; i < 4; i++) {
+            if (!fill()) {
+                error("Bad \\u escape");
+            }
+            int digit = Character.digit(buffer[position++], 16);
+            if (digit < 0) {
+                error("Bad \\u escape");
+            }
+            code = code << 4 | digit;
+        }
+        return (char) code;
+    }
+
+    private Object number() {
+        var negative = consume('-');
+        if (!fill() || !isDigit(buffer[position])) {
+            error("Bad number");
+        }
+        long value = 0;
+        int digits = 0;
+        var builder = scratch();
+        if (negative) {
+            builder.append('-');
+        }
+        if (buffer[position] == '0') {
+            builder.append('0');
+            position++;
+            digits = 1;
+        } else {
+            while (fill() && isDigit(buffer[position])) {
+                char c = buffer[position++];
+                builder.append(c);
+                value = value * 10 + (c - '0');
+                digits++;
+            }
+        }
+        var floating = false;
+        if (consume('.')) {
+            floating = true;
+            builder.append('.');
+            if (!digits(builder)) {
+                error("Bad fraction");
+            }
+        }
+        if (fill() && (buffer[position] == 'e' || buffer[position] == 'E')) {
+            floating = true;
+            builder.append(buffer[position++]);
+            if (fill() && (buffer[position] == '+' || buffer[position] == '-')) {
+                builder.append(buffer[position++]);
+            }
+            if (!digits(builder)) {
+                error("Bad exponent");
+            }
+        }
+        if (floating) {
+            return Double.parseDouble(builder.toString());
+        }
+        if (digits > 18) {
+            var big = new BigInteger(builder.toString());
+            return big.bitLength() < Long.SIZE ? (Object) big.longValue() : big;
+        }
+        value = negative ? -value : value;
+        if (value == (int) value) {
+            return (int) value;
+        }
+        return value;
+    }
+
+    private boolean digits(StringBuilder builder) {
+        var any = false;
+        while (fill() && isDigit(buffer[position])) {
+            builder.append(buffer[position++]);
+            any = true;
+        }
+        return any;
+    }
+
+    private @Nullable Object literal(String word, @Nullable Object value) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!fill() || buffer[position] != word.charAt(i)) {
+                error("Expected " + word);
+            }
+            position++;
+        }
+        return value;
+    }
+
+    // ---- helpers ----
+
+    /**
+     * Makes sure at least one character is available, reading the next chunk when the buffer is consumed.
+     *
+     * @return false at the end of the input
+     */
+    private boolean fill() {
+        if (position < limit) {
+            return true;
+        }
+        if (in == null) {
+            return false;
+        }
+        try {
+            offset += limit;
+            position = 0;
+            limit = 0;
+            int read;
+            do {
+                read = in.read(buffer, 0, buffer.length);
+            } while (read == 0);
+            if (read < 0) {
+                return false;
+            }
+            limit = read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private StringBuilder scratch() {
+        if (scratch == null) {
+            scratch = new StringBuilder(64);
+        }
+        scratch.setLength(0);
+        return scratch;
+    }
+
+    private void skipWhitespace() {
+        while (fill()) {
+            char c = buffer[position];
+            if (c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private boolean peek(char c) {
+        return fill() && buffer[position] == c;
+    }
+
+    private boolean consume(char c) {
+        if (peek(c)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) {
+            error("Expected '" + c + "'");
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isKeyPart(char c) {
+        return isLetter(c) || isDigit(c) || c == '_' || c == '-' || c == '.';
+    }
+
+    private void error(String message) {
+        throw new IllegalArgumentException(message + " at pos " + (offset + position));
+    }
+}
@@ -0,0 +1,124 @@
+package cloud.kitelang.execution.json;
+
+import cloud.kitelang.execution.values.NullValue;
+import cloud.kitelang.execution.values.ResourceRef;
+import cloud.kitelang.execution.values.ResourceValue;
+import cloud.kitelang.execution.values.StructValue;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Compact JSON encoder writing Kite runtime values straight to a {@link Writer}:
+ * <ul>
+ *     <li>maps and {@link StructValue} instances become objects, resources the object of their properties</li>
+ *     <li>any {@link Iterable} becomes an array</li>
+ *     <li>resolved {@link ResourceRef}s are written as their value</li>
+ *     <li>NaN and infinite numbers become {@code null}, like in JavaScript</li>
+ *     <li>anything else is written as the string of its {@code toString()}</li>
+ * </ul>
+ * The writer isn't buffered here, wrap it in a {@link java.io.BufferedWriter} when writing to a file or stream.
+ */
+public final class JsonWriter {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * @return the value encoded as a JSON string
+     */
+    public static String toJson(@Nullable Object value) {
+        var writer = new StringWriter();
+        try {
+            new JsonWriter(writer).value(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter doesn't throw
+        }
+        return writer.toString();
+    }
+
+    public JsonWriter value(@Nullable Object value) throws IOException {
+        switch (value) {
+            case null -> out.write("null");
+            case NullValue ignored -> out.write("null");
+            case Boolean z -> out.write(z ? "true" : "false");
+            case Double d when d.isNaN() || d.isInfinite() -> out.write("null");
+            case Float f when f.isNaN() || f.isInfinite() -> out.write("null");
+            case Number n -> out.write(n.toString());
+            case CharSequence s -> string(s);
+            case Map<?, ?> map -> object(map);
+            case Iterable<?> iterable -> array(iterable);
+            case ResourceValue resource -> object(resource.getProperties().getVariables());
+            case StructValue struct -> object(struct.getEnvironment().getVariables());
+            case ResourceRef.Resolved resolved -> value(resolved.value());
+            default -> string(value.toString());
+        }
+        return this;
+    }
+
+    public JsonWriter string(CharSequence value) throws IOException {
+        out.write('"');
+        int length = value.length();
+        int start = 0;
+        // write the runs between characters that need escaping in one go
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                continue;
+            }
+            out.append(value, start, i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    out.write("\\u00");
+                    out.write(HEX[c >> 4]);
+                    out.write(HEX[c & 0xF]);
+                }
+            }
+            start = i + 1;
+        }
+        out.append(value, start, length);
+        out.write('"');
+        return this;
+    }
+
+    private void object(Map<?, ?> map) throws IOException {
+        out.write('{');
+        var first = true;
+        for (var entry : map.entrySet()) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            string(String.valueOf(entry.getKey()));
+            out.write(':');
+            value(entry.getValue());
+        }
+        out.write('}');
+    }
+
+    private void array(Iterable<?> iterable) throws IOException {
+        out.write('[');
+        var first = true;
+        for (Object it : iterable) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            value(it);
+        }
+        out.write(']');
+    }
+}
@@ -0,0 +1,95 @@
+package cloud.kitelang.execution.output;
+
+import cloud.kitelang.analysis.visitors.SyntaxPrinter;
+import cloud.kitelang.syntax.ast.expressions.OutputDeclaration;
+import org.fusesource.jansi.Ansi;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes outputs the way {@link SyntaxPrinter#visit(OutputDeclaration)} prints them, painted with the printer's theme:
+ * <pre>
+ * output string name = "value"
+ * </pre>
+ * Lists and objects are written element by element.
+ */
+public final class HumanOutputSink implements OutputSink {
+    private final SyntaxPrinter printer;
+    private final Writer out;
+
+    public HumanOutputSink(SyntaxPrinter printer, Writer out) {
+        this.printer = printer;
+        this.out = out;
+    }
+
+    @Override
+    public void begin() throws IOException {
+        out.write(Ansi.ansi().a(Ansi.Attribute.INTENSITY_BOLD).a("Final Outputs:").toString());
+        out.write(System.lineSeparator());
+    }
+
+    @Override
+    public void write(OutputDeclaration output, @Nullable Object value) throws IOException {
+        var theme = printer.getTheme();
+        out.write(theme.kw("output "));
+        out.write(printer.visit(output.getType()));
+        out.write(" ");
+        out.write(printer.visit(output.getId()));
+        out.write(" = ");
+        if (output.isSensitive()) {
+            out.write(theme.normal("<sensitive value>"));
+        } else {
+            value(value);
+        }
+        out.write(System.lineSeparator());
+    }
+
+    private void value(@Nullable Object value) throws IOException {
+        var theme = printer.getTheme();
+        switch (value) {
+            case Integer i -> out.write(theme.num(String.valueOf(i)));
+            case Double d -> out.write(theme.num(String.valueOf(d)));
+            case Float f -> out.write(theme.num(String.valueOf(f)));
+            case Boolean z -> out.write(theme.bool(String.valueOf(z)));
+            case String s -> out.write(theme.string("\"" + s + "\""));
+            case List<?> list -> {
+                out.write('[');
+                var first = true;
+                for (Object it : list) {
+                    if (!first) out.write(", ");
+                    first = false;
+                    value(it);
+                }
+                out.write(']');
+            }
+            case Map<?, ?> map -> {
+                out.write('{');
+                var first = true;
+                for (var entry : map.entrySet()) {
+                    if (!first) out.write(", ");
+                    first = false;
+                    value(entry.getKey());
+                    out.write(": ");
+                    value(entry.getValue());
+                }
+                out.write('}');
+            }
+            // literals and anything else print as small strings
+            case null, default -> out.write(String.valueOf(printer.visit(value)));
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
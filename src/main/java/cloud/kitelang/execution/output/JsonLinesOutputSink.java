@@ -0,0 +1,59 @@
+package cloud.kitelang.execution.output;
+
+import cloud.kitelang.execution.json.JsonWriter;
+import cloud.kitelang.syntax.ast.expressions.OutputDeclaration;
+import cloud.kitelang.syntax.literals.ArrayTypeIdentifier;
+import cloud.kitelang.syntax.literals.TypeIdentifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes every output as one JSON object per line, for tools reading the outputs while they are resolved:
+ * <pre>
+ * {"name":"ip","type":"string","value":"10.0.0.1"}
+ * {"name":"password","type":"string","sensitive":true}
+ * </pre>
+ * Values of sensitive outputs are never written.
+ */
+public final class JsonLinesOutputSink implements OutputSink {
+    private final Writer out;
+    private final JsonWriter json;
+
+    public JsonLinesOutputSink(Writer out) {
+        this.out = out;
+        this.json = new JsonWriter(out);
+    }
+
+    @Override
+    public void write(OutputDeclaration output, @Nullable Object value) throws IOException {
+        out.write("{\"name\":");
+        json.string(output.name());
+        if (output.getType() != null) {
+            out.write(",\"type\":");
+            json.string(type(output.getType()));
+        }
+        if (output.isSensitive()) {
+            out.write(",\"sensitive\":true");
+        } else {
+            out.write(",\"value\":");
+            json.value(value);
+        }
+        out.write("}\n");
+    }
+
+    private static String type(TypeIdentifier type) {
+        return type instanceof ArrayTypeIdentifier array ? array.getType().getValue() + "[]" : type.string();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,37 @@
+package cloud.kitelang.execution.output;
+
+import cloud.kitelang.syntax.ast.expressions.OutputDeclaration;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Receives the resolved outputs one by one, as soon as each is resolved, see
+ * {@link cloud.kitelang.execution.Interpreter#writeOutputs}. Sinks write straight to a buffered {@link Writer}
+ * instead of building the text of an output first, so memory stays flat however large an output is.
+ */
+public interface OutputSink extends Flushable, Closeable {
+    int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Called once before the first output
+     */
+    default void begin() throws IOException {
+    }
+
+    /**
+     * @param value the resolved value, written as hidden when the output is sensitive
+     */
+    void write(OutputDeclaration output, @Nullable Object value) throws IOException;
+
+    static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    static Writer writer(WritableByteChannel channel) {
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
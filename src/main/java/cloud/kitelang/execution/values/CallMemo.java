@@ -0,0 +1,77 @@
+package cloud.kitelang.execution.values;
+
+import cloud.kitelang.metrics.KiteMetrics.CacheResult;
+import cloud.kitelang.metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Results of a pure function (see {@link cloud.kitelang.semantics.PurityAnalyzer}) by arguments, the least recently
+ * used are dropped past {@code kite.interpret.memoSize} entries (256 by default).
+ * <p>
+ * Arguments are compared by value, so only calls whose arguments can't change afterwards are cached: strings,
+ * numbers, booleans, null and {@link PersistentVector}s and {@link PersistentMap}s of those. Results must be
+ * immutable too since every caller gets the same instance; other calls run the function every time. The function
+ * runs outside the lock, two threads missing together both compute the result.
+ */
+public final class CallMemo {
+    public static final int SIZE = Integer.getInteger("kite.interpret.memoSize", 256);
+
+    private final String function;
+    private final Map<List<Object>, Object> results = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, Object> eldest) {
+            return size() > SIZE;
+        }
+    };
+
+    public CallMemo(String function) {
+        this.function = function;
+    }
+
+    public Object computeIfAbsent(List<Object> args, Supplier<Object> call) {
+        if (!args.stream().allMatch(CallMemo::isImmutable)) {
+            return call.get();
+        }
+        var key = Arrays.asList(args.toArray());
+        synchronized (results) {
+            if (results.containsKey(key)) {
+                Metrics.listener().memoCache(function, CacheResult.MEMORY_HIT);
+                return results.get(key);
+            }
+        }
+        Metrics.listener().memoCache(function, CacheResult.MISS);
+        var result = call.get();
+        if (isImmutable(result)) {
+            synchronized (results) {
+                results.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    private static boolean isImmutable(Object value) {
+        return switch (value) {
+            case null -> true;
+            case String ignored -> true;
+            case Integer ignored -> true;
+            case Long ignored -> true;
+            case Double ignored -> true;
+            case Float ignored -> true;
+            case Boolean ignored -> true;
+            case PersistentVector<?> vector -> vector.stream().allMatch(CallMemo::isImmutable);
+            case PersistentMap<?, ?> map -> map.values().stream().allMatch(CallMemo::isImmutable);
+            default -> false;
+        };
+    }
+}
@@ -3,15 +3,10 @@ package cloud.kitelang.execution.values;
 import cloud.kitelang.execution.Interpreter;
 
 public interface DeferredObserverValue {
-    Object notify(Interpreter interpreter);
-
     /**
-     * Called when a specific dependency has been resolved.
-     * Allows incremental re-evaluation based on which dependency was satisfied.
+     * Evaluates the observer again, called once all the resources it waits for are resolved.
      */
-    default Object notifyDependencyResolved(Interpreter interpreter, String resolvedResourceName) {
-        return notify(interpreter); // Default: fall back to full re-evaluation
-    }
+    Object notify(Interpreter interpreter);
 
     boolean isEvaluated();
 
@@ -1,6 +1,7 @@
 package cloud.kitelang.execution.values;
 
 import cloud.kitelang.execution.Callable;
+import cloud.kitelang.execution.CompiledFunction;
 import cloud.kitelang.execution.Interpreter;
 import cloud.kitelang.execution.environment.Environment;
 import cloud.kitelang.syntax.ast.expressions.Expression;
@@ -9,14 +10,19 @@ import cloud.kitelang.syntax.ast.statements.ExpressionStatement;
 import cloud.kitelang.syntax.ast.statements.Statement;
 import cloud.kitelang.syntax.literals.Identifier;
 import cloud.kitelang.syntax.literals.ParameterIdentifier;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Data
 public class FunValue implements Callable {
@@ -26,6 +32,28 @@ public class FunValue implements Callable {
     private List<ParameterIdentifier> params;
     @EqualsAndHashCode.Exclude
     private Statement body;
+    /**
+     * Calls counted until the body is compiled, see {@link cloud.kitelang.execution.Interpreter#getCompileThreshold()}
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final AtomicInteger calls = new AtomicInteger();
+    /**
+     * Compiled body once the function is hot, null before
+     */
+    @Nullable
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile CompiledFunction compiled;
+    /**
+     * Results by arguments when the declaration is pure, null otherwise
+     */
+    @Nullable
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CallMemo memo;
 
     private FunValue(Identifier name, List<ParameterIdentifier> params, Statement body, Environment clojure) {
         this.name = name;
@@ -86,6 +114,13 @@ public class FunValue implements Callable {
         return interpreter.Call(this, args);
     }
 
+    /**
+     * @return number of calls so far, including this one
+     */
+    public int countCall() {
+        return calls.incrementAndGet();
+    }
+
     @Override
     public int arity() {
         return getParams().size();
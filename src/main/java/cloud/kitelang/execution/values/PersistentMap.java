@@ -0,0 +1,369 @@
+package cloud.kitelang.execution.values;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable Kite object, a hash array mapped trie. {@link #with}, {@link #without} and {@link #withAll} return a new
+ * map in O(log32 n) per key that shares all untouched nodes with this one, so merging a few keys into a large object
+ * doesn't copy it.
+ *
+ * <p>Every node holds a 32 bit bitmap of the hash fragments present at its level and an array of key/value pairs, a
+ * null key marks a pair whose value is the child node. Keys with the same hash end up in a collision node. Reads go
+ * through the plain {@link Map} interface; iteration follows the hashes, and the mutators of {@link Map} throw
+ * {@link UnsupportedOperationException}. Keys can't be null.
+ */
+public final class PersistentMap<K, V> extends AbstractMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+    @Nullable
+    private final Node root;
+    private final int size;
+    private Set<Entry<K, V>> entries;
+
+    private PersistentMap(@Nullable Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * @return the map itself if it is persistent already, otherwise a persistent map with its entries
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> of(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentMap<?, ?> persistent) {
+            return (PersistentMap<K, V>) persistent;
+        }
+        return PersistentMap.<K, V>empty().withAll(map);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != NOT_FOUND;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        var value = find(key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    public PersistentMap<K, V> with(K key, V value) {
+        Objects.requireNonNull(key, "Object keys can't be null");
+        var added = new boolean[1];
+        var node = root == null ? BitmapNode.EMPTY : root;
+        var newRoot = node.assoc(0, hash(key), key, value, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @return a map with the entries of both, the entries of the other map win
+     */
+    public PersistentMap<K, V> withAll(Map<? extends K, ? extends V> other) {
+        var result = this;
+        for (var entry : other.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    public PersistentMap<K, V> without(Object key) {
+        if (root == null || key == null) {
+            return this;
+        }
+        var newRoot = root.without(0, hash(key), key);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentMap<>(newRoot, size - 1);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entries == null) {
+            entries = new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIterator<>(root);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entries;
+    }
+
+    private Object find(Object key) {
+        if (root == null || key == null) {
+            return NOT_FOUND;
+        }
+        return root.find(0, hash(key), key);
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static Object[] replace(Object[] array, int index, Object value) {
+        var result = array.clone();
+        result[index] = value;
+        return result;
+    }
+
+    private static Object[] removePair(Object[] array, int pair) {
+        var result = new Object[array.length - 2];
+        System.arraycopy(array, 0, result, 0, 2 * pair);
+        System.arraycopy(array, 2 * (pair + 1), result, 2 * pair, result.length - 2 * pair);
+        return result;
+    }
+
+    private abstract static sealed class Node permits BitmapNode, CollisionNode {
+        final Object[] array;
+
+        Node(Object[] array) {
+            this.array = array;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node assoc(int shift, int hash, Object key, Object value, boolean[] added);
+
+        @Nullable
+        abstract Node without(int shift, int hash, Object key);
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        BitmapNode(int bitmap, Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int i = index(bit);
+            var k = array[2 * i];
+            var v = array[2 * i + 1];
+            if (k == null) {
+                return ((Node) v).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? v : NOT_FOUND;
+        }
+
+        @Override
+        Node assoc(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bit(hash, shift);
+            int i = index(bit);
+            if ((bitmap & bit) == 0) {
+                int pairs = Integer.bitCount(bitmap);
+                var result = new Object[2 * (pairs + 1)];
+                System.arraycopy(array, 0, result, 0, 2 * i);
+                result[2 * i] = key;
+                result[2 * i + 1] = value;
+                System.arraycopy(array, 2 * i, result, 2 * (i + 1), 2 * (pairs - i));
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, result);
+            }
+            var k = array[2 * i];
+            var v = array[2 * i + 1];
+            if (k == null) {
+                var child = ((Node) v).assoc(shift + BITS, hash, key, value, added);
+                return child == v ? this : new BitmapNode(bitmap, replace(array, 2 * i + 1, child));
+            }
+            if (key.equals(k)) {
+                return v == value ? this : new BitmapNode(bitmap, replace(array, 2 * i + 1, value));
+            }
+            // two keys in the same slot, push both one level down
+            added[0] = true;
+            var result = replace(array, 2 * i, null);
+            result[2 * i + 1] = node(shift + BITS, k, v, hash, key, value);
+            return new BitmapNode(bitmap, result);
+        }
+
+        private static Node node(int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+            int hash1 = hash(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+            }
+            var ignored = new boolean[1];
+            return EMPTY.assoc(shift, hash1, key1, value1, ignored).assoc(shift, hash2, key2, value2, ignored);
+        }
+
+        @Override
+        @Nullable
+        Node without(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = index(bit);
+            var k = array[2 * i];
+            var v = array[2 * i + 1];
+            if (k == null) {
+                var child = ((Node) v).without(shift + BITS, hash, key);
+                if (child == v) {
+                    return this;
+                }
+                if (child != null) {
+                    return new BitmapNode(bitmap, replace(array, 2 * i + 1, child));
+                }
+            } else if (!key.equals(k)) {
+                return this;
+            }
+            return bitmap == bit ? null : new BitmapNode(bitmap ^ bit, removePair(array, i));
+        }
+    }
+
+    /**
+     * Keys whose hashes are equal
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+
+        CollisionNode(int hash, Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            if (hash != this.hash) {
+                return NOT_FOUND;
+            }
+            int i = indexOf(key);
+            return i < 0 ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        Node assoc(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // nest this node into a bitmap node and add the key next to it
+                return new BitmapNode(BitmapNode.bit(this.hash, shift), new Object[]{null, this})
+                        .assoc(shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                return array[i + 1] == value ? this : new CollisionNode(hash, replace(array, i + 1, value));
+            }
+            added[0] = true;
+            var result = Arrays.copyOf(array, array.length + 2);
+            result[array.length] = key;
+            result[array.length + 1] = value;
+            return new CollisionNode(hash, result);
+        }
+
+        @Override
+        @Nullable
+        Node without(int shift, int hash, Object key) {
+            int i = hash == this.hash ? indexOf(key) : -1;
+            if (i < 0) {
+                return this;
+            }
+            return array.length == 2 ? null : new CollisionNode(hash, removePair(array, i / 2));
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Deque<Frame> stack = new ArrayDeque<>();
+        @Nullable
+        private Entry<K, V> next;
+
+        private EntryIterator(@Nullable Node root) {
+            if (root != null) {
+                stack.push(new Frame(root.array));
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            var result = next;
+            advance();
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (!stack.isEmpty()) {
+                var frame = stack.peek();
+                if (frame.position >= frame.array.length) {
+                    stack.pop();
+                    continue;
+                }
+                var key = frame.array[frame.position];
+                var value = frame.array[frame.position + 1];
+                frame.position += 2;
+                if (key == null) {
+                    stack.push(new Frame(((Node) value).array));
+                } else {
+                    next = new SimpleImmutableEntry<>((K) key, (V) value);
+                    return;
+                }
+            }
+            next = null;
+        }
+
+        private static final class Frame {
+            private final Object[] array;
+            private int position;
+
+            private Frame(Object[] array) {
+                this.array = array;
+            }
+        }
+    }
+}
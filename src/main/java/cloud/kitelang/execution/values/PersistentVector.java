@@ -0,0 +1,189 @@
+package cloud.kitelang.execution.values;
+
+import java.util.*;
+
+/**
+ * Immutable Kite array. {@link #append}, {@link #with} and {@link #pop} return a new vector in O(log32 n) that shares
+ * all but the changed path with this one, so building an array with {@code push} in a loop stays linear.
+ *
+ * <p>Elements live in a 32-way trie, the last (up to 32) elements in a separate tail, so appending usually only copies
+ * the tail. Reads go through the plain {@link List} interface; the mutators of {@link List} throw
+ * {@link UnsupportedOperationException}.
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int count;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int count, int shift, Object[] root, Object[] tail) {
+        this.count = count;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * @return the list itself if it is a vector already, otherwise a vector with its elements
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> of(Collection<? extends E> elements) {
+        if (elements instanceof PersistentVector<?> vector) {
+            return (PersistentVector<E>) vector;
+        }
+        PersistentVector<E> result = empty();
+        for (E element : elements) {
+            result = result.append(element);
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, count);
+        return (E) leaf(index)[index & MASK];
+    }
+
+    public PersistentVector<E> append(E element) {
+        if (count - tailOffset() < WIDTH) {
+            var newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(count + 1, shift, root, newTail);
+        }
+        // the tail is full, move it into the trie
+        Object[] newRoot;
+        int newShift = shift;
+        if ((count >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = path(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(count + 1, newShift, newRoot, new Object[]{element});
+    }
+
+    /**
+     * @return a vector with the element at the index replaced
+     */
+    public PersistentVector<E> with(int index, E element) {
+        Objects.checkIndex(index, count);
+        if (index >= tailOffset()) {
+            var newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(count, shift, root, newTail);
+        }
+        return new PersistentVector<>(count, shift, replace(shift, root, index, element), tail);
+    }
+
+    /**
+     * @return a vector without the last element
+     * @throws IllegalStateException if the vector is empty
+     */
+    public PersistentVector<E> pop() {
+        if (count == 0) {
+            throw new IllegalStateException("Array is empty");
+        }
+        if (count == 1) {
+            return empty();
+        }
+        if (count - tailOffset() > 1) {
+            return new PersistentVector<>(count - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        // the tail becomes empty, the last leaf of the trie becomes the tail
+        var newTail = leaf(count - 2);
+        var newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(count - 1, newShift, newRoot, newTail);
+    }
+
+    private int tailOffset() {
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leaf(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        var node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int child = ((count - 1) >>> level) & MASK;
+        var result = parent.clone();
+        if (level == BITS) {
+            result[child] = tailNode;
+        } else {
+            var node = (Object[]) parent[child];
+            result[child] = node != null ? pushTail(level - BITS, node, tailNode) : path(level - BITS, tailNode);
+        }
+        return result;
+    }
+
+    private static Object[] path(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        var result = new Object[WIDTH];
+        result[0] = path(level - BITS, node);
+        return result;
+    }
+
+    private static Object[] replace(int level, Object[] node, int index, Object element) {
+        var result = node.clone();
+        if (level == 0) {
+            result[index & MASK] = element;
+        } else {
+            int child = (index >>> level) & MASK;
+            result[child] = replace(level - BITS, (Object[]) node[child], index, element);
+        }
+        return result;
+    }
+
+    private Object[] popTail(int level, Object[] node) {
+        int child = ((count - 2) >>> level) & MASK;
+        if (level > BITS) {
+            var newChild = popTail(level - BITS, (Object[]) node[child]);
+            if (newChild == null && child == 0) {
+                return null;
+            }
+            var result = node.clone();
+            result[child] = newChild;
+            return result;
+        } else if (child == 0) {
+            return null;
+        }
+        var result = node.clone();
+        result[child] = null;
+        return result;
+    }
+}
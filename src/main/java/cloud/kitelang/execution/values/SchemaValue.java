@@ -3,12 +3,19 @@ package cloud.kitelang.execution.values;
 import cloud.kitelang.execution.environment.Environment;
 import cloud.kitelang.execution.environment.IEnvironment;
 import cloud.kitelang.syntax.literals.Identifier;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Data
 public class SchemaValue {
     @ToString.Exclude
@@ -23,6 +30,18 @@ public class SchemaValue {
     @EqualsAndHashCode.Exclude
     private final java.util.Set<String> cloudProperties = new java.util.HashSet<>();
 
+    /**
+     * Read-only snapshot of the property defaults shared by every resource of this schema.
+     * Taken when the first resource is created, after the schema body has been evaluated.
+     * Volatile because the {@link cloud.kitelang.execution.ResourceScheduler} creates resources from several threads:
+     * threads racing on the first resource take equal snapshots and any of them may be kept.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile Map<String, Object> shape;
+
     public SchemaValue(Identifier type, Environment<ResourceValue> environment) {
         this.type = type.string();
         this.environment = environment;
@@ -36,6 +55,19 @@ public class SchemaValue {
         return new SchemaValue(Identifier.id(name), environment);
     }
 
+    /**
+     * @return the property defaults shared by the resources of this schema
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> shape() {
+        var snapshot = shape;
+        if (snapshot == null) {
+            snapshot = Collections.unmodifiableMap(new LinkedHashMap<String, Object>(environment.getVariables()));
+            shape = snapshot;
+        }
+        return snapshot;
+    }
+
     @NotNull
     public FunValue getMethod(String methodName) {
         return (FunValue) environment.lookup(methodName, "Method not found: " + methodName);
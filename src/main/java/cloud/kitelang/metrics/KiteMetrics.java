@@ -0,0 +1,83 @@
+package cloud.kitelang.metrics;
+
+/**
+ * Listener for pipeline metrics. Every method has a no-op default so implementations only override what they need.
+ * <p>
+ * Install a listener with {@link Metrics#setListener(KiteMetrics)}. Callbacks can arrive from several threads
+ * (imports are parsed on a pool), so implementations must be thread-safe.
+ *
+ * @see RecordingMetrics
+ */
+public interface KiteMetrics {
+    KiteMetrics NOOP = new KiteMetrics() {
+    };
+
+    /**
+     * Called when the outermost run of a phase on a thread finishes, also when it fails.
+     *
+     * @param nanos          wall time
+     * @param allocatedBytes bytes allocated by the thread during the phase, or -1 if the JVM does not support it
+     */
+    default void phase(Phase phase, long nanos, long allocatedBytes) {
+    }
+
+    /**
+     * Called after an imported file or provider schema had to be parsed.
+     *
+     * @param source file path or provider schema name
+     */
+    default void importParsed(String source, long nanos) {
+    }
+
+    /**
+     * Called for every lookup in the import parse cache.
+     */
+    default void parseCache(CacheResult result) {
+    }
+
+    /**
+     * Called for every imported module the type checker looks up in its module summary cache,
+     * with {@link CacheResult#MEMORY_HIT} or {@link CacheResult#MISS}.
+     */
+    default void moduleSummaryCache(CacheResult result) {
+    }
+
+    /**
+     * Called for every lookup in the shared compiled-regex cache,
+     * with {@link CacheResult#MEMORY_HIT} or {@link CacheResult#MISS}.
+     */
+    default void regexCache(CacheResult result) {
+    }
+
+    /**
+     * Called for every call to a pure function the interpreter memoizes,
+     * with {@link CacheResult#MEMORY_HIT} or {@link CacheResult#MISS}.
+     *
+     * @param function name of the called function
+     */
+    default void memoCache(String function, CacheResult result) {
+    }
+
+    /**
+     * Called when a resource notifies the observers waiting on it.
+     *
+     * @param observers number of observers notified
+     */
+    default void observersNotified(Observer kind, String resource, int observers) {
+    }
+
+    enum CacheResult {
+        MEMORY_HIT, DISK_HIT, MISS
+    }
+
+    enum Observer {
+        /**
+         * {@link cloud.kitelang.execution.DeferredObservable}: resources waiting for another resource to be evaluated
+         */
+        DEFERRED,
+        /**
+         * {@link cloud.kitelang.execution.CloudObservable}: resources waiting for cloud-generated values
+         */
+        CLOUD
+    }
+}
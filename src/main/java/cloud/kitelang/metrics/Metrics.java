@@ -0,0 +1,98 @@
+package cloud.kitelang.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide holder of the installed {@link KiteMetrics} listener and helpers to time pipeline phases.
+ * <p>
+ * With the default no-op listener every helper returns after a single volatile read, so instrumented code pays
+ * nothing measurable when metrics are off.
+ */
+@Slf4j
+public final class Metrics {
+    private static volatile KiteMetrics listener = KiteMetrics.NOOP;
+
+    /**
+     * Nesting depth per phase on the current thread. Only the outermost run of a phase is reported,
+     * so a type check that recursively checks imported files is counted once.
+     */
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[Phase.values().length]);
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private Metrics() {
+    }
+
+    public static void setListener(KiteMetrics metrics) {
+        listener = Objects.requireNonNullElse(metrics, KiteMetrics.NOOP);
+    }
+
+    public static KiteMetrics listener() {
+        return listener;
+    }
+
+    public static boolean enabled() {
+        return listener != KiteMetrics.NOOP;
+    }
+
+    /**
+     * Runs the work and reports its wall time and allocated bytes as the given phase.
+     */
+    public static <T> T time(Phase phase, Supplier<T> work) {
+        var metrics = listener;
+        if (metrics == KiteMetrics.NOOP) {
+            return work.get();
+        }
+        var depth = DEPTH.get();
+        if (depth[phase.ordinal()]++ > 0) {
+            try {
+                return work.get();
+            } finally {
+                depth[phase.ordinal()]--;
+            }
+        }
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            long nanos = System.nanoTime() - start;
+            depth[phase.ordinal()]--;
+            metrics.phase(phase, nanos, allocated < 0 ? -1 : allocatedBytes() - allocated);
+        }
+    }
+
+    public static void time(Phase phase, Runnable work) {
+        time(phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return bytes allocated so far by the current thread, or -1 if not supported
+     */
+    static long allocatedBytes() {
+        if (THREADS == null) {
+            return -1;
+        }
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+                return bean;
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            log.debug("Thread allocation metrics are not available", e);
+        }
+        return null;
+    }
+}
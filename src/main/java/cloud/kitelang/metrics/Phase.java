@@ -0,0 +1,9 @@
+package cloud.kitelang.metrics;
+
+/**
+ * Pipeline phases reported to {@link KiteMetrics#phase}.
+ * IMPORT and DECORATORS run inside TYPE_CHECK or INTERPRET, so their time is also part of the enclosing phase.
+ */
+public enum Phase {
+    PARSE, SCOPE_RESOLUTION, TYPE_CHECK, INTERPRET, IMPORT, DECORATORS
+}
@@ -0,0 +1,229 @@
+package cloud.kitelang.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link KiteMetrics} that aggregates everything it receives, for a {@code --profile} breakdown or a JSON export.
+ *
+ * <pre>
+ * var metrics = new RecordingMetrics();
+ * Metrics.setListener(metrics);
+ * // parse, check and run the stack
+ * System.out.println(metrics.summary());
+ * Files.writeString(Path.of("metrics.json"), metrics.toJson());
+ * </pre>
+ */
+public class RecordingMetrics implements KiteMetrics {
+    private final Map<Phase, Totals> phases = new EnumMap<>(Phase.class);
+    private final Map<String, LongAdder> importParseNanos = new ConcurrentHashMap<>();
+    private final Map<CacheResult, LongAdder> cache = new EnumMap<>(CacheResult.class);
+    private final Map<CacheResult, LongAdder> moduleSummaries = new EnumMap<>(CacheResult.class);
+    private final Map<CacheResult, LongAdder> regexes = new EnumMap<>(CacheResult.class);
+    private final Map<CacheResult, LongAdder> memos = new EnumMap<>(CacheResult.class);
+    private final Map<Observer, LongAdder> notifications = new EnumMap<>(Observer.class);
+    private final Map<Observer, LongAdder> observers = new EnumMap<>(Observer.class);
+
+    public RecordingMetrics() {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new Totals());
+        }
+        for (CacheResult result : CacheResult.values()) {
+            cache.put(result, new LongAdder());
+            moduleSummaries.put(result, new LongAdder());
+            regexes.put(result, new LongAdder());
+            memos.put(result, new LongAdder());
+        }
+        for (Observer kind : Observer.values()) {
+            notifications.put(kind, new LongAdder());
+            observers.put(kind, new LongAdder());
+        }
+    }
+
+    @Override
+    public void phase(Phase phase, long nanos, long allocatedBytes) {
+        var totals = phases.get(phase);
+        totals.runs.increment();
+        totals.nanos.add(nanos);
+        if (allocatedBytes >= 0) {
+            totals.allocatedBytes.add(allocatedBytes);
+        }
+    }
+
+    @Override
+    public void importParsed(String source, long nanos) {
+        importParseNanos.computeIfAbsent(source, it -> new LongAdder()).add(nanos);
+    }
+
+    @Override
+    public void parseCache(CacheResult result) {
+        cache.get(result).increment();
+    }
+
+    @Override
+    public void moduleSummaryCache(CacheResult result) {
+        moduleSummaries.get(result).increment();
+    }
+
+    @Override
+    public void regexCache(CacheResult result) {
+        regexes.get(result).increment();
+    }
+
+    @Override
+    public void memoCache(String function, CacheResult result) {
+        memos.get(result).increment();
+    }
+
+    @Override
+    public void observersNotified(Observer kind, String resource, int count) {
+        notifications.get(kind).increment();
+        observers.get(kind).add(count);
+    }
+
+    public long phaseNanos(Phase phase) {
+        return phases.get(phase).nanos.sum();
+    }
+
+    public long phaseRuns(Phase phase) {
+        return phases.get(phase).runs.sum();
+    }
+
+    public long phaseAllocatedBytes(Phase phase) {
+        return phases.get(phase).allocatedBytes.sum();
+    }
+
+    public long cacheCount(CacheResult result) {
+        return cache.get(result).sum();
+    }
+
+    public long moduleSummaryCount(CacheResult result) {
+        return moduleSummaries.get(result).sum();
+    }
+
+    public long regexCount(CacheResult result) {
+        return regexes.get(result).sum();
+    }
+
+    public long memoCount(CacheResult result) {
+        return memos.get(result).sum();
+    }
+
+    public long notifiedObservers(Observer kind) {
+        return observers.get(kind).sum();
+    }
+
+    /**
+     * @return parse time per imported source in nanoseconds, sorted by source
+     */
+    public Map<String, Long> importParseNanos() {
+        var result = new TreeMap<String, Long>();
+        importParseNanos.forEach((source, nanos) -> result.put(source, nanos.sum()));
+        return result;
+    }
+
+    /**
+     * Human readable breakdown, one line per phase followed by cache and observer counters.
+     */
+    public String summary() {
+        var out = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            var totals = phases.get(phase);
+            if (totals.runs.sum() == 0) {
+                continue;
+            }
+            out.append("%-17s %10.2f ms %12d bytes %6d runs%n".formatted(
+                    phase.name().toLowerCase(), totals.nanos.sum() / 1_000_000.0,
+                    totals.allocatedBytes.sum(), totals.runs.sum()));
+        }
+        out.append("parse cache       %d memory hits, %d disk hits, %d misses%n".formatted(
+                cacheCount(CacheResult.MEMORY_HIT), cacheCount(CacheResult.DISK_HIT), cacheCount(CacheResult.MISS)));
+        out.append("module summaries  %d hits, %d misses%n".formatted(
+                moduleSummaryCount(CacheResult.MEMORY_HIT), moduleSummaryCount(CacheResult.MISS)));
+        out.append("regex cache       %d hits, %d misses%n".formatted(
+                regexCount(CacheResult.MEMORY_HIT), regexCount(CacheResult.MISS)));
+        out.append("function memo     %d hits, %d misses%n".formatted(
+                memoCount(CacheResult.MEMORY_HIT), memoCount(CacheResult.MISS)));
+        for (Observer kind : Observer.values()) {
+            out.append("%-17s %d notifications, %d observers%n".formatted(
+                    kind.name().toLowerCase() + " observers", notifications.get(kind).sum(), observers.get(kind).sum()));
+        }
+        return out.toString();
+    }
+
+    public String toJson() {
+        var json = new StringBuilder("{\"phases\":{");
+        var first = true;
+        for (Phase phase : Phase.values()) {
+            var totals = phases.get(phase);
+            if (!first) json.append(',');
+            first = false;
+            json.append('"').append(phase.name().toLowerCase()).append("\":{")
+                    .append("\"nanos\":").append(totals.nanos.sum())
+                    .append(",\"allocatedBytes\":").append(totals.allocatedBytes.sum())
+                    .append(",\"runs\":").append(totals.runs.sum())
+                    .append('}');
+        }
+        json.append("},\"imports\":{");
+        first = true;
+        for (var entry : importParseNanos().entrySet()) {
+            if (!first) json.append(',');
+            first = false;
+            json.append('"').append(escape(entry.getKey())).append("\":").append(entry.getValue());
+        }
+        json.append("},\"parseCache\":{");
+        first = true;
+        for (CacheResult result : CacheResult.values()) {
+            if (!first) json.append(',');
+            first = false;
+            json.append('"').append(result.name().toLowerCase()).append("\":").append(cacheCount(result));
+        }
+        json.append("},\"moduleSummaries\":{")
+                .append("\"hit\":").append(moduleSummaryCount(CacheResult.MEMORY_HIT))
+                .append(",\"miss\":").append(moduleSummaryCount(CacheResult.MISS));
+        json.append("},\"regexes\":{")
+                .append("\"hit\":").append(regexCount(CacheResult.MEMORY_HIT))
+                .append(",\"miss\":").append(regexCount(CacheResult.MISS));
+        json.append("},\"memo\":{")
+                .append("\"hit\":").append(memoCount(CacheResult.MEMORY_HIT))
+                .append(",\"miss\":").append(memoCount(CacheResult.MISS));
+        json.append("},\"observers\":{");
+        first = true;
+        for (Observer kind : Observer.values()) {
+            if (!first) json.append(',');
+            first = false;
+            json.append('"').append(kind.name().toLowerCase()).append("\":{")
+                    .append("\"notifications\":").append(notifications.get(kind).sum())
+                    .append(",\"observers\":").append(observers.get(kind).sum())
+                    .append('}');
+        }
+        return json.append("}}").toString();
+    }
+
+    private static String escape(String value) {
+        var out = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u%04x".formatted((int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static final class Totals {
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+    }
+}
@@ -0,0 +1,273 @@
+package cloud.kitelang.semantics;
+
+import cloud.kitelang.execution.Callable;
+import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.stdlib.StdlibRegistry;
+import cloud.kitelang.syntax.ast.Program;
+import cloud.kitelang.syntax.ast.expressions.*;
+import cloud.kitelang.syntax.ast.statements.*;
+import cloud.kitelang.syntax.literals.*;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Computes the value of expressions built from literals only, after the {@link cloud.kitelang.semantics.scope.ScopeResolver}:
+ * operators on literals ({@code 60 * 60 * 24}, {@code "web-" + "1"}) and calls to pure stdlib functions with literal
+ * arguments ({@code pow(2, 8)}, {@code toLowerCase("EU-WEST")}), so loops, {@code @count} instances and components
+ * don't evaluate them again. Values are computed by an interpreter so folding can't change a result. Expressions that
+ * fail are left for the interpreter to report, results other than numbers, booleans and strings are not folded.
+ * <p>
+ * Calls are not folded when the program imports modules, since an import may declare a function with a stdlib
+ * name, nor when the program or its environment declares the name itself. Imported modules register the stdlib in
+ * their own root environment, which shadows the importer's functions, so their own declarations are the only ones
+ * that can shadow a stdlib function there too. The same names feed the {@link PurityAnalyzer} run first, which finds
+ * the functions the interpreter memoizes.
+ * <p>
+ * The program is not modified: parsed programs are cached and shared, so the values are returned by node identity
+ * and the interpreter looks them up while it runs the program.
+ */
+public final class ConstantFolder {
+    private final Set<String> declared;
+    /**
+     * Value of every folded expression, expressions inside a folded one are dropped
+     */
+    private final Map<Expression, Object> values = new IdentityHashMap<>();
+    /**
+     * Evaluates folded expressions, created on the first one
+     */
+    @Nullable
+    private Interpreter interpreter;
+    /**
+     * First pass only collects the declared names
+     */
+    private boolean collecting;
+    private boolean foldCalls;
+    /**
+     * Number of expressions folded so far
+     */
+    @Getter
+    private int folded;
+    /**
+     * Top level functions of the program whose calls can be memoized, by identity
+     */
+    @Getter
+    private Set<FunctionDeclaration> pure = Set.of();
+
+    public ConstantFolder() {
+        this(Set.of());
+    }
+
+    /**
+     * @param shadowed names declared outside the program, such as earlier inputs of a session, that shadow stdlib
+     *                 functions
+     */
+    public ConstantFolder(Set<String> shadowed) {
+        this.declared = new HashSet<>(shadowed);
+    }
+
+    /**
+     * @return value of every folded expression of the program, by node identity
+     */
+    public Map<Expression, Object> fold(Program program) {
+        collecting = true;
+        program.getBody().forEach(this::statement);
+        collecting = false;
+        foldCalls = program.getBody().stream().noneMatch(ImportStatement.class::isInstance);
+
+        var names = new PurityAnalyzer(declared).analyze(program);
+        pure = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (var statement : program.getBody()) {
+            if (statement instanceof FunctionDeclaration function && function.getName() != null
+                && names.contains(function.getName().string())) {
+                pure.add(function);
+            }
+        }
+        program.getBody().forEach(this::statement);
+        return values;
+    }
+
+    private void statement(@Nullable Statement statement) {
+        switch (statement) {
+            case null -> {
+            }
+            case ExpressionStatement expression -> expression(expression.getStatement());
+            case VarStatement vars -> vars.getDeclarations().forEach(this::expression);
+            case ValStatement vals -> vals.getDeclarations().forEach(this::expression);
+            case InputDeclaration input -> {
+                declare(input.getId());
+                expression(input.getInit());
+            }
+            case OutputDeclaration output -> expression(output.getInit());
+            case FunctionDeclaration function -> {
+                declare(function.getName());
+                function.getParams().forEach(param -> declare(param.getName()));
+                statement(function.getBody());
+            }
+            case IfStatement ifs -> {
+                expression(ifs.getTest());
+                statement(ifs.getConsequent());
+                statement(ifs.getAlternate());
+            }
+            case WhileStatement loop -> {
+                expression(loop.getTest());
+                statement(loop.getBody());
+            }
+            case ForStatement loop -> forLoop(loop);
+            case ReturnStatement returns -> statement(returns.getArgument());
+            case ResourceStatement resource -> expression(resource.getBlock());
+            case ComponentStatement component -> expression(component.getBlock());
+            default -> {
+            }
+        }
+    }
+
+    private void forLoop(ForStatement loop) {
+        declare(loop.getItem());
+        declare(loop.getIndex());
+        expression(loop.getArray());
+        statement(loop.getBody());
+    }
+
+    /**
+     * Folds the constant parts of an expression
+     *
+     * @return whether the whole expression is constant
+     */
+    private boolean expression(@Nullable Expression expression) {
+        switch (expression) {
+            case null -> {
+                return false;
+            }
+            case NumberLiteral ignored -> {
+                return true;
+            }
+            case BooleanLiteral ignored -> {
+                return true;
+            }
+            case StringLiteral string -> {
+                return !string.isInterpolated();
+            }
+            case BlockExpression block -> block.getExpression().forEach(this::statement);
+            case GroupExpression group -> {
+                return expression(group.getExpression());
+            }
+            case BinaryExpression binary -> {
+                boolean left = expression(binary.getLeft());
+                if (expression(binary.getRight()) && left) {
+                    return fold(binary, binary.getLeft(), binary.getRight());
+                }
+            }
+            case LogicalExpression logical -> {
+                boolean left = expression(logical.getLeft());
+                if (expression(logical.getRight()) && left) {
+                    return fold(logical, logical.getLeft(), logical.getRight());
+                }
+            }
+            case UnaryExpression unary -> {
+                if (expression(unary.getValue())) {
+                    return fold(unary, unary.getValue());
+                }
+            }
+            case AssignmentExpression assignment -> expression(assignment.getRight());
+            case VarDeclaration declaration -> {
+                declare(declaration.getId());
+                expression(declaration.getInit());
+            }
+            case ValDeclaration declaration -> {
+                declare(declaration.getId());
+                expression(declaration.getInit());
+            }
+            case ArrayExpression array -> {
+                if (array.getForStatement() != null) {
+                    forLoop(array.getForStatement());
+                }
+                if (array.getItems() != null) {
+                    array.getItems().forEach(this::expression);
+                }
+            }
+            case ObjectExpression object -> object.getProperties().forEach(property -> expression(property.getValue()));
+            case MemberExpression member -> {
+                expression(member.getObject());
+                if (member.isComputed()) {
+                    expression(member.getProperty());
+                }
+            }
+            case LambdaExpression lambda -> {
+                lambda.getParams().forEach(param -> declare(param.getName()));
+                statement(lambda.getBody());
+            }
+            case CallExpression<?> call -> {
+                boolean constant = true;
+                for (var argument : call.getArguments()) {
+                    constant &= expression(argument);
+                }
+                if (constant && call.getCallee() instanceof SymbolIdentifier callee && foldCalls
+                    && !declared.contains(callee.string()) && StdlibRegistry.isPure(callee.string())) {
+                    return fold(call, call.getArguments().toArray(Expression[]::new));
+                }
+            }
+            default -> {
+            }
+        }
+        return false;
+    }
+
+    private void declare(@Nullable Identifier id) {
+        if (collecting && id != null) {
+            declared.add(id instanceof ParameterIdentifier param ? param.getName().string() : id.string());
+        }
+    }
+
+    /**
+     * Evaluates a constant expression and keeps its value in place of the values of its operands, which the
+     * interpreter no longer evaluates
+     *
+     * @return whether the expression could be folded
+     */
+    private boolean fold(Expression expression, Expression... operands) {
+        if (collecting) {
+            return true;
+        }
+        if (interpreter == null) {
+            interpreter = new Interpreter(new Environment<>("fold"));
+        }
+        try {
+            Object value;
+            if (expression instanceof CallExpression<?> call) {
+                var callee = (Callable) interpreter.getEnv().lookup(((SymbolIdentifier) call.getCallee()).string());
+                var args = new ArrayList<>(call.getArguments().size());
+                for (var argument : call.getArguments()) {
+                    args.add(interpreter.visit(argument));
+                }
+                value = callee.call(interpreter, args);
+            } else {
+                value = interpreter.visit(expression);
+            }
+            if (!isFoldable(value)) {
+                return false;
+            }
+            for (var operand : operands) {
+                values.remove(operand);
+            }
+            values.put(expression, value);
+            folded++;
+            return true;
+        } catch (RuntimeException e) {
+            // left as is, the interpreter reports the error where it happens
+            return false;
+        }
+    }
+
+    private static boolean isFoldable(Object value) {
+        return switch (value) {
+            case Integer ignored -> true;
+            case Double number -> Double.isFinite(number);
+            case Boolean ignored -> true;
+            case String ignored -> true;
+            case null, default -> false;
+        };
+    }
+}
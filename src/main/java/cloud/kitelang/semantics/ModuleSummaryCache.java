@@ -0,0 +1,110 @@
+package cloud.kitelang.semantics;
+
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.semantics.types.ResourceType;
+import cloud.kitelang.semantics.types.Type;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Process-wide cache of type-checked modules, so a file imported by many others is only type-checked once.
+ *
+ * <p>A summary is keyed by the module's normalized path, the content key of its parsed program and the import base
+ * path (nested imports are resolved against it). It also records the content key of every module it imported
+ * itself, and the caller must check those with {@link cloud.kitelang.analysis.ImportResolver#isCurrent(Map)} before
+ * using it, so editing a nested import invalidates every summary built on top of it. Modules see the names of their
+ * importer, so a summary also records the importer names the module read and their types
+ * ({@link Summary#readsMatch(Environment)}); an importer in which one of them has another type checks the module again.
+ *
+ * <p>Only modules that type-checked without errors are cached. A summary and the types it holds are shared between
+ * type checkers and must not be modified. Its function types were interned by the session that checked the module,
+ * other sessions adopt them into their own {@link cloud.kitelang.semantics.types.TypeTable}.
+ */
+final class ModuleSummaryCache {
+    static final String MAX_ENTRIES_PROPERTY = "kite.typecheck.summaries.maxEntries";
+    static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final Map<String, Summary> summaries;
+
+    ModuleSummaryCache(int maxEntries) {
+        this.summaries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Summary> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    static ModuleSummaryCache fromSystemProperties() {
+        return new ModuleSummaryCache(Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+    }
+
+    static String key(@Nullable Path basePath, String module, String contentKey) {
+        return (basePath == null ? "" : basePath.toAbsolutePath().normalize().toString()) + '\0' + module + '\0' + contentKey;
+    }
+
+    @Nullable
+    Summary get(String key) {
+        return summaries.get(key);
+    }
+
+    void put(String key, Summary summary) {
+        summaries.put(key, summary);
+    }
+
+    void clear() {
+        summaries.clear();
+    }
+
+    int size() {
+        return summaries.size();
+    }
+
+    /**
+     * Exported types of one module.
+     *
+     * @param exports      root variables other than resources, merged by wildcard and named imports
+     * @param resources    top-level resources, registered at the importer's root like the module's own resources
+     * @param dependencies content key per module imported while checking it, directly or transitively
+     * @param reads        type of each importer name the module read, null for names the importer didn't declare
+     */
+    record Summary(Map<String, Type> exports, Map<String, ResourceType> resources, Map<String, String> dependencies,
+                   Map<String, Type> reads) {
+
+        /**
+         * @return whether every name the module read from its importer has the same type in {@code importer}
+         */
+        boolean readsMatch(Environment<Type> importer) {
+            for (var read : reads.entrySet()) {
+                var scope = importer.scopeOf(read.getKey());
+                if (!Objects.equals(scope == null ? null : scope.get(read.getKey()), read.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static Summary of(ModuleTypeEnvironment env, Map<String, String> dependencies) {
+            var exports = new LinkedHashMap<String, Type>();
+            var resources = new LinkedHashMap<String, ResourceType>();
+            env.getVariables().forEach((name, type) -> {
+                if (type instanceof ResourceType resource) {
+                    resources.put(name, resource);
+                } else {
+                    exports.put(name, type);
+                }
+            });
+            return new Summary(
+                    Collections.unmodifiableMap(exports),
+                    Collections.unmodifiableMap(resources),
+                    Map.copyOf(dependencies),
+                    Collections.unmodifiableMap(new LinkedHashMap<>(env.getReads()))
+            );
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package cloud.kitelang.semantics;
+
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.semantics.types.Type;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Root environment of an imported module while it is type-checked. The module's declarations and resources stay here,
+ * they are what its {@link ModuleSummaryCache.Summary} exports. Names the module doesn't declare are looked up in the
+ * importer, like the interpreter does, and recorded with the type they had: a summary is only reused by importers in
+ * which those names still have the same types.
+ */
+final class ModuleTypeEnvironment extends TypeEnvironment {
+    private final Environment<Type> importer;
+    /**
+     * Type of every importer name the module looked up, null for names the importer doesn't declare
+     */
+    private final Map<String, Type> reads = new LinkedHashMap<>();
+
+    ModuleTypeEnvironment(Environment<Type> importer) {
+        super("import");
+        this.importer = importer;
+    }
+
+    @Override
+    @Nullable
+    protected Environment<Type> resolveOutside(String symbol) {
+        var scope = importer.scopeOf(symbol);
+        if (!reads.containsKey(symbol)) {
+            reads.put(symbol, scope == null ? null : scope.get(symbol));
+        }
+        return scope;
+    }
+
+    Map<String, Type> getReads() {
+        return Collections.unmodifiableMap(reads);
+    }
+}
@@ -0,0 +1,178 @@
+package cloud.kitelang.semantics;
+
+import cloud.kitelang.stdlib.StdlibRegistry;
+import cloud.kitelang.syntax.ast.Program;
+import cloud.kitelang.syntax.ast.expressions.*;
+import cloud.kitelang.syntax.ast.statements.*;
+import cloud.kitelang.syntax.literals.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Finds the top level functions whose result only depends on their arguments: bodies made of literals, parameters
+ * and locals, operators, control flow and calls to pure stdlib functions ({@link StdlibRegistry#isPure}) or other
+ * pure functions, recursion included. Anything else makes a function impure: reading a global or an input,
+ * resources, components, lambdas and nested functions (both capture their environment) or calls through variables.
+ * <p>
+ * Every function is assumed pure at first and functions calling an impure one are dropped until nothing changes,
+ * so mutually recursive functions stay pure. The program is not modified.
+ */
+public final class PurityAnalyzer {
+    /**
+     * Names the program declares itself, they shadow stdlib functions of the same name
+     */
+    private final Set<String> declared;
+    /**
+     * Imported modules may declare functions with stdlib names, stdlib calls are only trusted without imports
+     */
+    private boolean imports;
+
+    public PurityAnalyzer(Set<String> declared) {
+        this.declared = declared;
+    }
+
+    /**
+     * @return names of the pure functions
+     */
+    public Set<String> analyze(Program program) {
+        imports = program.getBody().stream().anyMatch(ImportStatement.class::isInstance);
+        var functions = new HashMap<String, FunctionDeclaration>();
+        var duplicates = new HashSet<String>();
+        for (var statement : program.getBody()) {
+            if (statement instanceof FunctionDeclaration function && function.getName() != null) {
+                if (functions.putIfAbsent(function.getName().string(), function) != null) {
+                    duplicates.add(function.getName().string());
+                }
+            }
+        }
+        duplicates.forEach(functions::remove);
+
+        var pure = new HashSet<>(functions.keySet());
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (var entry : functions.entrySet()) {
+                if (pure.contains(entry.getKey()) && !isPure(entry.getValue(), pure)) {
+                    pure.remove(entry.getKey());
+                    changed = true;
+                }
+            }
+        }
+        return pure;
+    }
+
+    private boolean isPure(FunctionDeclaration function, Set<String> pure) {
+        var locals = new HashSet<String>();
+        for (var param : function.getParams()) {
+            locals.add(param.getName().string());
+        }
+        return new Body(pure, locals).statement(function.getBody());
+    }
+
+    /**
+     * Checks one function body, {@code locals} grows with the declarations met on the way. Blocks, branches and loop
+     * bodies are checked with their own copy, so their declarations are gone once they end, like in the interpreter.
+     */
+    private final class Body {
+        private final Set<String> pure;
+        private final Set<String> locals;
+
+        private Body(Set<String> pure, Set<String> locals) {
+            this.pure = pure;
+            this.locals = locals;
+        }
+
+        private boolean statement(Statement statement) {
+            return switch (statement) {
+                case null -> true;
+                case ExpressionStatement expression -> expression(expression.getStatement());
+                case ReturnStatement returns -> statement(returns.getArgument());
+                case IfStatement ifs -> expression(ifs.getTest())
+                                        && scope().statement(ifs.getConsequent())
+                                        && scope().statement(ifs.getAlternate());
+                case WhileStatement loop -> expression(loop.getTest()) && scope().statement(loop.getBody());
+                case ForStatement loop -> scope().forLoop(loop);
+                case VarStatement vars -> vars.getDeclarations().stream().allMatch(this::expression);
+                case ValStatement vals -> vals.getDeclarations().stream().allMatch(this::expression);
+                case EmptyStatement ignored -> true;
+                default -> false;
+            };
+        }
+
+        private boolean forLoop(ForStatement loop) {
+            if (loop.getArray() != null && !expression(loop.getArray())) {
+                return false;
+            }
+            if (loop.getItem() != null) {
+                locals.add(loop.getItem().string());
+            }
+            if (loop.getIndex() != null) {
+                locals.add(loop.getIndex().string());
+            }
+            return statement(loop.getBody());
+        }
+
+        private boolean expression(Expression expression) {
+            return switch (expression) {
+                case null -> true;
+                case NumberLiteral ignored -> true;
+                case BooleanLiteral ignored -> true;
+                case NullLiteral ignored -> true;
+                case StringLiteral string -> !string.isInterpolated()
+                                             || string.getInterpolationExpressions().stream().allMatch(this::expression);
+                case StringInterpolation interpolation -> interpolation.getParts().stream()
+                        .allMatch(part -> !(part instanceof StringInterpolation.Expr expr) || expression(expr.expression()));
+                case SymbolIdentifier identifier -> locals.contains(identifier.string());
+                case BlockExpression block -> {
+                    var scope = scope();
+                    yield block.getExpression().stream().allMatch(scope::statement);
+                }
+                case GroupExpression group -> expression(group.getExpression());
+                case BinaryExpression binary -> expression(binary.getLeft()) && expression(binary.getRight());
+                case LogicalExpression logical -> expression(logical.getLeft()) && expression(logical.getRight());
+                case UnaryExpression unary -> expression(unary.getValue());
+                case AssignmentExpression assignment -> assignment.getLeft() instanceof SymbolIdentifier target
+                                                        && locals.contains(target.string())
+                                                        && expression(assignment.getRight());
+                case VarDeclaration declaration -> declare(declaration.getId(), declaration.getInit());
+                case ValDeclaration declaration -> declare(declaration.getId(), declaration.getInit());
+                case ArrayExpression array -> {
+                    var scope = array.getForStatement() != null ? scope() : this;
+                    yield (array.getForStatement() == null || scope.forLoop(array.getForStatement()))
+                          && (array.getItems() == null || array.getItems().stream().allMatch(scope::expression));
+                }
+                case ObjectExpression object -> object.getProperties().stream().allMatch(it -> expression(it.getValue()));
+                case MemberExpression member -> expression(member.getObject())
+                                                && (!member.isComputed() || expression(member.getProperty()));
+                case CallExpression<?> call -> call(call);
+                default -> false;
+            };
+        }
+
+        /**
+         * @return a body for a nested scope, which sees the current locals and keeps its own declarations
+         */
+        private Body scope() {
+            return new Body(pure, new HashSet<>(locals));
+        }
+
+        private boolean declare(Identifier id, Expression init) {
+            if (!expression(init)) {
+                return false;
+            }
+            locals.add(id.string());
+            return true;
+        }
+
+        private boolean call(CallExpression<?> call) {
+            if (!(call.getCallee() instanceof SymbolIdentifier callee) || locals.contains(callee.string())) {
+                return false;
+            }
+            var name = callee.string();
+            boolean pureCallee = pure.contains(name) || !imports && !declared.contains(name) && StdlibRegistry.isPure(name);
+            return pureCallee && call.getArguments().stream().allMatch(this::expression);
+        }
+    }
+}
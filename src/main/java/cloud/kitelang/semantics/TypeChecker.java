@@ -9,6 +9,9 @@ import cloud.kitelang.execution.exceptions.InvalidInitException;
 import cloud.kitelang.execution.exceptions.NotFoundException;
 import cloud.kitelang.execution.exceptions.OperationNotImplementedException;
 import cloud.kitelang.execution.values.ResourceRef;
+import cloud.kitelang.metrics.KiteMetrics.CacheResult;
+import cloud.kitelang.metrics.Metrics;
+import cloud.kitelang.metrics.Phase;
 import cloud.kitelang.semantics.decorators.*;
 import cloud.kitelang.semantics.types.*;
 import cloud.kitelang.stdlib.StdlibRegistry;
@@ -20,11 +23,13 @@ import cloud.kitelang.syntax.ast.expressions.*;
 import cloud.kitelang.syntax.ast.statements.*;
 import cloud.kitelang.syntax.literals.*;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.fusesource.jansi.Ansi;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -39,12 +44,18 @@ public final class TypeChecker extends StackVisitor<Type> {
     private static final List<SystemType> COMPARISON_OPS = List.of(SystemType.NUMBER, SystemType.BOOLEAN);
     private static final Set<String> MAGIC_VARIABLES = Set.of("count");
     private static final Set<String> FUNCTIONS_WITH_OPTIONAL_PARAMS = StdlibRegistry.FUNCTIONS_WITH_OPTIONAL_PARAMS;
+    /**
+     * Imported modules already type-checked by any TypeChecker in this process
+     */
+    private static final ModuleSummaryCache MODULE_SUMMARIES = ModuleSummaryCache.fromSystemProperties();
     @Getter
     private final SyntaxPrinter printer;
     private final Set<String> vals = new HashSet<>();
     private final Map<String, DecoratorChecker> decoratorInfoMap;
     private final ComponentRegistry componentRegistry;
     private final Set<String> importedFiles;
+    // content key of every module imported while checking this program, recorded in its module summary
+    private final Map<String, String> importedModules = new LinkedHashMap<>();
     private final KiteCompiler parser = new KiteCompiler();
     // Track resources declared in current component scope for forward reference validation
     // null = not in component, empty set = in component with no resources
@@ -52,6 +63,18 @@ public final class TypeChecker extends StackVisitor<Type> {
     private Set<String> declaredComponentResources = null;
     @Getter
     private TypeEnvironment env;
+    /**
+     * Canonical function types of this check, shared with the checkers of imported modules
+     */
+    @Getter
+    private final TypeTable types;
+    /**
+     * Directory relative imports are resolved against, the thread's {@link ImportResolver#setBasePath} when null
+     */
+    @Getter
+    @Setter
+    @Nullable
+    private Path basePath;
 
     public TypeChecker() {
         this(new TypeEnvironment("global"), new SyntaxPrinter(), new LinkedHashSet<>());
@@ -62,8 +85,13 @@ public final class TypeChecker extends StackVisitor<Type> {
     }
 
     public TypeChecker(TypeEnvironment environment, SyntaxPrinter printer, Set<String> importedFiles) {
+        this(environment, printer, importedFiles, new TypeTable());
+    }
+
+    private TypeChecker(TypeEnvironment environment, SyntaxPrinter printer, Set<String> importedFiles, TypeTable types) {
         this.env = environment;
         this.printer = printer;
+        this.types = types;
         for (var value : ValueType.values()) {
             env.init(value.getValue(), value);
         }
@@ -73,7 +101,7 @@ public final class TypeChecker extends StackVisitor<Type> {
         this.importedFiles = importedFiles;
 
         // Register all stdlib function type signatures from the central registry
-        StdlibRegistry.registerTypes(env);
+        StdlibRegistry.registerTypes(env, types);
 
         this.componentRegistry = new ComponentRegistry();
 
@@ -98,11 +126,13 @@ public final class TypeChecker extends StackVisitor<Type> {
 
     @Override
     public Type visit(Program program) {
-        Type type = ValueType.Null;
-        for (Statement statement : program.getBody()) {
-            type = executeBlock(statement, env);
-        }
-        return type;
+        return Metrics.time(Phase.TYPE_CHECK, () -> {
+            Type type = ValueType.Null;
+            for (Statement statement : program.getBody()) {
+                type = executeBlock(statement, env);
+            }
+            return type;
+        });
     }
 
     @Override
@@ -120,16 +150,16 @@ public final class TypeChecker extends StackVisitor<Type> {
         switch (expression) {
             case ArrayTypeIdentifier identifier -> {
                 Type type = env.lookup(identifier.getType().getValue());
-                var res = Optional.ofNullable(type).orElseGet(() -> TypeFactory.fromString(identifier.getType().getValue()));
+                var res = Optional.ofNullable(type).orElseGet(() -> types.fromString(identifier.getType().getValue()));
                 return new ArrayType(env, res);
             }
             case TypeIdentifier identifier -> {
                 Type type = env.lookup(identifier.getType().getValue());
-                return Optional.ofNullable(type).orElseGet(() -> TypeFactory.fromString(identifier.getType().getValue()));
+                return Optional.ofNullable(type).orElseGet(() -> types.fromString(identifier.getType().getValue()));
             }
             case SymbolIdentifier identifier -> {
                 Type type = env.lookup(identifier.getSymbol());
-                return Optional.ofNullable(type).orElseGet(() -> TypeFactory.fromString(identifier.getSymbol()));
+                return Optional.ofNullable(type).orElseGet(() -> types.fromString(identifier.getSymbol()));
             }
             case null, default -> {
             }
@@ -251,11 +281,10 @@ public final class TypeChecker extends StackVisitor<Type> {
         var unionType = new UnionType(expression.name(), env);
         for (Expression it : expression.getExpressions()) {
             var type = visit(it);
-            Set<Expression> types = unionType.getTypes();
-            if (types.contains(type)) {
+            if (unionType.getTypes().contains(type)) {
                 log.warn("Duplicate type '{}' in union `{}`", type.getValue(), printer.visit(expression));
             } else {
-                types.add(type);
+                unionType.add(type);
             }
         }
 
@@ -292,6 +321,11 @@ public final class TypeChecker extends StackVisitor<Type> {
             return actualType;
         }
 
+        // Same instance: value types, interned function types (see TypeTable)
+        if (actualType == expectedType) {
+            return expectedType;
+        }
+
         // Deferred types (forward references) are accepted - will be resolved at runtime
         if (actualType instanceof AnyType) {
             return expectedType;
@@ -413,8 +447,7 @@ public final class TypeChecker extends StackVisitor<Type> {
         }
         // Special handling for arrays: any[] matches any array type
         if (actualType instanceof ArrayType) {
-            return unionType.getTypes().stream()
-                    .anyMatch(t -> t instanceof ArrayType);
+            return unionType.hasKind(SystemType.ARRAY);
         }
         return false;
     }
@@ -864,13 +897,13 @@ public final class TypeChecker extends StackVisitor<Type> {
 
     @Override
     public Type visit(ImportStatement statement) {
-        var resolver = new ImportResolver(parser, importedFiles);
+        var resolver = new ImportResolver(parser, importedFiles, basePath);
 
         try {
-            resolver.resolve(statement, env, program -> {
-                var importChecker = new TypeChecker(new TypeEnvironment("import", env), printer, importedFiles);
-                importChecker.visit(program);
-                return importChecker.getEnv();
+            resolver.resolve(statement, env, (module, program) -> {
+                var summary = summarize(resolver, module, program);
+                summary.resources().forEach(env::initResourceTypeAtRoot);
+                return new TypeEnvironment("import", null, adopt(summary.exports()));
             });
         } catch (ImportResolver.ImportException e) {
             throw new TypeError(e.getMessage());
@@ -879,6 +912,59 @@ public final class TypeChecker extends StackVisitor<Type> {
         return ValueType.Void;
     }
 
+    /**
+     * Returns the exported types of an imported module, type-checking it only if no current summary is cached.
+     * Modules are checked in their own root environment that looks names it doesn't declare up in the importer, so a
+     * summary is reused only when those names have the same types as when it was made.
+     */
+    private ModuleSummaryCache.Summary summarize(ImportResolver resolver, String module, Program program) {
+        var contentKey = ImportResolver.contentKey(module);
+        var key = contentKey == null ? null : ModuleSummaryCache.key(resolver.basePath(), module, contentKey);
+        var summary = key == null ? null : MODULE_SUMMARIES.get(key);
+        if (summary != null && resolver.isCurrent(summary.dependencies()) && summary.readsMatch(env)) {
+            Metrics.listener().moduleSummaryCache(CacheResult.MEMORY_HIT);
+        } else {
+            Metrics.listener().moduleSummaryCache(CacheResult.MISS);
+            var moduleEnv = new ModuleTypeEnvironment(env);
+            var importChecker = new TypeChecker(moduleEnv, printer, importedFiles, types);
+            importChecker.setBasePath(basePath);
+            importChecker.visit(program);
+            summary = ModuleSummaryCache.Summary.of(moduleEnv, importChecker.importedModules);
+            if (key != null) {
+                MODULE_SUMMARIES.put(key, summary);
+            }
+        }
+        importedModules.putAll(summary.dependencies());
+        if (contentKey != null) {
+            importedModules.put(module, contentKey);
+        }
+        return summary;
+    }
+
+    /**
+     * Summaries are shared between sessions, their function types are replaced by the instances of this session's
+     * table so identity comparisons keep working
+     */
+    private Map<String, Type> adopt(Map<String, Type> exports) {
+        var adopted = new LinkedHashMap<String, Type>(exports.size());
+        exports.forEach((name, type) -> adopted.put(name, types.adopt(type)));
+        return adopted;
+    }
+
+    /**
+     * Clears the type-checked module summaries. Useful for testing.
+     */
+    public static void clearModuleSummaries() {
+        MODULE_SUMMARIES.clear();
+    }
+
+    /**
+     * Returns the number of cached module summaries. Useful for testing and debugging.
+     */
+    public static int getModuleSummaryCount() {
+        return MODULE_SUMMARIES.size();
+    }
+
     @Override
     public Type visit(ExpressionStatement statement) {
         return executeBlock(statement.getStatement(), env);
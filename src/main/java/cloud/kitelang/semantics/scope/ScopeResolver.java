@@ -2,6 +2,8 @@ package cloud.kitelang.semantics.scope;
 
 import cloud.kitelang.analysis.visitors.Visitor;
 import cloud.kitelang.execution.exceptions.DeclarationExistsException;
+import cloud.kitelang.metrics.Metrics;
+import cloud.kitelang.metrics.Phase;
 import cloud.kitelang.semantics.types.Type;
 import cloud.kitelang.syntax.ast.Program;
 import cloud.kitelang.syntax.ast.ValidationException;
@@ -22,6 +24,11 @@ public final class ScopeResolver implements Visitor<Void> {
      * boolean = true => variable declared and ready to be used
      */
     private final Stack<Map<Identifier, Boolean>> scopes;
+    /**
+     * Parameter slots of each scope in {@link #scopes}. Only function scopes have slots: the index of each
+     * parameter in the activation environment's frame
+     */
+    private final Stack<Map<String, Integer>> slots;
     /**
      * Tracks weather we're in a function or not. Based on this we show a syntax
      * error for example when using a return statement outside a function
@@ -31,6 +38,7 @@ public final class ScopeResolver implements Visitor<Void> {
 
     public ScopeResolver() {
         scopes = new Stack<>();
+        slots = new Stack<>();
     }
 
     void resolve(List<Statement> statements) {
@@ -40,9 +48,11 @@ public final class ScopeResolver implements Visitor<Void> {
     }
 
     public void resolve(Program program) {
-        for (var statement : program.getBody()) {
-            resolve(statement);
-        }
+        Metrics.time(Phase.SCOPE_RESOLUTION, () -> {
+            for (var statement : program.getBody()) {
+                resolve(statement);
+            }
+        });
     }
 
     private void resolve(@NotNull Statement stmt) {
@@ -85,6 +95,7 @@ public final class ScopeResolver implements Visitor<Void> {
         for (int i = scopes.size() - 1; i >= 0; i--) {
             if (scopes.get(i).containsKey(identifier)) {
                 identifier.setHops(scopes.size() - 1 - i);
+                identifier.setSlot(slots.get(i).get(identifier.string()));
                 break;
             }
         }
@@ -101,10 +112,12 @@ public final class ScopeResolver implements Visitor<Void> {
 
     private void beginScope() {
         scopes.push(new HashMap<>());
+        slots.push(Map.of());
     }
 
     private void endScope() {
         scopes.pop();
+        slots.pop();
     }
 
     @Override
@@ -247,10 +260,13 @@ public final class ScopeResolver implements Visitor<Void> {
     }
 
     private void initParams(List<ParameterIdentifier> function) {
+        var frame = new HashMap<String, Integer>(function.size());
         for (var param : function) {
             declare(param.getName());
             define(param.getName());
+            frame.put(param.getName().string(), frame.size());
         }
+        slots.set(slots.size() - 1, frame);
     }
 
     /*
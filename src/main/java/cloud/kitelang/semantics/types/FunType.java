@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Data
@@ -34,26 +35,33 @@ public final class FunType extends Type {
     }
 
     public static FunType fun(@NotNull String symbol) {
+        return fun(symbol, TypeFactory::fromString);
+    }
+
+    /**
+     * @param types resolves the parameter and return type names of the signature
+     */
+    static FunType fun(@NotNull String symbol, Function<String, Type> types) {
         var funSplit = StringUtils.split(symbol, "->");
         Type returnType = null;
         Collection<Type> paramsType = new ArrayList<>();
         if (funSplit.length == 2) {
-            returnType = TypeFactory.fromString(funSplit[1]);
-            paramsType = typesBetweenParantheses(funSplit[0]);
+            returnType = types.apply(funSplit[1]);
+            paramsType = typesBetweenParantheses(funSplit[0], types);
         } else if (funSplit.length == 1) {
-            paramsType = typesBetweenParantheses(funSplit[0]);
+            paramsType = typesBetweenParantheses(funSplit[0], types);
         }
         return new FunType(paramsType, returnType);
     }
 
-    private static List<Type> typesBetweenParantheses(String funSplit) {
+    private static List<Type> typesBetweenParantheses(String funSplit, Function<String, Type> types) {
         String substring = StringUtils.substringBetween(funSplit, "(", ")");
         if (substring.isEmpty()) {
             return List.of();
         }
         var split = substring.split(",");
         return Arrays.stream(split)
-                .map(TypeFactory::fromString)
+                .map(types)
                 .collect(Collectors.toList());
     }
 
@@ -12,7 +12,7 @@ public sealed class ReferenceType
 
     @Getter
     @Setter
-    protected TypeEnvironment environment;
+    protected transient TypeEnvironment environment; // filled by the type checker, never part of a parsed AST
 
     public ReferenceType(String typeName) {
         super(typeName);
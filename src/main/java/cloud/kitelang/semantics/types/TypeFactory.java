@@ -1,42 +1,46 @@
 package cloud.kitelang.semantics.types;
 
-import org.apache.commons.lang3.StringUtils;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Stateless type lookups. Function types built here are new instances, use the session's {@link TypeTable}
+ * for canonical ones.
+ */
 public class TypeFactory {
-    private final static FunStore funStore = FunStore.getInstance();
+    /**
+     * Value types and builtin reference types by name
+     */
+    private final static Map<String, Type> BUILTIN = builtin();
 
     public static Type fromString(String symbol) {
         if (isFunction(symbol)) {
-            FunType fun = funStore.getFun(symbol);
-            if (fun != null) {
-                return fun;
-            } else {
-                funStore.setFun(symbol, FunType.fun(symbol));
-                return funStore.getFun(symbol);
-            }
+            return FunType.fun(symbol);
         }
         return ValueType.from(symbol);
         //        throw new IllegalArgumentException("Invalid symbol: " + symbol);
     }
 
-    private static boolean isFunction(String symbol) {
+    static boolean isFunction(String symbol) {
         return symbol.startsWith("(");
     }
 
     public static Type from(String string) {
-        var res = ValueType.from(string);
+        var res = BUILTIN.get(string);
         if (res != null) {
             return res;
         }
-        for (ReferenceType value : ReferenceType.values()) {
-            if (StringUtils.equals(value.getValue(), string)) {
-                return value;
-            }
-        }
         return new ReferenceType(string);
     }
 
-    public static Type add(FunType funType) {
-        return funStore.setFun(funType);
+    private static Map<String, Type> builtin() {
+        var types = new HashMap<String, Type>();
+        for (ReferenceType value : ReferenceType.values()) {
+            types.put(value.getValue(), value);
+        }
+        for (ValueType value : ValueType.values()) {
+            types.put(value.getValue(), value);
+        }
+        return Map.copyOf(types);
     }
 }
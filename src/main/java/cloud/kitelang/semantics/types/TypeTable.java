@@ -0,0 +1,70 @@
+package cloud.kitelang.semantics.types;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Function types of one type-checking session, hash-consed: equal types are the same instance, so the checker
+ * compares them by identity before falling back to {@code equals}, and each signature is parsed once.
+ * <p>
+ * Each {@link cloud.kitelang.semantics.TypeChecker} owns a table and shares it with the checkers of its imports,
+ * the table goes away with the session. Tables are thread-safe, several sessions can check programs concurrently.
+ * Value types and the builtin reference types are process wide constants, see {@link TypeFactory#from(String)}.
+ * Interned types are shared and must not be changed afterwards.
+ */
+public final class TypeTable {
+    private final ConcurrentMap<FunType, FunType> functions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, FunType> signatures = new ConcurrentHashMap<>();
+
+    /**
+     * @param symbol a value type name or a function signature such as {@code (number,string)->boolean}
+     * @return the canonical function type of the signature, the value type otherwise (null if unknown)
+     */
+    public Type fromString(String symbol) {
+        if (!TypeFactory.isFunction(symbol)) {
+            return ValueType.from(symbol);
+        }
+        var fun = signatures.get(symbol);
+        if (fun != null) {
+            return fun;
+        }
+        // not computeIfAbsent: parsing the parameters looks up nested signatures in the same map
+        fun = intern(FunType.fun(symbol, this::fromString));
+        var previous = signatures.putIfAbsent(symbol, fun);
+        return previous != null ? previous : fun;
+    }
+
+    /**
+     * @return the instance equal to {@code type} interned first, {@code type} itself if there's none
+     */
+    public FunType intern(FunType type) {
+        var canonical = functions.putIfAbsent(type, type);
+        return canonical != null ? canonical : type;
+    }
+
+    /**
+     * Types cached by an earlier session, such as module summaries, hold function types interned in another table.
+     *
+     * @return the instance of this table equal to {@code type}, interning a copy if there's none; types other than
+     * functions are returned as they are
+     */
+    public Type adopt(Type type) {
+        if (!(type instanceof FunType fun)) {
+            return type;
+        }
+        var canonical = functions.get(fun);
+        if (canonical != null) {
+            return canonical;
+        }
+        var params = new ArrayList<Type>(fun.getParams().size());
+        for (var param : fun.getParams()) {
+            params.add(adopt(param));
+        }
+        return intern(new FunType(params, adopt(fun.getReturnType())));
+    }
+
+    public int size() {
+        return functions.size();
+    }
+}
@@ -4,10 +4,10 @@ import cloud.kitelang.semantics.TypeEnvironment;
 import cloud.kitelang.syntax.ast.expressions.Expression;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.Setter;
 import lombok.ToString;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -21,8 +21,13 @@ public final class UnionType extends ReferenceType {
      * type x = 1 | 2 | 3 -> types = [ number ]
      */
     @Getter
-    @Setter
     private Set<Expression> types;
+    /**
+     * Kinds of the member types, computed on first use so membership checks like "contains an array" don't scan
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient volatile EnumSet<SystemType> kinds;
 
     public UnionType(String typeName, @Nullable TypeEnvironment env) {
         this(typeName, env, new HashSet<>());
@@ -42,4 +47,31 @@ public final class UnionType extends ReferenceType {
         return new UnionType(typeName, null, types);
     }
 
+    public void setTypes(Set<Expression> types) {
+        this.types = types;
+        this.kinds = null;
+    }
+
+    /**
+     * Adds a member, use it instead of changing {@link #getTypes()} so {@link #hasKind} stays up to date
+     */
+    public void add(Expression type) {
+        types.add(type);
+        kinds = null;
+    }
+
+    public boolean hasKind(SystemType kind) {
+        var kinds = this.kinds;
+        if (kinds == null) {
+            kinds = EnumSet.noneOf(SystemType.class);
+            for (Expression member : types) {
+                if (member instanceof Type type && type.getKind() != null) {
+                    kinds.add(type.getKind());
+                }
+            }
+            this.kinds = kinds;
+        }
+        return kinds.contains(kind);
+    }
+
 }
\ No newline at end of file
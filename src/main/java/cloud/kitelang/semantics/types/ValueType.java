@@ -2,6 +2,8 @@ package cloud.kitelang.semantics.types;
 
 import lombok.EqualsAndHashCode;
 
+import java.io.Serial;
+
 @EqualsAndHashCode(callSuper = true)
 public non-sealed class ValueType extends Type {
     public static ValueType String = new ValueType(SystemType.STRING);
@@ -38,6 +40,19 @@ public non-sealed class ValueType extends Type {
         return new ValueType[]{String, Number, Boolean, Void, Null};
     }
 
+    /**
+     * Parsed ASTs read back from the parse cache must reuse the shared constants,
+     * the type checker compares them by identity (e.g. {@code type == ValueType.Null}).
+     */
+    @Serial
+    protected Object readResolve() {
+        if (getClass() != ValueType.class || getValue() == null) {
+            return this;
+        }
+        var canonical = from(getValue());
+        return this.equals(canonical) ? canonical : this;
+    }
+
     @Override
     public java.lang.String toString() {
         return getValue();
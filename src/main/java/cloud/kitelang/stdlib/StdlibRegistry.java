@@ -73,6 +73,23 @@ public final class StdlibRegistry {
             "fileExists", "readFile", "fromJson", "toJson"
     );
 
+    /**
+     * Stdlib functions whose result depends on more than their arguments (clock, randomness, environment, files)
+     * or that write output. Every other stdlib function is pure, see {@link #isPure}.
+     */
+    public static final Set<String> IMPURE_FUNCTIONS = Set.of(
+            "print", "println", "random", "uuid", "environment", "fileExists", "readFile",
+            "now", "timestamp", "date", "year", "month", "day", "hour", "minute", "second", "dayOfWeek"
+    );
+
+    /**
+     * @return true if {@code name} is a stdlib function that always returns the same value for the same arguments
+     * and has no side effects, so calls with constant arguments can be folded or memoized
+     */
+    public static boolean isPure(String name) {
+        return STDLIB_FUNCTION_NAMES.contains(name) && !IMPURE_FUNCTIONS.contains(name);
+    }
+
     private StdlibRegistry() {
         // Utility class — not instantiable
     }
@@ -210,15 +227,16 @@ public final class StdlibRegistry {
      * </ul>
      *
      * @param env the type checker's environment to populate
+     * @param types the session's type table, stdlib function types are interned into it
      */
-    public static void registerTypes(TypeEnvironment env) {
+    public static void registerTypes(TypeEnvironment env, TypeTable types) {
         var anyArray = ArrayType.arrayType(AnyType.INSTANCE);
         var numberArray = ArrayType.arrayType(ValueType.Number);
         var stringOrArray = UnionType.unionType("string|array", ValueType.String, anyArray);
 
         // I/O: (any) -> void
-        env.init("print", TypeFactory.add(FunType.fun(ValueType.Void, AnyType.INSTANCE)));
-        env.init("println", TypeFactory.add(FunType.fun(ValueType.Void, AnyType.INSTANCE)));
+        env.init("print", types.intern(FunType.fun(ValueType.Void, AnyType.INSTANCE)));
+        env.init("println", types.intern(FunType.fun(ValueType.Void, AnyType.INSTANCE)));
 
         // Casting functions (int, number, decimal, string, boolean, any) are intentionally
         // NOT registered here. Their names collide with primitive type names (ValueType/ReferenceType)
@@ -226,106 +244,106 @@ public final class StdlibRegistry {
         // its type system rather than function-call validation.
 
         // Numeric: (number) -> number (mostly)
-        env.init("abs", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.Number)));
-        env.init("pow", TypeFactory.fromString("(%s,%s)->%s".formatted(
+        env.init("abs", types.intern(FunType.fun(ValueType.Number, ValueType.Number)));
+        env.init("pow", types.fromString("(%s,%s)->%s".formatted(
                 ValueType.Number.getValue(), ValueType.Number.getValue(), ValueType.Number.getValue())));
-        env.init("ceil", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.Number)));
-        env.init("floor", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.Number)));
-        env.init("min", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.Number, ValueType.Number)));
-        env.init("max", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.Number, ValueType.Number)));
-        env.init("round", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.Number)));
-        env.init("sqrt", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.Number)));
-        env.init("random", TypeFactory.add(FunType.fun(ValueType.Number)));
-        env.init("clamp", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.Number, ValueType.Number, ValueType.Number)));
-        env.init("sign", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.Number)));
-        env.init("mod", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.Number, ValueType.Number)));
+        env.init("ceil", types.intern(FunType.fun(ValueType.Number, ValueType.Number)));
+        env.init("floor", types.intern(FunType.fun(ValueType.Number, ValueType.Number)));
+        env.init("min", types.intern(FunType.fun(ValueType.Number, ValueType.Number, ValueType.Number)));
+        env.init("max", types.intern(FunType.fun(ValueType.Number, ValueType.Number, ValueType.Number)));
+        env.init("round", types.intern(FunType.fun(ValueType.Number, ValueType.Number)));
+        env.init("sqrt", types.intern(FunType.fun(ValueType.Number, ValueType.Number)));
+        env.init("random", types.intern(FunType.fun(ValueType.Number)));
+        env.init("clamp", types.intern(FunType.fun(ValueType.Number, ValueType.Number, ValueType.Number, ValueType.Number)));
+        env.init("sign", types.intern(FunType.fun(ValueType.Number, ValueType.Number)));
+        env.init("mod", types.intern(FunType.fun(ValueType.Number, ValueType.Number, ValueType.Number)));
 
         // Collections
-        env.init("isEmpty", TypeFactory.add(FunType.fun(ValueType.Boolean, stringOrArray)));
-        env.init("contains", TypeFactory.add(FunType.fun(ValueType.Boolean, stringOrArray, AnyType.INSTANCE)));
-        env.init("first", TypeFactory.add(FunType.fun(AnyType.INSTANCE, stringOrArray)));
-        env.init("last", TypeFactory.add(FunType.fun(AnyType.INSTANCE, stringOrArray)));
-        env.init("join", TypeFactory.add(FunType.fun(ValueType.String, anyArray)));
-        env.init("sort", TypeFactory.add(FunType.fun(anyArray, anyArray)));
-        env.init("push", TypeFactory.add(FunType.fun(anyArray, anyArray, AnyType.INSTANCE)));
-        env.init("pop", TypeFactory.add(FunType.fun(anyArray, anyArray)));
-        env.init("reverse", TypeFactory.add(FunType.fun(anyArray, anyArray)));
-        env.init("slice", TypeFactory.add(FunType.fun(anyArray, anyArray, ValueType.Number)));
-        env.init("find", TypeFactory.add(FunType.fun(AnyType.INSTANCE, anyArray, AnyType.INSTANCE)));
-        env.init("distinct", TypeFactory.add(FunType.fun(anyArray, anyArray)));
-        env.init("flatten", TypeFactory.add(FunType.fun(anyArray, anyArray)));
-        env.init("take", TypeFactory.add(FunType.fun(anyArray, anyArray, ValueType.Number)));
-        env.init("drop", TypeFactory.add(FunType.fun(anyArray, anyArray, ValueType.Number)));
-        env.init("sum", TypeFactory.add(FunType.fun(ValueType.Number, numberArray)));
-        env.init("range", TypeFactory.add(FunType.fun(anyArray, ValueType.Number)));
-        env.init("zip", TypeFactory.add(FunType.fun(anyArray, anyArray, anyArray)));
-        env.init("average", TypeFactory.add(FunType.fun(ValueType.Number, numberArray)));
-        env.init("findIndex", TypeFactory.add(FunType.fun(ValueType.Number, anyArray, AnyType.INSTANCE)));
+        env.init("isEmpty", types.intern(FunType.fun(ValueType.Boolean, stringOrArray)));
+        env.init("contains", types.intern(FunType.fun(ValueType.Boolean, stringOrArray, AnyType.INSTANCE)));
+        env.init("first", types.intern(FunType.fun(AnyType.INSTANCE, stringOrArray)));
+        env.init("last", types.intern(FunType.fun(AnyType.INSTANCE, stringOrArray)));
+        env.init("join", types.intern(FunType.fun(ValueType.String, anyArray)));
+        env.init("sort", types.intern(FunType.fun(anyArray, anyArray)));
+        env.init("push", types.intern(FunType.fun(anyArray, anyArray, AnyType.INSTANCE)));
+        env.init("pop", types.intern(FunType.fun(anyArray, anyArray)));
+        env.init("reverse", types.intern(FunType.fun(anyArray, anyArray)));
+        env.init("slice", types.intern(FunType.fun(anyArray, anyArray, ValueType.Number)));
+        env.init("find", types.intern(FunType.fun(AnyType.INSTANCE, anyArray, AnyType.INSTANCE)));
+        env.init("distinct", types.intern(FunType.fun(anyArray, anyArray)));
+        env.init("flatten", types.intern(FunType.fun(anyArray, anyArray)));
+        env.init("take", types.intern(FunType.fun(anyArray, anyArray, ValueType.Number)));
+        env.init("drop", types.intern(FunType.fun(anyArray, anyArray, ValueType.Number)));
+        env.init("sum", types.intern(FunType.fun(ValueType.Number, numberArray)));
+        env.init("range", types.intern(FunType.fun(anyArray, ValueType.Number)));
+        env.init("zip", types.intern(FunType.fun(anyArray, anyArray, anyArray)));
+        env.init("average", types.intern(FunType.fun(ValueType.Number, numberArray)));
+        env.init("findIndex", types.intern(FunType.fun(ValueType.Number, anyArray, AnyType.INSTANCE)));
 
         // String
-        env.init("length", TypeFactory.add(FunType.fun(ValueType.Number, stringOrArray)));
-        env.init("substring", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String, ValueType.Number)));
-        env.init("toString", TypeFactory.fromString("(%s)->%s".formatted(
+        env.init("length", types.intern(FunType.fun(ValueType.Number, stringOrArray)));
+        env.init("substring", types.intern(FunType.fun(ValueType.String, ValueType.String, ValueType.Number)));
+        env.init("toString", types.fromString("(%s)->%s".formatted(
                 ValueType.Number.getValue(), ValueType.String.getValue())));
-        env.init("toUpperCase", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String)));
-        env.init("toLowerCase", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String)));
-        env.init("trim", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String)));
-        env.init("replace", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String, ValueType.String, ValueType.String)));
-        env.init("split", TypeFactory.add(FunType.fun(anyArray, ValueType.String, ValueType.String)));
-        env.init("indexOf", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.String, ValueType.String)));
-        env.init("startsWith", TypeFactory.add(FunType.fun(ValueType.Boolean, ValueType.String, ValueType.String)));
-        env.init("endsWith", TypeFactory.add(FunType.fun(ValueType.Boolean, ValueType.String, ValueType.String)));
-        env.init("repeat", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String, ValueType.Number)));
-        env.init("padStart", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String, ValueType.Number, ValueType.String)));
-        env.init("padEnd", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String, ValueType.Number, ValueType.String)));
-        env.init("charAt", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String, ValueType.Number)));
-        env.init("matches", TypeFactory.add(FunType.fun(ValueType.Boolean, ValueType.String, ValueType.String)));
-        env.init("format", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String, AnyType.INSTANCE)));
+        env.init("toUpperCase", types.intern(FunType.fun(ValueType.String, ValueType.String)));
+        env.init("toLowerCase", types.intern(FunType.fun(ValueType.String, ValueType.String)));
+        env.init("trim", types.intern(FunType.fun(ValueType.String, ValueType.String)));
+        env.init("replace", types.intern(FunType.fun(ValueType.String, ValueType.String, ValueType.String, ValueType.String)));
+        env.init("split", types.intern(FunType.fun(anyArray, ValueType.String, ValueType.String)));
+        env.init("indexOf", types.intern(FunType.fun(ValueType.Number, ValueType.String, ValueType.String)));
+        env.init("startsWith", types.intern(FunType.fun(ValueType.Boolean, ValueType.String, ValueType.String)));
+        env.init("endsWith", types.intern(FunType.fun(ValueType.Boolean, ValueType.String, ValueType.String)));
+        env.init("repeat", types.intern(FunType.fun(ValueType.String, ValueType.String, ValueType.Number)));
+        env.init("padStart", types.intern(FunType.fun(ValueType.String, ValueType.String, ValueType.Number, ValueType.String)));
+        env.init("padEnd", types.intern(FunType.fun(ValueType.String, ValueType.String, ValueType.Number, ValueType.String)));
+        env.init("charAt", types.intern(FunType.fun(ValueType.String, ValueType.String, ValueType.Number)));
+        env.init("matches", types.intern(FunType.fun(ValueType.Boolean, ValueType.String, ValueType.String)));
+        env.init("format", types.intern(FunType.fun(ValueType.String, ValueType.String, AnyType.INSTANCE)));
 
         // Datetime: all accept/return strings (datetime represented as ISO string)
-        env.init("now", TypeFactory.add(FunType.fun(ValueType.String)));
-        env.init("year", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.String)));
-        env.init("month", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.String)));
-        env.init("day", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.String)));
-        env.init("hour", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.String)));
-        env.init("minute", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.String)));
-        env.init("second", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.String)));
-        env.init("formatDate", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String, ValueType.String)));
-        env.init("timestamp", TypeFactory.add(FunType.fun(ValueType.Number)));
-        env.init("date", TypeFactory.add(FunType.fun(ValueType.String, ValueType.Number, ValueType.Number, ValueType.Number)));
-        env.init("addDays", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String, ValueType.Number)));
-        env.init("diffDays", TypeFactory.add(FunType.fun(ValueType.Number, ValueType.String, ValueType.String)));
-        env.init("isLeapYear", TypeFactory.add(FunType.fun(ValueType.Boolean, ValueType.Number)));
-        env.init("dayOfWeek", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String)));
-        env.init("parseDate", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String, ValueType.String)));
-        env.init("toISOString", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String)));
+        env.init("now", types.intern(FunType.fun(ValueType.String)));
+        env.init("year", types.intern(FunType.fun(ValueType.Number, ValueType.String)));
+        env.init("month", types.intern(FunType.fun(ValueType.Number, ValueType.String)));
+        env.init("day", types.intern(FunType.fun(ValueType.Number, ValueType.String)));
+        env.init("hour", types.intern(FunType.fun(ValueType.Number, ValueType.String)));
+        env.init("minute", types.intern(FunType.fun(ValueType.Number, ValueType.String)));
+        env.init("second", types.intern(FunType.fun(ValueType.Number, ValueType.String)));
+        env.init("formatDate", types.intern(FunType.fun(ValueType.String, ValueType.String, ValueType.String)));
+        env.init("timestamp", types.intern(FunType.fun(ValueType.Number)));
+        env.init("date", types.intern(FunType.fun(ValueType.String, ValueType.Number, ValueType.Number, ValueType.Number)));
+        env.init("addDays", types.intern(FunType.fun(ValueType.String, ValueType.String, ValueType.Number)));
+        env.init("diffDays", types.intern(FunType.fun(ValueType.Number, ValueType.String, ValueType.String)));
+        env.init("isLeapYear", types.intern(FunType.fun(ValueType.Boolean, ValueType.Number)));
+        env.init("dayOfWeek", types.intern(FunType.fun(ValueType.String, ValueType.String)));
+        env.init("parseDate", types.intern(FunType.fun(ValueType.String, ValueType.String, ValueType.String)));
+        env.init("toISOString", types.intern(FunType.fun(ValueType.String, ValueType.String)));
 
         // Type checking: (any) -> boolean
-        env.init("isString", TypeFactory.add(FunType.fun(ValueType.Boolean, AnyType.INSTANCE)));
-        env.init("isNumber", TypeFactory.add(FunType.fun(ValueType.Boolean, AnyType.INSTANCE)));
-        env.init("isBoolean", TypeFactory.add(FunType.fun(ValueType.Boolean, AnyType.INSTANCE)));
-        env.init("isArray", TypeFactory.add(FunType.fun(ValueType.Boolean, AnyType.INSTANCE)));
-        env.init("isObject", TypeFactory.add(FunType.fun(ValueType.Boolean, AnyType.INSTANCE)));
-        env.init("isNull", TypeFactory.add(FunType.fun(ValueType.Boolean, AnyType.INSTANCE)));
-        env.init("toNumber", TypeFactory.add(FunType.fun(ValueType.Number, AnyType.INSTANCE)));
+        env.init("isString", types.intern(FunType.fun(ValueType.Boolean, AnyType.INSTANCE)));
+        env.init("isNumber", types.intern(FunType.fun(ValueType.Boolean, AnyType.INSTANCE)));
+        env.init("isBoolean", types.intern(FunType.fun(ValueType.Boolean, AnyType.INSTANCE)));
+        env.init("isArray", types.intern(FunType.fun(ValueType.Boolean, AnyType.INSTANCE)));
+        env.init("isObject", types.intern(FunType.fun(ValueType.Boolean, AnyType.INSTANCE)));
+        env.init("isNull", types.intern(FunType.fun(ValueType.Boolean, AnyType.INSTANCE)));
+        env.init("toNumber", types.intern(FunType.fun(ValueType.Number, AnyType.INSTANCE)));
 
         // Object manipulation
-        env.init("keys", TypeFactory.add(FunType.fun(anyArray, ObjectType.INSTANCE)));
-        env.init("values", TypeFactory.add(FunType.fun(anyArray, ObjectType.INSTANCE)));
-        env.init("entries", TypeFactory.add(FunType.fun(anyArray, ObjectType.INSTANCE)));
-        env.init("merge", TypeFactory.add(FunType.fun(ObjectType.INSTANCE, ObjectType.INSTANCE, ObjectType.INSTANCE)));
-        env.init("hasKey", TypeFactory.add(FunType.fun(ValueType.Boolean, ObjectType.INSTANCE, AnyType.INSTANCE)));
-        env.init("get", TypeFactory.add(FunType.fun(AnyType.INSTANCE, ObjectType.INSTANCE, AnyType.INSTANCE)));
+        env.init("keys", types.intern(FunType.fun(anyArray, ObjectType.INSTANCE)));
+        env.init("values", types.intern(FunType.fun(anyArray, ObjectType.INSTANCE)));
+        env.init("entries", types.intern(FunType.fun(anyArray, ObjectType.INSTANCE)));
+        env.init("merge", types.intern(FunType.fun(ObjectType.INSTANCE, ObjectType.INSTANCE, ObjectType.INSTANCE)));
+        env.init("hasKey", types.intern(FunType.fun(ValueType.Boolean, ObjectType.INSTANCE, AnyType.INSTANCE)));
+        env.init("get", types.intern(FunType.fun(AnyType.INSTANCE, ObjectType.INSTANCE, AnyType.INSTANCE)));
 
         // Utility
-        env.init("uuid", TypeFactory.add(FunType.fun(ValueType.String)));
-        env.init("base64Encode", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String)));
-        env.init("base64Decode", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String)));
-        env.init("hash", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String)));
-        env.init("environment", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String)));
-        env.init("fileExists", TypeFactory.add(FunType.fun(ValueType.Boolean, ValueType.String)));
-        env.init("readFile", TypeFactory.add(FunType.fun(ValueType.String, ValueType.String)));
-        env.init("fromJson", TypeFactory.add(FunType.fun(AnyType.INSTANCE, ValueType.String)));
-        env.init("toJson", TypeFactory.add(FunType.fun(ValueType.String, AnyType.INSTANCE)));
+        env.init("uuid", types.intern(FunType.fun(ValueType.String)));
+        env.init("base64Encode", types.intern(FunType.fun(ValueType.String, ValueType.String)));
+        env.init("base64Decode", types.intern(FunType.fun(ValueType.String, ValueType.String)));
+        env.init("hash", types.intern(FunType.fun(ValueType.String, ValueType.String)));
+        env.init("environment", types.intern(FunType.fun(ValueType.String, ValueType.String)));
+        env.init("fileExists", types.intern(FunType.fun(ValueType.Boolean, ValueType.String)));
+        env.init("readFile", types.intern(FunType.fun(ValueType.String, ValueType.String)));
+        env.init("fromJson", types.intern(FunType.fun(AnyType.INSTANCE, ValueType.String)));
+        env.init("toJson", types.intern(FunType.fun(ValueType.String, AnyType.INSTANCE)));
     }
 }
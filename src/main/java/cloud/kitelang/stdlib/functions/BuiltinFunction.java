@@ -0,0 +1,74 @@
+package cloud.kitelang.stdlib.functions;
+
+import cloud.kitelang.execution.Callable;
+import cloud.kitelang.execution.Interpreter;
+
+import java.util.List;
+
+/**
+ * Builtin taking between {@code min} and {@code max} (at most three) arguments. Subclasses override the
+ * {@code callN} methods of the arities they accept, the others fail with the usual "Expected 2 arguments, got 1"
+ * error. Calls with a list of arguments are dispatched on its size, so each function has a single implementation
+ * per arity and the interpreter can call it without building a list.
+ */
+public abstract class BuiltinFunction implements Callable {
+    private final int min;
+    private final int max;
+
+    protected BuiltinFunction(int arity) {
+        this(arity, arity);
+    }
+
+    protected BuiltinFunction(int min, int max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    public final Object call(Interpreter interpreter, List<Object> args) {
+        return switch (args.size()) {
+            case 0 -> call0(interpreter);
+            case 1 -> call1(interpreter, args.get(0));
+            case 2 -> call2(interpreter, args.get(0), args.get(1));
+            case 3 -> call3(interpreter, args.get(0), args.get(1), args.get(2));
+            default -> throw arityError(args.size());
+        };
+    }
+
+    @Override
+    public Object call0(Interpreter interpreter) {
+        throw arityError(0);
+    }
+
+    @Override
+    public Object call1(Interpreter interpreter, Object arg) {
+        throw arityError(1);
+    }
+
+    @Override
+    public Object call2(Interpreter interpreter, Object first, Object second) {
+        throw arityError(2);
+    }
+
+    @Override
+    public Object call3(Interpreter interpreter, Object first, Object second, Object third) {
+        throw arityError(3);
+    }
+
+    @Override
+    public int arity() {
+        return min;
+    }
+
+    private RuntimeException arityError(int actual) {
+        String expected;
+        if (min == max) {
+            expected = min == 1 ? "1 argument" : min + " arguments";
+        } else if (max == min + 1) {
+            expected = min + " or " + max + " arguments";
+        } else {
+            expected = min + "-" + max + " arguments";
+        }
+        return new RuntimeException("Expected " + expected + ", got " + actual);
+    }
+}
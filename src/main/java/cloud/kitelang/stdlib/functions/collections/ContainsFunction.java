@@ -1,21 +1,18 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
 import java.util.List;
 
-public class ContainsFunction implements Callable {
+public class ContainsFunction extends BuiltinFunction {
 
-    @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 2) {
-            throw new RuntimeException(MessageFormat.format("Expected 2 arguments, got {0}", args.size()));
-        }
-        var collection = args.get(0);
-        var element = args.get(1);
+    public ContainsFunction() {
+        super(2);
+    }
 
+    @Override
+    public Object call2(Interpreter interpreter, Object collection, Object element) {
         if (collection instanceof String str) {
             if (element instanceof String search) {
                 return str.contains(search);
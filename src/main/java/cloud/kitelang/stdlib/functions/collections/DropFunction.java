@@ -1,24 +1,23 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
 import java.util.List;
 
-public class DropFunction implements Callable {
+public class DropFunction extends BuiltinFunction {
+
+    public DropFunction() {
+        super(2);
+    }
 
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 2) {
-            throw new RuntimeException(MessageFormat.format("Expected 2 arguments, got {0}", args.size()));
-        }
-
-        if (!(args.get(0) instanceof List list)) {
+    public Object call2(Interpreter interpreter, Object first, Object second) {
+        if (!(first instanceof List list)) {
             throw new RuntimeException("First argument must be an array");
         }
-        if (!(args.get(1) instanceof Number n)) {
+        if (!(second instanceof Number n)) {
             throw new RuntimeException("Second argument must be a number");
         }
 
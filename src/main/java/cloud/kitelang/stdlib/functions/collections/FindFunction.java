@@ -1,26 +1,23 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
 import cloud.kitelang.execution.values.NullValue;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
 import java.util.List;
 
-public class FindFunction implements Callable {
+public class FindFunction extends BuiltinFunction {
 
-    @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 2) {
-            throw new RuntimeException(MessageFormat.format("Expected 2 arguments, got {0}", args.size()));
-        }
+    public FindFunction() {
+        super(2);
+    }
 
-        if (!(args.get(0) instanceof List<?> list)) {
+    @Override
+    public Object call2(Interpreter interpreter, Object collection, Object searchValue) {
+        if (!(collection instanceof List<?> list)) {
             throw new RuntimeException("First argument must be an array");
         }
 
-        var searchValue = args.get(1);
-
         for (Object item : list) {
             if (item != null && item.equals(searchValue)) {
                 return item;
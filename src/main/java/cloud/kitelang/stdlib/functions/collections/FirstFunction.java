@@ -1,19 +1,18 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
 import java.util.List;
 
-public class FirstFunction implements Callable {
+public class FirstFunction extends BuiltinFunction {
+
+    public FirstFunction() {
+        super(1);
+    }
 
     @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 1) {
-            throw new RuntimeException(MessageFormat.format("Expected 1 argument, got {0}", args.size()));
-        }
-        var arg = args.get(0);
+    public Object call1(Interpreter interpreter, Object arg) {
         if (arg instanceof String str) {
             if (str.isEmpty()) {
                 throw new RuntimeException("String is empty");
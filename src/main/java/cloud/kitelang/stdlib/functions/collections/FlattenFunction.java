@@ -1,22 +1,21 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
 
-public class FlattenFunction implements Callable {
+public class FlattenFunction extends BuiltinFunction {
+
+    public FlattenFunction() {
+        super(1);
+    }
 
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 1) {
-            throw new RuntimeException(MessageFormat.format("Expected 1 argument, got {0}", args.size()));
-        }
-
-        if (!(args.get(0) instanceof List list)) {
+    public Object call1(Interpreter interpreter, Object arg) {
+        if (!(arg instanceof List list)) {
             throw new RuntimeException("Argument must be an array");
         }
 
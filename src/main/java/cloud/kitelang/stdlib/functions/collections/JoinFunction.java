@@ -1,25 +1,32 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
 import java.util.List;
 import java.util.stream.Collectors;
 
-public class JoinFunction implements Callable {
+public class JoinFunction extends BuiltinFunction {
+
+    public JoinFunction() {
+        super(1, 2);
+    }
 
     @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() < 1 || args.size() > 2) {
-            throw new RuntimeException(MessageFormat.format("Expected 1 or 2 arguments, got {0}", args.size()));
-        }
-        var arg = args.get(0);
+    public Object call1(Interpreter interpreter, Object arg) {
+        return join(arg, "");
+    }
+
+    @Override
+    public Object call2(Interpreter interpreter, Object arg, Object delimiter) {
+        return join(arg, delimiter.toString());
+    }
+
+    private static String join(Object arg, String delimiter) {
         if (!(arg instanceof List<?> list)) {
             throw new RuntimeException("First argument must be an array");
         }
 
-        var delimiter = args.size() == 2 ? args.get(1).toString() : "";
         return list.stream()
                 .map(Object::toString)
                 .collect(Collectors.joining(delimiter));
@@ -1,22 +1,20 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.execution.values.PersistentVector;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
-import java.util.ArrayList;
 import java.util.List;
 
-public class PopFunction implements Callable {
+public class PopFunction extends BuiltinFunction {
+
+    public PopFunction() {
+        super(1);
+    }
 
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 1) {
-            throw new RuntimeException(MessageFormat.format("Expected 1 argument, got {0}", args.size()));
-        }
-        var arg = args.get(0);
-
+    public Object call1(Interpreter interpreter, Object arg) {
         if (!(arg instanceof List list)) {
             throw new RuntimeException("Argument must be an array");
         }
@@ -25,8 +23,6 @@ public class PopFunction implements Callable {
             throw new RuntimeException("Array is empty");
         }
 
-        var result = new ArrayList(list);
-        result.remove(result.size() - 1);
-        return result;
+        return PersistentVector.of(list).pop();
     }
 }
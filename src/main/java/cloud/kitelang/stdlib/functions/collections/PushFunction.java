@@ -1,29 +1,24 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.execution.values.PersistentVector;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
-import java.util.ArrayList;
 import java.util.List;
 
-public class PushFunction implements Callable {
+public class PushFunction extends BuiltinFunction {
+
+    public PushFunction() {
+        super(2);
+    }
 
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 2) {
-            throw new RuntimeException(MessageFormat.format("Expected 2 arguments, got {0}", args.size()));
-        }
-        var collection = args.get(0);
-        var element = args.get(1);
-
+    public Object call2(Interpreter interpreter, Object collection, Object element) {
         if (!(collection instanceof List list)) {
             throw new RuntimeException("First argument must be an array");
         }
 
-        var result = new ArrayList(list);
-        result.add(element);
-        return result;
+        return PersistentVector.of(list).append(element);
     }
 }
@@ -1,36 +1,32 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.List;
 
-public class RangeFunction implements Callable {
+public class RangeFunction extends BuiltinFunction {
+
+    public RangeFunction() {
+        super(1, 3);
+    }
 
     @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() < 1 || args.size() > 3) {
-            throw new RuntimeException(MessageFormat.format("Expected 1-3 arguments, got {0}", args.size()));
-        }
+    public Object call1(Interpreter interpreter, Object end) {
+        return range(0, ((Number) end).intValue(), 1);
+    }
 
-        int start, end, step;
+    @Override
+    public Object call2(Interpreter interpreter, Object start, Object end) {
+        return range(((Number) start).intValue(), ((Number) end).intValue(), 1);
+    }
 
-        if (args.size() == 1) {
-            start = 0;
-            end = ((Number) args.get(0)).intValue();
-            step = 1;
-        } else if (args.size() == 2) {
-            start = ((Number) args.get(0)).intValue();
-            end = ((Number) args.get(1)).intValue();
-            step = 1;
-        } else {
-            start = ((Number) args.get(0)).intValue();
-            end = ((Number) args.get(1)).intValue();
-            step = ((Number) args.get(2)).intValue();
-        }
+    @Override
+    public Object call3(Interpreter interpreter, Object start, Object end, Object step) {
+        return range(((Number) start).intValue(), ((Number) end).intValue(), ((Number) step).intValue());
+    }
 
+    private static ArrayList<Integer> range(int start, int end, int step) {
         if (step == 0) {
             throw new RuntimeException("Step cannot be zero");
         }
@@ -1,30 +1,38 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
 import java.util.List;
 
-public class SliceFunction implements Callable {
+public class SliceFunction extends BuiltinFunction {
+
+    public SliceFunction() {
+        super(2, 3);
+    }
 
     @Override
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() < 2 || args.size() > 3) {
-            throw new RuntimeException(MessageFormat.format("Expected 2 or 3 arguments, got {0}", args.size()));
-        }
+    public Object call2(Interpreter interpreter, Object collection, Object start) {
+        return slice(collection, start, null);
+    }
 
-        if (!(args.get(0) instanceof List list)) {
+    @Override
+    public Object call3(Interpreter interpreter, Object collection, Object start, Object end) {
+        return slice(collection, start, end);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object slice(Object collection, Object start, Object end) {
+        if (!(collection instanceof List list)) {
             throw new RuntimeException("First argument must be an array");
         }
-        if (!(args.get(1) instanceof Number start)) {
+        if (!(start instanceof Number startNumber)) {
             throw new RuntimeException("Second argument must be a number");
         }
 
-        int startIdx = start.intValue();
-        int endIdx = args.size() == 3 ?
-                ((Number) args.get(2)).intValue() :
+        int startIdx = startNumber.intValue();
+        int endIdx = end != null ?
+                ((Number) end).intValue() :
                 list.size();
 
         return list.subList(Math.max(0, startIdx), Math.min(list.size(), endIdx));
@@ -1,23 +1,21 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-public class SortFunction implements Callable {
+public class SortFunction extends BuiltinFunction {
+
+    public SortFunction() {
+        super(1);
+    }
 
     @Override
     @SuppressWarnings({"unchecked", "rawtypes"})
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 1) {
-            throw new RuntimeException(MessageFormat.format("Expected 1 argument, got {0}", args.size()));
-        }
-        var arg = args.get(0);
-
+    public Object call1(Interpreter interpreter, Object arg) {
         if (!(arg instanceof List<?> list)) {
             throw new RuntimeException("Argument must be an array");
         }
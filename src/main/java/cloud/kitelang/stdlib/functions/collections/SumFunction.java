@@ -1,20 +1,19 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
 import java.util.List;
 
-public class SumFunction implements Callable {
+public class SumFunction extends BuiltinFunction {
 
-    @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 1) {
-            throw new RuntimeException(MessageFormat.format("Expected 1 argument, got {0}", args.size()));
-        }
+    public SumFunction() {
+        super(1);
+    }
 
-        if (!(args.get(0) instanceof List<?> list)) {
+    @Override
+    public Object call1(Interpreter interpreter, Object arg) {
+        if (!(arg instanceof List<?> list)) {
             throw new RuntimeException("Argument must be an array");
         }
 
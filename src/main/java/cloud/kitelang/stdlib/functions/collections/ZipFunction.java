@@ -1,24 +1,23 @@
 package cloud.kitelang.stdlib.functions.collections;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
 
-public class ZipFunction implements Callable {
+public class ZipFunction extends BuiltinFunction {
 
-    @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 2) {
-            throw new RuntimeException(MessageFormat.format("Expected 2 arguments, got {0}", args.size()));
-        }
+    public ZipFunction() {
+        super(2);
+    }
 
-        if (!(args.get(0) instanceof List<?> list1)) {
+    @Override
+    public Object call2(Interpreter interpreter, Object first, Object second) {
+        if (!(first instanceof List<?> list1)) {
             throw new RuntimeException("First argument must be an array");
         }
-        if (!(args.get(1) instanceof List<?> list2)) {
+        if (!(second instanceof List<?> list2)) {
             throw new RuntimeException("Second argument must be an array");
         }
 
@@ -2,9 +2,9 @@ package cloud.kitelang.stdlib.functions.objects;
 
 import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.execution.values.PersistentMap;
 
 import java.text.MessageFormat;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -17,13 +17,13 @@ public class MergeFunction implements Callable {
             throw new RuntimeException(MessageFormat.format("Expected at least 2 arguments, got {0}", args.size()));
         }
 
-        var result = new HashMap();
-
+        PersistentMap result = null;
         for (Object arg : args) {
             if (!(arg instanceof Map map)) {
                 throw new RuntimeException("All arguments must be objects");
             }
-            result.putAll(map);
+            // the first object is shared, only the keys of the others are added
+            result = result == null ? PersistentMap.of(map) : result.withAll(map);
         }
 
         return result;
@@ -1,23 +1,19 @@
 package cloud.kitelang.stdlib.functions.string;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
-import java.util.List;
+public class IndexOfFunction extends BuiltinFunction {
 
-public class IndexOfFunction implements Callable {
+    public IndexOfFunction() {
+        super(2);
+    }
 
     @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 2) {
-            throw new RuntimeException(MessageFormat.format("Expected 2 arguments, got {0}", args.size()));
-        }
-        var str = args.get(0);
+    public Object call2(Interpreter interpreter, Object str, Object search) {
         if (!(str instanceof String s)) {
             throw new RuntimeException("First argument must be a string");
         }
-        var search = args.get(1);
         if (!(search instanceof String searchStr)) {
             throw new RuntimeException("Second argument must be a string");
         }
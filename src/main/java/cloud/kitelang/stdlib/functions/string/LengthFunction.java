@@ -1,22 +1,20 @@
 package cloud.kitelang.stdlib.functions.string;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
 import cloud.kitelang.execution.values.DeferredFunctionCall;
 import cloud.kitelang.execution.values.DeferredValue;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
 import java.util.List;
 
-public class LengthFunction implements Callable {
+public class LengthFunction extends BuiltinFunction {
 
-    @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 1) {
-            throw new RuntimeException(MessageFormat.format("Expected 1 argument, got {0}", args.size()));
-        }
-        var arg = args.get(0);
+    public LengthFunction() {
+        super(1);
+    }
 
+    @Override
+    public Object call1(Interpreter interpreter, Object arg) {
         // Propagate deferred values - actual computation happens at apply time
         if (arg instanceof DeferredValue deferred) {
             return new DeferredFunctionCall("length", deferred);
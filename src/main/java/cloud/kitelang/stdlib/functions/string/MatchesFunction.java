@@ -1,29 +1,28 @@
 package cloud.kitelang.stdlib.functions.string;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
+import cloud.kitelang.utils.RegexCache;
 
-import java.text.MessageFormat;
-import java.util.List;
 import java.util.regex.PatternSyntaxException;
 
-public class MatchesFunction implements Callable {
+public class MatchesFunction extends BuiltinFunction {
 
-    @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 2) {
-            throw new RuntimeException(MessageFormat.format("Expected 2 arguments, got {0}", args.size()));
-        }
+    public MatchesFunction() {
+        super(2);
+    }
 
-        if (!(args.get(0) instanceof String str)) {
+    @Override
+    public Object call2(Interpreter interpreter, Object first, Object second) {
+        if (!(first instanceof String str)) {
             throw new RuntimeException("First argument must be a string");
         }
-        if (!(args.get(1) instanceof String pattern)) {
+        if (!(second instanceof String pattern)) {
             throw new RuntimeException("Second argument must be a string (regex pattern)");
         }
 
         try {
-            return str.matches(pattern);
+            return RegexCache.compile(pattern).matcher(str).matches();
         } catch (PatternSyntaxException e) {
             throw new RuntimeException("Invalid regex pattern: " + e.getMessage());
         }
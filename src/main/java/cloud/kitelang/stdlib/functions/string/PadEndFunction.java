@@ -1,32 +1,37 @@
 package cloud.kitelang.stdlib.functions.string;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
-import java.util.List;
+public class PadEndFunction extends BuiltinFunction {
 
-public class PadEndFunction implements Callable {
+    public PadEndFunction() {
+        super(2, 3);
+    }
 
     @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() < 2 || args.size() > 3) {
-            throw new RuntimeException(MessageFormat.format("Expected 2 or 3 arguments, got {0}", args.size()));
-        }
+    public Object call2(Interpreter interpreter, Object str, Object length) {
+        return pad(str, length, " ");
+    }
+
+    @Override
+    public Object call3(Interpreter interpreter, Object str, Object length, Object padChar) {
+        return pad(str, length, padChar.toString());
+    }
 
-        if (!(args.get(0) instanceof String str)) {
+    private static String pad(Object value, Object length, String padChar) {
+        if (!(value instanceof String str)) {
             throw new RuntimeException("First argument must be a string");
         }
-        if (!(args.get(1) instanceof Number length)) {
+        if (!(length instanceof Number number)) {
             throw new RuntimeException("Second argument must be a number");
         }
 
-        String padChar = args.size() == 3 ? args.get(2).toString() : " ";
         if (padChar.isEmpty()) {
             padChar = " ";
         }
 
-        int targetLength = length.intValue();
+        int targetLength = number.intValue();
         if (str.length() >= targetLength) {
             return str;
         }
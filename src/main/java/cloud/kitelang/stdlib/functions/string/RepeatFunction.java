@@ -1,23 +1,20 @@
 package cloud.kitelang.stdlib.functions.string;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
-import java.util.List;
+public class RepeatFunction extends BuiltinFunction {
 
-public class RepeatFunction implements Callable {
+    public RepeatFunction() {
+        super(2);
+    }
 
     @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 2) {
-            throw new RuntimeException(MessageFormat.format("Expected 2 arguments, got {0}", args.size()));
-        }
-
-        if (!(args.get(0) instanceof String str)) {
+    public Object call2(Interpreter interpreter, Object first, Object second) {
+        if (!(first instanceof String str)) {
             throw new RuntimeException("First argument must be a string");
         }
-        if (!(args.get(1) instanceof Number count)) {
+        if (!(second instanceof Number count)) {
             throw new RuntimeException("Second argument must be a number");
         }
 
@@ -1,27 +1,26 @@
 package cloud.kitelang.stdlib.functions.string;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
+import cloud.kitelang.utils.RegexCache;
 
-import java.text.MessageFormat;
 import java.util.Arrays;
-import java.util.List;
 
-public class SplitFunction implements Callable {
+public class SplitFunction extends BuiltinFunction {
+
+    public SplitFunction() {
+        super(2);
+    }
 
     @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 2) {
-            throw new RuntimeException(MessageFormat.format("Expected 2 arguments, got {0}", args.size()));
-        }
-        var str = args.get(0);
+    public Object call2(Interpreter interpreter, Object str, Object delimiter) {
         if (!(str instanceof String s)) {
             throw new RuntimeException("First argument must be a string");
         }
-        var delimiter = args.get(1);
         if (!(delimiter instanceof String d)) {
             throw new RuntimeException("Second argument must be a string");
         }
-        return Arrays.asList(s.split(d));
+        // same result as String.split, which compiles the delimiter on every call unless it is a single literal character
+        return Arrays.asList(RegexCache.compile(d).split(s));
     }
 }
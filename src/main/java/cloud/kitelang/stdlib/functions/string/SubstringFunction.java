@@ -1,35 +1,40 @@
 package cloud.kitelang.stdlib.functions.string;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
-import java.util.List;
+public class SubstringFunction extends BuiltinFunction {
 
-public class SubstringFunction implements Callable {
+    public SubstringFunction() {
+        super(2, 3);
+    }
 
     @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() < 2 || args.size() > 3) {
-            throw new RuntimeException(MessageFormat.format("Expected 2 or 3 arguments, got {0}", args.size()));
+    public Object call2(Interpreter interpreter, Object str, Object startIdx) {
+        return string(str).substring(start(startIdx));
+    }
+
+    @Override
+    public Object call3(Interpreter interpreter, Object str, Object startIdx, Object endIdx) {
+        var s = string(str);
+        var start = start(startIdx);
+        if (!(endIdx instanceof Number end)) {
+            throw new RuntimeException("Third argument must be a number");
         }
-        var str = args.get(0);
+        return s.substring(start, end.intValue());
+    }
+
+    private static String string(Object str) {
         if (!(str instanceof String s)) {
             throw new RuntimeException("First argument must be a string");
         }
-        var startIdx = args.get(1);
+        return s;
+    }
+
+    private static int start(Object startIdx) {
         if (!(startIdx instanceof Number start)) {
             throw new RuntimeException("Second argument must be a number");
         }
-
-        if (args.size() == 2) {
-            return s.substring(start.intValue());
-        } else {
-            var endIdx = args.get(2);
-            if (!(endIdx instanceof Number end)) {
-                throw new RuntimeException("Third argument must be a number");
-            }
-            return s.substring(start.intValue(), end.intValue());
-        }
+        return start.intValue();
     }
 }
@@ -1,19 +1,16 @@
 package cloud.kitelang.stdlib.functions.string;
 
-import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.stdlib.functions.BuiltinFunction;
 
-import java.text.MessageFormat;
-import java.util.List;
+public class ToLowerCaseFunction extends BuiltinFunction {
 
-public class ToLowerCaseFunction implements Callable {
+    public ToLowerCaseFunction() {
+        super(1);
+    }
 
     @Override
-    public Object call(Interpreter interpreter, List<Object> args) {
-        if (args.size() != 1) {
-            throw new RuntimeException(MessageFormat.format("Expected 1 argument, got {0}", args.size()));
-        }
-        var arg = args.get(0);
+    public Object call1(Interpreter interpreter, Object arg) {
         if (!(arg instanceof String str)) {
             throw new RuntimeException("Argument must be a string");
         }
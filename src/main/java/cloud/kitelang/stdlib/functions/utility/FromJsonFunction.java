@@ -2,6 +2,7 @@ package cloud.kitelang.stdlib.functions.utility;
 
 import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.execution.json.JsonReader;
 
 import java.text.MessageFormat;
 import java.util.List;
@@ -18,7 +19,10 @@ public class FromJsonFunction implements Callable {
             throw new RuntimeException("Argument must be a JSON string");
         }
 
-        // TODO: Implement JSON parsing or integrate with Jackson when available
-        throw new RuntimeException("fromJson() not yet implemented - JSON library integration pending");
+        try {
+            return JsonReader.parse(json);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid JSON: " + e.getMessage());
+        }
     }
 }
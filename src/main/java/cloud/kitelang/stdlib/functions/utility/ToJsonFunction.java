@@ -2,6 +2,7 @@ package cloud.kitelang.stdlib.functions.utility;
 
 import cloud.kitelang.execution.Callable;
 import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.execution.json.JsonWriter;
 
 import java.text.MessageFormat;
 import java.util.List;
@@ -14,7 +15,6 @@ public class ToJsonFunction implements Callable {
             throw new RuntimeException(MessageFormat.format("Expected 1 argument, got {0}", args.size()));
         }
 
-        // TODO: Implement JSON stringification or integrate with Jackson when available
-        throw new RuntimeException("toJson() not yet implemented - JSON library integration pending");
+        return JsonWriter.toJson(args.get(0));
     }
 }
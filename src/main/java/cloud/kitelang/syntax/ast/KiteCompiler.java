@@ -1,14 +1,25 @@
 package cloud.kitelang.syntax.ast;
 
+import cloud.kitelang.metrics.Metrics;
+import cloud.kitelang.metrics.Phase;
 import cloud.kitelang.syntax.ast.generated.KiteLexer;
 import cloud.kitelang.syntax.ast.generated.KiteParser;
 import org.antlr.v4.runtime.*;
 
 import java.util.List;
 
+/**
+ * Parses Kite source into a {@link Program}.
+ * Thread-safe: every call creates its own lexer, parser and AST builder. The DFA cache ANTLR shares
+ * between parser instances is synchronized by the runtime.
+ */
 public class KiteCompiler {
 
     public Program parse(String source) {
+        return Metrics.time(Phase.PARSE, () -> parseProgram(source));
+    }
+
+    private Program parseProgram(String source) {
         var input = CharStreams.fromString(source);
         var lexer = new KiteLexer(input);
         var tokens = new CommonTokenStream(lexer);
@@ -3,8 +3,7 @@ package cloud.kitelang.syntax.ast.expressions;
 import cloud.kitelang.syntax.literals.BooleanLiteral;
 import cloud.kitelang.syntax.literals.Identifier;
 import cloud.kitelang.syntax.literals.NumberLiteral;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import lombok.*;
 
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -12,6 +11,22 @@ public final class BinaryExpression extends Expression {
     private Expression left;
     private Expression right;
     private String operator;
+    /**
+     * Operator resolved when the node is built or the operator text changes
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient BinaryOperator binaryOperator;
+    /**
+     * Operand node types only depend on the AST, so the interpreter validates them once per node
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient volatile boolean operandsValidated;
 
     public BinaryExpression() {
     }
@@ -20,7 +35,43 @@ public final class BinaryExpression extends Expression {
         this();
         this.left = left;
         this.right = right;
+        setOperator(operator);
+    }
+
+    public void setOperator(String operator) {
         this.operator = operator;
+        this.binaryOperator = BinaryOperator.find(operator);
+        this.operandsValidated = false;
+    }
+
+    public void setLeft(Expression left) {
+        this.left = left;
+        this.operandsValidated = false;
+    }
+
+    public void setRight(Expression right) {
+        this.right = right;
+        this.operandsValidated = false;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the operator is not a binary operator
+     */
+    public BinaryOperator getBinaryOperator() {
+        var resolved = binaryOperator;
+        if (resolved == null) {
+            resolved = BinaryOperator.of(operator);
+            binaryOperator = resolved;
+        }
+        return resolved;
+    }
+
+    public boolean isOperandsValidated() {
+        return operandsValidated;
+    }
+
+    public void markOperandsValidated() {
+        this.operandsValidated = true;
     }
 
     public static Expression binary(Expression left, Expression right, String operator) {
@@ -0,0 +1,62 @@
+package cloud.kitelang.syntax.ast.expressions;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Operators of a {@link BinaryExpression}, resolved once from the operator text so evaluation
+ * dispatches on the enum instead of comparing strings.
+ */
+public enum BinaryOperator {
+    PLUS("+"), MINUS("-"), MULTIPLY("*"), DIVIDE("/"), MODULO("%"),
+    EQUAL("=="), NOT_EQUAL("!="), LESS("<"), LESS_EQUAL("<="), GREATER(">"), GREATER_EQUAL(">=");
+
+    private final String symbol;
+
+    BinaryOperator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String symbol() {
+        return symbol;
+    }
+
+    /**
+     * @return the operator or null if the text is not a binary operator
+     */
+    @Nullable
+    public static BinaryOperator find(@Nullable String symbol) {
+        if (symbol == null) {
+            return null;
+        }
+        return switch (symbol) {
+            case "+" -> PLUS;
+            case "-" -> MINUS;
+            case "*" -> MULTIPLY;
+            case "/" -> DIVIDE;
+            case "%" -> MODULO;
+            case "==" -> EQUAL;
+            case "!=" -> NOT_EQUAL;
+            case "<" -> LESS;
+            case "<=" -> LESS_EQUAL;
+            case ">" -> GREATER;
+            case ">=" -> GREATER_EQUAL;
+            default -> null;
+        };
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text is not a binary operator
+     */
+    public static BinaryOperator of(String symbol) {
+        var operator = find(symbol);
+        if (operator == null) {
+            throw new IllegalArgumentException("Operator could not be evaluated: " + symbol);
+        }
+        return operator;
+    }
+
+    @Override
+    public String toString() {
+        return symbol;
+    }
+}
@@ -1,4 +1,10 @@
 package cloud.kitelang.syntax.ast.expressions;
 
-public interface Callstack {
+import java.io.Serializable;
+
+/**
+ * Marker for AST nodes that can be pushed on the interpreter call stack.
+ * AST nodes are {@link Serializable} so parsed programs can be persisted by the parse cache.
+ */
+public interface Callstack extends Serializable {
 }
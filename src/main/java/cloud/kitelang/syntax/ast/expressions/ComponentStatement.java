@@ -1,21 +1,17 @@
 package cloud.kitelang.syntax.ast.expressions;
 
-import cloud.kitelang.execution.decorators.ProviderSupport;
 import cloud.kitelang.execution.values.ComponentValue;
 import cloud.kitelang.semantics.types.ComponentType;
 import cloud.kitelang.semantics.types.DecoratorType;
 import cloud.kitelang.semantics.types.Type;
 import cloud.kitelang.syntax.annotations.Annotatable;
-import cloud.kitelang.syntax.annotations.CountAnnotatable;
 import cloud.kitelang.syntax.ast.statements.BlockExpression;
 import cloud.kitelang.syntax.ast.statements.Statement;
 import cloud.kitelang.syntax.literals.Identifier;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
-import lombok.Singular;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -29,7 +25,7 @@ import static cloud.kitelang.syntax.literals.TypeIdentifier.type;
  */
 @Data
 @EqualsAndHashCode(callSuper = true)
-public final class ComponentStatement extends Statement implements Annotatable, CountAnnotatable, ProviderSupport {
+public final class ComponentStatement extends Statement implements Annotatable {
     private Identifier type;
     /**
      * When missing it will be a component type. When present it will be an initialization
@@ -39,10 +35,6 @@ public final class ComponentStatement extends Statement implements Annotatable,
     private ComponentValue value;
     private BlockExpression block;
     private Set<AnnotationDeclaration> annotations;
-    @Singular
-    private Set<Expression> dependencies;
-    private Set<String> providers;
-    private boolean counted;
 
     private ComponentStatement() {
         this.annotations = Set.of();
@@ -126,24 +118,6 @@ public final class ComponentStatement extends Statement implements Annotatable,
         return hasType() && !hasName();
     }
 
-    @Override
-    public Set<String> getProviders() {
-        if (providers == null) {
-            this.providers = new HashSet<>();
-        }
-        return providers;
-    }
-
-    @Override
-    public void setProviders(Set<String> providers) {
-        this.providers = providers;
-    }
-
-    @Override
-    public void addProvider(String provider) {
-        getProviders().add(provider);
-    }
-
     public boolean hasName() {
         return getName() != null;
     }
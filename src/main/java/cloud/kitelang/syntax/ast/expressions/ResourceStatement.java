@@ -1,16 +1,9 @@
 package cloud.kitelang.syntax.ast.expressions;
 
-import cloud.kitelang.execution.Interpreter;
-import cloud.kitelang.execution.decorators.ProviderSupport;
-import cloud.kitelang.execution.decorators.Tags;
-import cloud.kitelang.execution.decorators.TagsSupport;
-import cloud.kitelang.execution.values.DeferredObserverValue;
-import cloud.kitelang.execution.values.ResourceValue;
 import cloud.kitelang.semantics.types.DecoratorType;
 import cloud.kitelang.semantics.types.ResourceType;
 import cloud.kitelang.semantics.types.Type;
 import cloud.kitelang.syntax.annotations.Annotatable;
-import cloud.kitelang.syntax.annotations.CountAnnotatable;
 import cloud.kitelang.syntax.ast.statements.BlockExpression;
 import cloud.kitelang.syntax.ast.statements.Statement;
 import cloud.kitelang.syntax.literals.Identifier;
@@ -22,6 +15,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+/**
+ * A resource declaration. The node only holds what was written in the source; everything the interpreter works out
+ * for it while running (instance, loop index, dependencies, decorator results) lives in
+ * {@link cloud.kitelang.execution.StatementState}, so one parsed program can be run by several interpreters.
+ */
 @Data
 @EqualsAndHashCode(callSuper = true)
 @AllArgsConstructor(staticName = "resource")
@@ -29,30 +27,15 @@ import java.util.Set;
 @NoArgsConstructor
 public final class ResourceStatement
         extends Statement
-        implements DeferredObserverValue, Annotatable, CountAnnotatable, ProviderSupport, TagsSupport {
+        implements Annotatable {
     private Identifier type;
     @Nullable
     private Expression name;
     private BlockExpression block;
 
-    private boolean isEvaluated;
-    private boolean isEvaluating;
     private String existing;
-    private ResourceValue value;
-    private Object index;
     @Singular
     private Set<AnnotationDeclaration> annotations = new HashSet<>();
-    private boolean counted;
-    /**
-     * True if this resource depends on cloud properties that will be resolved during apply.
-     * The resource will be created via CloudObservable after dependencies are applied.
-     */
-    private boolean cloudPending;
-    @Singular
-    private Set<Expression> dependencies; // we use expression because we can have a deferred resource
-    private Set<String> providers;
-    private Tags tags;
-    private int unresolvedDependencyCount = 0;
 
     public static ResourceStatement resource(ResourceStatement expression) {
         return expression.toBuilder().build();
@@ -112,41 +95,6 @@ public final class ResourceStatement
         return block.getExpression();
     }
 
-    @Override
-    public Object notify(Interpreter interpreter) {
-        return interpreter.visit(this);
-    }
-
-    /**
-     * Called when a dependency resource has been resolved.
-     * Uses a counter-based optimization to defer re-evaluation until ALL dependencies are satisfied.
-     *
-     * <p><strong>Optimization:</strong> Instead of re-evaluating on each dependency resolution,
-     * this method only triggers re-evaluation when the last dependency is satisfied.
-     * For a resource with N dependencies, this reduces evaluations from N+1 to 2 (initial + final).
-     *
-     * <p>See docs/DEPENDENCY_RESOLUTION.md for performance comparison and architecture details.
-     *
-     * @param interpreter          The interpreter instance
-     * @param resolvedResourceName The name of the dependency that was resolved
-     * @return The re-evaluated resource if all dependencies satisfied, null otherwise
-     */
-    @Override
-    public Object notifyDependencyResolved(Interpreter interpreter, String resolvedResourceName) {
-        // Decrement the unresolved dependency counter
-        decrementUnresolvedDependencyCount();
-
-        // Only perform full re-evaluation when ALL dependencies are resolved
-        // This avoids multiple expensive re-evaluations
-        if (hasUnresolvedDependencies()) {
-            // Still waiting for other dependencies - skip re-evaluation
-            return null;
-        }
-
-        // All dependencies now resolved - do full re-evaluation
-        return interpreter.visit(this);
-    }
-
     @Override
     public DecoratorType.Target getTarget() {
         return DecoratorType.Target.RESOURCE;
@@ -161,50 +109,4 @@ public final class ResourceStatement
     public boolean hasAnnotations() {
         return annotations != null;
     }
-
-    public boolean hasIndex() {
-        return index != null;
-    }
-
-    public boolean hasDependencies() {
-        return dependencies != null && !dependencies.isEmpty();
-    }
-
-    public void addDependency(Expression resource) {
-        dependencies().add(resource);
-    }
-
-    public Set<Expression> dependencies() {
-        if (dependencies == null) {
-            this.dependencies = new HashSet<>();
-        }
-        return dependencies;
-    }
-
-    @Override
-    public Set<String> getProviders() {
-        if (providers == null) {
-            this.providers = new HashSet<>();
-        }
-        return providers;
-    }
-
-    @Override
-    public void addProvider(String provider) {
-        getProviders().add(provider);
-    }
-
-    public void incrementUnresolvedDependencyCount() {
-        unresolvedDependencyCount++;
-    }
-
-    public void decrementUnresolvedDependencyCount() {
-        if (unresolvedDependencyCount > 0) {
-            unresolvedDependencyCount--;
-        }
-    }
-
-    public boolean hasUnresolvedDependencies() {
-        return unresolvedDependencyCount > 0;
-    }
 }
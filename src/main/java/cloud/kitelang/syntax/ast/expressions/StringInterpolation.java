@@ -4,6 +4,7 @@ import cloud.kitelang.syntax.literals.SymbolIdentifier;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -79,7 +80,7 @@ public final class StringInterpolation extends Expression {
     /**
      * A part of an interpolated string - either literal text or an expression.
      */
-    public sealed interface Part permits Text, Expr {
+    public sealed interface Part extends Serializable permits Text, Expr {
     }
 
     /**
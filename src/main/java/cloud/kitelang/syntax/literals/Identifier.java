@@ -9,9 +9,16 @@ import java.util.List;
 
 public abstract sealed class Identifier extends Expression
         permits ParameterIdentifier, PathIdentifier, PluginIdentifier, SymbolIdentifier, TypeIdentifier {
+    /*
+     * hops and slot are written by the ScopeResolver and only depend on the program text, so resolving a shared
+     * program again writes the same values and interpreters running it concurrently never observe different ones.
+     */
     @Setter
     @Getter
     private Integer hops; // used to figure out the scope without creating extra classes
+    @Setter
+    @Getter
+    private Integer slot; // index of a function parameter in its activation frame, null for other variables
 
     public Identifier() {
     }
@@ -1,9 +1,14 @@
 package cloud.kitelang.syntax.literals;
 
-import lombok.Data;
-import lombok.EqualsAndHashCode;
+import cloud.kitelang.syntax.ast.KiteCompiler;
+import cloud.kitelang.syntax.ast.ValidationException;
+import cloud.kitelang.syntax.ast.expressions.Expression;
+import cloud.kitelang.syntax.ast.statements.ExpressionStatement;
+import lombok.*;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 
@@ -21,12 +26,27 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
  *   <li>{@code $var} - Bare dollar syntax: Handled at runtime by this class for backward compatibility.
  *       Only simple identifiers are supported (no member access or method calls).</li>
  * </ul>
+ * Interpolation vars are compiled into {@link Expression} nodes the first time the literal is evaluated
+ * and the compiled nodes are reused by every later evaluation (see {@link #getInterpolationExpressions()}).
+ * Compiled vars are not scope resolved: a simple name is looked up from the current scope, or from the scope
+ * enclosing the resource when the literal is a resource property.
  */
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class StringLiteral extends Literal {
+    private static final KiteCompiler COMPILER = new KiteCompiler();
+
     private String value;
     private List<String> interpolationVars;
+    /**
+     * Compiled form of {@link #interpolationVars}, index aligned. Simple names compile to a {@link SymbolIdentifier}.
+     * Lazily built and never mutated after publication so a cached AST can be shared between interpreters.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient volatile List<Expression> interpolationExpressions;
 
     public StringLiteral() {
     }
@@ -78,6 +98,43 @@ public class StringLiteral extends Literal {
         if (contains(this.value, '$')) {
             this.interpolationVars = StringLiteralUtils.extractNames(this.value);
         }
+        this.interpolationExpressions = null;
+    }
+
+    /**
+     * Returns the interpolation vars compiled into expressions. Compilation runs once per literal,
+     * so evaluating the literal inside @count or for loops only walks the cached nodes.
+     */
+    public List<Expression> getInterpolationExpressions() {
+        var compiled = interpolationExpressions;
+        if (compiled == null) {
+            compiled = compileInterpolations();
+            interpolationExpressions = compiled;
+        }
+        return compiled;
+    }
+
+    private List<Expression> compileInterpolations() {
+        if (interpolationVars == null || interpolationVars.isEmpty()) {
+            return List.of();
+        }
+        var compiled = new ArrayList<Expression>(interpolationVars.size());
+        for (String interpolationVar : interpolationVars) {
+            compiled.add(compileInterpolation(interpolationVar));
+        }
+        return Collections.unmodifiableList(compiled);
+    }
+
+    private static Expression compileInterpolation(String interpolationVar) {
+        if (StringLiteralUtils.isIdentifier(interpolationVar)) { // normal variables ${variable}
+            return SymbolIdentifier.id(interpolationVar);
+        }
+        // complex interpolation ${vm.resourceName.property}
+        var body = COMPILER.parse(interpolationVar).getBody();
+        if (body.size() == 1 && body.getFirst() instanceof ExpressionStatement statement) {
+            return statement.getStatement();
+        }
+        throw new ValidationException("Invalid interpolation expression: " + interpolationVar);
     }
 
     public String getInterpolatedString(List<String> values) {
@@ -18,6 +18,27 @@ public class StringLiteralUtils {
                 .orElse(value);
     }
 
+    /**
+     * Checks whether an interpolation var is a plain identifier ({@code $name} or {@code ${name}})
+     * as opposed to a complex expression like {@code ${vm.name}} or {@code ${items[0]}}.
+     */
+    public static boolean isIdentifier(String name) {
+        if (name == null || name.isEmpty()) {
+            return false;
+        }
+        char first = name.charAt(0);
+        if (!(Character.isLetter(first) || first == '_')) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static List<String> extractNames(String input) {
         List<String> vars = new ArrayList<>();
         Matcher m = INTERPOLATION.matcher(input);
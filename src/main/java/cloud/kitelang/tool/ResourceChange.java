@@ -0,0 +1,18 @@
+package cloud.kitelang.tool;
+
+import cloud.kitelang.execution.values.ResourceValue;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A resource that differs between two evaluations of a {@link WatchSession}.
+ *
+ * @param before the resource of the previous evaluation, null when it was added
+ * @param after  the resource of the latest evaluation, null when it was removed
+ */
+public record ResourceChange(String name, Kind kind, @Nullable ResourceValue before, @Nullable ResourceValue after) {
+    public enum Kind {
+        ADDED,
+        CHANGED,
+        REMOVED
+    }
+}
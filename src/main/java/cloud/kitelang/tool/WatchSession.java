@@ -0,0 +1,386 @@
+package cloud.kitelang.tool;
+
+import cloud.kitelang.analysis.ImportResolver;
+import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.execution.values.ResourceValue;
+import cloud.kitelang.semantics.TypeChecker;
+import cloud.kitelang.semantics.scope.ScopeResolver;
+import cloud.kitelang.syntax.ast.KiteCompiler;
+import cloud.kitelang.syntax.ast.Program;
+import cloud.kitelang.syntax.ast.statements.ImportStatement;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Keeps a program evaluated while its files are edited, for the dev loop and editor integrations.
+ * <pre>{@code
+ * try (var session = new WatchSession(Path.of("main.kite"))) {
+ *     session.evaluate();
+ *     session.watch(changes -> changes.forEach(System.out::println));
+ *     ...
+ * }
+ * }</pre>
+ * The session keeps the module graph built from the {@link ImportStatement}s of the last evaluation and the content
+ * key of every module. A change to a file outside the graph, or a write that leaves a module's content as it was,
+ * costs nothing. A module whose content changed is affected together with its {@link #dependents(Path)}: only the
+ * changed modules are parsed again and have their imports collected again, the type checker's import summaries
+ * only check the affected modules again, and listeners only get the resources that differ from the previous
+ * evaluation. The entry program imports every module, so it is always affected and the interpreter runs it again.
+ *
+ * <p>Imports are resolved against the directory of the entry file, given to the resolvers of this session only.
+ */
+@Slf4j
+public final class WatchSession implements Closeable {
+    /**
+     * Editors save a file in several writes, events arriving within this window are handled together
+     */
+    private static final long DEBOUNCE_MILLIS = Long.getLong("kite.watch.debounceMillis", 50);
+
+    private final Path entry;
+    private final Path basePath;
+    private final KiteCompiler compiler = new KiteCompiler();
+    // module -> modules it imports, and the reverse
+    private final Map<Path, Set<Path>> imports = new HashMap<>();
+    private final Map<Path, Set<Path>> importedBy = new HashMap<>();
+    private final Map<Path, WatchKey> watchedDirectories = new HashMap<>();
+    // content key of every module file of the last evaluation
+    private final Map<Path, String> contentKeys = new HashMap<>();
+    // the entry program resolved last, the parse cache returns the same instance while the file is unchanged
+    private Program resolved;
+    @Getter
+    private Map<String, ResourceValue> resources = Map.of();
+    private Map<String, Snapshot> snapshots = Map.of();
+    /**
+     * Number of times the program was evaluated
+     */
+    @Getter
+    private int evaluations;
+    private WatchService watcher;
+    private Thread thread;
+
+    public WatchSession(Path entry) {
+        this.entry = entry.toAbsolutePath().normalize();
+        this.basePath = this.entry.getParent();
+    }
+
+    /**
+     * Parses, checks and evaluates the program.
+     *
+     * @return the resources that changed since the previous evaluation, all of them the first time
+     */
+    public synchronized List<ResourceChange> evaluate() {
+        imports.clear();
+        importedBy.clear();
+        contentKeys.clear();
+        return evaluate(Set.of(entry));
+    }
+
+    /**
+     * Evaluates the program again if any of the files is one of its modules and its content changed.
+     *
+     * @return the resources that changed, empty if none of the files belongs to the program or none changed
+     */
+    public synchronized List<ResourceChange> changed(Collection<Path> files) {
+        var resolver = resolver();
+        var changed = new LinkedHashSet<Path>();
+        for (Path file : files) {
+            var module = file.toAbsolutePath().normalize();
+            if (isModule(module) && !isCurrent(resolver, module)) {
+                changed.add(module);
+            }
+        }
+        if (changed.isEmpty()) {
+            return List.of();
+        }
+        var affected = new LinkedHashSet<>(changed);
+        for (Path module : changed) {
+            affected.addAll(dependents(module));
+        }
+        log.debug("Evaluating again for {}, affected modules: {}", changed, affected);
+        // files added to or removed from an imported directory change the imports of the modules importing it
+        var collect = new LinkedHashSet<>(changed);
+        for (Path module : changed) {
+            if (!imports.containsKey(module)) {
+                collect.addAll(importedBy.getOrDefault(module.getParent(), Set.of()));
+            }
+        }
+        return evaluate(collect);
+    }
+
+    /**
+     * Collects the imports of the given modules again, then checks and evaluates the program
+     */
+    private List<ResourceChange> evaluate(Set<Path> changed) {
+        var resolver = resolver();
+        for (Path module : changed) {
+            forget(module);
+        }
+        for (Path module : changed) {
+            if (module.equals(entry)) {
+                collectImports(resolver, entry, resolver.readAndParse(entry.toString()));
+            } else if (Files.isRegularFile(module) && importedBy.containsKey(module)) {
+                collectImports(resolver, module, resolver.readAndParse(module.toString()));
+            }
+        }
+        removeUnreachable();
+
+        var program = resolver.readAndParse(entry.toString());
+        if (program != resolved) {
+            new ScopeResolver().resolve(program);
+            resolved = program;
+        }
+        var checker = new TypeChecker();
+        checker.setBasePath(basePath);
+        checker.visit(program);
+
+        var interpreter = new Interpreter(new Environment<>("global"));
+        interpreter.setSourceFilePath(entry.toString());
+        interpreter.setBasePath(basePath);
+        interpreter.visit(program);
+        evaluations++;
+        return update(interpreter.getInstances());
+    }
+
+    private ImportResolver resolver() {
+        return new ImportResolver(compiler, new LinkedHashSet<>(), basePath);
+    }
+
+    private boolean isCurrent(ImportResolver resolver, Path module) {
+        var key = contentKeys.get(module);
+        return key != null && Files.isRegularFile(module) && resolver.isCurrent(Map.of(module.toString(), key));
+    }
+
+    /**
+     * @return the modules of the last evaluation
+     */
+    public synchronized Set<Path> getModules() {
+        return Set.copyOf(imports.keySet());
+    }
+
+    /**
+     * @return the modules importing the module directly or through other modules
+     */
+    public synchronized Set<Path> dependents(Path module) {
+        var result = new LinkedHashSet<Path>();
+        var queue = new ArrayDeque<Path>();
+        queue.add(module.toAbsolutePath().normalize());
+        while (!queue.isEmpty()) {
+            for (Path importer : importedBy.getOrDefault(queue.poll(), Set.of())) {
+                if (result.add(importer)) {
+                    queue.add(importer);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Watches the directories of the modules on a daemon thread and reports every evaluation that changed resources.
+     * Evaluations failing while the files are being edited are reported to the listener, the previous resources stay.
+     */
+    public synchronized void watch(Listener listener) {
+        if (thread != null) {
+            throw new IllegalStateException("Already watching " + entry);
+        }
+        try {
+            watcher = entry.getFileSystem().newWatchService();
+            registerDirectories();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        thread = Thread.ofPlatform()
+                .daemon()
+                .name("kite-watch")
+                .start(() -> loop(listener));
+    }
+
+    @Override
+    public void close() throws IOException {
+        Thread running;
+        synchronized (this) {
+            running = thread;
+            if (watcher != null) {
+                watcher.close();
+            }
+        }
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+
+    private void loop(Listener listener) {
+        try {
+            while (true) {
+                var files = new HashSet<Path>();
+                var key = watcher.take();
+                do {
+                    var directory = (Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path file) {
+                            files.add(directory.resolve(file));
+                        }
+                    }
+                    key.reset();
+                    key = watcher.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                } while (key != null);
+
+                try {
+                    var changes = changed(files);
+                    if (!changes.isEmpty()) {
+                        listener.changed(changes);
+                    }
+                    synchronized (this) {
+                        registerDirectories();
+                    }
+                } catch (RuntimeException | IOException e) {
+                    log.debug("Evaluation failed after changes to {}", files, e);
+                    listener.failed(e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.debug("Stopped watching {}", entry);
+        }
+    }
+
+    private boolean isModule(Path file) {
+        // modules whose imports couldn't be collected again after a change are only left in importedBy
+        if (file.equals(entry) || imports.containsKey(file) || importedBy.containsKey(file)) {
+            return true;
+        }
+        // a new file in a directory imported as a whole
+        return imports.values().stream().anyMatch(it -> it.contains(file.getParent()));
+    }
+
+    private void registerDirectories() throws IOException {
+        var modules = new HashSet<>(imports.keySet());
+        imports.values().forEach(modules::addAll);
+        for (Path module : modules) {
+            var directory = Files.isDirectory(module) ? module : module.getParent();
+            if (!watchedDirectories.containsKey(directory)) {
+                watchedDirectories.put(directory, directory.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE));
+            }
+        }
+    }
+
+    private void collectImports(ImportResolver resolver, Path module, Program program) {
+        var modules = new LinkedHashSet<Path>();
+        imports.put(module, modules);
+        var key = ImportResolver.contentKey(module.toString());
+        if (key != null) {
+            contentKeys.put(module, key);
+        }
+        for (var statement : program.getBody()) {
+            if (!(statement instanceof ImportStatement importStatement)) {
+                continue;
+            }
+            var path = basePath.resolve(importStatement.getFilePath()).normalize();
+            if (path.toString().endsWith(".kite")) {
+                modules.add(path);
+            } else if (Files.isDirectory(path)) {
+                modules.add(path); // new files in the directory are part of the program too
+                modules.addAll(kiteFiles(path));
+            } // provider imports have no files
+        }
+        for (Path imported : modules) {
+            importedBy.computeIfAbsent(imported, it -> new LinkedHashSet<>()).add(module);
+            if (!imports.containsKey(imported) && Files.isRegularFile(imported)) {
+                collectImports(resolver, imported, resolver.readAndParse(imported.toString()));
+            }
+        }
+    }
+
+    /**
+     * Drops the imports of a module before they are collected again, the modules importing it keep their edge
+     */
+    private void forget(Path module) {
+        var modules = imports.remove(module);
+        if (modules != null) {
+            for (Path imported : modules) {
+                var importers = importedBy.get(imported);
+                if (importers != null) {
+                    importers.remove(module);
+                }
+            }
+        }
+        contentKeys.remove(module);
+    }
+
+    /**
+     * Removes the modules no longer imported, directly or through other modules, by the entry
+     */
+    private void removeUnreachable() {
+        var reachable = new HashSet<Path>();
+        var queue = new ArrayDeque<Path>();
+        queue.add(entry);
+        while (!queue.isEmpty()) {
+            var module = queue.poll();
+            if (reachable.add(module)) {
+                queue.addAll(imports.getOrDefault(module, Set.of()));
+            }
+        }
+        imports.keySet().retainAll(reachable);
+        importedBy.keySet().retainAll(reachable);
+        importedBy.values().forEach(importers -> importers.retainAll(reachable));
+        contentKeys.keySet().retainAll(reachable);
+    }
+
+    private static List<Path> kiteFiles(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(it -> it.toString().endsWith(".kite")).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<ResourceChange> update(Map<String, ResourceValue> latest) {
+        var latestSnapshots = new LinkedHashMap<String, Snapshot>();
+        var changes = new ArrayList<ResourceChange>();
+        latest.forEach((name, resource) -> {
+            var snapshot = Snapshot.of(resource);
+            latestSnapshots.put(name, snapshot);
+            var previous = snapshots.get(name);
+            if (previous == null) {
+                changes.add(new ResourceChange(name, ResourceChange.Kind.ADDED, null, resource));
+            } else if (!previous.equals(snapshot)) {
+                changes.add(new ResourceChange(name, ResourceChange.Kind.CHANGED, resources.get(name), resource));
+            }
+        });
+        resources.forEach((name, resource) -> {
+            if (!latest.containsKey(name)) {
+                changes.add(new ResourceChange(name, ResourceChange.Kind.REMOVED, resource, null));
+            }
+        });
+        resources = Collections.unmodifiableMap(new LinkedHashMap<>(latest));
+        snapshots = latestSnapshots;
+        return changes;
+    }
+
+    public interface Listener {
+        void changed(List<ResourceChange> changes);
+
+        default void failed(Exception error) {
+        }
+    }
+
+    /**
+     * What a resource looked like when it was evaluated, resources are updated later on by apply
+     */
+    private record Snapshot(Map<String, Object> properties, Set<String> dependencies, String existing) {
+        @SuppressWarnings("unchecked")
+        static Snapshot of(ResourceValue resource) {
+            return new Snapshot(new LinkedHashMap<>(resource.getProperties().getVariables()),
+                    new TreeSet<>(resource.getDependencies()), resource.getExisting());
+        }
+    }
+}
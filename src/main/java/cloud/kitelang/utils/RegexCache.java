@@ -0,0 +1,113 @@
+package cloud.kitelang.utils;
+
+import cloud.kitelang.metrics.KiteMetrics.CacheResult;
+import cloud.kitelang.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Process-wide cache of compiled regular expressions, shared by {@code @validate} and the string functions so a pattern
+ * used in a loop, or by every interpreter of an import, is compiled once.
+ *
+ * <p>Lookups are lock-free. The cache holds at most {@code kite.regex.cache.maxEntries} patterns (512 by default).
+ * Every hit counts as a use. Once the cache is full, the least used quarter of the patterns is dropped and the use
+ * counts of the rest are halved, so patterns that were popular a long time ago can age out as well.
+ */
+public final class RegexCache {
+    static final String MAX_ENTRIES_PROPERTY = "kite.regex.cache.maxEntries";
+    static final int DEFAULT_MAX_ENTRIES = 512;
+
+    private static final RegexCache SHARED = new RegexCache(Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+
+    private final Map<Key, Entry> patterns = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    RegexCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * @throws PatternSyntaxException if the expression is invalid, invalid expressions are not cached
+     */
+    public static Pattern compile(String regex) {
+        return SHARED.get(regex, 0);
+    }
+
+    /**
+     * @param flags {@link Pattern} flags
+     * @throws PatternSyntaxException if the expression is invalid, invalid expressions are not cached
+     */
+    public static Pattern compile(String regex, int flags) {
+        return SHARED.get(regex, flags);
+    }
+
+    public static void clear() {
+        SHARED.patterns.clear();
+    }
+
+    public static int size() {
+        return SHARED.patterns.size();
+    }
+
+    Pattern get(String regex, int flags) {
+        var key = new Key(regex, flags);
+        var entry = patterns.get(key);
+        if (entry != null) {
+            entry.uses.increment();
+            Metrics.listener().regexCache(CacheResult.MEMORY_HIT);
+            return entry.pattern;
+        }
+        Metrics.listener().regexCache(CacheResult.MISS);
+        var compiled = new Entry(Pattern.compile(regex, flags));
+        var existing = patterns.putIfAbsent(key, compiled);
+        if (existing != null) {
+            // another thread compiled it first
+            existing.uses.increment();
+            return existing.pattern;
+        }
+        if (patterns.size() > maxEntries) {
+            evict();
+        }
+        return compiled.pattern;
+    }
+
+    int entries() {
+        return patterns.size();
+    }
+
+    private synchronized void evict() {
+        if (patterns.size() <= maxEntries) {
+            return;
+        }
+        var entries = new ArrayList<>(patterns.entrySet());
+        entries.sort(Comparator.comparingLong(it -> it.getValue().uses.sum()));
+        int remove = entries.size() - maxEntries + maxEntries / 4;
+        for (int i = 0; i < entries.size(); i++) {
+            var it = entries.get(i);
+            if (i < remove) {
+                patterns.remove(it.getKey(), it.getValue());
+            } else {
+                var uses = it.getValue().uses;
+                uses.add(-(uses.sum() / 2));
+            }
+        }
+    }
+
+    private record Key(String regex, int flags) {
+    }
+
+    private static final class Entry {
+        private final Pattern pattern;
+        private final LongAdder uses = new LongAdder();
+
+        private Entry(Pattern pattern) {
+            this.pattern = pattern;
+        }
+    }
+}
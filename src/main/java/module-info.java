@@ -1,5 +1,6 @@
 module cloud.kitelang {
     requires java.net.http;
+    requires jdk.management;
     requires static lombok;
     requires org.apache.commons.lang3;
     requires org.jetbrains.annotations;
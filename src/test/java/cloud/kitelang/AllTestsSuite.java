@@ -6,6 +6,8 @@ import org.junit.platform.suite.api.Suite;
 @Suite
 @SelectPackages({
         "cloud.kitelang.syntax.parser",
+        "cloud.kitelang.analysis",
+        "cloud.kitelang.metrics",
         "cloud.kitelang.semantics",
         "cloud.kitelang.execution",
         "cloud.kitelang.integration",
@@ -0,0 +1,143 @@
+package cloud.kitelang.analysis;
+
+import cloud.kitelang.syntax.ast.KiteCompiler;
+import cloud.kitelang.syntax.ast.Program;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParseCacheTest {
+    @TempDir
+    Path dir;
+
+    private static class CountingCompiler extends KiteCompiler {
+        int parses;
+
+        @Override
+        public Program parse(String source) {
+            parses++;
+            return super.parse(source);
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content);
+    }
+
+    @Test
+    void unchangedFileIsParsedOnce() throws IOException {
+        var cache = new ParseCache(16, null);
+        var compiler = new CountingCompiler();
+        var file = write("main.kite", "var x = 1");
+
+        var first = cache.parseFile(file, compiler);
+        var second = cache.parseFile(file, compiler);
+
+        assertSame(first, second);
+        assertEquals(1, compiler.parses);
+    }
+
+    @Test
+    void editedFileIsParsedAgain() throws IOException {
+        var cache = new ParseCache(16, null);
+        var compiler = new CountingCompiler();
+        var file = write("main.kite", "var x = 1");
+        var first = cache.parseFile(file, compiler);
+
+        write("main.kite", "var x = 22");
+        var second = cache.parseFile(file, compiler);
+
+        assertNotEquals(first, second);
+        assertEquals(2, compiler.parses);
+    }
+
+    @Test
+    void touchedFileReusesProgram() throws IOException {
+        var cache = new ParseCache(16, null);
+        var compiler = new CountingCompiler();
+        var file = write("main.kite", "var x = 1");
+        var first = cache.parseFile(file, compiler);
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5_000));
+
+        assertSame(first, cache.parseFile(file, compiler));
+        assertEquals(1, compiler.parses);
+    }
+
+    @Test
+    void programIsLoadedFromDisk() throws IOException {
+        var cacheDir = dir.resolve("cache");
+        var file = write("main.kite", """
+                var name = "kite"
+                var greeting = "hello ${name}"
+                fun size(number x) number { return x * 2 }
+                """);
+        var parsed = new ParseCache(16, cacheDir).parseFile(file, new KiteCompiler());
+
+        // a new cache simulates the next CLI run
+        var compiler = new CountingCompiler();
+        var loaded = new ParseCache(16, cacheDir).parseFile(file, compiler);
+
+        assertEquals(0, compiler.parses);
+        assertNotSame(parsed, loaded);
+        assertEquals(parsed, loaded);
+    }
+
+    @Test
+    void corruptedDiskEntryIsParsedAgain() throws IOException {
+        var cacheDir = dir.resolve("cache");
+        var file = write("main.kite", "var x = 1");
+        new ParseCache(16, cacheDir).parseFile(file, new KiteCompiler());
+        try (var entries = Files.list(cacheDir)) {
+            for (var entry : entries.filter(it -> it.toString().endsWith(".ast")).toList()) {
+                Files.writeString(entry, "not a program");
+            }
+        }
+
+        var compiler = new CountingCompiler();
+        var program = new ParseCache(16, cacheDir).parseFile(file, compiler);
+
+        assertNotNull(program);
+        assertEquals(1, compiler.parses);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() throws IOException {
+        var cache = new ParseCache(2, null);
+        var compiler = new CountingCompiler();
+        var a = write("a.kite", "var a = 1");
+        var b = write("b.kite", "var b = 1");
+        var c = write("c.kite", "var c = 1");
+
+        cache.parseFile(a, compiler);
+        cache.parseFile(b, compiler);
+        cache.parseFile(a, compiler); // b is now the eldest
+        cache.parseFile(c, compiler);
+        assertEquals(2, cache.size());
+        assertEquals(3, compiler.parses);
+
+        cache.parseFile(a, compiler);
+        assertEquals(3, compiler.parses);
+        cache.parseFile(b, compiler);
+        assertEquals(4, compiler.parses);
+    }
+
+    @Test
+    void sourceIsKeyedByContent() {
+        var cache = new ParseCache(16, null);
+        var compiler = new CountingCompiler();
+
+        var first = cache.parseSource("provider:Vpc", "schema Vpc { string name }", compiler);
+        assertSame(first, cache.parseSource("provider:Vpc", "schema Vpc { string name }", compiler));
+        assertEquals(1, compiler.parses);
+
+        cache.parseSource("provider:Vpc", "schema Vpc { string name\n number size }", compiler);
+        assertEquals(2, compiler.parses);
+    }
+}
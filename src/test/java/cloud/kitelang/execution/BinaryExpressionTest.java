@@ -0,0 +1,76 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.semantics.TypeError;
+import cloud.kitelang.syntax.ast.expressions.BinaryExpression;
+import cloud.kitelang.syntax.ast.expressions.BinaryOperator;
+import cloud.kitelang.syntax.literals.NumberLiteral;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryExpressionTest extends RuntimeTest {
+
+    @Test
+    void integerMathStaysInteger() {
+        assertEquals(7, eval("1 + 2 * 3"));
+        assertEquals(1, eval("7 % 3"));
+        assertEquals(2, eval("7 / 3"));
+    }
+
+    @Test
+    void doubleMath() {
+        assertEquals(3.5, eval("1.5 + 2.0"));
+        assertEquals(2.5, eval("5.0 / 2.0"));
+    }
+
+    @Test
+    void mixedMathWidensToDouble() {
+        assertEquals(3.5, eval("1 + 2.5"));
+    }
+
+    @Test
+    void comparisons() {
+        assertEquals(true, eval("2 < 3"));
+        assertEquals(false, eval("2.0 >= 3.0"));
+        assertEquals(true, eval("\"a\" == \"a\""));
+    }
+
+    @Test
+    void stringConcatenation() {
+        assertEquals("a1", eval("\"a\" + 1"));
+    }
+
+    @Test
+    void loopReusesResolvedOperator() {
+        var res = eval("""
+                var total = 0
+                for i in 0..100 {
+                    total = total + i * 2
+                }
+                total
+                """);
+        assertEquals(9900, res);
+    }
+
+    @Test
+    void operatorResolvedWhenBuilt() {
+        var expression = (BinaryExpression) BinaryExpression.binary(1, 2, "<=");
+        assertEquals(BinaryOperator.LESS_EQUAL, expression.getBinaryOperator());
+
+        expression.setOperator("+");
+        assertEquals(BinaryOperator.PLUS, expression.getBinaryOperator());
+    }
+
+    @Test
+    void unknownOperator() {
+        var expression = new BinaryExpression(NumberLiteral.of(1), NumberLiteral.of(2), "^");
+        var error = assertThrows(IllegalArgumentException.class, () -> interpreter.visit(expression));
+        assertEquals("Operator could not be evaluated: ^", error.getMessage());
+    }
+
+    @Test
+    void invalidOperandStillRejected() {
+        assertThrows(TypeError.class, () -> eval("true + 1"));
+    }
+}
@@ -0,0 +1,70 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.base.RuntimeTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A resource waiting for other resources is evaluated again once, after the last one it waits for is evaluated.
+ */
+public class DeferredObservableTest extends RuntimeTest {
+
+    @Test
+    void reevaluatedOnceAfterAllDependencies() {
+        eval("""
+                schema vm {
+                    string name
+                    number size = 1
+                }
+                resource vm main {
+                    name = first.name + second.name
+                    size = first.size
+                }
+                resource vm first {
+                    name = "a"
+                    size = 2
+                }
+                resource vm second { name = "b" }
+                """);
+
+        var observable = interpreter.getDeferredObservable();
+        assertEquals(2, observable.getDeferrals());
+        assertEquals(1, observable.getReevaluations());
+        assertTrue(observable.getPendingResources().isEmpty());
+        assertEquals("ab", interpreter.getInstance("main").get("name"));
+        assertEquals(2, interpreter.getInstance("main").get("size"));
+    }
+
+    @Test
+    void chainReevaluatedOncePerResource() {
+        eval("""
+                schema vm { string name }
+                resource vm a { name = b.name + "a" }
+                resource vm b { name = c.name + "b" }
+                resource vm c { name = d.name + "c" }
+                resource vm d { name = "d" }
+                """);
+
+        var observable = interpreter.getDeferredObservable();
+        assertEquals(3, observable.getDeferrals());
+        assertEquals(3, observable.getReevaluations());
+        assertEquals("dcba", interpreter.getInstance("a").get("name"));
+    }
+
+    @Test
+    void longChainDoesNotRecurse() {
+        int length = 2000;
+        var source = new StringBuilder("schema vm { string name }\n");
+        for (int i = 0; i < length; i++) {
+            source.append("resource vm r%d { name = r%d.name }\n".formatted(i, i + 1));
+        }
+        source.append("resource vm r%d { name = \"last\" }\n".formatted(length));
+
+        eval(source.toString());
+
+        assertEquals(length, interpreter.getDeferredObservable().getReevaluations());
+        assertEquals("last", interpreter.getInstance("r0").get("name"));
+    }
+}
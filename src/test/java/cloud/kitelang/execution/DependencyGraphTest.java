@@ -0,0 +1,123 @@
+package cloud.kitelang.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DependencyGraphTest {
+
+    private static void assertBefore(DependencyGraph graph, String dependency, String resource) {
+        var order = graph.order();
+        assertTrue(order.indexOf(dependency) < order.indexOf(resource),
+                "%s should come before %s in %s".formatted(dependency, resource, order));
+    }
+
+    @Test
+    void keepsRegistrationOrderWithoutDependencies() {
+        var graph = new DependencyGraph();
+        graph.addResource("a");
+        graph.addResource("b");
+        graph.addResource("c");
+
+        assertEquals(List.of("a", "b", "c"), graph.order());
+    }
+
+    @Test
+    void movesDependencyBeforeResource() {
+        var graph = new DependencyGraph();
+        graph.addResource("a");
+        graph.addResource("b");
+        graph.addDependency("a", "b");
+
+        assertEquals(List.of("b", "a"), graph.order());
+    }
+
+    @Test
+    void forwardReferenceCreatesPlaceholder() {
+        var graph = new DependencyGraph();
+        graph.addResource("a");
+        graph.addDependency("a", "later");
+
+        assertTrue(graph.contains("later"));
+        assertBefore(graph, "later", "a");
+    }
+
+    @Test
+    void reordersTransitiveDependents() {
+        var graph = new DependencyGraph();
+        graph.addResource("a");
+        graph.addResource("b");
+        graph.addResource("c");
+        graph.addResource("d");
+        graph.addDependency("b", "a"); // a, b, c, d
+        graph.addDependency("c", "b");
+        graph.addDependency("a", "d"); // d must move before a, b and c
+
+        assertBefore(graph, "d", "a");
+        assertBefore(graph, "a", "b");
+        assertBefore(graph, "b", "c");
+    }
+
+    @Test
+    void duplicateDependencyIsIgnored() {
+        var graph = new DependencyGraph();
+        graph.addDependency("a", "b");
+        graph.addDependency("a", "b");
+
+        assertEquals(2, graph.size());
+        assertBefore(graph, "b", "a");
+    }
+
+    @Test
+    void selfCycle() {
+        var graph = new DependencyGraph();
+        var error = assertThrows(CycleException.class, () -> graph.addDependency("a", "a"));
+        assertEquals("Cycle detected at resource: a", error.getMessage());
+    }
+
+    @Test
+    void directCycle() {
+        var graph = new DependencyGraph();
+        graph.addDependency("a", "b");
+        var error = assertThrows(CycleException.class, () -> graph.addDependency("b", "a"));
+        assertEquals("Cycle detected at resource: b", error.getMessage());
+    }
+
+    @Test
+    void indirectCycle() {
+        var graph = new DependencyGraph();
+        graph.addDependency("a", "b");
+        graph.addDependency("b", "c");
+        var error = assertThrows(CycleException.class, () -> graph.addDependency("c", "a"));
+        assertEquals("Cycle detected at resource: c", error.getMessage());
+    }
+
+    @Test
+    void rejectedEdgeKeepsGraphUsable() {
+        var graph = new DependencyGraph();
+        graph.addDependency("a", "b");
+        assertThrows(CycleException.class, () -> graph.addDependency("b", "a"));
+
+        graph.addDependency("c", "a");
+        assertBefore(graph, "b", "a");
+        assertBefore(graph, "a", "c");
+    }
+
+    @Test
+    void longChainAddedInReverse() {
+        var graph = new DependencyGraph();
+        int size = 5_000;
+        for (int i = 0; i < size; i++) {
+            graph.addResource("r" + i);
+        }
+        for (int i = 0; i < size - 1; i++) {
+            graph.addDependency("r" + i, "r" + (i + 1));
+        }
+        var order = graph.order();
+        assertEquals("r" + (size - 1), order.getFirst());
+        assertEquals("r0", order.getLast());
+        assertThrows(CycleException.class, () -> graph.addDependency("r" + (size - 1), "r0"));
+    }
+}
@@ -0,0 +1,96 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.syntax.ast.statements.BlockExpression;
+import cloud.kitelang.syntax.ast.statements.ExpressionStatement;
+import cloud.kitelang.syntax.ast.statements.FunctionDeclaration;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Closure-compiled expressions must give the same result as the visitor.
+ */
+public class ExecutorTest extends RuntimeTest {
+    private static final String PROGRAM = """
+            var base = 10
+            fun scale(number a, number b) {
+                var local = a * b
+                -local + base % 3 - a / 2
+            }
+            fun check(number a, boolean flag) {
+                !flag || a >= 2 && a != 5
+            }
+            var name = "web" + "-" + base
+            [scale(3, 4), scale(2.5, 2), check(1, true), check(5, false), name == "web-10", 7 > 3.5]
+            """;
+
+    private Object run(String source, boolean closureCompiled) {
+        init();
+        interpreter.setClosureCompiled(closureCompiled);
+        return eval(source);
+    }
+
+    @Test
+    void sameResultAsVisitor() {
+        var expected = run(PROGRAM, false);
+
+        assertEquals(expected, run(PROGRAM, true));
+        assertEquals(List.of(-12, -5.25, false, true, true, true), expected);
+    }
+
+    @Test
+    void specialisedNodeFallsBack() {
+        var res = run("""
+                fun add(number a, number b) { a + b }
+                [add(1, 2), add(1.5, 2), add(1, 2), add("a", 1)]
+                """, true);
+
+        assertEquals(List.of(3, 3.5, 3, "a1"), res);
+    }
+
+    @Test
+    void linkedPerInterpreter() {
+        run("""
+                fun add(number a, number b) { a + b }
+                var x = add(1, 2)
+                """, true);
+        var function = (FunctionDeclaration) program.getBody().getFirst();
+        var sum = ((ExpressionStatement) ((BlockExpression) ((ExpressionStatement) function.getBody()).getStatement())
+                .getExpression().getFirst()).getStatement();
+        var linked = interpreter.executor(sum);
+
+        var other = new Interpreter(new Environment<>("global"));
+        other.setClosureCompiled(true);
+        other.visit(program);
+
+        assertSame(linked, interpreter.executor(sum));
+        assertNotSame(linked, other.executor(sum));
+        assertEquals(3, other.getVar("x"));
+    }
+
+    @Test
+    void foldedExpressionsLinkedAsConstants() {
+        var res = run("""
+                fun offset(number a) { a + 60 * 60 }
+                offset(1)
+                """, true);
+
+        assertEquals(3601, res);
+    }
+
+    @Test
+    void sameErrorsAsVisitor() {
+        var source = """
+                var x = true
+                x && 1
+                """;
+        var expected = assertThrows(IllegalArgumentException.class, () -> run(source, false));
+        var actual = assertThrows(IllegalArgumentException.class, () -> run(source, true));
+
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+}
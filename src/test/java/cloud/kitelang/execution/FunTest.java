@@ -158,4 +158,47 @@ public class FunTest extends RuntimeTest {
     }
 
 
+    @Test
+    void parameterAssignmentUpdatesFrame() {
+        var res = eval("""
+                fun inc(number n) {
+                    n = n + 1
+                    return n * 2
+                }
+                inc(4)
+                """);
+        assertEquals(10, res);
+    }
+
+    @Test
+    void blockLocalShadowsParameter() {
+        var res = eval("""
+                fun shadow(number n) {
+                    var total = 0
+                    {
+                        var n = 100
+                        total = total + n
+                    }
+                    return total + n
+                }
+                shadow(1)
+                """);
+        assertEquals(101, res);
+    }
+
+    @Test
+    void closureReadsEnclosingParameter() {
+        var res = eval("""
+                fun adder(number a, number b) {
+                    fun add(number c) {
+                        a + b + c
+                    }
+                    add
+                }
+                var add = adder(1, 2)
+                add(3) + add(4)
+                """);
+        assertEquals(13, res);
+    }
+
 }
@@ -0,0 +1,133 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.execution.values.FunValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A compiled function must give the same result as the interpreted one.
+ */
+public class FunctionCompilerTest extends RuntimeTest {
+    private static final String PROGRAM = """
+            var prefix = "vm"
+            fun fib(number n) {
+               if (n <= 1) {
+                    return n
+               }
+               return fib(n - 2) + fib(n - 1)
+            }
+            fun name(string env, number index) {
+                if (index > 2 && env != "prod") {
+                    "$prefix-$env-big"
+                } else {
+                    "$prefix-$env-" + index
+                }
+            }
+            var square = (number x) -> x * x
+            [fib(10), name("dev", 1), name("dev", 3), name("prod", 3), square(fib(5)), -square(2)]
+            """;
+
+    @BeforeEach
+    void compileEagerly() {
+        interpreter.setCompileThreshold(1);
+    }
+
+    private FunValue fun(String name) {
+        return (FunValue) interpreter.getVar(name);
+    }
+
+    @Test
+    void sameResultAsInterpreted() {
+        var compiled = eval(PROGRAM);
+        init();
+        interpreter.setCompileThreshold(0);
+        var interpreted = eval(PROGRAM);
+
+        assertEquals(interpreted, compiled);
+    }
+
+    @Test
+    void recursion() {
+        var res = eval("""
+                fun fib(number n) {
+                   if (n <= 1) {
+                        return n
+                   }
+                   return fib(n - 2) + fib(n - 1)
+                }
+                fib(15)
+                """);
+
+        assertEquals(610, res);
+        assertNotNull(fun("fib").getCompiled());
+        assertNotSame(FunctionCompiler.UNSUPPORTED, fun("fib").getCompiled());
+    }
+
+    @Test
+    void lambda() {
+        var res = eval("""
+                var f = (number x) -> x * x
+                f(3) + f(4)
+                """);
+
+        assertEquals(25, res);
+        assertNotSame(FunctionCompiler.UNSUPPORTED, fun("f").getCompiled());
+    }
+
+    @Test
+    void readsEnclosingParameter() {
+        var res = eval("""
+                fun adder(number a, number b) {
+                    fun add(number c) {
+                        a + b + c
+                    }
+                    add
+                }
+                var add = adder(1, 2)
+                add(3) + add(4)
+                """);
+
+        assertEquals(13, res);
+        assertNotSame(FunctionCompiler.UNSUPPORTED, fun("add").getCompiled());
+    }
+
+    @Test
+    void callsBuiltins() {
+        var res = eval("""
+                fun label(string name) {
+                    "${toUpperCase(name)}-" + length(name)
+                }
+                label("web")
+                """);
+
+        assertEquals("WEB-3", res);
+    }
+
+    @Test
+    void unsupportedStaysInterpreted() {
+        var res = eval("""
+                fun inc(number n) {
+                    n = n + 1
+                    return n * 2
+                }
+                inc(4) + inc(1)
+                """);
+
+        assertEquals(14, res);
+        assertSame(FunctionCompiler.UNSUPPORTED, fun("inc").getCompiled());
+    }
+
+    @Test
+    void disabled() {
+        interpreter.setCompileThreshold(0);
+        eval("""
+                fun twice(number n) { n * 2 }
+                twice(1) + twice(2)
+                """);
+
+        assertNull(fun("twice").getCompiled());
+    }
+}
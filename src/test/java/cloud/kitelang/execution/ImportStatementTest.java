@@ -5,6 +5,11 @@ import cloud.kitelang.base.RuntimeTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -606,4 +611,57 @@ class ImportStatementTest extends RuntimeTest {
 
         assertEquals(2, interpreter.getVar("count"));
     }
+
+    @Test
+    @DisplayName("imported modules read the importer's variables, like in the TypeChecker")
+    void moduleReadsImporterVariables(@TempDir Path dir) throws IOException {
+        Files.writeString(dir.resolve("module.kite"), """
+                var label = region + "-web"
+                """);
+
+        eval("""
+                var region = "eu"
+                import * from "%s"
+                """.formatted(dir.resolve("module.kite").toString().replace("\\", "/")));
+
+        assertEquals("eu-web", interpreter.getVar("label"));
+    }
+
+    // ========== Directory Import Tests - Parallel Parsing ==========
+
+    @Test
+    @DisplayName("should merge files parsed in parallel in file order")
+    void directoryImportManyFilesMergedInOrder(@TempDir Path dir) throws IOException {
+        for (int i = 0; i < 50; i++) {
+            Files.writeString(dir.resolve("module%02d.kite".formatted(i)), """
+                    var value%d = %d
+                    var last = "module%02d"
+                    """.formatted(i, i, i));
+        }
+
+        eval("""
+                import * from "%s"
+
+                var total = value0 + value25 + value49
+                """.formatted(dir.toString().replace("\\", "/")));
+
+        assertEquals(74, interpreter.getVar("total"));
+        // sorted file order is kept, so the last file wins
+        assertEquals("module49", interpreter.getVar("last"));
+    }
+
+    @Test
+    @DisplayName("should report parse errors of files parsed in parallel")
+    void directoryImportParseErrorInOneFile(@TempDir Path dir) throws IOException {
+        for (int i = 0; i < 10; i++) {
+            Files.writeString(dir.resolve("module%d.kite".formatted(i)), "var value%d = %d".formatted(i, i));
+        }
+        Files.writeString(dir.resolve("module5.kite"), "var = ");
+
+        var exception = assertThrows(RuntimeException.class, () -> eval("""
+                import * from "%s"
+                """.formatted(dir.toString().replace("\\", "/"))));
+
+        assertTrue(exception.getMessage().contains("Parse error"), exception.getMessage());
+    }
 }
@@ -0,0 +1,127 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.execution.exceptions.NotFoundException;
+import cloud.kitelang.execution.values.ResourceValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Evaluating independent resources in parallel must give the same result as evaluating them one by one.
+ */
+public class ParallelResourceTest extends RuntimeTest {
+    private static final String STACK = """
+            schema vm {
+                string name
+                number size = 1
+            }
+            resource vm web {
+                name = "web-" + network.name
+                size = database.size
+            }
+            @count(3)
+            resource vm worker {
+                name = "worker-$count"
+            }
+            resource vm network {
+                name = "net"
+            }
+            @dependsOn(network)
+            resource vm database {
+                name = "db"
+                size = 4
+            }
+            var region = "eu"
+            resource vm cache {
+                name = region + "-" + queue.name
+            }
+            resource vm queue {
+                name = "queue"
+            }
+            resource vm monitor {
+                name = "monitor"
+                size = web.size
+            }
+            """;
+
+    private Interpreter run(String source, boolean parallel) {
+        var program = parse(source);
+        scopeResolver.resolve(program);
+        var interpreter = new Interpreter(new Environment<>("global"));
+        interpreter.setPrinter(printer);
+        interpreter.setParallel(parallel);
+        interpreter.visit(program);
+        return interpreter;
+    }
+
+    private static List<String> describe(Map<String, ResourceValue> instances) {
+        var out = new ArrayList<String>();
+        instances.forEach((name, resource) -> out.add(
+                name + " " + resource.get("name") + " " + resource.get("size") + " " + new TreeSet<>(resource.getDependencies())));
+        return out;
+    }
+
+    @Test
+    void sameResultAsSequential() {
+        var sequential = run(STACK, false);
+        var parallel = run(STACK, true);
+
+        assertEquals(describe(sequential.getInstances()), describe(parallel.getInstances()));
+        assertEquals("web-net", parallel.getInstance("web").get("name"));
+        assertEquals(4, parallel.getInstance("monitor").get("size"));
+        assertEquals("eu-queue", parallel.getInstance("cache").get("name"));
+    }
+
+    @Test
+    void deterministic() {
+        var first = describe(run(STACK, true).getInstances());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first, describe(run(STACK, true).getInstances()));
+        }
+    }
+
+    @Test
+    void manyIndependentResources() {
+        var source = new StringBuilder("schema vm { string name }\n");
+        for (int i = 0; i < 200; i++) {
+            source.append("resource vm r%d { name = \"r%d\" }\n".formatted(i, i));
+        }
+        source.append("resource vm last { name = r0.name + r199.name }\n");
+
+        var sequential = run(source.toString(), false);
+        var parallel = run(source.toString(), true);
+
+        assertEquals(describe(sequential.getInstances()), describe(parallel.getInstances()));
+        assertEquals("r0r199", parallel.getInstance("last").get("name"));
+    }
+
+    @Test
+    void cycleReportedAsSequential() {
+        var source = """
+                schema vm { string name }
+                resource vm a { name = b.name }
+                resource vm b { name = a.name }
+                """;
+        var sequential = assertThrows(CycleException.class, () -> run(source, false));
+        var parallel = assertThrows(CycleException.class, () -> run(source, true));
+
+        assertEquals(sequential.getMessage(), parallel.getMessage());
+    }
+
+    @Test
+    void missingDependencyReportedAsSequential() {
+        assertThrows(NotFoundException.class, () -> run("""
+                schema vm { string name }
+                resource vm first { name = "first" }
+                @dependsOn(nonexistent)
+                resource vm primary { }
+                """, true));
+    }
+}
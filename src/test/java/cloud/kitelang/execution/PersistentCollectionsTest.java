@@ -0,0 +1,130 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.execution.values.PersistentMap;
+import cloud.kitelang.execution.values.PersistentVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Arrays and objects updated by the stdlib share their structure with the previous version.
+ */
+public class PersistentCollectionsTest extends RuntimeTest {
+
+    @Test
+    void vectorBehavesLikeList() {
+        var expected = new ArrayList<Integer>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        var versions = new ArrayList<PersistentVector<Integer>>();
+        for (int i = 0; i < 40_000; i++) {
+            expected.add(i);
+            vector = vector.append(i);
+            if (i % 1000 == 0) {
+                versions.add(vector);
+            }
+        }
+
+        assertEquals(expected, vector);
+        assertEquals(expected.hashCode(), vector.hashCode());
+        // older versions are untouched
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(expected.subList(0, i * 1000 + 1), versions.get(i));
+        }
+
+        var updated = vector.with(33, -1).with(39_999, -2);
+        assertEquals(-1, updated.get(33));
+        assertEquals(-2, updated.get(39_999));
+        assertEquals(33, vector.get(33));
+
+        while (!vector.isEmpty()) {
+            vector = vector.pop();
+            expected.removeLast();
+            if (vector.size() % 997 == 0 || vector.size() < 70) {
+                assertEquals(expected, vector);
+            }
+        }
+        assertThrows(IllegalStateException.class, vector::pop);
+        assertThrows(UnsupportedOperationException.class, () -> updated.add(1));
+    }
+
+    @Test
+    void mapBehavesLikeMap() {
+        var expected = new HashMap<String, Integer>();
+        PersistentMap<String, Integer> map = PersistentMap.empty();
+        for (int i = 0; i < 20_000; i++) {
+            expected.put("key-" + i, i);
+            map = map.with("key-" + i, i);
+        }
+        var before = map;
+        // same hash code
+        map = map.with("Aa", 1).with("BB", 2).with("key-5", null);
+        expected.put("Aa", 1);
+        expected.put("BB", 2);
+        expected.put("key-5", null);
+
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertTrue(map.containsKey("key-5"));
+        assertEquals(5, before.get("key-5"));
+        assertEquals(20_000, before.size());
+
+        for (int i = 0; i < 20_000; i += 2) {
+            map = map.without("key-" + i);
+            expected.remove("key-" + i);
+        }
+        map = map.without("Aa").without("missing");
+        expected.remove("Aa");
+        assertEquals(expected, map);
+        assertEquals(2, map.get("BB"));
+        assertSame(map, map.without("missing"));
+    }
+
+    @Test
+    void pushInLoop() {
+        eval("""
+                var xs = []
+                for i in 0..2000 {
+                    xs = push(xs, i)
+                }
+                var ys = pop(xs)
+                """);
+
+        var xs = (List<?>) interpreter.getVar("xs");
+        assertInstanceOf(PersistentVector.class, xs);
+        for (int i = 0; i < xs.size(); i++) {
+            assertEquals(i, xs.get(i));
+        }
+        assertEquals(xs.subList(0, xs.size() - 1), interpreter.getVar("ys"));
+    }
+
+    @Test
+    void appendAssignment() {
+        eval("""
+                var xs = push([], 1)
+                var alias = xs
+                xs += 2
+                """);
+
+        assertEquals(List.of(1, 2), interpreter.getVar("xs"));
+        assertEquals(List.of(1), interpreter.getVar("alias"));
+    }
+
+    @Test
+    void mergeSharesFirstObject() {
+        eval("""
+                var base = { a: 1, b: 2 }
+                var merged = merge(base, { b: 3 }, { c: 4 })
+                var again = merge(merged, { d: 5 })
+                """);
+
+        assertEquals(Map.of("a", 1, "b", 3, "c", 4), interpreter.getVar("merged"));
+        assertEquals(Map.of("a", 1, "b", 3, "c", 4, "d", 5), interpreter.getVar("again"));
+        assertEquals(Map.of("a", 1, "b", 2), interpreter.getVar("base"));
+    }
+}
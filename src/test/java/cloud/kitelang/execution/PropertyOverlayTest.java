@@ -0,0 +1,106 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.execution.environment.PropertyOverlay;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertyOverlayTest extends RuntimeTest {
+
+    private static Map<String, Object> shape() {
+        var shape = new LinkedHashMap<String, Object>();
+        shape.put("name", null);
+        shape.put("size", 1);
+        shape.put("region", "eu");
+        return shape;
+    }
+
+    @Test
+    void readsShapeDefaults() {
+        var overlay = new PropertyOverlay<>(shape());
+
+        assertEquals(3, overlay.size());
+        assertEquals(1, overlay.get("size"));
+        assertTrue(overlay.containsKey("name"));
+        assertNull(overlay.get("name"));
+    }
+
+    @Test
+    void writesDoNotTouchShape() {
+        var shape = shape();
+        var overlay = new PropertyOverlay<>(shape);
+
+        overlay.put("size", 2);
+        overlay.put("tags", "extra");
+
+        assertEquals(2, overlay.get("size"));
+        assertEquals(1, shape.get("size"));
+        assertFalse(shape.containsKey("tags"));
+        assertEquals(4, overlay.size());
+    }
+
+    @Test
+    void iteratesShapeOrderThenAddedKeys() {
+        var overlay = new PropertyOverlay<>(shape());
+        overlay.put("tags", "extra");
+        overlay.put("region", "us");
+
+        assertEquals(List.of("name", "size", "region", "tags"), List.copyOf(overlay.keySet()));
+        assertEquals("us", overlay.get("region"));
+    }
+
+    @Test
+    void equalsCopiedMap() {
+        var overlay = new PropertyOverlay<>(shape());
+        overlay.put("name", "main");
+
+        var expected = shape();
+        expected.put("name", "main");
+        assertEquals(expected, overlay);
+        assertEquals(expected.hashCode(), overlay.hashCode());
+    }
+
+    @Test
+    void removeAndPutAgain() {
+        var overlay = new PropertyOverlay<>(shape());
+        overlay.remove("size");
+
+        assertFalse(overlay.containsKey("size"));
+        assertEquals(2, overlay.size());
+
+        overlay.put("size", 5);
+        assertEquals(5, overlay.get("size"));
+        assertEquals(3, overlay.size());
+        assertEquals(List.of("name", "size", "region"), List.copyOf(overlay.keySet()));
+    }
+
+    @Test
+    void resourcesShareSchemaDefaults() {
+        eval("""
+                schema vm {
+                    string name
+                    number size = 1
+                    string region = "eu"
+                }
+                resource vm first {
+                    name = "first"
+                    size = 2
+                }
+                resource vm second {
+                    name = "second"
+                }
+                """);
+        var first = interpreter.getInstance("first");
+        var second = interpreter.getInstance("second");
+
+        assertEquals(2, first.getProperties().get("size"));
+        assertEquals(1, second.getProperties().get("size"));
+        assertEquals("eu", second.getProperties().get("region"));
+        assertEquals(1, interpreter.getSchema("vm").get("size"));
+    }
+}
@@ -248,6 +248,59 @@ public class ResourcePathTest {
         assertEquals("parent.main.child.instance.vm.server", path.toDatabaseKey());
     }
 
+    @Test
+    @DisplayName("Equal paths are the same instance")
+    void interned() {
+        ResourcePath parsed = ResourcePath.parse("myapp.vm.servers[0]");
+        ResourcePath built = ResourcePath.builder()
+                .parentPath(ResourcePath.builder().name("myapp").build())
+                .type("vm")
+                .name("servers")
+                .build()
+                .appendIndex(0);
+
+        assertSame(parsed, built);
+        assertSame(parsed, ResourcePath.parse("myapp.vm.servers[0]"));
+        assertSame(parsed.getParentPath(), ResourcePath.parse("myapp.vm.other").getParentPath());
+        assertNotEquals(parsed, ResourcePath.parse("myapp.vm.servers[1]"));
+        assertNotEquals(parsed, parsed.withFilePath("main.kite"));
+        assertSame(parsed, parsed.withFilePath("main.kite").withFilePath(null));
+    }
+
+    @Test
+    @DisplayName("String forms are computed once")
+    void cachedStrings() {
+        ResourcePath path = ResourcePath.parse("main.kite:myapp.vm.servers[\"web\"]");
+
+        assertSame(path.toDatabaseKey(), path.toDatabaseKey());
+        assertSame(path.toDisplayName(), path.toDisplayName());
+        assertSame(path.toSegmentName(), path.toSegmentName());
+        assertEquals("myapp.servers[\"web\"]", path.toSegmentName());
+        assertEquals("myapp.vm.servers", path.getBasePath());
+    }
+
+    @Test
+    @DisplayName("Segments are immutable")
+    void immutableSegments() {
+        ResourcePath path = ResourcePath.parse("vm.servers[0]");
+
+        assertThrows(UnsupportedOperationException.class, () -> path.getSegments().add(path.getSegments().get(0)));
+        assertEquals("vm.servers[0][1]", path.appendIndex(1).toDatabaseKey());
+        assertEquals("vm.servers[0]", path.toDatabaseKey());
+    }
+
+    @Test
+    @DisplayName("Parse keys holding separators: vm.servers[\"a.b:c\"]")
+    void parseKeyWithSeparators() {
+        ResourcePath path = ResourcePath.parse("vm.servers[\"a.b:c\"]");
+
+        assertNull(path.getFilePath());
+        assertEquals("vm", path.getType());
+        assertEquals("servers", path.getName());
+        assertEquals("a.b:c", path.getSegments().get(0).getValue());
+        assertEquals("vm.servers[\"a.b:c\"]", path.toDatabaseKey());
+    }
+
     @Test
     @DisplayName("Handle complex real-world scenarios")
     void complexRealWorld() {
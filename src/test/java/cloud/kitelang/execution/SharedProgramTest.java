@@ -0,0 +1,109 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.syntax.ast.Program;
+import cloud.kitelang.syntax.ast.expressions.ResourceStatement;
+import cloud.kitelang.syntax.literals.Identifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A parsed program is shared through the parse cache, so running it must not leave state on the AST.
+ */
+public class SharedProgramTest extends RuntimeTest {
+    private static final String SOURCE = """
+            schema vm {
+                string name
+                number maxCount = 0
+            }
+            @count(2)
+            resource vm server {
+                name = "server-$count"
+            }
+            resource vm main {
+                name = third.name
+                maxCount = second.maxCount
+            }
+            resource vm second {
+                name = "second"
+                maxCount = 2
+            }
+            resource vm third {
+                name = "third"
+            }
+            """;
+
+    private Program resolvedProgram() {
+        var program = parse(SOURCE);
+        scopeResolver.resolve(program);
+        return program;
+    }
+
+    private static Interpreter run(Program program) {
+        var interpreter = new Interpreter(new Environment<>("global"));
+        interpreter.visit(program);
+        return interpreter;
+    }
+
+    private static void assertStack(Interpreter interpreter) {
+        var server0 = interpreter.getInstance("server[0]");
+        var server1 = interpreter.getInstance("server[1]");
+        assertNotNull(server0);
+        assertNotNull(server1);
+        assertEquals("server-0", server0.get("name"));
+        assertEquals("server-1", server1.get("name"));
+
+        var main = interpreter.getInstance("main");
+        assertNotNull(main);
+        assertEquals(2, main.getDependencies().size());
+    }
+
+    @Test
+    void programRunsTwice() {
+        var program = resolvedProgram();
+
+        assertStack(run(program));
+        assertStack(run(program));
+    }
+
+    @Test
+    void stateIsKeptPerInterpreter() {
+        var program = resolvedProgram();
+        var first = run(program);
+        var second = run(program);
+
+        var resource = program.getBody().stream()
+                .filter(ResourceStatement.class::isInstance)
+                .map(ResourceStatement.class::cast)
+                .filter(it -> it.getName() instanceof Identifier id && "main".equals(id.string()))
+                .findFirst()
+                .orElseThrow();
+        assertNotSame(first.stateOf(resource).getValue(), second.stateOf(resource).getValue());
+        assertSame(first.getInstance("main"), first.stateOf(resource).getValue());
+    }
+
+    @Test
+    void programRunsConcurrently() throws Exception {
+        var program = resolvedProgram();
+        var pool = Executors.newFixedThreadPool(8);
+        try {
+            var runs = new ArrayList<Future<Interpreter>>();
+            for (int i = 0; i < 32; i++) {
+                runs.add(pool.submit((Callable<Interpreter>) () -> run(program)));
+            }
+            for (var run : runs) {
+                assertStack(run.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package cloud.kitelang.execution;
+
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.syntax.ast.expressions.AssignmentExpression;
+import cloud.kitelang.syntax.ast.expressions.ResourceStatement;
+import cloud.kitelang.syntax.ast.statements.ExpressionStatement;
+import cloud.kitelang.syntax.literals.StringLiteral;
+import cloud.kitelang.syntax.literals.SymbolIdentifier;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runtime interpolation of {@link StringLiteral} values built outside the parser (e.g. re-validated component inputs).
+ * Interpolation vars are compiled once per literal and the compiled nodes are reused for every evaluation.
+ */
+public class StringLiteralInterpolationTest extends RuntimeTest {
+
+    @Test
+    void simpleVariable() {
+        eval("var name = \"kite\"");
+        var literal = StringLiteral.string("hello $name");
+
+        assertEquals("hello kite", interpreter.visit(literal));
+    }
+
+    @Test
+    void bracedVariable() {
+        eval("var name = \"kite\"");
+        var literal = StringLiteral.string("hello ${name}!");
+
+        assertEquals("hello kite!", interpreter.visit(literal));
+    }
+
+    @Test
+    void memberAccess() {
+        eval("var config = { name: \"kite\", size: 2 }");
+        var literal = StringLiteral.string("${config.name}-${config.size}");
+
+        assertEquals("kite-2", interpreter.visit(literal));
+    }
+
+    @Test
+    void simpleVariableCompilesToIdentifier() {
+        var literal = StringLiteral.string("hello ${name}");
+
+        var compiled = literal.getInterpolationExpressions();
+        assertEquals(1, compiled.size());
+        assertInstanceOf(SymbolIdentifier.class, compiled.getFirst());
+    }
+
+    @Test
+    void compiledOnce() {
+        eval("var config = { name: \"kite\" }");
+        var literal = StringLiteral.string("${config.name}");
+
+        var first = literal.getInterpolationExpressions();
+        interpreter.visit(literal);
+        interpreter.visit(literal);
+
+        assertSame(first, literal.getInterpolationExpressions());
+    }
+
+    /**
+     * Inside a resource a $var reads the scope enclosing the resource, not the resource's own properties
+     */
+    @Test
+    void resourcePropertyReadsEnclosingScope() {
+        program = parse("""
+                var name = "kite"
+                schema vm {
+                    string name
+                    string label
+                }
+                resource vm main {
+                    name = "inner"
+                    label = "placeholder"
+                }
+                """);
+        var resource = (ResourceStatement) program.getBody().getLast();
+        for (var statement : resource.getBlock().getExpression()) {
+            if (statement instanceof ExpressionStatement expression
+                && expression.getStatement() instanceof AssignmentExpression assignment
+                && assignment.getLeft() instanceof SymbolIdentifier id && id.string().equals("label")) {
+                assignment.setRight(StringLiteral.string("$name-server"));
+            }
+        }
+        scopeResolver.resolve(program);
+        interpreter.visit(program);
+
+        var main = interpreter.getInstance("main");
+        assertEquals("inner", main.argVal("name"));
+        assertEquals("kite-server", main.argVal("label"));
+    }
+
+    @Test
+    void notInterpolated() {
+        var literal = StringLiteral.string("hello");
+
+        assertTrue(literal.getInterpolationExpressions().isEmpty());
+        assertEquals("hello", interpreter.visit(literal));
+    }
+}
@@ -0,0 +1,73 @@
+package cloud.kitelang.execution.inputs;
+
+import cloud.kitelang.syntax.ast.KiteCompiler;
+import cloud.kitelang.syntax.ast.expressions.Expression;
+import cloud.kitelang.syntax.ast.statements.ExpressionStatement;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class LiteralInputParserTest {
+    private final KiteCompiler compiler = new KiteCompiler();
+
+    private Expression grammar(String source) {
+        var statement = (ExpressionStatement) compiler.parse(source).getBody().get(0);
+        return statement.getStatement();
+    }
+
+    @Test
+    void buildsSameNodesAsGrammar() {
+        var sources = List.of(
+                "\"hello\"",
+                "\"\"",
+                "'us-east-1'",
+                "10",
+                "10.2",
+                "0.2",
+                "true",
+                "false",
+                "null",
+                "[]",
+                "[1,2,3]",
+                "[1, 2, 3]",
+                "['hello','world']",
+                "[true,false,true]",
+                "[[1, 2], [3]]",
+                "[{}]",
+                "{ env : 'dev', region : 'us-east-1' }",
+                "{ \"env\": \"dev\", count: 2, tags: [\"a\", \"b\"] }",
+                "[{ name: 'a' }, { name: 'b' }]"
+        );
+        for (var source : sources) {
+            var literal = LiteralInputParser.parse(source);
+            assertNotNull(literal, source);
+            assertEquals(grammar(source), literal, source);
+        }
+    }
+
+    @Test
+    void leavesExpressionsToGrammar() {
+        var sources = List.of(
+                "\"hello $name\"",
+                "\"line\\nbreak\"",
+                "-1",
+                "1e5",
+                "12345678901",
+                "region",
+                "object({ env: 'dev' })",
+                "[1, 2,]",
+                "[1 2]",
+                "{ env: }",
+                "1 + 2",
+                "{}",
+                ""
+        );
+        for (var source : sources) {
+            assertNull(LiteralInputParser.parse(source), source);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package cloud.kitelang.execution.json;
+
+import cloud.kitelang.execution.inputs.InputParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonReaderTest {
+
+    @Test
+    void values() {
+        assertEquals(1, JsonReader.parse("1"));
+        assertEquals(-42, JsonReader.parse(" -42 "));
+        assertEquals(3_000_000_000L, JsonReader.parse("3000000000"));
+        assertEquals(new BigInteger("123456789012345678901234"), JsonReader.parse("123456789012345678901234"));
+        assertEquals(Long.MIN_VALUE, JsonReader.parse(String.valueOf(Long.MIN_VALUE)));
+        assertEquals(1.5e-3, JsonReader.parse("1.5e-3"));
+        assertEquals(0.25, JsonReader.parse("0.25"));
+        assertEquals(true, JsonReader.parse("true"));
+        assertNull(JsonReader.parse("null"));
+        assertEquals("a\"b\\c/\n\té", JsonReader.parse("\"a\\\"b\\\\c\\/\\n\\t\\u00e9\""));
+    }
+
+    @Test
+    void objectsKeepOrder() {
+        var object = (Map<?, ?>) JsonReader.parse("{\"b\": 1, \"a\": [1, {\"c\": null}], \"d\": {}}");
+
+        assertEquals(List.of("b", "a", "d"), new ArrayList<>(object.keySet()));
+        var nested = new LinkedHashMap<String, Object>();
+        nested.put("c", null);
+        assertEquals(List.of(1, nested), object.get("a"));
+        assertEquals(Map.of(), object.get("d"));
+    }
+
+    @Test
+    void strictRejectsRelaxedInput() {
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parse("{a: 1}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parse("['a']"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parse("[1,]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parse("{\"a\": 1,}"));
+    }
+
+    @Test
+    void tolerant() {
+        var value = JsonReader.tolerant("""
+                { name: 'web', "ports": [80, 443,], tags: { app-name: 'it\\'s', v1.2: "x" }, }
+                """);
+
+        var tags = new LinkedHashMap<String, Object>();
+        tags.put("app-name", "it's");
+        tags.put("v1.2", "x");
+        assertEquals(Map.of("name", "web", "ports", List.of(80, 443), "tags", tags), value);
+        // strings keep what looks like syntax
+        assertEquals(List.of("a, ]", "{b: 1}"), JsonReader.tolerant("['a, ]', \"{b: 1}\"]"));
+        assertEquals(Map.of("k", List.of(1)), InputParser.parseObject("{k: [1,],}"));
+    }
+
+    @Test
+    void errorsReportPosition() {
+        var error = assertThrows(IllegalArgumentException.class, () -> JsonReader.parse("[1, 2 3]"));
+        assertEquals("Expected ',' or ']' at pos 6", error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parse("\"open"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parse("[1] 2"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parse("nul"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parse("\"\\x\""));
+    }
+
+    @Test
+    void readsAcrossBufferBoundaries() throws Exception {
+        var document = new ArrayList<Object>();
+        for (int i = 0; i < 5_000; i++) {
+            var statement = new LinkedHashMap<String, Object>();
+            statement.put("Sid", "statement-" + i + "\n\"quoted\"");
+            statement.put("Effect", i % 2 == 0 ? "Allow" : "Deny");
+            statement.put("Resource", List.of("arn:aws:s3:::bucket-" + i + "/*"));
+            statement.put("Weight", i * 1.5);
+            statement.put("Count", i);
+            document.add(statement);
+        }
+        var json = new StringWriter();
+        new JsonWriter(json).value(document);
+
+        assertEquals(document, JsonReader.read(new StringReader(json.toString())));
+        // a reader returning one character at a time splits every token
+        assertEquals(document, JsonReader.read(new Trickle(new StringReader(json.toString()))));
+        var error = assertThrows(IllegalArgumentException.class,
+                () -> JsonReader.read(new Trickle(new StringReader(json + "]"))));
+        assertEquals("Unexpected char: ] at pos " + json.toString().length(), error.getMessage());
+    }
+
+    private static final class Trickle extends FilterReader {
+        private Trickle(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            return super.read(buffer, offset, Math.min(length, 1));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package cloud.kitelang.execution.output;
+
+import cloud.kitelang.analysis.visitors.SyntaxPrinter;
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.semantics.scope.ScopeResolver;
+import cloud.kitelang.syntax.ast.KiteCompiler;
+import cloud.kitelang.tool.theme.PlainTheme;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OutputSinkTest extends RuntimeTest {
+    private static final String OUTPUTS = """
+            schema vm {
+                string name
+                @cloud string arn
+            }
+            resource vm main {
+                name = "prod"
+            }
+            output string name = main.name
+            output string arn = main.arn
+            output number[] sizes = [1, 2]
+            @sensitive
+            output string password = "secret"
+            """;
+
+    @Override
+    protected void init() {
+        this.compiler = new KiteCompiler();
+        this.printer = new SyntaxPrinter(new PlainTheme());
+        this.scopeResolver = new ScopeResolver();
+        this.interpreter = new Interpreter(printer);
+    }
+
+    private void write(OutputSink sink) {
+        interpreter.writeOutputs(name -> Map.of("name", "prod", "arn", "arn:\"main\"\n"), sink);
+    }
+
+    @Test
+    void human() {
+        eval(OUTPUTS);
+        var out = new StringWriter();
+
+        write(new HumanOutputSink(printer, out));
+
+        var lines = out.toString().lines().toList();
+        assertEquals(5, lines.size());
+        assertEquals("output string name = \"prod\"", lines.get(1));
+        assertEquals("output number[] sizes = [1, 2]", lines.get(3));
+        assertEquals("output string password = <sensitive value>", lines.get(4));
+    }
+
+    @Test
+    void lastOutputResolvedOnce() {
+        eval("""
+                schema vm {
+                    string name
+                    @cloud string arn
+                }
+                resource vm main {
+                    name = "prod"
+                }
+                output string arn = main.arn
+                """);
+        var lookups = new AtomicInteger();
+        var resources = new HashMap<String, Map<String, Object>>(Map.of("main", Map.of("arn", "arn:main"))) {
+            @Override
+            public Map<String, Object> get(Object key) {
+                lookups.incrementAndGet();
+                return super.get(key);
+            }
+        };
+
+        var value = interpreter.printOutputs(resources);
+
+        assertEquals("output string arn = \"arn:main\"", value);
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void jsonLines() {
+        eval(OUTPUTS);
+        var out = new StringWriter();
+
+        write(new JsonLinesOutputSink(out));
+
+        assertEquals("""
+                {"name":"name","type":"string","value":"prod"}
+                {"name":"arn","type":"string","value":"arn:\\"main\\"\\n"}
+                {"name":"sizes","type":"number[]","value":[1,2]}
+                {"name":"password","type":"string","sensitive":true}
+                """, out.toString());
+    }
+
+    @Test
+    void channel() {
+        eval("""
+                output any tags = { env: "dev" }
+                """);
+        var bytes = new ByteArrayOutputStream();
+
+        write(new JsonLinesOutputSink(OutputSink.writer(Channels.newChannel(bytes))));
+
+        assertEquals("{\"name\":\"tags\",\"type\":\"any\",\"value\":{\"env\":\"dev\"}}\n",
+                bytes.toString(StandardCharsets.UTF_8));
+    }
+}
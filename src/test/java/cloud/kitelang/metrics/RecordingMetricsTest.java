@@ -0,0 +1,92 @@
+package cloud.kitelang.metrics;
+
+import cloud.kitelang.analysis.ImportResolver;
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.metrics.KiteMetrics.CacheResult;
+import cloud.kitelang.metrics.KiteMetrics.Observer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecordingMetricsTest extends RuntimeTest {
+    private RecordingMetrics metrics;
+
+    @BeforeEach
+    void install() {
+        ImportResolver.clearCache();
+        metrics = new RecordingMetrics();
+        Metrics.setListener(metrics);
+    }
+
+    @AfterEach
+    void uninstall() {
+        Metrics.setListener(null);
+    }
+
+    @Test
+    void reportsPhases() {
+        eval("""
+                fun double(number x) number {
+                    return x * 2
+                }
+                var y = double(2)
+                """);
+
+        assertTrue(metrics.phaseRuns(Phase.PARSE) >= 1);
+        assertEquals(1, metrics.phaseRuns(Phase.SCOPE_RESOLUTION));
+        assertEquals(1, metrics.phaseRuns(Phase.INTERPRET));
+        assertTrue(metrics.phaseNanos(Phase.INTERPRET) > 0);
+        assertTrue(metrics.phaseAllocatedBytes(Phase.PARSE) != 0 || Metrics.allocatedBytes() < 0);
+    }
+
+    @Test
+    void reportsImportParsesAndCacheHits() {
+        eval("""
+                import * from "stdlib.kite"
+                """);
+        init();
+        eval("""
+                import * from "stdlib.kite"
+                """);
+
+        assertEquals(1, metrics.cacheCount(CacheResult.MISS));
+        assertEquals(1, metrics.cacheCount(CacheResult.MEMORY_HIT));
+        assertEquals(2, metrics.phaseRuns(Phase.IMPORT));
+        assertEquals(1, metrics.importParseNanos().size());
+        assertTrue(metrics.importParseNanos().keySet().iterator().next().endsWith("stdlib.kite"));
+    }
+
+    @Test
+    void reportsDeferredObservers() {
+        eval("""
+                schema vm { string name }
+                resource vm a {
+                    name = b.name
+                }
+                resource vm b {
+                    name = "b"
+                }
+                """);
+
+        assertTrue(metrics.notifiedObservers(Observer.DEFERRED) >= 1);
+    }
+
+    @Test
+    void exportsJson() {
+        eval("var x = 1");
+
+        var json = metrics.toJson();
+        assertTrue(json.startsWith("{\"phases\":{\"parse\":{\"nanos\":"), json);
+        assertTrue(json.contains("\"parseCache\":{\"memory_hit\":0,\"disk_hit\":0,\"miss\":0}"), json);
+        assertTrue(metrics.summary().contains("interpret"));
+    }
+
+    @Test
+    void noopByDefault() {
+        Metrics.setListener(null);
+        assertFalse(Metrics.enabled());
+        assertEquals(2, Metrics.time(Phase.PARSE, () -> 2));
+    }
+}
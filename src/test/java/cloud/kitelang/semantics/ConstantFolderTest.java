@@ -0,0 +1,301 @@
+package cloud.kitelang.semantics;
+
+import cloud.kitelang.analysis.ImportResolver;
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.execution.Interpreter;
+import cloud.kitelang.execution.environment.Environment;
+import cloud.kitelang.execution.values.CallMemo;
+import cloud.kitelang.metrics.KiteMetrics.CacheResult;
+import cloud.kitelang.metrics.Metrics;
+import cloud.kitelang.metrics.RecordingMetrics;
+import cloud.kitelang.syntax.ast.expressions.BinaryExpression;
+import cloud.kitelang.syntax.ast.expressions.CallExpression;
+import cloud.kitelang.syntax.ast.expressions.Expression;
+import cloud.kitelang.syntax.ast.statements.VarStatement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConstantFolderTest extends RuntimeTest {
+    private RecordingMetrics metrics;
+
+    @BeforeEach
+    void install() {
+        metrics = new RecordingMetrics();
+        Metrics.setListener(metrics);
+    }
+
+    @AfterEach
+    void uninstall() {
+        Metrics.setListener(null);
+    }
+
+    private Map<Expression, Object> fold(String source) {
+        program = parse(source);
+        scopeResolver.resolve(program);
+        return new ConstantFolder().fold(program);
+    }
+
+    private Expression init(String name) {
+        for (var statement : program.getBody()) {
+            if (statement instanceof VarStatement vars && vars.getDeclarations().get(0).getId().string().equals(name)) {
+                return vars.getDeclarations().get(0).getInit();
+            }
+        }
+        throw new AssertionError("No var " + name);
+    }
+
+    @Test
+    void foldsLiteralsAndPureCalls() {
+        var values = fold("""
+                var seconds = 60 * 60 * 24
+                var size = pow(2, 8)
+                var region = toLowerCase("EU-WEST")
+                var name = "web-" + toUpperCase("a")
+                var negative = -(1 + 2)
+                var quoted = "say " + "'hi'"
+                """);
+
+        assertEquals(86400, values.get(init("seconds")));
+        assertEquals(256.0, ((Number) values.get(init("size"))).doubleValue());
+        assertEquals("eu-west", values.get(init("region")));
+        assertEquals("web-A", values.get(init("name")));
+        assertEquals(-3, values.get(init("negative")));
+        assertEquals("say 'hi'", values.get(init("quoted")));
+        // only the outermost folded expressions are kept
+        assertEquals(6, values.size());
+
+        interpreter.visit(program);
+        assertEquals(86400, interpreter.getVar("seconds"));
+        assertEquals(256.0, ((Number) interpreter.getVar("size")).doubleValue());
+        assertEquals("eu-west", interpreter.getVar("region"));
+        assertEquals("web-A", interpreter.getVar("name"));
+        assertEquals(-3, interpreter.getVar("negative"));
+        assertEquals("say 'hi'", interpreter.getVar("quoted"));
+    }
+
+    @Test
+    void keepsImpureShadowedAndFailingExpressions() {
+        var folder = new ConstantFolder();
+        program = parse("""
+                fun toUpperCase(string s) {
+                    return s
+                }
+                var stamp = now()
+                var upper = toUpperCase("a")
+                var broken = 1 / 0
+                var list = range(0, 3)
+                """);
+        scopeResolver.resolve(program);
+
+        assertTrue(folder.fold(program).isEmpty());
+        assertEquals(0, folder.getFolded());
+        assertTrue(folder.getPure().isEmpty());
+    }
+
+    @Test
+    void classifiesFunctions() {
+        program = parse("""
+                fun twice(number x) {
+                    return x * 2
+                }
+                fun label(string env, string region) {
+                    var name = format("{0}-{1}", env, region)
+                    return toLowerCase(name)
+                }
+                fun even(number n) {
+                    if (n == 0) {
+                        return true
+                    }
+                    return odd(n - 1)
+                }
+                fun odd(number n) {
+                    if (n == 0) {
+                        return false
+                    }
+                    return even(n - 1)
+                }
+                var prefix = "x"
+                fun named(string s) {
+                    return prefix + s
+                }
+                fun stamped(string s) {
+                    return s + now()
+                }
+                fun wrapped(string s) {
+                    return stamped(s)
+                }
+                """);
+
+        var pure = new PurityAnalyzer(Set.of("prefix")).analyze(program);
+
+        assertEquals(Set.of("twice", "label", "even", "odd"), pure);
+    }
+
+    @Test
+    void blockLocalsEndWithTheirBlock() {
+        program = parse("""
+                var g = 5
+                fun shadowed(number x) {
+                    if (x > 0) {
+                        var g = 1
+                    }
+                    return x + g
+                }
+                fun looped(number x) {
+                    for i in [1, 2] {
+                        var step = i
+                    }
+                    return x + step
+                }
+                fun scoped(number x) {
+                    var total = x
+                    if (x > 0) {
+                        var step = 1
+                        total = total + step
+                    }
+                    return total
+                }
+                """);
+
+        var pure = new PurityAnalyzer(Set.of("g", "step")).analyze(program);
+
+        assertEquals(Set.of("scoped"), pure);
+    }
+
+    @Test
+    void memoizesPureCalls() {
+        var result = eval("""
+                fun fib(number n) {
+                   if (n <= 1) {
+                        return n
+                   }
+                   return fib(n - 2) + fib(n - 1)
+                }
+                fib(20)
+                """);
+
+        assertEquals(6765, result);
+        assertEquals(21, metrics.memoCount(CacheResult.MISS));
+        assertEquals(18, metrics.memoCount(CacheResult.MEMORY_HIT));
+        assertTrue(metrics.summary().contains("function memo     18 hits, 21 misses"), metrics.summary());
+    }
+
+    @Test
+    void impureFunctionsAreNotMemoized() {
+        eval("""
+                var suffix = "-x"
+                fun named(string s) {
+                    return s + suffix
+                }
+                var a = named("a")
+                var b = named("a")
+                """);
+
+        assertEquals("a-x", interpreter.getVar("b"));
+        assertEquals(0, metrics.memoCount(CacheResult.MISS));
+        assertEquals(0, metrics.memoCount(CacheResult.MEMORY_HIT));
+    }
+
+    @Test
+    void importedModulesUseTheirOwnNames(@TempDir Path dir) throws IOException {
+        ImportResolver.clearCache();
+        var module = dir.resolve("module.kite");
+        Files.writeString(module, """
+                var upper = toUpperCase("a")
+                """);
+
+        eval("""
+                fun toUpperCase(string s) {
+                    return s
+                }
+                import upper from "%s"
+                var own = toUpperCase("b")
+                """.formatted(module.toString().replace("\\", "/")));
+
+        assertEquals("A", interpreter.getVar("upper"));
+        assertEquals("b", interpreter.getVar("own"));
+    }
+
+    @Test
+    void leavesTheProgramUnchanged() {
+        program = parse("""
+                fun twice(number x) {
+                    return x * 2
+                }
+                var seconds = 60 * 60
+                """);
+        scopeResolver.resolve(program);
+        var seconds = init("seconds");
+
+        var folder = new ConstantFolder();
+        folder.fold(program);
+
+        assertEquals(1, folder.getFolded());
+        assertEquals(1, folder.getPure().size());
+        assertSame(seconds, init("seconds"));
+        assertInstanceOf(BinaryExpression.class, seconds);
+    }
+
+    @Test
+    void foldsProgramsTheInterpreterRuns() {
+        program = parse("""
+                fun pad(string s) {
+                    return s + "-" + toLowerCase("EU")
+                }
+                var a = pad("x")
+                var b = pad("x")
+                """);
+        scopeResolver.resolve(program);
+
+        interpreter.visit(program);
+        new Interpreter(new Environment<>("global")).visit(program);
+
+        assertEquals("x-eu", interpreter.getVar("b"));
+        assertInstanceOf(CallExpression.class, init("a"));
+        // each run memoizes the pure function: one miss and one hit per run
+        assertEquals(2, metrics.memoCount(CacheResult.MISS));
+        assertEquals(2, metrics.memoCount(CacheResult.MEMORY_HIT));
+    }
+
+    @Test
+    void sessionFunctionsShadowStdlibCalls() {
+        eval("""
+                fun toUpperCase(string s) {
+                    return s
+                }
+                """);
+        eval("""
+                var upper = toUpperCase("a")
+                """);
+
+        assertEquals("a", interpreter.getVar("upper"));
+    }
+
+    @Test
+    void mutableArgumentsAreNotCached() {
+        var memo = new CallMemo("f");
+        var calls = new AtomicInteger();
+
+        assertEquals(1, memo.computeIfAbsent(List.of("a", 1), calls::incrementAndGet));
+        assertEquals(1, memo.computeIfAbsent(List.of("a", 1), calls::incrementAndGet));
+        List<Object> mutable = List.of(new ArrayList<>(List.of(1)));
+        memo.computeIfAbsent(mutable, calls::incrementAndGet);
+        memo.computeIfAbsent(mutable, calls::incrementAndGet);
+
+        assertEquals(3, calls.get());
+        assertEquals(1, memo.size());
+    }
+}
@@ -9,6 +9,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -647,4 +652,19 @@ class ImportStatementTest extends CheckerTest {
         assertTrue(checker.getEnv().lookupKey("serverCount"), "serverCount should be imported");
         assertEquals(ValueType.Number, checker.getEnv().lookup("count"));
     }
+
+    @Test
+    @DisplayName("imported modules are checked with the importer's variables")
+    void moduleReadsImporterVariables(@TempDir Path dir) throws IOException {
+        Files.writeString(dir.resolve("module.kite"), """
+                var label = region + "-web"
+                """);
+
+        eval("""
+                var region = "eu"
+                import * from "%s"
+                """.formatted(dir.resolve("module.kite").toString().replace("\\", "/")));
+
+        assertEquals(ValueType.String, checker.getEnv().lookup("label"));
+    }
 }
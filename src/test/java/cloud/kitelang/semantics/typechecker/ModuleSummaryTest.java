@@ -0,0 +1,167 @@
+package cloud.kitelang.semantics.typechecker;
+
+import cloud.kitelang.analysis.ImportResolver;
+import cloud.kitelang.base.CheckerTest;
+import cloud.kitelang.metrics.KiteMetrics.CacheResult;
+import cloud.kitelang.metrics.Metrics;
+import cloud.kitelang.metrics.RecordingMetrics;
+import cloud.kitelang.semantics.TypeChecker;
+import cloud.kitelang.semantics.types.FunType;
+import cloud.kitelang.semantics.types.ResourceType;
+import cloud.kitelang.semantics.types.ValueType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imported modules are type-checked once per process and merged from their cached summary afterwards.
+ */
+@DisplayName("TypeChecker Module Summaries")
+public class ModuleSummaryTest extends CheckerTest {
+    private RecordingMetrics metrics;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void install() {
+        TypeChecker.clearModuleSummaries();
+        metrics = new RecordingMetrics();
+        Metrics.setListener(metrics);
+    }
+
+    @AfterEach
+    void uninstall() {
+        Metrics.setListener(null);
+    }
+
+    @Test
+    @DisplayName("should type-check a shared import once")
+    void sharedImportCheckedOnce() {
+        eval("""
+                import * from "imports/diamond_top.kite"
+                """);
+
+        // top, left, right and common are checked, common is merged from its summary when right imports it
+        assertEquals(4, metrics.moduleSummaryCount(CacheResult.MISS));
+        assertEquals(1, metrics.moduleSummaryCount(CacheResult.MEMORY_HIT));
+        assertEquals(4, TypeChecker.getModuleSummaryCount());
+
+        checker = new TypeChecker();
+        eval("""
+                import * from "imports/diamond_top.kite"
+
+                var result = process(5)
+                """);
+
+        assertEquals(4, metrics.moduleSummaryCount(CacheResult.MISS));
+        assertEquals(2, metrics.moduleSummaryCount(CacheResult.MEMORY_HIT));
+        assertNotNull(checker.getEnv().lookup("SHARED_VALUE"));
+        assertEquals(ValueType.Number, checker.getEnv().lookup("result"));
+    }
+
+    @Test
+    @DisplayName("should give function types of a cached summary this session's instances")
+    void summaryFunctionTypesAdoptedBySession() {
+        eval("""
+                import * from "imports/math_utils.kite"
+                """);
+        var first = checker.getEnv().lookup("add");
+
+        checker = new TypeChecker();
+        eval("""
+                import * from "imports/math_utils.kite"
+                """);
+
+        assertEquals(1, metrics.moduleSummaryCount(CacheResult.MEMORY_HIT));
+        var add = checker.getEnv().lookup("add");
+        assertEquals(first, add);
+        assertNotSame(first, add);
+        assertSame(checker.getTypes().intern(FunType.fun(ValueType.Number, ValueType.Number, ValueType.Number)), add);
+        assertSame(checker.getTypes().intern(FunType.fun(ValueType.Number, ValueType.Number)), checker.getEnv().lookup("abs"));
+    }
+
+    @Test
+    @DisplayName("should check a module again when a nested import changes")
+    void editedNestedImportIsCheckedAgain() throws IOException {
+        ImportResolver.setBasePath(tempDir);
+        Files.writeString(tempDir.resolve("common.kite"), "var shared = 1\n");
+        Files.writeString(tempDir.resolve("main.kite"), """
+                import * from "common.kite"
+
+                var value = shared
+                """);
+
+        eval("""
+                import * from "main.kite"
+                """);
+        assertEquals(ValueType.Number, checker.getEnv().lookup("value"));
+
+        Files.writeString(tempDir.resolve("common.kite"), "var shared = \"changed\"\n");
+        checker = new TypeChecker();
+        eval("""
+                import * from "main.kite"
+                """);
+
+        assertEquals(ValueType.String, checker.getEnv().lookup("value"));
+        assertEquals(0, metrics.moduleSummaryCount(CacheResult.MEMORY_HIT));
+    }
+
+    @Test
+    @DisplayName("should check a module again for an importer whose names it reads have other types")
+    void importerNamesReadByModuleAreChecked() throws IOException {
+        ImportResolver.setBasePath(tempDir);
+        Files.writeString(tempDir.resolve("module.kite"), """
+                var label = region
+                """);
+
+        eval("""
+                var region = 1
+                import * from "module.kite"
+                """);
+        assertEquals(ValueType.Number, checker.getEnv().lookup("label"));
+
+        checker = new TypeChecker();
+        eval("""
+                var region = "eu"
+                import * from "module.kite"
+                """);
+
+        assertEquals(ValueType.String, checker.getEnv().lookup("label"));
+        assertEquals(2, metrics.moduleSummaryCount(CacheResult.MISS));
+        assertEquals(0, metrics.moduleSummaryCount(CacheResult.MEMORY_HIT));
+
+        checker = new TypeChecker();
+        eval("""
+                var region = "us"
+                import * from "module.kite"
+                """);
+
+        assertEquals(ValueType.String, checker.getEnv().lookup("label"));
+        assertEquals(1, metrics.moduleSummaryCount(CacheResult.MEMORY_HIT));
+    }
+
+    @Test
+    @DisplayName("should register imported resources for every importer")
+    void importedResourcesRegisteredFromSummary() {
+        eval("""
+                import * from "resource_import.kite"
+                """);
+        checker = new TypeChecker();
+        eval("""
+                import * from "resource_import.kite"
+                """);
+
+        assertEquals(1, metrics.moduleSummaryCount(CacheResult.MEMORY_HIT));
+        assertInstanceOf(ResourceType.class, checker.getEnv().lookup("test"));
+        assertNotNull(checker.getEnv().lookup("vm"));
+    }
+}
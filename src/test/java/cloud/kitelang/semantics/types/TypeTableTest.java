@@ -0,0 +1,100 @@
+package cloud.kitelang.semantics.types;
+
+import cloud.kitelang.semantics.TypeChecker;
+import cloud.kitelang.syntax.ast.KiteCompiler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeTableTest {
+
+    @Test
+    void signaturesAreCanonical() {
+        var table = new TypeTable();
+
+        var first = table.fromString("(number)->number");
+        assertSame(first, table.fromString("(number)->number"));
+        assertSame(first, table.intern(FunType.fun(ValueType.Number, ValueType.Number)));
+        assertSame(ValueType.String, table.fromString("string"));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void tablesAreScopedToTheirSession() {
+        var first = new TypeTable().fromString("(string,number)->boolean");
+        var second = new TypeTable().fromString("(string,number)->boolean");
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(first, TypeFactory.fromString("(string,number)->boolean"));
+    }
+
+    @Test
+    void concurrentInterning() {
+        var table = new TypeTable();
+
+        var interned = IntStream.range(0, 1_000).parallel()
+                .mapToObj(i -> i % 2 == 0
+                        ? table.fromString("(string,number)->boolean")
+                        : table.intern(FunType.fun(ValueType.Boolean, ValueType.String, ValueType.Number)))
+                .collect(Collectors.toCollection(() -> Collections.newSetFromMap(new IdentityHashMap<>())));
+
+        assertEquals(1, interned.size());
+    }
+
+    @Test
+    void concurrentChecks() throws Exception {
+        var source = """
+                fun twice(number x) number {
+                    return x * 2
+                }
+                var number y = twice(2)
+                var string name = toUpperCase("web")
+                """;
+        var checks = new ArrayList<Callable<TypeChecker>>();
+        for (int i = 0; i < 8; i++) {
+            checks.add(() -> {
+                var checker = new TypeChecker();
+                checker.visit(new KiteCompiler().parse(source));
+                return checker;
+            });
+        }
+
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            var tables = Collections.newSetFromMap(new IdentityHashMap<TypeTable, Boolean>());
+            for (var result : executor.invokeAll(checks)) {
+                var checker = result.get();
+                assertEquals(ValueType.Number, checker.getEnv().lookup("y"));
+                tables.add(checker.getTypes());
+            }
+            assertEquals(8, tables.size());
+        }
+    }
+
+    @Test
+    void builtinTypesByName() {
+        assertSame(ObjectType.INSTANCE, TypeFactory.from("object"));
+        assertSame(AnyType.INSTANCE, TypeFactory.from("any"));
+        assertSame(ValueType.Number, TypeFactory.from("number"));
+        assertEquals("Bucket", TypeFactory.from("Bucket").getValue());
+    }
+
+    @Test
+    void unionKinds() {
+        var union = new UnionType("sizes", null);
+        union.add(ValueType.String);
+
+        assertTrue(union.hasKind(SystemType.STRING));
+        assertFalse(union.hasKind(SystemType.ARRAY));
+        union.add(ArrayType.arrayType(ValueType.Number));
+        assertTrue(union.hasKind(SystemType.ARRAY));
+    }
+}
@@ -0,0 +1,111 @@
+package cloud.kitelang.stdlib.functions;
+
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.execution.Interpreter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuiltinFunctionTest extends RuntimeTest {
+
+    /**
+     * Records how it was called, accepts one or two arguments
+     */
+    private static final class Recording extends BuiltinFunction {
+        private final List<String> calls = new ArrayList<>();
+
+        private Recording() {
+            super(1, 2);
+        }
+
+        @Override
+        public Object call1(Interpreter interpreter, Object arg) {
+            calls.add("call1");
+            return arg;
+        }
+
+        @Override
+        public Object call2(Interpreter interpreter, Object first, Object second) {
+            calls.add("call2");
+            return Arrays.asList(first, second);
+        }
+    }
+
+    @Test
+    void interpreterCallsFixedArity() {
+        var function = new Recording();
+        interpreter.getEnv().init("record", function);
+
+        eval("""
+                var one = record("a")
+                var two = record(1, null)
+                """);
+
+        assertEquals(List.of("call1", "call2"), function.calls);
+        assertEquals("a", interpreter.getVar("one"));
+        assertEquals(Arrays.asList(1, null), interpreter.getVar("two"));
+    }
+
+    @Test
+    void listCallsDispatchOnSize() {
+        var function = new Recording();
+
+        assertEquals("x", function.call(interpreter, List.<Object>of("x")));
+        assertEquals(List.of("x", "y"), function.call(interpreter, "x", "y"));
+        assertEquals(List.of("call1", "call2"), function.calls);
+    }
+
+    @Test
+    void wrongArity() {
+        var function = new Recording();
+        interpreter.getEnv().init("record", function);
+
+        var none = assertThrows(RuntimeException.class, () -> function.call(interpreter));
+        assertEquals("Expected 1 or 2 arguments, got 0", none.getMessage());
+        var four = assertThrows(RuntimeException.class, () -> function.call(interpreter, 1, 2, 3, 4));
+        assertEquals("Expected 1 or 2 arguments, got 4", four.getMessage());
+        var three = assertThrows(RuntimeException.class, () -> eval("record(1, 2, 3)"));
+        assertTrue(three.getMessage().contains("Expected 1 or 2 arguments, got 3"), three.getMessage());
+        assertTrue(function.calls.isEmpty());
+    }
+
+    @Test
+    void optionalArguments() {
+        eval("""
+                var padded = padStart("7", 3, "0")
+                var spaced = padEnd("7", 3)
+                var part = substring("kitelang", 4)
+                var middle = substring("kitelang", 1, 4)
+                var joined = join(["a", "b"], "-")
+                var numbers = range(1, 7, 2)
+                """);
+
+        assertEquals("007", interpreter.getVar("padded"));
+        assertEquals("7  ", interpreter.getVar("spaced"));
+        assertEquals("lang", interpreter.getVar("part"));
+        assertEquals("ite", interpreter.getVar("middle"));
+        assertEquals("a-b", interpreter.getVar("joined"));
+        assertEquals(List.of(1, 3, 5), interpreter.getVar("numbers"));
+    }
+
+    @Test
+    void userFunctionsStillGetAllArguments() {
+        eval("""
+                fun three(number a, number b, number c) {
+                    return a + b + c
+                }
+                fun four(number a, number b, number c, number d) {
+                    return a + b + c + d
+                }
+                var x = three(1, 2, 3)
+                var y = four(1, 2, 3, 4)
+                """);
+
+        assertEquals(6, interpreter.getVar("x"));
+        assertEquals(10, interpreter.getVar("y"));
+    }
+}
@@ -3,24 +3,55 @@ package cloud.kitelang.stdlib.functions.utility;
 import cloud.kitelang.base.RuntimeTest;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class JsonParseFunctionTest extends RuntimeTest {
 
     private final FromJsonFunction function = new FromJsonFunction();
 
     @Test
-    void jsonParseNotImplemented() {
-        // JsonParseFunction is stubbed out - should throw "not yet implemented" error
-        var exception = assertThrows(RuntimeException.class, () ->
-                function.call(interpreter, "{\"key\": \"value\"}")
-        );
-        assertTrue(exception.getMessage().contains("not yet implemented"));
+    void jsonParseObject() {
+        var res = function.call(interpreter, "{\"key\": \"value\", \"count\": 2, \"ok\": true, \"none\": null}");
+        var expected = new LinkedHashMap<String, Object>();
+        expected.put("key", "value");
+        expected.put("count", 2);
+        expected.put("ok", true);
+        expected.put("none", null);
+        assertEquals(expected, res);
+    }
+
+    @Test
+    void jsonParseNested() {
+        var res = function.call(interpreter, "[{\"ports\": [80, 443]}, 1.5, \"a\\nb\"]");
+        assertEquals(List.of(Map.of("ports", List.of(80, 443)), 1.5, "a\nb"), res);
+    }
+
+    @Test
+    void jsonParseInProgram() {
+        eval("""
+                var policy = fromJson('{ "Version": "2012-10-17", "Statement": [] }')
+                var version = policy.Version
+                """);
+        assertEquals("2012-10-17", interpreter.getVar("version"));
+    }
+
+    @Test
+    void jsonParseInvalid() {
+        var exception = assertThrows(RuntimeException.class, () -> function.call(interpreter, "{key: 1}"));
+        assertTrue(exception.getMessage().contains("Invalid JSON"));
     }
 
     @Test
     void jsonParseTooFewArgs() {
         assertThrows(RuntimeException.class, () -> function.call(interpreter));
     }
+
+    @Test
+    void jsonParseInvalidType() {
+        assertThrows(RuntimeException.class, () -> function.call(interpreter, 123));
+    }
 }
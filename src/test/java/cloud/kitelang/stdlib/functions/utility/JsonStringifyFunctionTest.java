@@ -3,22 +3,43 @@ package cloud.kitelang.stdlib.functions.utility;
 import cloud.kitelang.base.RuntimeTest;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JsonStringifyFunctionTest extends RuntimeTest {
 
     private final ToJsonFunction function = new ToJsonFunction();
 
     @Test
-    void jsonStringifyNotImplemented() {
-        // JsonStringifyFunction is stubbed out - should throw "not yet implemented" error
-        var exception = assertThrows(RuntimeException.class, () ->
-                function.call(interpreter, Map.of("key", "value"))
-        );
-        assertTrue(exception.getMessage().contains("not yet implemented"));
+    void jsonStringifyObject() {
+        var res = function.call(interpreter, Map.of("key", "value"));
+        assertEquals("{\"key\":\"value\"}", res);
+    }
+
+    @Test
+    void jsonStringifyValues() {
+        var res = function.call(interpreter, Arrays.asList(1, 2.5, true, null, "q\"\t\u0001"));
+        assertEquals("[1,2.5,true,null,\"q\\\"\\t\\u0001\"]", res);
+    }
+
+    @Test
+    void jsonStringifyResource() {
+        eval("""
+                schema vm { string name }
+                resource vm web { name = "web" }
+                var json = toJson(web)
+                """);
+        assertEquals(Map.of("name", "web"), new FromJsonFunction().call(interpreter, interpreter.getVar("json")));
+    }
+
+    @Test
+    void jsonStringifyRoundTrip() {
+        var value = Map.of("tags", List.of("a", "b"));
+        assertEquals(value, new FromJsonFunction().call(interpreter, function.call(interpreter, value)));
     }
 
     @Test
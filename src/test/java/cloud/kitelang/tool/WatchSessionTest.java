@@ -0,0 +1,151 @@
+package cloud.kitelang.tool;
+
+import cloud.kitelang.analysis.ImportResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WatchSessionTest {
+    private static final String MAIN = """
+            import * from "network.kite"
+            schema vm { string name }
+            resource vm web { name = "web-" + prefix }
+            resource vm db { name = "db" }
+            """;
+
+    @TempDir
+    Path directory;
+    private Path main;
+    private Path network;
+    private WatchSession session;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        main = Files.writeString(directory.resolve("main.kite"), MAIN);
+        network = Files.writeString(directory.resolve("network.kite"), "var prefix = \"a\"\n");
+        session = new WatchSession(main);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        session.close();
+        ImportResolver.setBasePath(null);
+    }
+
+    @Test
+    void firstEvaluationAddsEverything() {
+        var changes = session.evaluate();
+
+        assertEquals(2, changes.size());
+        assertTrue(changes.stream().allMatch(it -> it.kind() == ResourceChange.Kind.ADDED));
+        assertEquals(Set.of(main, network), session.getModules());
+        assertEquals(Set.of(main), session.dependents(network));
+    }
+
+    @Test
+    void reportsOnlyChangedResources() throws IOException {
+        session.evaluate();
+        Files.writeString(network, "var prefix = \"bb\"\n");
+
+        var changes = session.changed(List.of(network));
+
+        assertEquals(1, changes.size());
+        var change = changes.getFirst();
+        assertEquals("web", change.name());
+        assertEquals(ResourceChange.Kind.CHANGED, change.kind());
+        assertEquals("web-a", change.before().get("name"));
+        assertEquals("web-bb", change.after().get("name"));
+        assertEquals(2, session.getEvaluations());
+    }
+
+    @Test
+    void ignoresFilesOutsideTheProgram() throws IOException {
+        session.evaluate();
+        var notes = Files.writeString(directory.resolve("notes.kite"), "var x = 1\n");
+
+        assertTrue(session.changed(List.of(notes)).isEmpty());
+        assertEquals(1, session.getEvaluations());
+    }
+
+    @Test
+    void ignoresWritesKeepingTheContent() throws IOException {
+        session.evaluate();
+        Files.writeString(network, "var prefix = \"a\"\n");
+
+        assertTrue(session.changed(List.of(network)).isEmpty());
+        assertEquals(1, session.getEvaluations());
+    }
+
+    @Test
+    void collectsImportsOfChangedModules() throws IOException {
+        session.evaluate();
+        var zones = Files.writeString(directory.resolve("zones.kite"), "var zone = \"z\"\n");
+        Files.writeString(network, """
+                import * from "zones.kite"
+                var prefix = zone
+                """);
+
+        var changes = session.changed(List.of(network));
+
+        assertEquals("web-z", changes.getFirst().after().get("name"));
+        assertEquals(Set.of(main, network, zones), session.getModules());
+        assertEquals(Set.of(network, main), session.dependents(zones));
+
+        Files.writeString(network, "var prefix = \"b\"\n");
+        session.changed(List.of(network));
+
+        assertEquals(Set.of(main, network), session.getModules());
+    }
+
+    @Test
+    void sessionsResolveImportsAgainstTheirOwnEntry(@TempDir Path other) throws IOException {
+        Files.writeString(other.resolve("main.kite"), MAIN);
+        Files.writeString(other.resolve("network.kite"), "var prefix = \"other\"\n");
+        try (var second = new WatchSession(other.resolve("main.kite"))) {
+            session.evaluate();
+            second.evaluate();
+            Files.writeString(network, "var prefix = \"bb\"\n");
+
+            var changes = session.changed(List.of(network));
+
+            assertEquals("web-bb", changes.getFirst().after().get("name"));
+            assertEquals("web-other", second.getResources().get("web").get("name"));
+            assertNull(ImportResolver.getBasePath());
+        }
+    }
+
+    @Test
+    void reportsRemovedResources() throws IOException {
+        session.evaluate();
+        Files.writeString(main, MAIN.replace("resource vm db { name = \"db\" }\n", ""));
+
+        var changes = session.changed(List.of(main));
+
+        assertEquals(List.of(new ResourceChange("db", ResourceChange.Kind.REMOVED, changes.getFirst().before(), null)),
+                changes);
+    }
+
+    @Test
+    void watchesModules() throws Exception {
+        session.evaluate();
+        var reported = new LinkedBlockingQueue<List<ResourceChange>>();
+        session.watch(reported::add);
+
+        Files.writeString(network, "var prefix = \"ccc\"\n");
+
+        var changes = reported.poll(10, TimeUnit.SECONDS);
+        assertNotNull(changes);
+        assertEquals("web-ccc", changes.getFirst().after().get("name"));
+    }
+}
@@ -0,0 +1,76 @@
+package cloud.kitelang.utils;
+
+import cloud.kitelang.base.RuntimeTest;
+import cloud.kitelang.metrics.KiteMetrics.CacheResult;
+import cloud.kitelang.metrics.Metrics;
+import cloud.kitelang.metrics.RecordingMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegexCacheTest extends RuntimeTest {
+    private RecordingMetrics metrics;
+
+    @BeforeEach
+    void install() {
+        RegexCache.clear();
+        metrics = new RecordingMetrics();
+        Metrics.setListener(metrics);
+    }
+
+    @AfterEach
+    void uninstall() {
+        Metrics.setListener(null);
+    }
+
+    @Test
+    void compiledOnce() {
+        var first = RegexCache.compile("^[a-z]+$");
+
+        assertSame(first, RegexCache.compile("^[a-z]+$"));
+        assertNotSame(first, RegexCache.compile("^[a-z]+$", Pattern.CASE_INSENSITIVE));
+        assertEquals(2, metrics.regexCount(CacheResult.MISS));
+        assertEquals(1, metrics.regexCount(CacheResult.MEMORY_HIT));
+    }
+
+    @Test
+    void invalidPatternNotCached() {
+        assertThrows(PatternSyntaxException.class, () -> RegexCache.compile("[a-z"));
+        assertEquals(0, RegexCache.size());
+    }
+
+    @Test
+    void evictsLeastUsed() {
+        var cache = new RegexCache(4);
+        var popular = cache.get("popular", 0);
+        for (int i = 0; i < 10; i++) {
+            cache.get("popular", 0);
+        }
+        for (int i = 0; i < 10; i++) {
+            cache.get("rare" + i, 0);
+        }
+
+        assertTrue(cache.entries() <= 4);
+        assertSame(popular, cache.get("popular", 0));
+    }
+
+    @Test
+    void sharedByFunctionsInLoops() {
+        eval("""
+                var names = [for i in 1..5: matches("subnet-$i", "^subnet-[0-9]+$")]
+                var parts = split("a,b,c", ",")
+                var again = split("d,e", ",")
+                """);
+
+        var names = (List<?>) interpreter.getVar("names");
+        assertTrue(names.stream().allMatch(Boolean.TRUE::equals));
+        assertEquals(2, metrics.regexCount(CacheResult.MISS));
+        assertEquals(names.size(), metrics.regexCount(CacheResult.MEMORY_HIT));
+    }
+}